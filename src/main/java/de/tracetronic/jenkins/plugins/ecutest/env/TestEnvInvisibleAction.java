@@ -61,6 +61,18 @@ public class TestEnvInvisibleAction extends InvisibleAction {
     private final String testReportDir;
     private final String testResult;
     private final int timeout;
+    /**
+     * @since 2.1
+     */
+    private final long testDuration;
+    /**
+     * @since 2.1
+     */
+    private final String testHash;
+    /**
+     * @since 2.1
+     */
+    private final String testFolder;
 
     /**
      * Instantiates a new {@link TestEnvInvisibleAction}.
@@ -87,6 +99,9 @@ public class TestEnvInvisibleAction extends InvisibleAction {
         testReportDir = testClient.getTestReportDir();
         testResult = testClient.getTestResult();
         timeout = testClient.getExecutionConfig().getParsedTimeout();
+        testDuration = testClient.getTestDuration();
+        testHash = testClient.getTestHash();
+        testFolder = testClient.getTestFolder();
     }
 
     /**
@@ -158,4 +173,25 @@ public class TestEnvInvisibleAction extends InvisibleAction {
     public int getTimeout() {
         return timeout;
     }
+
+    /**
+     * @return the test duration in milliseconds, {@code 0} if unknown
+     */
+    public long getTestDuration() {
+        return testDuration;
+    }
+
+    /**
+     * @return the content hash of the test or {@code null} if not computed
+     */
+    public String getTestHash() {
+        return testHash;
+    }
+
+    /**
+     * @return the test folder the test file has been scanned from or {@code null} if executed directly
+     */
+    public String getTestFolder() {
+        return testFolder;
+    }
 }
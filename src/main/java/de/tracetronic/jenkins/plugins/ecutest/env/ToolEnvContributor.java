@@ -38,6 +38,8 @@ import hudson.model.Run;
 import java.io.IOException;
 import java.util.List;
 
+import de.tracetronic.jenkins.plugins.ecutest.util.process.TrackedProcess;
+
 /**
  * Contributor which adds various tool related variables into the build environment variables.
  *
@@ -96,6 +98,11 @@ public class ToolEnvContributor extends EnvironmentContributor {
      */
     public static final String TOOL_LAST_TCF = "TOOL_LAST_TCF_";
 
+    /**
+     * Build environment variable part for the process id of the launched tool.
+     */
+    public static final String TOOL_PID = "TOOL_PID_";
+
     @Override
     @SuppressWarnings("rawtypes")
     public void buildEnvironmentFor(final Run r, final EnvVars envs, final TaskListener listener)
@@ -117,6 +124,10 @@ public class ToolEnvContributor extends EnvironmentContributor {
             envs.put(PREFIX + TOOL_DEBUG + id, action.isDebug() ? "true" : "false");
             envs.put(PREFIX + TOOL_LAST_TBC + id, action.getLastTbc());
             envs.put(PREFIX + TOOL_LAST_TCF + id, action.getLastTcf());
+            final TrackedProcess toolProcess = action.getToolProcess();
+            if (toolProcess != null) {
+                envs.put(PREFIX + TOOL_PID + id, String.valueOf(toolProcess.getPid()));
+            }
         }
     }
 }
@@ -30,7 +30,11 @@
 package de.tracetronic.jenkins.plugins.ecutest.env;
 
 import hudson.model.InvisibleAction;
+
+import javax.annotation.CheckForNull;
+
 import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
+import de.tracetronic.jenkins.plugins.ecutest.util.process.TrackedProcess;
 
 /**
  * Helper invisible action which is used for exchanging information between {@link ETClient}s and other object like
@@ -50,6 +54,11 @@ public class ToolEnvInvisibleAction extends InvisibleAction {
     private final boolean debug;
     private final String lastTbc;
     private final String lastTcf;
+    /**
+     * @since 2.1
+     */
+    @CheckForNull
+    private final TrackedProcess toolProcess;
 
     /**
      * Instantiates a new {@link ToolEnvInvisibleAction}.
@@ -72,6 +81,7 @@ public class ToolEnvInvisibleAction extends InvisibleAction {
         debug = toolClient.isDebug();
         lastTbc = toolClient.getLastTbc();
         lastTcf = toolClient.getLastTcf();
+        toolProcess = toolClient.getProcess();
     }
 
     /**
@@ -143,4 +153,12 @@ public class ToolEnvInvisibleAction extends InvisibleAction {
     public String getLastTcf() {
         return lastTcf;
     }
+
+    /**
+     * @return the launched tool process or {@code null} if not tracked
+     */
+    @CheckForNull
+    public TrackedProcess getToolProcess() {
+        return toolProcess;
+    }
 }
@@ -93,7 +93,7 @@ public abstract class AbstractTestBuilderDslExtension extends AbstractDslExtensi
             final TestConfigContext context = new TestConfigContext();
             executeInContext(closure, context);
             testConfig = new TestConfig(context.tbcFile, context.tcfFile, context.forceReload, context.loadOnly,
-                    context.keepConfig, context.constants);
+                    context.keepConfig, context.skipUnchanged, context.constants);
         }
 
         /**
@@ -105,7 +105,8 @@ public abstract class AbstractTestBuilderDslExtension extends AbstractDslExtensi
         public void executionConfig(final Runnable closure) {
             final ExecutionConfigContext context = new ExecutionConfigContext();
             executeInContext(closure, context);
-            executionConfig = new ExecutionConfig(context.timeout, context.stopOnError, context.checkTestFile);
+            executionConfig = new ExecutionConfig(context.timeout, context.stopOnError, context.checkTestFile,
+                    context.pollingInterval);
         }
 
         /**
@@ -123,6 +124,7 @@ public abstract class AbstractTestBuilderDslExtension extends AbstractDslExtensi
             private boolean forceReload;
             private boolean loadOnly;
             private boolean keepConfig;
+            private boolean skipUnchanged;
             private List<GlobalConstant> constants;
 
             /**
@@ -181,6 +183,16 @@ public abstract class AbstractTestBuilderDslExtension extends AbstractDslExtensi
                 keepConfig = value;
             }
 
+            /**
+             * Option defining whether to skip reloading unchanged configurations.
+             *
+             * @param value
+             *            the value
+             */
+            public void skipUnchanged(final boolean value) {
+                skipUnchanged = value;
+            }
+
             /**
              * Option defining the global constants.
              *
@@ -276,9 +288,12 @@ public abstract class AbstractTestBuilderDslExtension extends AbstractDslExtensi
          */
         public class ExecutionConfigContext implements Context {
 
+            private static final String OPT_POLLING_INTERVAL = "pollingInterval";
+
             private String timeout;
             private boolean stopOnError = true;
             private boolean checkTestFile = true;
+            private String pollingInterval;
 
             /**
              * Option defining the timeout.
@@ -323,6 +338,31 @@ public abstract class AbstractTestBuilderDslExtension extends AbstractDslExtensi
             public void checkTestFile(final boolean value) {
                 checkTestFile = value;
             }
+
+            /**
+             * Option defining the initial interval in milliseconds polling the test execution state.
+             *
+             * @param value
+             *            the value as String
+             */
+            public void pollingInterval(final CharSequence value) {
+                Preconditions.checkNotNull(value, NOT_NULL_MSG, OPT_POLLING_INTERVAL);
+                final FormValidation validation = validator.validatePollingInterval(value.toString(),
+                        ExecutionConfig.DescriptorImpl.getDefaultPollingInterval(),
+                        ExecutionConfig.getMaxPollingInterval());
+                Preconditions.checkArgument(validation.kind != FormValidation.Kind.ERROR, validation.getMessage());
+                pollingInterval = value.toString();
+            }
+
+            /**
+             * Option defining the initial interval in milliseconds polling the test execution state.
+             *
+             * @param value
+             *            the value as Integer
+             */
+            public void pollingInterval(final int value) {
+                pollingInterval(String.valueOf((Object) value));
+            }
         }
     }
 
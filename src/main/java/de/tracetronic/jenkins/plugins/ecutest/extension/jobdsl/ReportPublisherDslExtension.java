@@ -137,6 +137,7 @@ public class ReportPublisherDslExtension extends AbstractReportPublisherDslExten
         final JUnitPublisher publisher = new JUnitPublisher(toolName.toString());
         publisher.setUnstableThreshold(context.unstableThreshold);
         publisher.setFailedThreshold(context.failedThreshold);
+        publisher.setDirectConversion(context.directConversion);
         publisher.setAllowMissing(context.allowMissing);
         publisher.setRunOnFailed(context.runOnFailed);
         publisher.setArchiving(context.archiving);
@@ -313,6 +314,7 @@ public class ReportPublisherDslExtension extends AbstractReportPublisherDslExten
 
         private double unstableThreshold;
         private double failedThreshold;
+        private boolean directConversion;
 
         /**
          * Option defining the unstable threshold.
@@ -337,6 +339,16 @@ public class ReportPublisherDslExtension extends AbstractReportPublisherDslExten
             Preconditions.checkArgument(validation.kind != FormValidation.Kind.ERROR, validation.getMessage());
             failedThreshold = value;
         }
+
+        /**
+         * Option defining whether to convert the TRF files directly without ECU-TEST.
+         *
+         * @param value
+         *            the value
+         */
+        public void directConversion(final boolean value) {
+            directConversion = value;
+        }
     }
 
     /**
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.profile;
+
+import hudson.Launcher;
+import hudson.model.Run;
+import hudson.remoting.Callable;
+import hudson.remoting.VirtualChannel;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+
+import jenkins.model.RunAction2;
+import jenkins.security.MasterToSlaveCallable;
+import de.tracetronic.jenkins.plugins.ecutest.ETPlugin;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ComMethodStats;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComMetrics;
+
+/**
+ * Build action showing the accumulated COM request statistics of all build steps as "COM Profile" page.
+ * <p>
+ * The statistics are recorded by {@link ETComMetrics} on the executing node and collected at the end of each
+ * build step. Build steps perform their remote calls using a {@link ComProfileLauncher}, so that the statistics are
+ * recorded in the scope of their build and concurrent builds on the same node do not overlap.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ComProfileAction implements RunAction2 {
+
+    private static final Logger LOGGER = Logger.getLogger(ComProfileAction.class.getName());
+
+    private final Map<String, ComMethodStats> stats = new TreeMap<String, ComMethodStats>();
+
+    private transient Run<?, ?> run;
+
+    /**
+     * Instantiates a new {@link ComProfileAction}.
+     */
+    public ComProfileAction() {
+        super();
+    }
+
+    /**
+     * @return the build
+     */
+    public Run<?, ?> getRun() {
+        return run;
+    }
+
+    /**
+     * Gets the statistics of all recorded COM methods ordered by their accumulated request duration.
+     *
+     * @return the method statistics
+     */
+    public synchronized List<ComMethodStats> getStats() {
+        final List<ComMethodStats> list = new ArrayList<ComMethodStats>(stats.values());
+        Collections.sort(list, new Comparator<ComMethodStats>() {
+
+            @Override
+            public int compare(final ComMethodStats o1, final ComMethodStats o2) {
+                return Long.compare(o2.getTotalMillis(), o1.getTotalMillis());
+            }
+        });
+        return list;
+    }
+
+    /**
+     * @return the upper bounds of the latency histogram buckets in milliseconds
+     */
+    public long[] getBucketBounds() {
+        return ETComMetrics.BUCKET_BOUNDS.clone();
+    }
+
+    /**
+     * @return the upper bound of the last regular histogram bucket, all slower requests are counted as overflow
+     */
+    public long getOverflowBound() {
+        return ETComMetrics.BUCKET_BOUNDS[ETComMetrics.BUCKET_BOUNDS.length - 1];
+    }
+
+    /**
+     * Merges the given statistics into the statistics of this build.
+     *
+     * @param newStats
+     *            the statistics to merge
+     */
+    public synchronized void addStats(final Map<String, ComMethodStats> newStats) {
+        for (final ComMethodStats methodStats : newStats.values()) {
+            final ComMethodStats current = stats.get(methodStats.getMethod());
+            stats.put(methodStats.getMethod(), current == null ? methodStats : current.merge(methodStats));
+        }
+    }
+
+    @Override
+    public void onAttached(final Run<?, ?> r) {
+        run = r;
+    }
+
+    @Override
+    public void onLoad(final Run<?, ?> r) {
+        run = r;
+    }
+
+    @Override
+    public String getIconFileName() {
+        return ETPlugin.getIconFileName("icon-ecutest-ecu-test", "icon-xlg");
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Messages.ComProfileAction_DisplayName();
+    }
+
+    @Override
+    public String getUrlName() {
+        return "com-profile";
+    }
+
+    /**
+     * Decorates the given launcher to record all COM requests performed by its remote calls in the scope of the
+     * given build.
+     *
+     * @param run
+     *            the build
+     * @param launcher
+     *            the launcher
+     * @return the decorated launcher
+     */
+    public static Launcher scope(final Run<?, ?> run, final Launcher launcher) {
+        return new ComProfileLauncher(launcher, getScope(run));
+    }
+
+    /**
+     * Gets the COM profile scope of the given build.
+     *
+     * @param run
+     *            the build
+     * @return the scope
+     */
+    static String getScope(final Run<?, ?> run) {
+        return run.getExternalizableId();
+    }
+
+    /**
+     * Drains the COM request statistics of the given build recorded on the node of the given launcher and adds them
+     * to the build.
+     * <p>
+     * Collecting the statistics is best effort and never fails the current build step.
+     *
+     * @param run
+     *            the build
+     * @param launcher
+     *            the launcher
+     */
+    public static void collect(final Run<?, ?> run, @CheckForNull final Launcher launcher) {
+        final VirtualChannel channel = launcher == null ? null : launcher.getChannel();
+        if (channel == null) {
+            return;
+        }
+        try {
+            final Map<String, ComMethodStats> newStats = channel.call(new DrainMetricsCallable(getScope(run)));
+            if (newStats == null || newStats.isEmpty()) {
+                return;
+            }
+            synchronized (run) {
+                ComProfileAction action = run.getAction(ComProfileAction.class);
+                if (action == null) {
+                    action = new ComProfileAction();
+                    run.addAction(action);
+                }
+                action.addStats(newStats);
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, "Could not collect COM profile: " + e.getMessage(), e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * {@link Callable} providing remote access to drain the COM request statistics recorded in a scope.
+     */
+    private static final class DrainMetricsCallable
+            extends MasterToSlaveCallable<Map<String, ComMethodStats>, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String scope;
+
+        /**
+         * Instantiates a new {@link DrainMetricsCallable}.
+         *
+         * @param scope
+         *            the COM profile scope
+         */
+        DrainMetricsCallable(final String scope) {
+            this.scope = scope;
+        }
+
+        @Override
+        public Map<String, ComMethodStats> call() throws IOException {
+            return ETComMetrics.getInstance().drain(scope);
+        }
+    }
+}
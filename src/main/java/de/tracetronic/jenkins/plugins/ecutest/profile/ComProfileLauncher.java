@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.profile;
+
+import hudson.Launcher;
+import hudson.remoting.Callable;
+import hudson.remoting.VirtualChannel;
+
+import java.io.IOException;
+import java.util.concurrent.Future;
+
+import javax.annotation.CheckForNull;
+
+import jenkins.security.MasterToSlaveCallable;
+
+import org.jenkinsci.remoting.RoleChecker;
+
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComMetrics;
+
+/**
+ * Launcher decorator binding the COM profile scope of a build to all remote calls of its channel.
+ * <p>
+ * Each {@link Callable} passed to the channel is wrapped, so that the COM requests it performs on the executing
+ * node are recorded by {@link ETComMetrics} in the scope of this build only.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ComProfileLauncher extends Launcher.DecoratedLauncher {
+
+    private final String scope;
+    @CheckForNull
+    private final VirtualChannel channel;
+
+    /**
+     * Instantiates a new {@link ComProfileLauncher}.
+     *
+     * @param inner
+     *            the launcher to decorate
+     * @param scope
+     *            the COM profile scope
+     */
+    public ComProfileLauncher(final Launcher inner, final String scope) {
+        super(inner);
+        this.scope = scope;
+        final VirtualChannel innerChannel = inner.getChannel();
+        channel = innerChannel == null ? null : new ScopedChannel(innerChannel, scope);
+    }
+
+    /**
+     * @return the COM profile scope
+     */
+    public String getScope() {
+        return scope;
+    }
+
+    @CheckForNull
+    @Override
+    public VirtualChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Channel decorator wrapping all calls into a {@link ScopedCallable}.
+     */
+    private static final class ScopedChannel implements VirtualChannel {
+
+        private final VirtualChannel channel;
+        private final String scope;
+
+        /**
+         * Instantiates a new {@link ScopedChannel}.
+         *
+         * @param channel
+         *            the channel to decorate
+         * @param scope
+         *            the COM profile scope
+         */
+        ScopedChannel(final VirtualChannel channel, final String scope) {
+            this.channel = channel;
+            this.scope = scope;
+        }
+
+        @Override
+        public <V, T extends Throwable> V call(final Callable<V, T> callable)
+                throws IOException, T, InterruptedException {
+            return channel.call(new ScopedCallable<V, T>(callable, scope));
+        }
+
+        @Override
+        public <V, T extends Throwable> Future<V> callAsync(final Callable<V, T> callable) throws IOException {
+            return channel.callAsync(new ScopedCallable<V, T>(callable, scope));
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        @Override
+        public void join() throws InterruptedException {
+            channel.join();
+        }
+
+        @Override
+        public void join(final long timeout) throws InterruptedException {
+            channel.join(timeout);
+        }
+
+        @Override
+        public <T> T export(final Class<T> type, final T instance) {
+            return channel.export(type, instance);
+        }
+
+        @Override
+        public void syncLocalIO() throws InterruptedException {
+            channel.syncLocalIO();
+        }
+    }
+
+    /**
+     * {@link Callable} binding the COM profile scope to the executing thread while performing the wrapped callable.
+     *
+     * @param <V>
+     *            the return type
+     * @param <T>
+     *            the exception type
+     */
+    static final class ScopedCallable<V, T extends Throwable> extends MasterToSlaveCallable<V, T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Callable<V, T> callable;
+        private final String scope;
+
+        /**
+         * Instantiates a new {@link ScopedCallable}.
+         *
+         * @param callable
+         *            the callable to wrap
+         * @param scope
+         *            the COM profile scope
+         */
+        ScopedCallable(final Callable<V, T> callable, final String scope) {
+            this.callable = callable;
+            this.scope = scope;
+        }
+
+        @Override
+        public V call() throws T {
+            final String previous = ETComMetrics.setScope(scope);
+            try {
+                return callable.call();
+            } finally {
+                ETComMetrics.setScope(previous);
+            }
+        }
+
+        @Override
+        public void checkRoles(final RoleChecker checker) throws SecurityException {
+            callable.checkRoles(checker);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.profile;
+
+import hudson.Extension;
+import hudson.model.TaskListener;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+import jenkins.metrics.api.Metrics;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ComMethodStats;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComMetrics;
+
+/**
+ * Listener exporting the COM profile of each completed build to the Jenkins Metrics plugin.
+ * <p>
+ * Counters are named {@code ecutest.com.<method>.<requests|errors|timeouts|duration>}, the latter accumulating the
+ * request duration in milliseconds. The latency distribution is exported as histogram named
+ * {@code ecutest.com.<method>.latency}, which is fed with the upper bound of each recorded latency bucket in
+ * milliseconds. This extension is only loaded if the Metrics plugin is installed.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+@Extension(optional = true)
+public class ComProfileMetricsExporter extends RunListener<Run<?, ?>> {
+
+    /**
+     * Defines the common prefix of all exported metrics.
+     */
+    private static final String METRIC_PREFIX = "ecutest.com";
+
+    @Override
+    public void onCompleted(final Run<?, ?> run, final TaskListener listener) {
+        final ComProfileAction action = run.getAction(ComProfileAction.class);
+        if (action == null) {
+            return;
+        }
+        final MetricRegistry registry = Metrics.metricRegistry();
+        for (final ComMethodStats stats : action.getStats()) {
+            final String method = stats.getMethod();
+            registry.counter(MetricRegistry.name(METRIC_PREFIX, method, "requests")).inc(stats.getCount());
+            registry.counter(MetricRegistry.name(METRIC_PREFIX, method, "errors")).inc(stats.getErrors());
+            registry.counter(MetricRegistry.name(METRIC_PREFIX, method, "timeouts")).inc(stats.getTimeouts());
+            registry.counter(MetricRegistry.name(METRIC_PREFIX, method, "duration")).inc(stats.getTotalMillis());
+            updateHistogram(registry.histogram(MetricRegistry.name(METRIC_PREFIX, method, "latency")), stats);
+        }
+    }
+
+    /**
+     * Updates the histogram with the recorded latency buckets. Each request is approximated by the upper bound of its
+     * bucket, limited by the maximum latency, which also applies to the requests exceeding the last bucket.
+     *
+     * @param histogram
+     *            the histogram to update
+     * @param stats
+     *            the COM method statistics
+     */
+    static void updateHistogram(final Histogram histogram, final ComMethodStats stats) {
+        final long[] buckets = stats.getBuckets();
+        final long maxMillis = stats.getMaxMillis();
+        for (int i = 0; i < buckets.length; i++) {
+            final long millis = i < ETComMetrics.BUCKET_BOUNDS.length
+                    ? Math.min(ETComMetrics.BUCKET_BOUNDS[i], maxMillis) : maxMillis;
+            for (long j = 0; j < buckets[i]; j++) {
+                histogram.update(millis);
+            }
+        }
+    }
+}
@@ -36,11 +36,13 @@ import hudson.Launcher;
 import hudson.Util;
 import hudson.model.Result;
 import hudson.model.TaskListener;
+import hudson.model.AbstractBuild;
 import hudson.model.AbstractItem;
 import hudson.model.Computer;
 import hudson.model.Node;
 import hudson.model.Run;
 import hudson.tasks.BuildStepMonitor;
+import hudson.tasks.Publisher;
 import hudson.tasks.Recorder;
 import hudson.tools.ToolInstallation;
 
@@ -61,9 +63,11 @@ import de.tracetronic.jenkins.plugins.ecutest.ETPluginException;
 import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction;
 import de.tracetronic.jenkins.plugins.ecutest.env.ToolEnvInvisibleAction;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.profile.ComProfileAction;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.ATXPublisher;
 import de.tracetronic.jenkins.plugins.ecutest.report.junit.JUnitPublisher;
 import de.tracetronic.jenkins.plugins.ecutest.report.log.ETLogPublisher;
+import de.tracetronic.jenkins.plugins.ecutest.report.pipeline.ReportPipeline;
 import de.tracetronic.jenkins.plugins.ecutest.report.trf.TRFPublisher;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComProperty;
@@ -254,8 +258,9 @@ public abstract class AbstractReportPublisher extends Recorder implements Simple
     @Override
     public void perform(final Run<?, ?> run, final FilePath workspace, final Launcher launcher,
             final TaskListener listener) throws InterruptedException, IOException {
+        final Launcher scopedLauncher = ComProfileAction.scope(run, launcher);
         try {
-            performReport(run, workspace, launcher, listener);
+            performReport(run, workspace, scopedLauncher, listener);
         } catch (final IOException e) {
             Util.displayIOException(e, listener);
             throw e;
@@ -263,9 +268,52 @@ public abstract class AbstractReportPublisher extends Recorder implements Simple
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             logger.logError(e.getMessage());
             throw new AbortException(e.getMessage());
+        } finally {
+            if (isReportSessionRequired() && isLastSessionPublisher(run)) {
+                ReportSession.close(run, listener);
+            }
+            ComProfileAction.collect(run, launcher);
         }
     }
 
+    /**
+     * Returns whether this publisher requires a running ECU-TEST instance and therefore takes part in the
+     * build-scoped {@link ReportSession}.
+     *
+     * @return {@code true} if ECU-TEST is required, {@code false} otherwise
+     * @since 2.1
+     */
+    protected boolean isReportSessionRequired() {
+        return false;
+    }
+
+    /**
+     * Checks whether this publisher is the last configured publisher of the build requiring ECU-TEST. Returns
+     * {@code false} if the publisher order cannot be determined, e.g. for Pipeline or downstream builds, leaving
+     * the session to be closed by the {@link ReportSessionListener}.
+     *
+     * @param run
+     *            the run
+     * @return {@code true} if no further publisher requires the report session, {@code false} otherwise
+     */
+    private boolean isLastSessionPublisher(final Run<?, ?> run) {
+        if (!(run instanceof AbstractBuild) || isDownstream()) {
+            return false;
+        }
+        final List<Publisher> publishers = ((AbstractBuild<?, ?>) run).getProject().getPublishersList().toList();
+        final int index = publishers.indexOf(this);
+        if (index < 0) {
+            return false;
+        }
+        for (final Publisher publisher : publishers.subList(index + 1, publishers.size())) {
+            if (publisher instanceof AbstractReportPublisher
+                    && ((AbstractReportPublisher) publisher).isReportSessionRequired()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Performs the report-specific post-build operations.
      *
@@ -526,6 +574,30 @@ public abstract class AbstractReportPublisher extends Recorder implements Simple
         return reportFiles;
     }
 
+    /**
+     * Gets the source directory to archive the report files from.
+     * Prefers the local copy staged by the {@link ReportPipeline} while the tests were executed.
+     *
+     * @param run
+     *            the run
+     * @param reportDir
+     *            the report directory on the executing node
+     * @return the staged report directory if available, otherwise the given report directory
+     * @throws InterruptedException
+     *             if the build gets interrupted while waiting for the staging
+     */
+    protected FilePath getReportSourceDir(final Run<?, ?> run, final FilePath reportDir)
+            throws InterruptedException {
+        final ReportPipeline pipeline = ReportPipeline.getPipeline(run);
+        if (pipeline != null) {
+            final FilePath stagedDir = pipeline.getStagedReportDir(reportDir);
+            if (stagedDir != null) {
+                return stagedDir;
+            }
+        }
+        return reportDir;
+    }
+
     /**
      * Gets the first TRF file found in given report directory.
      *
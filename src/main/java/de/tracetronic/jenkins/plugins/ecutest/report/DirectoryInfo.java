@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report;
+
+import hudson.FilePath;
+import hudson.FilePath.FileCallable;
+import hudson.remoting.VirtualChannel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.CheckForNull;
+
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Class holding the aggregated size, file count and last modification time of a directory tree, including the
+ * totals of each direct sub-directory. The information is gathered within a single remote call.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class DirectoryInfo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long size;
+    private int fileCount;
+    private long lastModified;
+    private final Map<String, DirectoryInfo> subDirectories = new TreeMap<String, DirectoryInfo>();
+
+    /**
+     * Instantiates a new {@link DirectoryInfo}.
+     */
+    private DirectoryInfo() {
+    }
+
+    /**
+     * Gets the directory information of the given directory.
+     *
+     * @param directory
+     *            the directory
+     * @return the directory information, empty if the directory does not exist
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             the interrupted exception
+     */
+    public static DirectoryInfo of(final FilePath directory) throws IOException, InterruptedException {
+        return directory.act(new DirectoryInfoCallable());
+    }
+
+    /**
+     * @return the total size of all files in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the total number of files
+     */
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    /**
+     * @return the latest modification time of all files in milliseconds
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return the information of the direct sub-directories by name, sorted by name
+     */
+    public Map<String, DirectoryInfo> getSubDirectories() {
+        return Collections.unmodifiableMap(subDirectories);
+    }
+
+    /**
+     * Gets the information of a direct sub-directory.
+     *
+     * @param name
+     *            the sub-directory name
+     * @return the sub-directory information or {@code null} if not found
+     */
+    @CheckForNull
+    public DirectoryInfo getSubDirectory(final String name) {
+        return subDirectories.get(name);
+    }
+
+    /**
+     * Adds a file to the totals.
+     *
+     * @param attrs
+     *            the file attributes
+     */
+    private void addFile(final BasicFileAttributes attrs) {
+        size += attrs.size();
+        fileCount++;
+        lastModified = Math.max(lastModified, attrs.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * Adds the totals of a sub-directory.
+     *
+     * @param name
+     *            the sub-directory name
+     * @param subDirectory
+     *            the sub-directory information
+     */
+    private void addSubDirectory(final String name, final DirectoryInfo subDirectory) {
+        subDirectories.put(name, subDirectory);
+        size += subDirectory.size;
+        fileCount += subDirectory.fileCount;
+        lastModified = Math.max(lastModified, subDirectory.lastModified);
+    }
+
+    /**
+     * {@link FileCallable} providing remote file access to aggregate the directory information.
+     */
+    private static final class DirectoryInfoCallable extends MasterToSlaveFileCallable<DirectoryInfo> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public DirectoryInfo invoke(final File directory, final VirtualChannel channel) throws IOException,
+        InterruptedException {
+            final DirectoryInfo info = new DirectoryInfo();
+            final File[] files = directory.listFiles();
+            if (files == null) {
+                return info;
+            }
+            for (final File file : files) {
+                final BasicFileAttributes attrs = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+                if (attrs.isDirectory()) {
+                    info.addSubDirectory(file.getName(), aggregate(file.toPath()));
+                } else {
+                    info.addFile(attrs);
+                }
+            }
+            return info;
+        }
+
+        /**
+         * Aggregates the totals of the given directory recursively.
+         *
+         * @param directory
+         *            the directory
+         * @return the directory information without sub-directory details
+         * @throws IOException
+         *             signals that an I/O exception has occurred
+         */
+        private static DirectoryInfo aggregate(final Path directory) throws IOException {
+            final DirectoryInfo info = new DirectoryInfo();
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                    if (!attrs.isDirectory()) {
+                        info.addFile(attrs);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            return info;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report;
+
+import hudson.Util;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Agent-side cache of generated template reports. Entries are keyed by the TRF content, the template name, the
+ * template settings, the ECU-TEST version and a fingerprint of the user templates, so that unchanged TRFs do not have
+ * to be regenerated by ECU-TEST.
+ * <p>
+ * The cache is bounded by {@link #getMaxSize()} bytes and evicts the least recently used entries first. It can be
+ * disabled by setting the system property {@code ReportCache.maxSize} of the agent JVM to {@code 0}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ReportCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportCache.class.getName());
+
+    /**
+     * Defines the default maximum cache size in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 1024L * 1024L * 1024L;
+
+    private static final String CACHE_DIR_NAME = "ecutest-report-cache";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File cacheDir;
+    private final long maxSize;
+
+    /**
+     * Instantiates a new {@link ReportCache}.
+     *
+     * @param cacheDir
+     *            the cache directory
+     * @param maxSize
+     *            the maximum cache size in bytes, {@code 0} disables the cache
+     */
+    public ReportCache(final File cacheDir, final long maxSize) {
+        this.cacheDir = cacheDir;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the cache directory
+     */
+    public File getCacheDir() {
+        return cacheDir;
+    }
+
+    /**
+     * @return the maximum cache size in bytes
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return {@code true} if caching is enabled, {@code false} otherwise
+     */
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Gets the cache key of a generated report.
+     *
+     * @param dbFile
+     *            the TRF file
+     * @param templateName
+     *            the template name
+     * @param settings
+     *            the template settings
+     * @param toolVersion
+     *            the ECU-TEST version
+     * @param templateFingerprint
+     *            the fingerprint of the user templates, see {@link #getFingerprint(File)}
+     * @return the cache key
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public static String getKey(final File dbFile, final String templateName, final Map<String, String> settings,
+            final String toolVersion, final String templateFingerprint) throws IOException {
+        final StringBuilder key = new StringBuilder();
+        key.append(Util.getDigestOf(dbFile)).append('\n');
+        key.append(templateName).append('\n');
+        key.append(toolVersion).append('\n');
+        key.append(templateFingerprint).append('\n');
+        for (final Entry<String, String> setting : new TreeMap<String, String>(settings).entrySet()) {
+            key.append(setting.getKey()).append('=').append(setting.getValue()).append('\n');
+        }
+        return Util.getDigestOf(key.toString());
+    }
+
+    /**
+     * Gets the fingerprint of the given template directory. The fingerprint covers the relative path, the size and
+     * the modification time of all contained files, so that any modified user template invalidates the cached reports.
+     *
+     * @param templateDir
+     *            the template directory, can be {@code null}
+     * @return the fingerprint or an empty string if the template directory does not exist
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public static String getFingerprint(@CheckForNull final File templateDir) throws IOException {
+        if (templateDir == null || !templateDir.isDirectory()) {
+            return "";
+        }
+        final Path templatePath = templateDir.toPath();
+        final Map<String, String> files = new TreeMap<String, String>();
+        Files.walkFileTree(templatePath, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                files.put(templatePath.relativize(file).toString(),
+                        String.format("%d:%d", attrs.size(), attrs.lastModifiedTime().toMillis()));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        final StringBuilder fingerprint = new StringBuilder();
+        for (final Entry<String, String> file : files.entrySet()) {
+            fingerprint.append(file.getKey()).append('=').append(file.getValue()).append('\n');
+        }
+        return Util.getDigestOf(fingerprint.toString());
+    }
+
+    /**
+     * Restores a cached report into the given output directory, replacing its current content.
+     *
+     * @param key
+     *            the cache key
+     * @param outDir
+     *            the output directory
+     * @return {@code true} if the report was cached and restored, {@code false} otherwise
+     */
+    public boolean restore(final String key, final File outDir) {
+        if (!isEnabled()) {
+            return false;
+        }
+        synchronized (this) {
+            final File entryDir = new File(cacheDir, key);
+            if (!entryDir.isDirectory()) {
+                return false;
+            }
+            try {
+                if (outDir.exists()) {
+                    Util.deleteRecursive(outDir);
+                }
+                copyDirectory(entryDir.toPath(), outDir.toPath());
+                // Mark as recently used
+                entryDir.setLastModified(System.currentTimeMillis());
+                return true;
+            } catch (final IOException e) {
+                LOGGER.log(Level.WARNING, String.format("Failed restoring cached report: %s", entryDir), e);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Stores the generated report of the given output directory and evicts least recently used entries if the
+     * maximum cache size is exceeded.
+     *
+     * @param key
+     *            the cache key
+     * @param outDir
+     *            the output directory
+     */
+    public void store(final String key, final File outDir) {
+        if (!isEnabled() || !outDir.isDirectory()) {
+            return;
+        }
+        synchronized (this) {
+            final File entryDir = new File(cacheDir, key);
+            final File tempDir = new File(cacheDir, key + TEMP_SUFFIX);
+            try {
+                if (tempDir.exists()) {
+                    Util.deleteRecursive(tempDir);
+                }
+                copyDirectory(outDir.toPath(), tempDir.toPath());
+                if (entryDir.exists()) {
+                    Util.deleteRecursive(entryDir);
+                }
+                if (!tempDir.renameTo(entryDir)) {
+                    throw new IOException(String.format("Could not rename %s to %s", tempDir, entryDir));
+                }
+                entryDir.setLastModified(System.currentTimeMillis());
+                evict();
+            } catch (final IOException e) {
+                LOGGER.log(Level.WARNING, String.format("Failed caching report: %s", outDir), e);
+            }
+        }
+    }
+
+    /**
+     * Evicts the least recently used entries until the cache size does not exceed the maximum size.
+     *
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private void evict() throws IOException {
+        final List<File> entries = getEntries();
+        Collections.sort(entries, new Comparator<File>() {
+
+            @Override
+            public int compare(final File file1, final File file2) {
+                return Long.compare(file1.lastModified(), file2.lastModified());
+            }
+        });
+        long size = 0;
+        final List<Long> sizes = new ArrayList<Long>();
+        for (final File entry : entries) {
+            final long entrySize = getSize(entry.toPath());
+            sizes.add(entrySize);
+            size += entrySize;
+        }
+        for (int i = 0; i < entries.size() && size > maxSize; i++) {
+            Util.deleteRecursive(entries.get(i));
+            size -= sizes.get(i);
+        }
+    }
+
+    /**
+     * @return the cache entry directories
+     */
+    private List<File> getEntries() {
+        final File[] entries = cacheDir.listFiles(new FileFilter() {
+
+            @Override
+            public boolean accept(final File file) {
+                return file.isDirectory() && !file.getName().endsWith(TEMP_SUFFIX);
+            }
+        });
+        return entries == null ? new ArrayList<File>() : new ArrayList<File>(Arrays.asList(entries));
+    }
+
+    /**
+     * Gets the total size of given directory recursively.
+     *
+     * @param dir
+     *            the directory
+     * @return the size in bytes
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private static long getSize(final Path dir) throws IOException {
+        final long[] size = new long[1];
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                size[0] += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return size[0];
+    }
+
+    /**
+     * Copies the given directory recursively.
+     *
+     * @param source
+     *            the source directory
+     * @param target
+     *            the target directory
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private static void copyDirectory(final Path source, final Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
+                    throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file)), StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Returns the report cache of the current JVM, located in the temporary directory.
+     *
+     * @return the report cache
+     */
+    public static ReportCache getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * Initializes and holds the singleton for this class.
+     */
+    private static final class SingletonHolder {
+
+        private static final ReportCache INSTANCE = new ReportCache(
+                new File(System.getProperty("java.io.tmpdir"), CACHE_DIR_NAME),
+                Long.getLong(ReportCache.class.getSimpleName() + ".maxSize", DEFAULT_MAX_SIZE));
+
+        /**
+         * Private constructor.
+         */
+        private SingletonHolder() {
+            throw new UnsupportedOperationException("Singleton class");
+        }
+    }
+}
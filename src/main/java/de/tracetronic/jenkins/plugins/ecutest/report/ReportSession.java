@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report;
+
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.TaskListener;
+import hudson.model.Run;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
+
+/**
+ * Build-scoped ECU-TEST session shared by all report publishers requiring a running ECU-TEST instance.
+ * <p>
+ * The first publisher of a build not finding a running ECU-TEST instance starts it via {@link #start}. Further
+ * publishers of the same build then reuse the running instance instead of starting and stopping ECU-TEST on their
+ * own. The session is closed by the last publisher requiring ECU-TEST or, if the further publishers of the build
+ * cannot be determined, e.g. for Pipeline steps, by the {@link ReportSessionListener} when the build is completed.
+ * <p>
+ * Sessions are locked per build, so that starting or stopping ECU-TEST for one build never blocks the report
+ * publishers of other builds.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ReportSession {
+
+    private static final ConcurrentMap<String, ReportSession> SESSIONS =
+            new ConcurrentHashMap<String, ReportSession>();
+
+    private static final ConcurrentMap<String, Object> LOCKS = new ConcurrentHashMap<String, Object>();
+
+    private final ETClient etClient;
+    private final FilePath workspace;
+    private final Launcher launcher;
+
+    /**
+     * Instantiates a new {@link ReportSession}.
+     *
+     * @param etClient
+     *            the ECU-TEST client which started the session
+     * @param workspace
+     *            the workspace
+     * @param launcher
+     *            the launcher
+     */
+    private ReportSession(final ETClient etClient, final FilePath workspace, final Launcher launcher) {
+        this.etClient = etClient;
+        this.workspace = workspace;
+        this.launcher = launcher;
+    }
+
+    /**
+     * Starts ECU-TEST for the report publishers of the given build, unless it has already been started by a previous
+     * publisher of this build.
+     *
+     * @param run
+     *            the run
+     * @param etClient
+     *            the ECU-TEST client to start
+     * @param workspace
+     *            the workspace
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return {@code true} if ECU-TEST is running, {@code false} if starting failed
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    public static boolean start(final Run<?, ?> run, final ETClient etClient, final FilePath workspace,
+            final Launcher launcher, final TaskListener listener) throws IOException, InterruptedException {
+        final TTConsoleLogger logger = new TTConsoleLogger(listener);
+        final String id = run.getExternalizableId();
+        synchronized (getLock(id)) {
+            final ReportSession session = SESSIONS.get(id);
+            if (session != null) {
+                if (!ETClient.checkProcesses(launcher, false).isEmpty()) {
+                    logger.logInfo(String.format("Reusing %s started for report generation.",
+                            etClient.getToolName()));
+                    return true;
+                }
+                SESSIONS.remove(id);
+                session.stop(listener);
+            }
+            if (etClient.start(false, workspace, launcher, listener)) {
+                SESSIONS.put(id, new ReportSession(etClient, workspace, launcher));
+                return true;
+            }
+            if (!etClient.stop(true, workspace, launcher, listener)) {
+                logger.logError(String.format("Stopping %s failed.", etClient.getToolName()));
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether an ECU-TEST session has been started for the report publishers of the given build.
+     *
+     * @param run
+     *            the run
+     * @return {@code true} if a session is active, {@code false} otherwise
+     */
+    public static boolean isActive(final Run<?, ?> run) {
+        return SESSIONS.containsKey(run.getExternalizableId());
+    }
+
+    /**
+     * Closes the ECU-TEST session of the given build by stopping the ECU-TEST instance started for it.
+     *
+     * @param run
+     *            the run
+     * @param listener
+     *            the listener
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    public static void close(final Run<?, ?> run, final TaskListener listener) throws IOException,
+            InterruptedException {
+        final String id = run.getExternalizableId();
+        try {
+            synchronized (getLock(id)) {
+                final ReportSession session = SESSIONS.remove(id);
+                if (session != null) {
+                    session.stop(listener);
+                }
+            }
+        } finally {
+            LOCKS.remove(id);
+        }
+    }
+
+    /**
+     * Gets the lock guarding the session of the given build.
+     *
+     * @param id
+     *            the externalizable id of the build
+     * @return the lock
+     */
+    private static Object getLock(final String id) {
+        final Object newLock = new Object();
+        final Object lock = LOCKS.putIfAbsent(id, newLock);
+        return lock == null ? newLock : lock;
+    }
+
+    /**
+     * Stops the ECU-TEST instance started for this session.
+     *
+     * @param listener
+     *            the listener
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    private void stop(final TaskListener listener) throws IOException, InterruptedException {
+        if (!etClient.stop(true, workspace, launcher, listener)) {
+            final TTConsoleLogger logger = new TTConsoleLogger(listener);
+            logger.logError(String.format("Stopping %s failed.", etClient.getToolName()));
+        }
+    }
+}
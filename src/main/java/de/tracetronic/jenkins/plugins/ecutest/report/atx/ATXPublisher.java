@@ -45,6 +45,7 @@ import hudson.util.FormValidation;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -62,6 +63,7 @@ import net.sf.json.JSONObject;
 import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.StaplerRequest;
 
@@ -70,15 +72,18 @@ import de.tracetronic.jenkins.plugins.ecutest.ETPluginException;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.report.AbstractReportDescriptor;
 import de.tracetronic.jenkins.plugins.ecutest.report.AbstractReportPublisher;
+import de.tracetronic.jenkins.plugins.ecutest.report.ReportSession;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXConfig;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXCustomSetting;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXInstallation;
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.installation.ATXSetting;
+import de.tracetronic.jenkins.plugins.ecutest.report.trf.TRFPublisher;
 import de.tracetronic.jenkins.plugins.ecutest.tool.StartETBuilder;
 import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
 import de.tracetronic.jenkins.plugins.ecutest.util.ATXUtil;
 import de.tracetronic.jenkins.plugins.ecutest.util.ProcessUtil;
+import de.tracetronic.jenkins.plugins.ecutest.util.validation.ATXConnectionCache;
 import de.tracetronic.jenkins.plugins.ecutest.util.validation.ATXValidator;
 
 /**
@@ -93,8 +98,25 @@ public class ATXPublisher extends AbstractReportPublisher {
      */
     protected static final String URL_NAME = "atx-reports";
 
+    /**
+     * Defines the Ant-style pattern of the ATX report archives within the report directories.
+     */
+    private static final String ATX_ZIP_INCLUDES = String.format("**/%s/*.zip", ATXReportGenerator.ATX_TEMPLATE_NAME);
+
     @Nonnull
     private final String atxName;
+    /**
+     * @since 2.1
+     */
+    private int uploadThreads;
+    /**
+     * @since 2.1
+     */
+    private int uploadQueueSize;
+    /**
+     * @since 2.1
+     */
+    private int uploadTries;
 
     /**
      * Instantiates a new {@link ATXPublisher}.
@@ -116,6 +138,54 @@ public class ATXPublisher extends AbstractReportPublisher {
         return atxName;
     }
 
+    /**
+     * @return the number of parallel report uploads
+     */
+    public int getUploadThreads() {
+        return uploadThreads > 0 ? uploadThreads : ATXReportUploader.DEFAULT_UPLOAD_THREADS;
+    }
+
+    /**
+     * @param uploadThreads
+     *            the number of parallel report uploads
+     */
+    @DataBoundSetter
+    public void setUploadThreads(final int uploadThreads) {
+        this.uploadThreads = uploadThreads;
+    }
+
+    /**
+     * @return the number of generated reports waiting for upload before the generation is blocked
+     */
+    public int getUploadQueueSize() {
+        return uploadQueueSize > 0 ? uploadQueueSize : ATXReportUploader.DEFAULT_UPLOAD_QUEUE_SIZE;
+    }
+
+    /**
+     * @param uploadQueueSize
+     *            the number of generated reports waiting for upload before the generation is blocked
+     */
+    @DataBoundSetter
+    public void setUploadQueueSize(final int uploadQueueSize) {
+        this.uploadQueueSize = uploadQueueSize;
+    }
+
+    /**
+     * @return the maximum number of tries per report upload
+     */
+    public int getUploadTries() {
+        return uploadTries > 0 ? uploadTries : ATXReportUploader.DEFAULT_UPLOAD_TRIES;
+    }
+
+    /**
+     * @param uploadTries
+     *            the maximum number of tries per report upload
+     */
+    @DataBoundSetter
+    public void setUploadTries(final int uploadTries) {
+        this.uploadTries = uploadTries;
+    }
+
     @Override
     public void performReport(final Run<?, ?> run, final FilePath workspace, final Launcher launcher,
             final TaskListener listener) throws InterruptedException, IOException, ETPluginException {
@@ -152,14 +222,11 @@ public class ATXPublisher extends AbstractReportPublisher {
             toolName = run.getEnvironment(listener).expand(etInstallation.getName());
             final ETClient etClient = new ETClient(toolName, installPath, workspaceDir, settingsDir,
                     StartETBuilder.DEFAULT_TIMEOUT, false);
-            if (etClient.start(false, workspace, launcher, listener)) {
+            if (ReportSession.start(run, etClient, workspace, launcher, listener)) {
                 isPublished = publishReports(installation, run, workspace, launcher, listener);
             } else {
                 logger.logError(String.format("Starting %s failed.", toolName));
             }
-            if (!etClient.stop(true, workspace, launcher, listener)) {
-                logger.logError(String.format("Stopping %s failed.", toolName));
-            }
         }
 
         if (isPublished) {
@@ -197,21 +264,124 @@ public class ATXPublisher extends AbstractReportPublisher {
         final boolean isServerReachable = isServerReachable(installation, launcher, run.getEnvironment(listener));
         if (isUploadEnabled && isServerReachable) {
             logger.logInfo("- Generating and uploading ATX reports...");
-            final ATXReportUploader uploader = new ATXReportUploader(installation);
+            final ATXReportUploader uploader = new ATXReportUploader(installation, getUploadThreads(),
+                    getUploadQueueSize(), getUploadTries());
             return uploader.upload(reportDirs, isAllowMissing(), run, launcher, listener);
         } else {
             logger.logInfo("- Generating ATX reports...");
-            if (isUploadEnabled && !isServerReachable) {
-                logger.logWarn("-> ATX upload will be skipped because selected TEST-GUIDE server is not reachable!");
-            }
             final FilePath archiveTarget = getArchiveTarget(run);
+            final boolean isSpooling = isUploadEnabled && !isServerReachable;
+            final Map<String, Long> previousZipFiles = isSpooling ? getZipFiles(reportDirs)
+                    : Collections.<String, Long> emptyMap();
 
             final ATXReportGenerator generator = new ATXReportGenerator(installation);
-            return generator.generate(archiveTarget, reportDirs, isAllowMissing(), isArchiving(), isKeepAll(), run,
-                    launcher, listener);
+            final boolean isGenerated = generator.generate(archiveTarget, reportDirs, isAllowMissing(), isArchiving(),
+                    isKeepAll(), run, launcher, listener);
+            if (isGenerated && isSpooling) {
+                logger.logWarn("-> ATX upload will be deferred because selected TEST-GUIDE server is not reachable!");
+                spoolReports(installation, reportDirs, previousZipFiles, run, listener);
+            }
+            return isGenerated;
         }
     }
 
+    /**
+     * Spools the ATX report archives produced by the current generation for a deferred upload by
+     * {@link ATXSpoolDrainWork}. Package reports are skipped if only project reports should be uploaded.
+     *
+     * @param installation
+     *            the ATX installation
+     * @param reportDirs
+     *            the report directories
+     * @param previousZipFiles
+     *            the archives already present before the generation
+     * @param run
+     *            the run
+     * @param listener
+     *            the listener
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    @SuppressWarnings("rawtypes")
+    private void spoolReports(final ATXInstallation installation, final List<FilePath> reportDirs,
+            final Map<String, Long> previousZipFiles, final Run<?, ?> run, final TaskListener listener)
+            throws IOException, InterruptedException {
+        final TTConsoleLogger logger = new TTConsoleLogger(listener);
+        final ATXConfig config = installation.getConfig();
+        final List<ATXSetting> uploadSettings = config.getConfigByName("uploadConfig");
+        final Object uploadOnlyProjectReport = config.getSettingValueByName("uploadOnlyProjectReport",
+                uploadSettings);
+        final boolean isProjectOnly = uploadOnlyProjectReport != null && (boolean) uploadOnlyProjectReport;
+        final List<FilePath> zipFiles = new ArrayList<FilePath>();
+        for (final FilePath reportDir : reportDirs) {
+            if (!reportDir.exists()) {
+                continue;
+            }
+            for (final FilePath zipFile : reportDir.list(ATX_ZIP_INCLUDES)) {
+                if (Long.valueOf(zipFile.lastModified()).equals(previousZipFiles.get(zipFile.getRemote()))) {
+                    continue;
+                }
+                if (isProjectOnly && !isProjectArchive(zipFile)) {
+                    logger.logInfo(String.format("-> Skipping package report: %s", zipFile.getRemote()));
+                    continue;
+                }
+                zipFiles.add(zipFile);
+            }
+        }
+        if (zipFiles.isEmpty()) {
+            return;
+        }
+        final EnvVars envVars = run.getEnvironment(listener);
+        final Object authKey = config.getSettingValueByName("uploadAuthenticationKey", uploadSettings);
+        ATXUploadSpool.spool(run, ATXUtil.getBaseUrl(config, envVars), ATXUtil.getProjectId(config, envVars),
+                authKey == null ? null : envVars.expand(authKey.toString()), zipFiles);
+        logger.logInfo(String.format("-> Spooled %d ATX report(s) for deferred upload.", zipFiles.size()));
+    }
+
+    /**
+     * Gets the ATX report archives of all report directories.
+     *
+     * @param reportDirs
+     *            the report directories
+     * @return the last modification times mapped by archive path
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    private static Map<String, Long> getZipFiles(final List<FilePath> reportDirs) throws IOException,
+            InterruptedException {
+        final Map<String, Long> zipFiles = new HashMap<String, Long>();
+        for (final FilePath reportDir : reportDirs) {
+            zipFiles.putAll(ATXReportUploader.getZipFiles(reportDir, ATX_ZIP_INCLUDES));
+        }
+        return zipFiles;
+    }
+
+    /**
+     * Checks whether the given ATX report archive has been generated from a project report, i.e. whether any TRF
+     * file of the report directory containing the ATX output directory holds a project report.
+     *
+     * @param zipFile
+     *            the ATX report archive
+     * @return {@code true} if generated from a project report, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    private static boolean isProjectArchive(final FilePath zipFile) throws IOException, InterruptedException {
+        final FilePath testReportDir = zipFile.getParent().getParent();
+        for (final FilePath trfFile : testReportDir.list(TRFPublisher.TRF_INCLUDE)) {
+            if (ATXReportUploader.isProjectReport(trfFile)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Checks whether the ATX upload setting is enabled.
      *
@@ -275,8 +445,7 @@ public class ATXPublisher extends AbstractReportPublisher {
         @Override
         public Boolean call() throws IOException {
             final String baseUrl = ATXUtil.getBaseUrl(config, envVars);
-            final ATXValidator validator = new ATXValidator();
-            final FormValidation validation = validator.testConnection(baseUrl);
+            final FormValidation validation = ATXConnectionCache.testConnection(baseUrl);
             return validation.kind.equals(FormValidation.Kind.OK);
         }
     }
@@ -304,6 +473,11 @@ public class ATXPublisher extends AbstractReportPublisher {
         return ATXInstallation.get(expandedName);
     }
 
+    @Override
+    protected boolean isReportSessionRequired() {
+        return true;
+    }
+
     @Override
     public String getUrlName() {
         return URL_NAME;
@@ -36,6 +36,7 @@ import hudson.model.TaskListener;
 import hudson.model.Run;
 import hudson.remoting.Callable;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Connection;
@@ -48,6 +49,8 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
 
 import jenkins.security.MasterToSlaveCallable;
 import net.sf.json.JSONArray;
@@ -81,13 +84,52 @@ public class ATXReportUploader extends AbstractATXReportHandler {
             + "de.tracetronic.ttstm.web.detail.TestReportViewPage?testCase";
 
     /**
-     * Instantiates a new {@code ATXReportUploader}.
+     * Defines the default number of parallel report uploads.
+     */
+    public static final int DEFAULT_UPLOAD_THREADS = 2;
+
+    /**
+     * Defines the default number of generated reports waiting for upload.
+     */
+    public static final int DEFAULT_UPLOAD_QUEUE_SIZE = 4;
+
+    /**
+     * Defines the default number of tries per report upload.
+     */
+    public static final int DEFAULT_UPLOAD_TRIES = 3;
+
+    private final int uploadThreads;
+    private final int uploadQueueSize;
+    private final int uploadTries;
+
+    /**
+     * Instantiates a new {@code ATXReportUploader} with default upload settings.
      *
      * @param installation
      *            the ATX installation
      */
     public ATXReportUploader(final ATXInstallation installation) {
+        this(installation, DEFAULT_UPLOAD_THREADS, DEFAULT_UPLOAD_QUEUE_SIZE, DEFAULT_UPLOAD_TRIES);
+    }
+
+    /**
+     * Instantiates a new {@code ATXReportUploader}.
+     *
+     * @param installation
+     *            the ATX installation
+     * @param uploadThreads
+     *            the number of parallel report uploads
+     * @param uploadQueueSize
+     *            the number of generated reports waiting for upload before the generation is blocked
+     * @param uploadTries
+     *            the maximum number of tries per report upload
+     */
+    public ATXReportUploader(final ATXInstallation installation, final int uploadThreads, final int uploadQueueSize,
+            final int uploadTries) {
         super(installation);
+        this.uploadThreads = uploadThreads;
+        this.uploadQueueSize = uploadQueueSize;
+        this.uploadTries = uploadTries;
     }
 
     /**
@@ -159,7 +201,8 @@ public class ATXReportUploader extends AbstractATXReportHandler {
 
         // Upload ATX reports
         final boolean isUploaded = launcher.getChannel().call(
-                new UploadReportCallable(config, uploadFiles, envVars, listener));
+                new UploadReportCallable(config, uploadFiles, envVars, uploadThreads, uploadQueueSize, uploadTries,
+                        listener));
         if (isUploaded) {
             // FIXME: hackish way to fix the upload end date
             final String to = String.valueOf(Calendar.getInstance().getTimeInMillis());
@@ -401,18 +444,65 @@ public class ATXReportUploader extends AbstractATXReportHandler {
         return prjReportUrl;
     }
 
+    /**
+     * Gets the ATX report archives of the given directory, so that archives of previous generations can be
+     * distinguished from the ones produced by the current generation.
+     *
+     * @param dir
+     *            the directory to search in
+     * @param includes
+     *            the Ant-style pattern of the archives to include
+     * @return the last modification times mapped by archive path
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the current thread is interrupted
+     */
+    static Map<String, Long> getZipFiles(final FilePath dir, final String includes) throws IOException,
+            InterruptedException {
+        final Map<String, Long> zipFiles = new TreeMap<String, Long>();
+        if (dir.exists()) {
+            for (final FilePath zipFile : dir.list(includes)) {
+                zipFiles.put(zipFile.getRemote(), zipFile.lastModified());
+            }
+        }
+        return zipFiles;
+    }
+
+    /**
+     * Checks whether the given TRF file holds a project report.
+     *
+     * @param trfFile
+     *            the TRF file
+     * @return {@code true} if the TRF file holds a project report, {@code false} if it holds a package report
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the current thread is interrupted
+     */
+    static boolean isProjectReport(final FilePath trfFile) throws IOException, InterruptedException {
+        return trfFile.getChannel().call(new ParseTRFCallable(trfFile.getRemote())).getTestType() == TestType.PROJECT;
+    }
+
     /**
      * {@link Callable} enabling generating and uploading ATX reports remotely.
+     * ECU-TEST generates the ATX reports sequentially while the generated archives are uploaded in parallel.
+     * Only archives produced by the current generation are uploaded, taking the ATX settings
+     * {@code uploadOnlyProjectReport} and {@code cleanAfterSuccessUpload} into account.
      */
     private static final class UploadReportCallable extends AbstractReportCallable {
 
         private static final long serialVersionUID = 1L;
 
         /**
-         * File name of the error file which is created in case of an ATX upload error.
+         * File name of the error file which is created in case of an ATX generation error.
          */
         private static final String ERROR_FILE_NAME = "error.log.raw.json";
 
+        private final int uploadThreads;
+        private final int uploadQueueSize;
+        private final int uploadTries;
+
         /**
          * Instantiates a new {@link UploadReportCallable}.
          *
@@ -422,19 +512,37 @@ public class ATXReportUploader extends AbstractATXReportHandler {
          *            the list of TRF files
          * @param envVars
          *            the environment variables
+         * @param uploadThreads
+         *            the number of parallel uploads
+         * @param uploadQueueSize
+         *            the number of generated reports waiting for upload before the generation is blocked
+         * @param uploadTries
+         *            the maximum number of tries per report upload
          * @param listener
          *            the listener
          */
         UploadReportCallable(final ATXConfig config, final List<FilePath> reportFiles, final EnvVars envVars,
+                final int uploadThreads, final int uploadQueueSize, final int uploadTries,
                 final TaskListener listener) {
             super(config, reportFiles, envVars, listener);
+            this.uploadThreads = uploadThreads;
+            this.uploadQueueSize = uploadQueueSize;
+            this.uploadTries = uploadTries;
         }
 
         @Override
         public Boolean call() throws IOException {
             boolean isUploaded = true;
             final TTConsoleLogger logger = new TTConsoleLogger(getListener());
-            final Map<String, String> configMap = getConfigMap(true);
+            final Map<String, String> configMap = getConfigMap(false);
+            final boolean uploadOnlyProjectReport = Boolean.parseBoolean(configMap.get("uploadOnlyProjectReport"));
+            final boolean cleanAfterSuccessUpload = Boolean.parseBoolean(configMap.get("cleanAfterSuccessUpload"));
+            final String baseUrl = ATXUtil.getBaseUrl(configMap.get("serverURL"), configMap.get("serverPort"),
+                    configMap.get("serverContextPath"), Boolean.parseBoolean(configMap.get("useHttpsConnection")));
+            final String uploadUrl = ATXUploadQueue.getUploadUrl(baseUrl, configMap.get("projectId"),
+                    configMap.get("uploadAuthenticationKey"));
+            final ATXUploadQueue uploadQueue = new ATXUploadQueue(uploadUrl, uploadThreads, uploadQueueSize,
+                    uploadTries, ATXUploadQueue.RETRY_DELAY, logger);
             final String progId = ETComProperty.getInstance().getProgId();
             try (ETComClient comClient = new ETComClient(progId)) {
                 final TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
@@ -443,42 +551,75 @@ public class ATXReportUploader extends AbstractATXReportHandler {
                     logger.logInfo("-> No report files found to upload!");
                 } else {
                     for (final FilePath uploadFile : uploadFiles) {
-                        logger.logInfo(String.format("-> Generating and uploading ATX report: %s",
-                                uploadFile.getRemote()));
+                        if (uploadOnlyProjectReport && new ParseTRFCallable(uploadFile.getRemote()).call()
+                                .getTestType() != TestType.PROJECT) {
+                            logger.logInfo(String.format("-> Skipping package report: %s",
+                                    uploadFile.getRemote()));
+                            continue;
+                        }
+                        logger.logInfo(String.format("-> Generating ATX report: %s", uploadFile.getRemote()));
                         final FilePath outDir = uploadFile.getParent().child(ATX_TEMPLATE_NAME);
+                        final Map<String, Long> previousZipFiles = getZipFiles(outDir, "*.zip");
                         testEnv.generateTestReportDocumentFromDB(uploadFile.getRemote(),
                                 outDir.getRemote(), ATX_TEMPLATE_NAME, true, configMap);
                         comClient.waitForIdle(0);
-
-                        // Check error log file and abort the upload if any
-                        final FilePath errorFile = outDir.child(ERROR_FILE_NAME);
-                        try {
-                            if (errorFile.exists()) {
-                                isUploaded = false;
-                                logger.logError("Error while uploading ATX report:");
-                                final JSONObject jsonObject = (JSONObject) new JsonSlurper()
-                                .parseText(errorFile.readToString());
-                                final JSONArray jsonArray = jsonObject.optJSONArray("ENTRIES");
-                                if (jsonArray != null) {
-                                    for (int i = 0; i < jsonArray.size(); i++) {
-                                        final String file = jsonArray.getJSONObject(i).getString("FILE");
-                                        final String status = jsonArray.getJSONObject(i).getString("STATUS");
-                                        final String text = jsonArray.getJSONObject(i).getString("TEXT");
-                                        logger.logError(String.format("%s: %s - %s", status, file, text));
-                                    }
-                                }
+                        if (!checkErrorFile(outDir, logger)) {
+                            isUploaded = false;
+                            continue;
+                        }
+                        for (final Entry<String, Long> zipFile : getZipFiles(outDir, "*.zip").entrySet()) {
+                            if (!zipFile.getValue().equals(previousZipFiles.get(zipFile.getKey()))) {
+                                uploadQueue.submit(new File(zipFile.getKey()), cleanAfterSuccessUpload);
                             }
-                        } catch (final JSONException | InterruptedException e) {
-                            logger.logError("-> Could not parse ATX JSON response: " + e.getMessage());
                         }
                     }
                 }
+                isUploaded &= uploadQueue.awaitCompletion();
             } catch (final ETComException e) {
                 isUploaded = false;
                 logger.logComException(e.getMessage());
+            } catch (final InterruptedException e) {
+                isUploaded = false;
+                logger.logError("-> Uploading ATX reports has been interrupted!");
+                Thread.currentThread().interrupt();
+            } finally {
+                uploadQueue.abort();
             }
             return isUploaded;
         }
+
+        /**
+         * Checks the error log file of the ATX generation.
+         *
+         * @param outDir
+         *            the ATX output directory
+         * @param logger
+         *            the logger
+         * @return {@code true} if no errors are logged, {@code false} otherwise
+         */
+        private static boolean checkErrorFile(final FilePath outDir, final TTConsoleLogger logger) {
+            final FilePath errorFile = outDir.child(ERROR_FILE_NAME);
+            try {
+                if (errorFile.exists()) {
+                    logger.logError("Error while generating ATX report:");
+                    final JSONObject jsonObject = (JSONObject) new JsonSlurper()
+                    .parseText(errorFile.readToString());
+                    final JSONArray jsonArray = jsonObject.optJSONArray("ENTRIES");
+                    if (jsonArray != null) {
+                        for (int i = 0; i < jsonArray.size(); i++) {
+                            final String file = jsonArray.getJSONObject(i).getString("FILE");
+                            final String status = jsonArray.getJSONObject(i).getString("STATUS");
+                            final String text = jsonArray.getJSONObject(i).getString("TEXT");
+                            logger.logError(String.format("%s: %s - %s", status, file, text));
+                        }
+                    }
+                    return false;
+                }
+            } catch (final JSONException | IOException | InterruptedException e) {
+                logger.logError("-> Could not parse ATX JSON response: " + e.getMessage());
+            }
+            return true;
+        }
     }
 
     /**
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.FormValidation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang.StringUtils;
+
+import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.util.validation.ATXConnectionCache;
+
+/**
+ * Periodic work uploading the ATX report archives spooled by {@link ATXUploadSpool} as soon as the related
+ * TEST-GUIDE server is reachable again. On success the report links are attached to the originating build.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+@Extension
+public class ATXSpoolDrainWork extends AsyncPeriodicWork {
+
+    private static final Logger LOGGER = Logger.getLogger(ATXSpoolDrainWork.class.getName());
+
+    /**
+     * Defines the maximum number of archives uploaded per period to avoid flooding a recovering server.
+     */
+    static final int MAX_UPLOADS_PER_PERIOD = 10;
+
+    /**
+     * Defines the maximum age of spooled entries, older entries are discarded.
+     */
+    static final long MAX_AGE = TimeUnit.DAYS.toMillis(7);
+
+    /**
+     * Instantiates a new {@link ATXSpoolDrainWork}.
+     */
+    public ATXSpoolDrainWork() {
+        super("ATX upload spool");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return MIN;
+    }
+
+    @Override
+    protected void execute(final TaskListener listener) throws IOException, InterruptedException {
+        drain(ATXUploadSpool.getEntryDirs(), new TTConsoleLogger(listener));
+    }
+
+    /**
+     * Uploads the due spool entries, limited to {@link #MAX_UPLOADS_PER_PERIOD} archives in total. Entries holding
+     * more archives than allowed are uploaded partially and continued in the next period.
+     *
+     * @param entryDirs
+     *            the entry directories, oldest first
+     * @param logger
+     *            the logger
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting
+     */
+    void drain(final List<File> entryDirs, final TTConsoleLogger logger) throws IOException,
+            InterruptedException {
+        final List<String> unreachableUrls = new ArrayList<String>();
+        int uploads = 0;
+        for (final File entryDir : entryDirs) {
+            if (uploads >= MAX_UPLOADS_PER_PERIOD) {
+                break;
+            }
+            final long now = System.currentTimeMillis();
+            final ATXSpoolEntry entry;
+            try {
+                entry = load(entryDir);
+            } catch (final IOException e) {
+                LOGGER.log(Level.WARNING, String.format("Failed to load spooled ATX upload: %s", entryDir), e);
+                continue;
+            }
+            if (now - entry.getCreated() > MAX_AGE) {
+                LOGGER.log(Level.WARNING, String.format("Discarding spooled ATX upload of %s after %d tries",
+                        entry.getBuildId(), entry.getTries()));
+                Util.deleteRecursive(entryDir);
+                continue;
+            }
+            if (!entry.isDue(now) || unreachableUrls.contains(entry.getBaseUrl())) {
+                continue;
+            }
+            if (!isServerReachable(entry.getBaseUrl())) {
+                unreachableUrls.add(entry.getBaseUrl());
+                continue;
+            }
+            final List<File> zipFiles = ATXUploadSpool.getZipFiles(entryDir);
+            final List<File> batch = zipFiles.subList(0, Math.min(zipFiles.size(),
+                    MAX_UPLOADS_PER_PERIOD - uploads));
+            uploads += batch.size();
+            final boolean isUploaded = upload(entry, batch, logger);
+
+            // Successfully uploaded archives are removed from the spool, so attach only their links
+            final List<File> uploadedFiles = new ArrayList<File>();
+            for (final File zipFile : batch) {
+                if (!zipFile.exists()) {
+                    uploadedFiles.add(zipFile);
+                }
+            }
+            if (!uploadedFiles.isEmpty()) {
+                addReports(entry, uploadedFiles);
+            }
+            if (ATXUploadSpool.getZipFiles(entryDir).isEmpty()) {
+                Util.deleteRecursive(entryDir);
+            } else if (!isUploaded) {
+                entry.scheduleRetry(System.currentTimeMillis());
+                save(entryDir, entry);
+            }
+        }
+    }
+
+    /**
+     * Loads the metadata of a spool entry.
+     *
+     * @param entryDir
+     *            the entry directory
+     * @return the spool entry
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    ATXSpoolEntry load(final File entryDir) throws IOException {
+        return ATXUploadSpool.load(entryDir);
+    }
+
+    /**
+     * Saves the metadata of a spool entry.
+     *
+     * @param entryDir
+     *            the entry directory
+     * @param entry
+     *            the spool entry
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    void save(final File entryDir, final ATXSpoolEntry entry) throws IOException {
+        ATXUploadSpool.save(entryDir, entry);
+    }
+
+    /**
+     * Checks whether the TEST-GUIDE server is reachable.
+     *
+     * @param baseUrl
+     *            the TEST-GUIDE base URL
+     * @return {@code true} if server is reachable, {@code false} otherwise
+     */
+    boolean isServerReachable(final String baseUrl) {
+        final FormValidation validation = ATXConnectionCache.testConnection(baseUrl);
+        return validation.kind.equals(FormValidation.Kind.OK);
+    }
+
+    /**
+     * Uploads the spooled archives of an entry. Each successfully uploaded archive is deleted from the spool.
+     *
+     * @param entry
+     *            the spool entry
+     * @param zipFiles
+     *            the ATX report archives
+     * @param logger
+     *            the logger
+     * @return {@code true} if all archives are uploaded successfully, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting
+     */
+    boolean upload(final ATXSpoolEntry entry, final List<File> zipFiles, final TTConsoleLogger logger)
+            throws IOException, InterruptedException {
+        final String uploadUrl = ATXUploadQueue.getUploadUrl(entry.getBaseUrl(), entry.getProjectId(),
+                entry.getAuthKey());
+        final ATXUploadQueue queue = new ATXUploadQueue(uploadUrl, 1, 0, 1, ATXUploadQueue.RETRY_DELAY, logger);
+        try {
+            for (final File zipFile : zipFiles) {
+                queue.submit(zipFile, true);
+            }
+            return queue.awaitCompletion();
+        } finally {
+            queue.abort();
+        }
+    }
+
+    /**
+     * Attaches the TEST-GUIDE report links to the originating build, if it still exists.
+     *
+     * @param entry
+     *            the spool entry
+     * @param zipFiles
+     *            the uploaded ATX report archives
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    void addReports(final ATXSpoolEntry entry, final List<File> zipFiles) throws IOException {
+        final Run<?, ?> run = Run.fromExternalizableId(entry.getBuildId());
+        if (run != null) {
+            addReports(run, entry, zipFiles);
+        }
+    }
+
+    /**
+     * Attaches the TEST-GUIDE report links to the given build.
+     *
+     * @param run
+     *            the build
+     * @param entry
+     *            the spool entry
+     * @param zipFiles
+     *            the uploaded ATX report archives
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    @SuppressWarnings("unchecked")
+    static void addReports(final Run<?, ?> run, final ATXSpoolEntry entry, final List<File> zipFiles)
+            throws IOException {
+        String reportUrl = String.format("%s/reports?dateFrom=%d&dateTo=%d", entry.getBaseUrl(),
+                entry.getBuildTime(), System.currentTimeMillis());
+        if (StringUtils.isNotBlank(entry.getProjectId())) {
+            reportUrl = String.format("%s&projectId=%s", reportUrl, entry.getProjectId());
+        }
+        synchronized (run) {
+            // Archived ATX reports are held by a separate action, so only reuse an action holding report links
+            ATXBuildAction<ATXReport> action = null;
+            for (final ATXBuildAction<?> buildAction : run.getActions(ATXBuildAction.class)) {
+                if (!buildAction.getATXReports().isEmpty() && buildAction.getATXReports().get(0) instanceof ATXReport) {
+                    action = (ATXBuildAction<ATXReport>) buildAction;
+                    break;
+                }
+            }
+            if (action == null) {
+                action = new ATXBuildAction<ATXReport>(false);
+                run.addAction(action);
+            }
+            int id = action.getATXReports().size();
+            for (final File zipFile : zipFiles) {
+                // Strip the spool index prefix
+                final String title = zipFile.getName().replaceFirst("^\\d+_", "").replaceFirst("\\.zip$", "");
+                action.add(new ATXReport(String.format("spooled%d", ++id), title, reportUrl));
+            }
+            run.save();
+        }
+    }
+}
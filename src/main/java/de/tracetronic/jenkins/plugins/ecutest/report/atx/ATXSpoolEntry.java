@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import hudson.util.Secret;
+
+/**
+ * Metadata of ATX report archives spooled by the {@link ATXUploadSpool} until TEST-GUIDE is reachable again.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXSpoolEntry {
+
+    /**
+     * Defines the initial delay in milliseconds before retrying a failed upload.
+     */
+    static final long RETRY_DELAY = 60000L;
+
+    /**
+     * Defines the maximum delay in milliseconds between two upload tries.
+     */
+    static final long MAX_RETRY_DELAY = 3600000L;
+
+    private final String buildId;
+    private final long buildTime;
+    private final String baseUrl;
+    private final String projectId;
+    private final Secret authKey;
+    private final long created;
+    private int tries;
+    private long nextAttempt;
+
+    /**
+     * Instantiates a new {@link ATXSpoolEntry}.
+     *
+     * @param buildId
+     *            the externalizable id of the build
+     * @param buildTime
+     *            the build start time in milliseconds
+     * @param baseUrl
+     *            the TEST-GUIDE base URL
+     * @param projectId
+     *            the TEST-GUIDE project id
+     * @param authKey
+     *            the upload authentication key
+     * @param created
+     *            the creation time in milliseconds
+     */
+    public ATXSpoolEntry(final String buildId, final long buildTime, final String baseUrl, final String projectId,
+            final String authKey, final long created) {
+        this.buildId = buildId;
+        this.buildTime = buildTime;
+        this.baseUrl = baseUrl;
+        this.projectId = projectId;
+        this.authKey = Secret.fromString(authKey);
+        this.created = created;
+        nextAttempt = created;
+    }
+
+    /**
+     * @return the externalizable id of the build
+     */
+    public String getBuildId() {
+        return buildId;
+    }
+
+    /**
+     * @return the build start time in milliseconds
+     */
+    public long getBuildTime() {
+        return buildTime;
+    }
+
+    /**
+     * @return the TEST-GUIDE base URL
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * @return the TEST-GUIDE project id
+     */
+    public String getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * @return the upload authentication key
+     */
+    public String getAuthKey() {
+        return Secret.toString(authKey);
+    }
+
+    /**
+     * @return the creation time in milliseconds
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    /**
+     * @return the number of failed upload tries
+     */
+    public int getTries() {
+        return tries;
+    }
+
+    /**
+     * @return the earliest time in milliseconds of the next upload try
+     */
+    public long getNextAttempt() {
+        return nextAttempt;
+    }
+
+    /**
+     * Checks whether the next upload try is due.
+     *
+     * @param now
+     *            the current time in milliseconds
+     * @return {@code true} if the upload is due, {@code false} otherwise
+     */
+    public boolean isDue(final long now) {
+        return now >= nextAttempt;
+    }
+
+    /**
+     * Records a failed upload try and delays the next try with an exponential backoff.
+     *
+     * @param now
+     *            the current time in milliseconds
+     */
+    public void scheduleRetry(final long now) {
+        final long delay = RETRY_DELAY << Math.min(tries, 16);
+        tries++;
+        nextAttempt = now + Math.min(delay, MAX_RETRY_DELAY);
+    }
+}
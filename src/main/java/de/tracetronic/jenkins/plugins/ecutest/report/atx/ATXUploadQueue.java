@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+
+import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComMetrics;
+
+/**
+ * Queue uploading generated ATX report archives to TEST-GUIDE in parallel while further reports are generated.
+ * <p>
+ * The number of pending archives is bounded, so that the report generation is blocked if the uploads do not keep
+ * up. Failed uploads are retried with an exponential backoff.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+class ATXUploadQueue {
+
+    /**
+     * Defines the initial delay in milliseconds before retrying a failed upload.
+     */
+    static final long RETRY_DELAY = 1000L;
+
+    private static final int TIMEOUT = 60000;
+
+    private final String uploadUrl;
+    private final int maxTries;
+    private final long retryDelay;
+    private final TTConsoleLogger logger;
+    private final ExecutorService executor;
+    private final Semaphore slots;
+    private final List<Future<Boolean>> uploads = new ArrayList<Future<Boolean>>();
+
+    /**
+     * Instantiates a new {@link ATXUploadQueue}.
+     *
+     * @param uploadUrl
+     *            the upload URL
+     * @param threads
+     *            the number of parallel uploads
+     * @param queueSize
+     *            the number of generated archives waiting for upload before the generation is blocked
+     * @param maxTries
+     *            the maximum number of tries per archive
+     * @param retryDelay
+     *            the initial delay in milliseconds before retrying a failed upload
+     * @param logger
+     *            the logger
+     */
+    ATXUploadQueue(final String uploadUrl, final int threads, final int queueSize, final int maxTries,
+            final long retryDelay, final TTConsoleLogger logger) {
+        this.uploadUrl = uploadUrl;
+        this.maxTries = Math.max(1, maxTries);
+        this.retryDelay = retryDelay;
+        this.logger = logger;
+        executor = Executors.newFixedThreadPool(Math.max(1, threads),
+                new NamingThreadFactory(new DaemonThreadFactory(), "ATX report upload"));
+        slots = new Semaphore(Math.max(1, threads) + Math.max(0, queueSize));
+    }
+
+    /**
+     * Gets the TEST-GUIDE upload URL.
+     *
+     * @param baseUrl
+     *            the TEST-GUIDE base URL
+     * @param projectId
+     *            the project id
+     * @param authKey
+     *            the upload authentication key
+     * @return the upload URL
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    static String getUploadUrl(final String baseUrl, final String projectId, final String authKey)
+            throws IOException {
+        return String.format("%s/api/upload-file?projectId=%s&authKey=%s", baseUrl,
+                URLEncoder.encode(StringUtils.defaultString(projectId), "UTF-8"),
+                URLEncoder.encode(StringUtils.defaultString(authKey), "UTF-8"));
+    }
+
+    /**
+     * Queues the archive for upload. Blocks while the queue is full.
+     *
+     * @param zipFile
+     *            the ATX report archive
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting
+     */
+    void submit(final File zipFile) throws InterruptedException {
+        submit(zipFile, false);
+    }
+
+    /**
+     * Queues the archive for upload. Blocks while the queue is full.
+     *
+     * @param zipFile
+     *            the ATX report archive
+     * @param cleanAfterUpload
+     *            specifies whether to delete the archive after successful upload
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting
+     */
+    void submit(final File zipFile, final boolean cleanAfterUpload) throws InterruptedException {
+        slots.acquire();
+        try {
+            uploads.add(executor.submit(ETComMetrics.scoped(new Callable<Boolean>() {
+
+                @Override
+                public Boolean call() throws InterruptedException {
+                    try {
+                        final boolean isUploaded = uploadWithRetry(zipFile);
+                        if (isUploaded && cleanAfterUpload && !zipFile.delete()) {
+                            logger.logWarn(String.format("-> Could not delete uploaded ATX report: %s", zipFile));
+                        }
+                        return isUploaded;
+                    } finally {
+                        slots.release();
+                    }
+                }
+            })));
+        } catch (final RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until all queued archives are uploaded.
+     *
+     * @return {@code true} if all archives are uploaded successfully, {@code false} otherwise
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting
+     */
+    boolean awaitCompletion() throws InterruptedException {
+        executor.shutdown();
+        boolean isUploaded = true;
+        for (final Future<Boolean> upload : uploads) {
+            try {
+                isUploaded &= upload.get();
+            } catch (final ExecutionException e) {
+                isUploaded = false;
+                logger.logError(String.format("-> Uploading ATX report failed: %s", e.getCause()));
+            }
+        }
+        return isUploaded;
+    }
+
+    /**
+     * Cancels all pending uploads.
+     */
+    void abort() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Uploads the archive and retries failed uploads with an exponential backoff.
+     *
+     * @param zipFile
+     *            the ATX report archive
+     * @return {@code true} if the archive is uploaded successfully, {@code false} otherwise
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting
+     */
+    private boolean uploadWithRetry(final File zipFile) throws InterruptedException {
+        for (int tries = 1;; tries++) {
+            try {
+                upload(zipFile);
+                logger.logInfo(String.format("-> Uploaded ATX report: %s", zipFile));
+                return true;
+            } catch (final IOException e) {
+                if (tries >= maxTries) {
+                    logger.logError(String.format("-> Uploading ATX report %s failed after %d tries: %s",
+                            zipFile, tries, e.getMessage()));
+                    return false;
+                }
+                final long delay = retryDelay << (tries - 1);
+                logger.logWarn(String.format("-> Uploading ATX report %s failed: %s, retrying in %d ms...",
+                        zipFile, e.getMessage(), delay));
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    /**
+     * Uploads a single archive to TEST-GUIDE.
+     *
+     * @param zipFile
+     *            the ATX report archive
+     * @throws IOException
+     *             signals that an I/O exception has occurred or the upload is rejected
+     */
+    protected void upload(final File zipFile) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(uploadUrl).openConnection();
+        try {
+            connection.setConnectTimeout(TIMEOUT);
+            connection.setReadTimeout(TIMEOUT);
+            connection.setDoOutput(true);
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", "application/zip");
+            connection.setFixedLengthStreamingMode(zipFile.length());
+            try (InputStream in = new FileInputStream(zipFile);
+                    OutputStream out = connection.getOutputStream()) {
+                IOUtils.copy(in, out);
+            }
+            final int responseCode = connection.getResponseCode();
+            if (responseCode < HttpURLConnection.HTTP_OK || responseCode >= HttpURLConnection.HTTP_MULT_CHOICE) {
+                throw new IOException(String.format("Server returned HTTP response code %d: %s", responseCode,
+                        connection.getResponseMessage()));
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import hudson.FilePath;
+import hudson.Util;
+import hudson.XmlFile;
+import hudson.model.Run;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Persistent spool on the controller storing generated ATX report archives which could not be uploaded because
+ * TEST-GUIDE was not reachable. The spooled archives are uploaded later by {@link ATXSpoolDrainWork}.
+ * <p>
+ * Each spool entry is a directory containing the archives and an {@link ATXSpoolEntry} as metadata.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ATXUploadSpool {
+
+    /**
+     * Defines the name of the spool directory inside of the Jenkins root directory.
+     */
+    private static final String SPOOL_DIR_NAME = "ecutest-atx-spool";
+
+    /**
+     * Defines the file name of the entry metadata.
+     */
+    private static final String ENTRY_FILE_NAME = "entry.xml";
+
+    /**
+     * Instantiates a new {@link ATXUploadSpool}.
+     */
+    private ATXUploadSpool() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Spools the given ATX report archives of a build.
+     *
+     * @param run
+     *            the build
+     * @param baseUrl
+     *            the TEST-GUIDE base URL
+     * @param projectId
+     *            the TEST-GUIDE project id
+     * @param authKey
+     *            the upload authentication key
+     * @param zipFiles
+     *            the ATX report archives
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    public static void spool(final Run<?, ?> run, final String baseUrl, final String projectId,
+            final String authKey, final List<FilePath> zipFiles) throws IOException, InterruptedException {
+        spool(getSpoolDir(), run, baseUrl, projectId, authKey, zipFiles);
+    }
+
+    /**
+     * Spools the given ATX report archives of a build into the given spool directory. A partially written entry is
+     * removed again so that it is never picked up by {@link ATXSpoolDrainWork}.
+     *
+     * @param spoolDir
+     *            the spool directory
+     * @param run
+     *            the build
+     * @param baseUrl
+     *            the TEST-GUIDE base URL
+     * @param projectId
+     *            the TEST-GUIDE project id
+     * @param authKey
+     *            the upload authentication key
+     * @param zipFiles
+     *            the ATX report archives
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    static void spool(final File spoolDir, final Run<?, ?> run, final String baseUrl, final String projectId,
+            final String authKey, final List<FilePath> zipFiles) throws IOException, InterruptedException {
+        final long now = System.currentTimeMillis();
+        final File entryDir = new File(spoolDir, String.format("%d-%s", now, UUID.randomUUID()));
+        if (!entryDir.mkdirs()) {
+            throw new IOException(String.format("Could not create spool directory: %s", entryDir));
+        }
+        boolean isSpooled = false;
+        try {
+            int index = 0;
+            for (final FilePath zipFile : zipFiles) {
+                // Prefix with index to keep archives of equally named reports apart
+                zipFile.copyTo(new FilePath(new File(entryDir,
+                        String.format("%03d_%s", index++, zipFile.getName()))));
+            }
+            getEntryFile(entryDir).write(new ATXSpoolEntry(run.getExternalizableId(), run.getTimeInMillis(),
+                    baseUrl, projectId, authKey, now));
+            isSpooled = true;
+        } finally {
+            if (!isSpooled) {
+                Util.deleteRecursive(entryDir);
+            }
+        }
+    }
+
+    /**
+     * Gets all spooled entry directories, oldest first.
+     *
+     * @return the entry directories
+     */
+    public static List<File> getEntryDirs() {
+        return getEntryDirs(getSpoolDir());
+    }
+
+    /**
+     * Gets all entry directories of the given spool directory, oldest first.
+     *
+     * @param spoolDir
+     *            the spool directory
+     * @return the entry directories
+     */
+    static List<File> getEntryDirs(final File spoolDir) {
+        final File[] dirs = spoolDir.listFiles(new FileFilter() {
+
+            @Override
+            public boolean accept(final File file) {
+                return file.isDirectory() && new File(file, ENTRY_FILE_NAME).exists();
+            }
+        });
+        if (dirs == null) {
+            return Collections.emptyList();
+        }
+        final List<File> entryDirs = new ArrayList<File>(Arrays.asList(dirs));
+        Collections.sort(entryDirs);
+        return entryDirs;
+    }
+
+    /**
+     * Gets the spooled archives of an entry.
+     *
+     * @param entryDir
+     *            the entry directory
+     * @return the ATX report archives, sorted by name
+     */
+    public static List<File> getZipFiles(final File entryDir) {
+        final File[] files = entryDir.listFiles(new FileFilter() {
+
+            @Override
+            public boolean accept(final File file) {
+                return file.isFile() && file.getName().endsWith(".zip");
+            }
+        });
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        final List<File> zipFiles = new ArrayList<File>(Arrays.asList(files));
+        Collections.sort(zipFiles);
+        return zipFiles;
+    }
+
+    /**
+     * Loads the metadata of an entry.
+     *
+     * @param entryDir
+     *            the entry directory
+     * @return the spool entry
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public static ATXSpoolEntry load(final File entryDir) throws IOException {
+        return (ATXSpoolEntry) getEntryFile(entryDir).read();
+    }
+
+    /**
+     * Saves the metadata of an entry.
+     *
+     * @param entryDir
+     *            the entry directory
+     * @param entry
+     *            the spool entry
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public static void save(final File entryDir, final ATXSpoolEntry entry) throws IOException {
+        getEntryFile(entryDir).write(entry);
+    }
+
+    /**
+     * @return the spool directory
+     */
+    private static File getSpoolDir() {
+        return new File(Jenkins.getInstance().getRootDir(), SPOOL_DIR_NAME);
+    }
+
+    /**
+     * Gets the metadata file of an entry.
+     *
+     * @param entryDir
+     *            the entry directory
+     * @return the metadata file
+     */
+    private static XmlFile getEntryFile(final File entryDir) {
+        return new XmlFile(new File(entryDir, ENTRY_FILE_NAME));
+    }
+}
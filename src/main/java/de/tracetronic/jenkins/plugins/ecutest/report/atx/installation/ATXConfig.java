@@ -33,6 +33,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -64,12 +67,14 @@ public class ATXConfig implements Serializable, Cloneable {
 
     private final Map<String, List<ATXSetting>> configMap;
     private List<ATXCustomSetting> customSettings;
+    private transient Map<String, ATXSetting> settingIndex;
+    private transient Map<List<ATXSetting>, Map<String, ATXSetting>> groupIndex;
 
     /**
      * Instantiates a new {@link ATXConfig} with the default configuration.
      */
     public ATXConfig() {
-        configMap = parseDefaultConfig();
+        configMap = copySettings(DefaultConfigHolder.CONFIG_MAP);
         customSettings = new ArrayList<ATXCustomSetting>();
     }
 
@@ -95,14 +100,7 @@ public class ATXConfig implements Serializable, Cloneable {
             final ATXConfig configClone = (ATXConfig) super.clone();
 
             // Deep clone objects in map
-            final Map<String, List<ATXSetting>> configMap = new LinkedHashMap<String, List<ATXSetting>>();
-            for (final Entry<String, List<ATXSetting>> config : configClone.getConfigMap().entrySet()) {
-                final List<ATXSetting> settings = new ArrayList<ATXSetting>();
-                for (final ATXSetting setting : config.getValue()) {
-                    settings.add(setting.clone());
-                }
-                configMap.put(config.getKey(), settings);
-            }
+            final Map<String, List<ATXSetting>> configMap = copySettings(configClone.getConfigMap());
 
             // Deep clone custom settings
             final List<ATXCustomSetting> customSettings = new ArrayList<ATXCustomSetting>();
@@ -116,12 +114,31 @@ public class ATXConfig implements Serializable, Cloneable {
         return clone;
     }
 
+    /**
+     * Copies the given settings map, cloning each setting so that current values can be changed independently.
+     *
+     * @param settingsMap
+     *            the settings map to copy
+     * @return the copied settings map
+     */
+    private static Map<String, List<ATXSetting>> copySettings(final Map<String, List<ATXSetting>> settingsMap) {
+        final Map<String, List<ATXSetting>> copy = new LinkedHashMap<String, List<ATXSetting>>();
+        for (final Entry<String, List<ATXSetting>> config : settingsMap.entrySet()) {
+            final List<ATXSetting> settings = new ArrayList<ATXSetting>(config.getValue().size());
+            for (final ATXSetting setting : config.getValue()) {
+                settings.add(setting.clone());
+            }
+            copy.put(config.getKey(), settings);
+        }
+        return copy;
+    }
+
     /**
      * Parses the default ATX configuration from the ATX template configuration file provided with this plugin.
      *
      * @return the default ATX settings map
      */
-    private Map<String, List<ATXSetting>> parseDefaultConfig() {
+    private static Map<String, List<ATXSetting>> parseDefaultConfig() {
         Document doc = null;
         final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
         try (InputStream configFile = ATXConfig.class.getResourceAsStream("config.xml")) {
@@ -162,21 +179,7 @@ public class ATXConfig implements Serializable, Cloneable {
      */
     @CheckForNull
     public ATXSetting getSettingByName(final String settingName) {
-        ATXSetting settingByName = null;
-        boolean found = false;
-        for (final Entry<String, List<ATXSetting>> config : configMap.entrySet()) {
-            for (final ATXSetting setting : config.getValue()) {
-                if (setting.getName().equals(settingName)) {
-                    settingByName = setting;
-                    found = true;
-                    break;
-                }
-            }
-            if (found) {
-                break;
-            }
-        }
-        return settingByName;
+        return getSettingIndex().get(settingName);
     }
 
     /**
@@ -192,16 +195,70 @@ public class ATXConfig implements Serializable, Cloneable {
     public Object getSettingValueByName(final String settingName, final List<ATXSetting> settings) {
         ATXSetting settingByName = null;
         if (settings != null) {
-            for (final ATXSetting setting : settings) {
-                if (setting.getName().equals(settingName)) {
-                    settingByName = setting;
-                    break;
+            final Map<String, ATXSetting> groupIndex = getGroupIndex().get(settings);
+            if (groupIndex != null) {
+                settingByName = groupIndex.get(settingName);
+            } else {
+                // Fall back to linear search for setting lists not belonging to this configuration
+                for (final ATXSetting setting : settings) {
+                    if (setting.getName().equals(settingName)) {
+                        settingByName = setting;
+                        break;
+                    }
                 }
             }
         }
         return settingByName == null ? null : settingByName.getCurrentValue();
     }
 
+    /**
+     * Gets the index of all settings by setting name, built on first access.
+     *
+     * @return the setting index
+     */
+    private synchronized Map<String, ATXSetting> getSettingIndex() {
+        if (settingIndex == null) {
+            buildIndex();
+        }
+        return settingIndex;
+    }
+
+    /**
+     * Gets the index of the settings per setting group, built on first access.
+     *
+     * @return the group index identified by the setting list instances
+     */
+    private synchronized Map<List<ATXSetting>, Map<String, ATXSetting>> getGroupIndex() {
+        if (groupIndex == null) {
+            buildIndex();
+        }
+        return groupIndex;
+    }
+
+    /**
+     * Builds the setting indices from the current configuration map. The first setting wins on duplicate names,
+     * consistent with the former linear search.
+     */
+    private void buildIndex() {
+        final Map<String, ATXSetting> settings = new HashMap<String, ATXSetting>();
+        final Map<List<ATXSetting>, Map<String, ATXSetting>> groups =
+                new IdentityHashMap<List<ATXSetting>, Map<String, ATXSetting>>();
+        for (final List<ATXSetting> group : configMap.values()) {
+            final Map<String, ATXSetting> groupSettings = new HashMap<String, ATXSetting>();
+            for (final ATXSetting setting : group) {
+                if (!groupSettings.containsKey(setting.getName())) {
+                    groupSettings.put(setting.getName(), setting);
+                }
+                if (!settings.containsKey(setting.getName())) {
+                    settings.put(setting.getName(), setting);
+                }
+            }
+            groups.put(group, groupSettings);
+        }
+        settingIndex = settings;
+        groupIndex = groups;
+    }
+
     /**
      * @return the custom settings
      */
@@ -216,4 +273,20 @@ public class ATXConfig implements Serializable, Cloneable {
     public void setCustomSettings(final List<ATXCustomSetting> customSettings) {
         this.customSettings = customSettings;
     }
+
+    /**
+     * Holder of the default ATX configuration, parsed once on first access and shared read-only afterwards.
+     */
+    private static final class DefaultConfigHolder {
+
+        private static final Map<String, List<ATXSetting>> CONFIG_MAP = Collections
+                .unmodifiableMap(parseDefaultConfig());
+
+        /**
+         * Private constructor.
+         */
+        private DefaultConfigHolder() {
+            throw new UnsupportedOperationException("Holder class");
+        }
+    }
 }
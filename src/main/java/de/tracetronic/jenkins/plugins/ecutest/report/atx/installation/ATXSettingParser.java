@@ -43,6 +43,7 @@ import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
+import org.w3c.dom.Comment;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -59,13 +60,18 @@ public final class ATXSettingParser {
 
     private static final Logger LOGGER = Logger.getLogger(ATXSetting.class.getName());
 
-    private static final String PRECEDING_COMMENT = "//SETTINGS//*[preceding-sibling::comment()[1]";
-    private static final String UPLOAD_EXPRESSION = PRECEDING_COMMENT + "[.=' Uploadeinstellungen ']]";
-    private static final String ARCHIVE_EXPRESSION = PRECEDING_COMMENT + "[.=' Archiveinstellungen ']]";
-    private static final String ATTRIBUTE_EXPRESSION = PRECEDING_COMMENT + "[.=' Attributeinstellungen ']]";
-    private static final String TCF_CONSTANT_EXPRESSION = PRECEDING_COMMENT
-            + "[.=' TCF-Globale Konstanteneinstellungen ']]";
-    private static final String SPECIAL_EXPRESSION = PRECEDING_COMMENT + "[.=' Spezielle Einstellungen ']]";
+    /**
+     * Maps the section comments of the ATX template configuration to the related configuration names.
+     */
+    private static final Map<String, String> SECTION_COMMENTS = new LinkedHashMap<String, String>();
+
+    static {
+        SECTION_COMMENTS.put(" Uploadeinstellungen ", "uploadConfig");
+        SECTION_COMMENTS.put(" Archiveinstellungen ", "archiveConfig");
+        SECTION_COMMENTS.put(" Attributeinstellungen ", "attributeConfig");
+        SECTION_COMMENTS.put(" TCF-Globale Konstanteneinstellungen ", "tcfConstantConfig");
+        SECTION_COMMENTS.put(" Spezielle Einstellungen ", "specialConfig");
+    }
 
     /**
      * Instantiates a new {@link ATXSettingParser}.
@@ -82,22 +88,44 @@ public final class ATXSettingParser {
      */
     public static Map<String, List<ATXSetting>> parseSettings(final Document doc) {
         final Map<String, List<ATXSetting>> configMap = new LinkedHashMap<String, List<ATXSetting>>();
-
-        final List<ATXSetting> uploadSettings = parseSetting(doc, UPLOAD_EXPRESSION);
-        final List<ATXSetting> archiveSettings = parseSetting(doc, ARCHIVE_EXPRESSION);
-        final List<ATXSetting> attributeSettings = parseSetting(doc, ATTRIBUTE_EXPRESSION);
-        final List<ATXSetting> tcfConstantSettings = parseSetting(doc, TCF_CONSTANT_EXPRESSION);
-        final List<ATXSetting> specialSettings = parseSetting(doc, SPECIAL_EXPRESSION);
-
-        configMap.put("uploadConfig", uploadSettings);
-        configMap.put("archiveConfig", archiveSettings);
-        configMap.put("attributeConfig", attributeSettings);
-        configMap.put("tcfConstantConfig", tcfConstantSettings);
-        configMap.put("specialConfig", specialSettings);
-
+        for (final String configName : SECTION_COMMENTS.values()) {
+            configMap.put(configName, new ArrayList<ATXSetting>());
+        }
+        try {
+            // Group all settings by their preceding section comment within a single document walk
+            final NodeList settingsNodes = doc.getElementsByTagName("SETTINGS");
+            for (int i = 0; i < settingsNodes.getLength(); i++) {
+                parseSection(settingsNodes.item(i), configMap);
+            }
+        } catch (final IllegalArgumentException | NullPointerException e) {
+            LOGGER.log(Level.SEVERE, "Error parsing settings: " + e.getMessage(), e);
+        }
         return configMap;
     }
 
+    /**
+     * Parses the descendant settings of the given node, matching each element to the nearest preceding
+     * section comment of its siblings.
+     *
+     * @param parent
+     *            the parent node
+     * @param configMap
+     *            the map of settings to fill
+     */
+    private static void parseSection(final Node parent, final Map<String, List<ATXSetting>> configMap) {
+        String configName = null;
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.COMMENT_NODE) {
+                configName = SECTION_COMMENTS.get(((Comment) child).getData());
+            } else if (child.getNodeType() == Node.ELEMENT_NODE) {
+                if (configName != null) {
+                    configMap.get(configName).add(toSetting((Element) child));
+                }
+                parseSection(child, configMap);
+            }
+        }
+    }
+
     /**
      * Parses a single setting of the ATX template configuration.
      *
@@ -114,26 +142,7 @@ public final class ATXSettingParser {
             final XPathExpression xPathExpression = xpath.compile(expression);
             final NodeList settingNodes = (NodeList) xPathExpression.evaluate(doc, XPathConstants.NODESET);
             for (int i = 0; i < settingNodes.getLength(); i++) {
-                final Node settingNode = settingNodes.item(i);
-                removeWhitespaceNodes((Element) settingNode);
-
-                // Parse setting values
-                final String settingName = parseAttribute(settingNode, "name");
-                final String defaultValue = parseAttribute(settingNode, "default");
-                final String descGerman = parseDescription(settingNode, "de_DE");
-                final String descEnglish = parseDescription(settingNode, "en_US");
-                final boolean isCheckbox = isCheckbox(defaultValue);
-
-                // Add sub setting
-                if (isCheckbox) {
-                    final ATXBooleanSetting setting = new ATXBooleanSetting(settingName, descGerman,
-                            descEnglish, toBoolean(defaultValue));
-                    settings.add(setting);
-                } else {
-                    final ATXTextSetting setting = new ATXTextSetting(settingName, descGerman, descEnglish,
-                            defaultValue);
-                    settings.add(setting);
-                }
+                settings.add(toSetting((Element) settingNodes.item(i)));
             }
         } catch (final XPathExpressionException | IllegalArgumentException | NullPointerException e) {
             LOGGER.log(Level.SEVERE, "Error parsing setting: " + e.getMessage(), e);
@@ -142,7 +151,33 @@ public final class ATXSettingParser {
     }
 
     /**
-     * Parses the description for the given language key.
+     * Converts a setting node to the related {@link ATXSetting}.
+     *
+     * @param settingNode
+     *            the setting node
+     * @return the parsed setting
+     */
+    private static ATXSetting toSetting(final Element settingNode) {
+        removeWhitespaceNodes(settingNode);
+
+        // Parse setting values
+        final String settingName = parseAttribute(settingNode, "name");
+        final String defaultValue = parseAttribute(settingNode, "default");
+        final String descGerman = parseDescription(settingNode, "de_DE");
+        final String descEnglish = parseDescription(settingNode, "en_US");
+        final boolean isCheckbox = isCheckbox(defaultValue);
+
+        // Add sub setting
+        if (isCheckbox) {
+            return new ATXBooleanSetting(settingName, descGerman, descEnglish, toBoolean(defaultValue));
+        } else {
+            return new ATXTextSetting(settingName, descGerman, descEnglish, defaultValue);
+        }
+    }
+
+    /**
+     * Parses the description for the given language key by walking
+     * {@code DESCRIPTION/MULTILANGDATA/ELEMENT[@dkey]/DVALUE}.
      *
      * @param node
      *            the node containing the description
@@ -151,19 +186,37 @@ public final class ATXSettingParser {
      * @return the parsed description value
      */
     private static String parseDescription(final Node node, final String languageKey) {
-        String description = "";
-        final String expression = "./DESCRIPTION/MULTILANGDATA/ELEMENT[@dkey='" + languageKey + "']/DVALUE";
-        try {
-            final XPath xpath = XPathFactory.newInstance().newXPath();
-            final XPathExpression xPathExpression = xpath.compile(expression);
-            final Node descNode = (Node) xPathExpression.evaluate(node, XPathConstants.NODE);
-            if (descNode != null) {
-                description = descNode.getTextContent().replaceAll("\\s+", " ").trim();
+        for (final Element descNode : getChildElements(node, "DESCRIPTION")) {
+            for (final Element langNode : getChildElements(descNode, "MULTILANGDATA")) {
+                for (final Element elemNode : getChildElements(langNode, "ELEMENT")) {
+                    if (languageKey.equals(elemNode.getAttribute("dkey"))) {
+                        for (final Element valueNode : getChildElements(elemNode, "DVALUE")) {
+                            return valueNode.getTextContent().replaceAll("\\s+", " ").trim();
+                        }
+                    }
+                }
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Gets the child elements with given tag name.
+     *
+     * @param node
+     *            the parent node
+     * @param tagName
+     *            the tag name
+     * @return the list of matching child elements
+     */
+    private static List<Element> getChildElements(final Node node, final String tagName) {
+        final List<Element> elements = new ArrayList<Element>();
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE && tagName.equals(child.getNodeName())) {
+                elements.add((Element) child);
             }
-        } catch (final XPathExpressionException | IllegalArgumentException | NullPointerException e) {
-            LOGGER.log(Level.SEVERE, "Error parsing description: " + e.getMessage(), e);
         }
-        return description;
+        return elements;
     }
 
     /**
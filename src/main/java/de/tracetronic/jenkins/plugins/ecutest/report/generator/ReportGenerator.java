@@ -33,14 +33,22 @@ import hudson.FilePath;
 import hudson.Launcher;
 import hudson.model.TaskListener;
 import hudson.remoting.Callable;
+import hudson.remoting.Pipe;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 import jenkins.security.MasterToSlaveCallable;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.report.ReportCache;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComProperty;
@@ -90,55 +98,88 @@ public class ReportGenerator {
      */
     public boolean generate(final List<FilePath> reportFiles, final Launcher launcher,
             final TaskListener listener) throws IOException, InterruptedException {
-        return launcher.getChannel().call(new GenerateReportCallable(config, reportFiles, listener));
+        return launcher.getChannel().call(new GenerateReportCallable(Collections.singletonList(config),
+                reportFiles, null, listener));
     }
 
     /**
-     * {@link Callable} enabling generation of reports with specific generator remotely.
+     * Asynchronously generates the reports of all given generators for all report files within a single
+     * ECU-TEST COM session. The name of each template is written as a line to the given pipe as soon as all its
+     * reports are generated successfully, so that the caller can archive them while the remaining templates are
+     * still being generated. The pipe is closed when the generation has finished.
+     *
+     * @param configs
+     *            the expanded generator configurations
+     * @param reportFiles
+     *            the report files
+     * @param pipe
+     *            the pipe receiving the names of the generated templates
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return the future generation result, {@code true} if all reports are generated successfully
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public static Future<Boolean> generate(final List<ReportGeneratorConfig> configs,
+            final List<FilePath> reportFiles, final Pipe pipe, final Launcher launcher,
+            final TaskListener listener) throws IOException {
+        return launcher.getChannel().callAsync(new GenerateReportCallable(configs, reportFiles, pipe, listener));
+    }
+
+    /**
+     * {@link Callable} enabling generation of reports with specific generators remotely.
      */
     private static final class GenerateReportCallable extends MasterToSlaveCallable<Boolean, IOException> {
 
         private static final long serialVersionUID = 1L;
 
-        private final ReportGeneratorConfig config;
+        private final List<ReportGeneratorConfig> configs;
         private final List<FilePath> dbFiles;
+        private final Pipe pipe;
         private final TaskListener listener;
 
         /**
-         * Instantiates a new {@link GenerateUnitReportCallable}.
+         * Instantiates a new {@link GenerateReportCallable}.
          *
-         * @param config
-         *            the template name
+         * @param configs
+         *            the generator configurations
          * @param dbFiles
          *            the list of TRF files
+         * @param pipe
+         *            the pipe receiving the names of the generated templates, can be {@code null}
          * @param listener
          *            the listener
          */
-        GenerateReportCallable(final ReportGeneratorConfig config, final List<FilePath> dbFiles,
-                final TaskListener listener) {
-            this.config = config;
+        GenerateReportCallable(final List<ReportGeneratorConfig> configs, final List<FilePath> dbFiles,
+                final Pipe pipe, final TaskListener listener) {
+            this.configs = configs;
             this.dbFiles = dbFiles;
+            this.pipe = pipe;
             this.listener = listener;
         }
 
         @Override
         public Boolean call() throws IOException {
             boolean isGenerated = true;
-            final String templateName = config.getName();
-            final Map<String, String> configMap = getConfigMap();
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             final String progId = ETComProperty.getInstance().getProgId();
-            try (ETComClient comClient = new ETComClient(progId)) {
+            try (Writer progress = pipe == null ? null
+                    : new OutputStreamWriter(pipe.getOut(), StandardCharsets.UTF_8);
+                    ETComClient comClient = new ETComClient(progId)) {
                 final TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
-                logger.logInfo(String.format("- Generating %s test reports...", templateName));
-                for (final FilePath dbFile : dbFiles) {
-                    logger.logInfo(String.format("-> Generating %s report: %s", templateName, dbFile.getRemote()));
-                    final FilePath outDir = dbFile.getParent().child(templateName);
-                    if (!testEnv.generateTestReportDocumentFromDB(dbFile.getRemote(),
-                            outDir.getRemote(), templateName, true, configMap)) {
-                        isGenerated = false;
-                        logger.logError(String.format("Generating %s report failed!", templateName));
+                final String toolVersion = comClient.getVersion();
+                final String templateFingerprint = ReportCache.getInstance().isEnabled()
+                        ? ReportCache.getFingerprint(new File(comClient.getSetting("templatePath"))) : "";
+                for (final ReportGeneratorConfig config : configs) {
+                    final boolean isTemplateGenerated = generateTemplate(config, testEnv, toolVersion,
+                            templateFingerprint, logger);
+                    if (isTemplateGenerated && progress != null) {
+                        progress.write(config.getName() + "\n");
+                        progress.flush();
                     }
+                    isGenerated &= isTemplateGenerated;
                 }
             } catch (final ETComException e) {
                 isGenerated = false;
@@ -147,12 +188,64 @@ public class ReportGenerator {
             return isGenerated;
         }
 
+        /**
+         * Generates the reports of a single generator for all TRF files.
+         *
+         * @param config
+         *            the generator configuration
+         * @param testEnv
+         *            the test environment
+         * @param toolVersion
+         *            the ECU-TEST version
+         * @param templateFingerprint
+         *            the fingerprint of the user templates
+         * @param logger
+         *            the logger
+         * @return {@code true} if generation succeeded, {@code false} otherwise
+         * @throws ETComException
+         *             in case of a COM exception
+         * @throws IOException
+         *             signals that an I/O exception has occurred
+         */
+        private boolean generateTemplate(final ReportGeneratorConfig config, final TestEnvironment testEnv,
+                final String toolVersion, final String templateFingerprint, final TTConsoleLogger logger)
+                throws ETComException, IOException {
+            boolean isGenerated = true;
+            final String templateName = config.getName();
+            final Map<String, String> configMap = getConfigMap(config);
+            final ReportCache cache = ReportCache.getInstance();
+            logger.logInfo(String.format("- Generating %s test reports...", templateName));
+            for (final FilePath dbFile : dbFiles) {
+                final File outDir = new File(new File(dbFile.getRemote()).getParentFile(), templateName);
+                final String cacheKey = cache.isEnabled() ? ReportCache.getKey(new File(dbFile.getRemote()),
+                        templateName, configMap, toolVersion, templateFingerprint) : null;
+                if (cacheKey != null && cache.restore(cacheKey, outDir)) {
+                    logger.logInfo(String.format("-> Using cached %s report: %s", templateName,
+                            dbFile.getRemote()));
+                    continue;
+                }
+                logger.logInfo(String.format("-> Generating %s report: %s", templateName, dbFile.getRemote()));
+                if (testEnv.generateTestReportDocumentFromDB(dbFile.getRemote(),
+                        outDir.getPath(), templateName, true, configMap)) {
+                    if (cacheKey != null) {
+                        cache.store(cacheKey, outDir);
+                    }
+                } else {
+                    isGenerated = false;
+                    logger.logError(String.format("Generating %s report failed!", templateName));
+                }
+            }
+            return isGenerated;
+        }
+
         /**
          * Gets the configuration map.
          *
+         * @param config
+         *            the generator configuration
          * @return the configuration map
          */
-        private Map<String, String> getConfigMap() {
+        private static Map<String, String> getConfigMap(final ReportGeneratorConfig config) {
             final Map<String, String> configMap = new LinkedHashMap<String, String>();
             for (final ReportGeneratorSetting setting : config.getSettings()) {
                 configMap.put(setting.getName(), setting.getValue());
@@ -37,14 +37,24 @@ import hudson.Util;
 import hudson.model.Result;
 import hudson.model.TaskListener;
 import hudson.model.Run;
+import hudson.remoting.Pipe;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.DataBoundConstructor;
@@ -54,6 +64,8 @@ import de.tracetronic.jenkins.plugins.ecutest.ETPluginException;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.report.AbstractReportDescriptor;
 import de.tracetronic.jenkins.plugins.ecutest.report.AbstractReportPublisher;
+import de.tracetronic.jenkins.plugins.ecutest.report.DirectoryInfo;
+import de.tracetronic.jenkins.plugins.ecutest.report.ReportSession;
 import de.tracetronic.jenkins.plugins.ecutest.tool.StartETBuilder;
 import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.AbstractToolInstallation;
@@ -203,14 +215,11 @@ public class ReportGeneratorPublisher extends AbstractReportPublisher {
             final String expandedToolName = run.getEnvironment(listener).expand(installation.getName());
             final ETClient etClient = new ETClient(expandedToolName, installPath, workspaceDir, settingsDir,
                     StartETBuilder.DEFAULT_TIMEOUT, false);
-            if (etClient.start(false, workspace, launcher, listener)) {
+            if (ReportSession.start(run, etClient, workspace, launcher, listener)) {
                 reports.addAll(generateReports(reportFiles, run, workspace, launcher, listener));
             } else {
                 logger.logError(String.format("Starting %s failed.", toolName));
             }
-            if (!etClient.stop(true, workspace, launcher, listener)) {
-                logger.logError(String.format("Stopping %s failed.", toolName));
-            }
         }
 
         if (isArchiving()) {
@@ -241,11 +250,9 @@ public class ReportGeneratorPublisher extends AbstractReportPublisher {
      * @throws InterruptedException
      *             the interrupted exception
      */
-    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
     private List<GeneratorReport> generateReports(final List<FilePath> reportFiles, final Run<?, ?> run,
             final FilePath workspace, final Launcher launcher, final TaskListener listener)
                     throws IOException, InterruptedException {
-        final TTConsoleLogger logger = new TTConsoleLogger(listener);
         final List<GeneratorReport> reports = new ArrayList<GeneratorReport>();
         final FilePath archiveTarget = getArchiveTarget(run);
         final List<ReportGeneratorConfig> generators = new ArrayList<ReportGeneratorConfig>();
@@ -258,65 +265,146 @@ public class ReportGeneratorPublisher extends AbstractReportPublisher {
             removePreviousReports(run, ReportGeneratorBuildAction.class);
         }
 
-        // Generate reports with all generators
-        int index = 0;
+        // Generate reports with all generators within a single remote call
+        final EnvVars envVars = run.getEnvironment(listener);
+        final List<ReportGeneratorConfig> expConfigs = new ArrayList<ReportGeneratorConfig>();
         for (final ReportGeneratorConfig config : generators) {
-            final EnvVars envVars = run.getEnvironment(listener);
-            final ReportGeneratorConfig expConfig = config.expand(envVars);
-            final ReportGenerator generator = new ReportGenerator(expConfig);
-            final boolean isGenerated = generator.generate(reportFiles, launcher, listener);
-            if (isArchiving() && isGenerated && !reportFiles.isEmpty()) {
-                // Archive generated reports
-                logger.logInfo("- Archiving generated reports...");
-                final String templateName = expConfig.getName();
-                final FilePath archiveTargetDir = archiveTarget.child(templateName);
-                final List<FilePath> reportDirs = getReportDirs(run, workspace, launcher);
-                for (final FilePath reportDir : reportDirs) {
-                    try {
-                        final int copiedFiles = reportDir.copyRecursiveTo(String.format("**/%s/**", templateName),
-                                archiveTargetDir.child(reportDir.getName()));
-                        logger.logInfo(String.format("-> Archived %d report file(s).", copiedFiles));
-                    } catch (final IOException e) {
-                        Util.displayIOException(e, listener);
-                        logger.logError("Failed archiving generated reports.");
-                    }
+            expConfigs.add(config.expand(envVars));
+        }
+        final Pipe pipe = Pipe.createRemoteToLocal();
+        final Future<Boolean> generation = ReportGenerator.generate(expConfigs, reportFiles, pipe, launcher,
+                listener);
+
+        // Archive the reports of each template as soon as generated while the next templates are generated
+        final List<FilePath> reportDirs = isArchiving() && !reportFiles.isEmpty()
+                ? getReportDirs(run, workspace, launcher) : Collections.<FilePath> emptyList();
+        awaitGeneration(generation, pipe.getIn(), new ProgressHandler() {
+
+            private int index;
+
+            @Override
+            public void onGenerated(final String templateName) throws IOException, InterruptedException {
+                if (!reportDirs.isEmpty()) {
+                    index = archiveReports(templateName, reportDirs, archiveTarget, reports, index, listener);
                 }
-                // Collect reports
-                if (archiveTargetDir.exists()) {
-                    final GeneratorReport report = new GeneratorReport(String.format("%d", ++index), templateName,
-                            templateName, getFileSize(archiveTargetDir));
-                    reports.add(report);
-                    for (final FilePath testReportDir : archiveTargetDir.listDirectories()) {
-                        final GeneratorReport subReport = new GeneratorReport(String.format("%d", ++index),
-                                testReportDir.getBaseName(), String.format("%s/%s", templateName,
-                                        testReportDir.getBaseName()), getFileSize(testReportDir));
-                        report.addSubReport(subReport);
-                    }
+            }
+        });
+
+        return reports;
+    }
+
+    /**
+     * Reads the names of the generated templates from the progress stream and waits for the completion of the
+     * generation. The remote generation is cancelled if reading or handling the progress fails or is interrupted,
+     * so that ECU-TEST does not continue generating for an aborted build.
+     *
+     * @param generation
+     *            the running generation
+     * @param progressIn
+     *            the progress stream providing the name of each generated template per line
+     * @param handler
+     *            the handler called for each generated template
+     * @throws IOException
+     *             signals that an I/O exception has occurred or the generation failed
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    static void awaitGeneration(final Future<Boolean> generation, final InputStream progressIn,
+            final ProgressHandler handler) throws IOException, InterruptedException {
+        boolean isCompleted = false;
+        try {
+            try (BufferedReader progress = new BufferedReader(new InputStreamReader(progressIn,
+                    StandardCharsets.UTF_8))) {
+                String templateName;
+                while ((templateName = progress.readLine()) != null) {
+                    handler.onGenerated(templateName);
                 }
             }
+            try {
+                generation.get();
+            } catch (final ExecutionException e) {
+                throw new IOException("Generating reports failed", e.getCause());
+            }
+            isCompleted = true;
+        } finally {
+            if (!isCompleted) {
+                generation.cancel(true);
+            }
         }
+    }
 
-        return reports;
+    /**
+     * Handler for the progress of the report generation.
+     */
+    interface ProgressHandler {
+
+        /**
+         * Called when all reports of a template have been generated.
+         *
+         * @param templateName
+         *            the template name
+         * @throws IOException
+         *             signals that an I/O exception has occurred
+         * @throws InterruptedException
+         *             if the build gets interrupted
+         */
+        void onGenerated(String templateName) throws IOException, InterruptedException;
     }
 
     /**
-     * Gets the total size of given directory recursively.
+     * Archives the generated reports of a single template.
      *
-     * @param directory
-     *            the directory
-     * @return the file size
+     * @param templateName
+     *            the template name
+     * @param reportDirs
+     *            the report directories
+     * @param archiveTarget
+     *            the archive target directory
+     * @param reports
+     *            the list of reports to add the archived reports to
+     * @param index
+     *            the current report id increment
+     * @param listener
+     *            the listener
+     * @return the new report id increment
      * @throws IOException
      *             signals that an I/O exception has occurred
      * @throws InterruptedException
      *             the interrupted exception
      */
-    private long getFileSize(final FilePath directory) throws IOException, InterruptedException {
-        long size = 0;
-        final FilePath[] files = directory.list("**");
-        for (final FilePath file : files) {
-            size += file.length();
+    private int archiveReports(final String templateName, final List<FilePath> reportDirs,
+            final FilePath archiveTarget, final List<GeneratorReport> reports, final int index,
+            final TaskListener listener) throws IOException, InterruptedException {
+        final TTConsoleLogger logger = new TTConsoleLogger(listener);
+        logger.logInfo(String.format("- Archiving generated %s reports...", templateName));
+        final FilePath archiveTargetDir = archiveTarget.child(templateName);
+        for (final FilePath reportDir : reportDirs) {
+            try {
+                final int copiedFiles = reportDir.copyRecursiveTo(String.format("**/%s/**", templateName),
+                        archiveTargetDir.child(reportDir.getName()));
+                logger.logInfo(String.format("-> Archived %d report file(s).", copiedFiles));
+            } catch (final IOException e) {
+                Util.displayIOException(e, listener);
+                logger.logError("Failed archiving generated reports.");
+            }
+        }
+
+        // Collect reports
+        int id = index;
+        if (archiveTargetDir.exists()) {
+            final DirectoryInfo dirInfo = DirectoryInfo.of(archiveTargetDir);
+            final GeneratorReport report = new GeneratorReport(String.format("%d", ++id), templateName,
+                    templateName, dirInfo.getSize());
+            reports.add(report);
+            for (final Entry<String, DirectoryInfo> testReportDir : dirInfo.getSubDirectories().entrySet()) {
+                final String testReportName = FilenameUtils.getBaseName(testReportDir.getKey());
+                final GeneratorReport subReport = new GeneratorReport(String.format("%d", ++id),
+                        testReportName, String.format("%s/%s", templateName, testReportName),
+                        testReportDir.getValue().getSize());
+                report.addSubReport(subReport);
+            }
         }
-        return size;
+        return id;
     }
 
     /**
@@ -336,6 +424,11 @@ public class ReportGeneratorPublisher extends AbstractReportPublisher {
         action.addAll(reports);
     }
 
+    @Override
+    protected boolean isReportSessionRequired() {
+        return true;
+    }
+
     @Override
     protected String getUrlName() {
         return URL_NAME;
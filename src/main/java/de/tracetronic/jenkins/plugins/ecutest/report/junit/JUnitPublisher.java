@@ -90,6 +90,10 @@ public class JUnitPublisher extends AbstractReportPublisher implements MatrixAgg
     private final String toolName;
     private double unstableThreshold;
     private double failedThreshold;
+    /**
+     * @since 2.1
+     */
+    private boolean directConversion;
 
     /**
      * Instantiates a new {@link JUnitPublisher}.
@@ -125,6 +129,13 @@ public class JUnitPublisher extends AbstractReportPublisher implements MatrixAgg
         return failedThreshold;
     }
 
+    /**
+     * @return specifies whether to convert the TRF files directly instead of generating the UNIT reports by ECU-TEST
+     */
+    public boolean isDirectConversion() {
+        return directConversion;
+    }
+
     /**
      * @param unstableThreshold
      *            the unstable threshold
@@ -143,6 +154,16 @@ public class JUnitPublisher extends AbstractReportPublisher implements MatrixAgg
         this.failedThreshold = convertToPercentage(failedThreshold);
     }
 
+    /**
+     * @param directConversion
+     *            specifies whether to convert the TRF files directly instead of generating the UNIT reports by
+     *            ECU-TEST
+     */
+    @DataBoundSetter
+    public void setDirectConversion(final boolean directConversion) {
+        this.directConversion = directConversion;
+    }
+
     /**
      * Gets the tool installation by descriptor and tool name.
      *
@@ -172,7 +193,9 @@ public class JUnitPublisher extends AbstractReportPublisher implements MatrixAgg
             final TaskListener listener) throws InterruptedException, IOException, ETPluginException {
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
         logger.logInfo("Publishing UNIT reports...");
-        ProcessUtil.checkOS(launcher);
+        if (!isDirectConversion()) {
+            ProcessUtil.checkOS(launcher);
+        }
 
         final Result buildResult = run.getResult();
         if (buildResult != null && !canContinue(buildResult)) {
@@ -185,10 +208,16 @@ public class JUnitPublisher extends AbstractReportPublisher implements MatrixAgg
         }
 
         // Generate JUnit reports
-        final ETInstallation installation = configureToolInstallation(toolName, workspace.toComputer(), listener,
-                run.getEnvironment(listener));
-        final JUnitReportGenerator generator = new JUnitReportGenerator();
-        if (!generator.generate(installation, reportFiles, run, workspace, launcher, listener)) {
+        final boolean isGenerated;
+        if (isDirectConversion()) {
+            isGenerated = new JUnitReportConverter().convert(reportFiles, launcher, listener);
+        } else {
+            final ETInstallation installation = configureToolInstallation(toolName, workspace.toComputer(),
+                    listener, run.getEnvironment(listener));
+            final JUnitReportGenerator generator = new JUnitReportGenerator();
+            isGenerated = generator.generate(installation, reportFiles, run, workspace, launcher, listener);
+        }
+        if (!isGenerated) {
             run.setResult(Result.FAILURE);
             return;
         }
@@ -313,6 +342,11 @@ public class JUnitPublisher extends AbstractReportPublisher implements MatrixAgg
         }
     }
 
+    @Override
+    protected boolean isReportSessionRequired() {
+        return !isDirectConversion();
+    }
+
     @Override
     protected String getUrlName() {
         throw new NotImplementedException();
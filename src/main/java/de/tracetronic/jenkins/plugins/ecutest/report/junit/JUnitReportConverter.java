@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.junit;
+
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.TaskListener;
+import hudson.remoting.Callable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import jenkins.security.MasterToSlaveCallable;
+
+import org.apache.commons.lang.StringUtils;
+
+import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+
+/**
+ * Converter generating UNIT reports directly from the TRF files without running ECU-TEST.
+ * <p>
+ * The package results are read from the TRF as SQLite database and streamed into the same JUnit XML format as
+ * produced by the UNIT report template, so that the reports are parsed by the {@link JUnitTestResultParser} as
+ * usual. In contrast to the {@link JUnitReportGenerator} the conversion runs on any operating system.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class JUnitReportConverter {
+
+    /**
+     * Defines the columns of the package table required for the conversion.
+     */
+    private static final List<String> REQUIRED_COLUMNS = Arrays.asList("name", "result", "duration");
+
+    /**
+     * Converts the given TRF files to UNIT reports on the agent.
+     *
+     * @param reportFiles
+     *            the TRF files
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return {@code true} if conversion succeeded, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    public boolean convert(final List<FilePath> reportFiles, final Launcher launcher, final TaskListener listener)
+            throws IOException, InterruptedException {
+        final TTConsoleLogger logger = new TTConsoleLogger(listener);
+        logger.logInfo("- Converting UNIT test reports...");
+        final List<String> dbFiles = new ArrayList<String>();
+        for (final FilePath reportFile : reportFiles) {
+            dbFiles.add(reportFile.getRemote());
+        }
+        return launcher.getChannel().call(new ConvertUnitReportCallable(dbFiles, listener));
+    }
+
+    /**
+     * Converts a single TRF file to an UNIT report. Fails if the package table lacks the result or duration
+     * column, e.g. for TRF files of an unsupported ECU-TEST version, instead of writing incomplete results.
+     *
+     * @param dbFile
+     *            the TRF file
+     * @param xmlFile
+     *            the UNIT report file to write
+     * @throws IOException
+     *             signals that an I/O exception has occurred or the TRF file is not supported
+     */
+    static void convertFile(final File dbFile, final File xmlFile) throws IOException {
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (final ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+
+        final String suiteName;
+        final List<TestCaseHolder> testCases = new ArrayList<TestCaseHolder>();
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+                Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT name FROM prj")) {
+                final String prjName = rs.next() ? rs.getString("name") : null;
+                suiteName = prjName == null || "$$$_PACKAGE_$$$".equals(prjName) ? null : prjName;
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT * FROM pkg")) {
+                final Set<String> columns = getColumns(rs.getMetaData());
+                for (final String column : REQUIRED_COLUMNS) {
+                    if (!columns.contains(column)) {
+                        throw new IOException(String.format("Unsupported TRF file %s, missing column '%s'!",
+                                dbFile.getAbsolutePath(), column));
+                    }
+                }
+                while (rs.next()) {
+                    testCases.add(new TestCaseHolder(rs.getString("name"), rs.getString("result"),
+                            rs.getDouble("duration")));
+                }
+            }
+        } catch (final SQLException e) {
+            throw new IOException(e);
+        }
+
+        if (!xmlFile.getParentFile().exists() && !xmlFile.getParentFile().mkdirs()) {
+            throw new IOException(String.format("Could not create directory: %s", xmlFile.getParent()));
+        }
+        try (OutputStream out = new FileOutputStream(xmlFile)) {
+            writeReport(suiteName, testCases, out);
+        } catch (final XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Gets the lower case column names of a result set.
+     *
+     * @param metaData
+     *            the result set meta data
+     * @return the column names
+     * @throws SQLException
+     *             in case of a SQL exception
+     */
+    private static Set<String> getColumns(final ResultSetMetaData metaData) throws SQLException {
+        final Set<String> columns = new HashSet<String>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columns.add(metaData.getColumnName(i).toLowerCase(Locale.ENGLISH));
+        }
+        return columns;
+    }
+
+    /**
+     * Writes the test cases as JUnit XML. Each package is written as own test suite, unless the report belongs to a
+     * project whose packages are then grouped in a single test suite named by the project.
+     *
+     * @param suiteName
+     *            the project name or {@code null} for a package report
+     * @param testCases
+     *            the test cases
+     * @param out
+     *            the output stream
+     * @throws XMLStreamException
+     *             in case of a XML stream exception
+     */
+    private static void writeReport(final String suiteName, final List<TestCaseHolder> testCases,
+            final OutputStream out) throws XMLStreamException {
+        final XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+        try {
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("testsuites");
+            if (suiteName == null) {
+                for (final TestCaseHolder testCase : testCases) {
+                    writeSuite(writer, testCase.getName(), Collections.singletonList(testCase));
+                }
+            } else {
+                writeSuite(writer, suiteName, testCases);
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes a single test suite.
+     *
+     * @param writer
+     *            the XML writer
+     * @param suiteName
+     *            the suite name
+     * @param testCases
+     *            the test cases of the suite
+     * @throws XMLStreamException
+     *             in case of a XML stream exception
+     */
+    private static void writeSuite(final XMLStreamWriter writer, final String suiteName,
+            final List<TestCaseHolder> testCases) throws XMLStreamException {
+        int errors = 0;
+        int failures = 0;
+        int skipped = 0;
+        double duration = 0;
+        for (final TestCaseHolder testCase : testCases) {
+            if (testCase.isError()) {
+                errors++;
+            } else if (testCase.isFailure()) {
+                failures++;
+            } else if (testCase.isSkipped()) {
+                skipped++;
+            }
+            duration += testCase.getDuration();
+        }
+
+        writer.writeStartElement("testsuite");
+        writer.writeAttribute("errors", String.valueOf(errors));
+        writer.writeAttribute("failures", String.valueOf(failures));
+        writer.writeAttribute("name", suiteName);
+        writer.writeAttribute("skipped", String.valueOf(skipped));
+        writer.writeAttribute("tests", String.valueOf(testCases.size()));
+        writer.writeAttribute("time", String.valueOf(duration));
+        for (final TestCaseHolder testCase : testCases) {
+            writer.writeStartElement("testcase");
+            writer.writeAttribute("name", testCase.getName());
+            writer.writeAttribute("time", String.valueOf(testCase.getDuration()));
+            if (testCase.isError()) {
+                writeResult(writer, "error", testCase.getResult());
+            } else if (testCase.isFailure()) {
+                writeResult(writer, "failure", testCase.getResult());
+            } else if (testCase.isSkipped()) {
+                writer.writeEmptyElement("skipped");
+            }
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes the failure or error element of a test case.
+     *
+     * @param writer
+     *            the XML writer
+     * @param type
+     *            the element type
+     * @param result
+     *            the test result
+     * @throws XMLStreamException
+     *             in case of a XML stream exception
+     */
+    private static void writeResult(final XMLStreamWriter writer, final String type, final String result)
+            throws XMLStreamException {
+        writer.writeStartElement(type);
+        writer.writeAttribute("message", result);
+        writer.writeAttribute("type", type);
+        writer.writeCharacters(result);
+        writer.writeEndElement();
+    }
+
+    /**
+     * {@link Callable} enabling conversion of UNIT reports remotely.
+     */
+    private static final class ConvertUnitReportCallable extends MasterToSlaveCallable<Boolean, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> dbFiles;
+        private final TaskListener listener;
+
+        /**
+         * Instantiates a new {@link ConvertUnitReportCallable}.
+         *
+         * @param dbFiles
+         *            the list of TRF files
+         * @param listener
+         *            the listener
+         */
+        ConvertUnitReportCallable(final List<String> dbFiles, final TaskListener listener) {
+            this.dbFiles = dbFiles;
+            this.listener = listener;
+        }
+
+        @Override
+        public Boolean call() throws IOException {
+            boolean isConverted = true;
+            final TTConsoleLogger logger = new TTConsoleLogger(listener);
+            final long startMillis = System.currentTimeMillis();
+            for (final String dbFile : dbFiles) {
+                logger.logInfo(String.format("-> Converting UNIT report: %s", dbFile));
+                final File trfFile = new File(dbFile);
+                final File xmlFile = new File(new File(trfFile.getParentFile(), JUnitPublisher.UNIT_TEMPLATE_NAME),
+                        JUnitPublisher.JUNIT_REPORT_FILE);
+                try {
+                    convertFile(trfFile, xmlFile);
+                } catch (final IOException e) {
+                    isConverted = false;
+                    logger.logError(String.format("Converting UNIT report failed: %s", e.getMessage()));
+                }
+            }
+            logger.logInfo(String.format("-> Converted %d UNIT report(s) in %d ms.", dbFiles.size(),
+                    System.currentTimeMillis() - startMillis));
+            return isConverted;
+        }
+    }
+
+    /**
+     * Helper class storing the result of a single package.
+     */
+    static final class TestCaseHolder {
+
+        private final String name;
+        private final String result;
+        private final double duration;
+
+        /**
+         * Instantiates a new {@link TestCaseHolder}.
+         *
+         * @param name
+         *            the package name
+         * @param result
+         *            the package result
+         * @param duration
+         *            the duration in seconds
+         */
+        TestCaseHolder(final String name, final String result, final double duration) {
+            this.name = StringUtils.defaultString(name);
+            this.result = StringUtils.defaultIfEmpty(result, "NONE").toUpperCase(Locale.ENGLISH);
+            this.duration = duration;
+        }
+
+        /**
+         * @return the package name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the package result
+         */
+        public String getResult() {
+            return result;
+        }
+
+        /**
+         * @return the duration in seconds
+         */
+        public double getDuration() {
+            return duration;
+        }
+
+        /**
+         * @return {@code true} if the package ended with an error
+         */
+        public boolean isError() {
+            return "ERROR".equals(result);
+        }
+
+        /**
+         * @return {@code true} if the package failed
+         */
+        public boolean isFailure() {
+            return "FAILED".equals(result) || "INCONCLUSIVE".equals(result);
+        }
+
+        /**
+         * @return {@code true} if the package has no result
+         */
+        public boolean isSkipped() {
+            return "NONE".equals(result);
+        }
+    }
+}
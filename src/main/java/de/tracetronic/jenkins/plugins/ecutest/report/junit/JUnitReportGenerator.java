@@ -35,12 +35,16 @@ import hudson.model.TaskListener;
 import hudson.model.Run;
 import hudson.remoting.Callable;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 
 import jenkins.security.MasterToSlaveCallable;
 import de.tracetronic.jenkins.plugins.ecutest.env.ToolEnvInvisibleAction;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.report.ReportCache;
+import de.tracetronic.jenkins.plugins.ecutest.report.ReportSession;
 import de.tracetronic.jenkins.plugins.ecutest.tool.StartETBuilder;
 import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
@@ -96,14 +100,11 @@ public class JUnitReportGenerator {
             final String settingsDir = getSettingsDir(run);
             final ETClient etClient = new ETClient(toolName, installPath, workspaceDir, settingsDir,
                     StartETBuilder.DEFAULT_TIMEOUT, false);
-            if (etClient.start(false, workspace, launcher, listener)) {
+            if (ReportSession.start(run, etClient, workspace, launcher, listener)) {
                 isGenerated = generateReports(reportFiles, launcher, listener);
             } else {
                 logger.logError(String.format("Starting %s failed.", toolName));
             }
-            if (!etClient.stop(true, workspace, launcher, listener)) {
-                logger.logError(String.format("Stopping %s failed.", toolName));
-            }
         }
 
         return isGenerated;
@@ -192,17 +193,36 @@ public class JUnitReportGenerator {
             boolean isGenerated = true;
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             final String progId = ETComProperty.getInstance().getProgId();
+            final long startMillis = System.currentTimeMillis();
             try (ETComClient comClient = new ETComClient(progId)) {
                 final TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
+                final String toolVersion = comClient.getVersion();
+                final ReportCache cache = ReportCache.getInstance();
+                final String templateFingerprint = cache.isEnabled()
+                        ? ReportCache.getFingerprint(new File(comClient.getSetting("templatePath"))) : "";
                 for (final FilePath dbFile : dbFiles) {
+                    final File outDir = new File(new File(dbFile.getRemote()).getParentFile(),
+                            JUnitPublisher.UNIT_TEMPLATE_NAME);
+                    final String cacheKey = cache.isEnabled() ? ReportCache.getKey(new File(dbFile.getRemote()),
+                            JUnitPublisher.UNIT_TEMPLATE_NAME, Collections.<String, String> emptyMap(),
+                            toolVersion, templateFingerprint) : null;
+                    if (cacheKey != null && cache.restore(cacheKey, outDir)) {
+                        logger.logInfo(String.format("-> Using cached UNIT report: %s", dbFile.getRemote()));
+                        continue;
+                    }
                     logger.logInfo(String.format("-> Generating UNIT report: %s", dbFile.getRemote()));
-                    final FilePath outDir = dbFile.getParent().child(JUnitPublisher.UNIT_TEMPLATE_NAME);
-                    if (!testEnv.generateTestReportDocumentFromDB(dbFile.getRemote(),
-                            outDir.getRemote(), JUnitPublisher.UNIT_TEMPLATE_NAME, true)) {
+                    if (testEnv.generateTestReportDocumentFromDB(dbFile.getRemote(),
+                            outDir.getPath(), JUnitPublisher.UNIT_TEMPLATE_NAME, true)) {
+                        if (cacheKey != null) {
+                            cache.store(cacheKey, outDir);
+                        }
+                    } else {
                         isGenerated = false;
                         logger.logError("Generating UNIT report failed!");
                     }
                 }
+                logger.logInfo(String.format("-> Generated %d UNIT report(s) in %d ms.", dbFiles.size(),
+                        System.currentTimeMillis() - startMillis));
             } catch (final ETComException e) {
                 isGenerated = false;
                 logger.logComException(e.getMessage());
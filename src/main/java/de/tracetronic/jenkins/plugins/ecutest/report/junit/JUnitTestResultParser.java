@@ -39,7 +39,15 @@ import hudson.tasks.test.TestResultParser;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jenkins.MasterToSlaveFileCallable;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
@@ -55,6 +63,7 @@ public class JUnitTestResultParser extends TestResultParser implements Serializa
 
     /**
      * Parses the given JUnit test report files and builds a {@link TestResult} object that represents them.
+     * All report files located on the same channel are parsed within a single remote call.
      *
      * @param xmlFiles
      *            the JUnit report files
@@ -68,15 +77,25 @@ public class JUnitTestResultParser extends TestResultParser implements Serializa
      */
     public TestResult parseResult(final List<FilePath> xmlFiles, final TaskListener listener)
             throws IOException, InterruptedException {
-        final TTConsoleLogger logger = new TTConsoleLogger(listener);
-        TestResult testResult = new TestResult(false);
+        final Map<VirtualChannel, List<FilePath>> channelFiles = new LinkedHashMap<VirtualChannel, List<FilePath>>();
         for (final FilePath xmlFile : xmlFiles) {
-            if (xmlFile.exists()) {
-                logger.logInfo(String.format("- Processing UNIT test results: %s", xmlFile));
-                testResult = xmlFile.act(new ParseTestResultCallable(testResult));
-                testResult.tally();
+            List<FilePath> files = channelFiles.get(xmlFile.getChannel());
+            if (files == null) {
+                files = new ArrayList<FilePath>();
+                channelFiles.put(xmlFile.getChannel(), files);
             }
+            files.add(xmlFile);
         }
+
+        final TestResult testResult = new TestResult(false);
+        for (final List<FilePath> files : channelFiles.values()) {
+            final List<String> paths = new ArrayList<String>();
+            for (final FilePath file : files) {
+                paths.add(file.getRemote());
+            }
+            testResult.merge(files.get(0).act(new ParseTestResultCallable(paths, listener)));
+        }
+        testResult.tally();
         return testResult;
     }
 
@@ -91,29 +110,63 @@ public class JUnitTestResultParser extends TestResultParser implements Serializa
     }
 
     /**
-     * {@link FileCallable} enabling remote file access to parse the JUnit report.
+     * {@link FileCallable} enabling remote file access to parse multiple JUnit reports at once.
+     * The reports are parsed in parallel and merged into a single {@link TestResult} in the given order.
      */
     private static final class ParseTestResultCallable extends MasterToSlaveFileCallable<TestResult> {
 
         private static final long serialVersionUID = 1L;
 
-        private final TestResult testResult;
+        private final List<String> xmlFiles;
+        private final TaskListener listener;
 
         /**
          * Instantiates a new {@link ParseTestResultCallable}.
          *
-         * @param testResult
-         *            the test result
+         * @param xmlFiles
+         *            the paths of the JUnit report files
+         * @param listener
+         *            the listener
          */
-        ParseTestResultCallable(final TestResult testResult) {
-            this.testResult = testResult;
+        ParseTestResultCallable(final List<String> xmlFiles, final TaskListener listener) {
+            this.xmlFiles = xmlFiles;
+            this.listener = listener;
         }
 
         @Override
         public TestResult invoke(final File file, final VirtualChannel channel)
                 throws IOException, InterruptedException {
-            testResult.parse(file, null);
-            return testResult;
+            final TTConsoleLogger logger = new TTConsoleLogger(listener);
+            final List<Future<TestResult>> results = new ArrayList<Future<TestResult>>();
+            final int threads = Math.max(1, Math.min(xmlFiles.size(), Runtime.getRuntime().availableProcessors()));
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                for (final String xmlFile : xmlFiles) {
+                    final File reportFile = new File(xmlFile);
+                    if (reportFile.exists()) {
+                        logger.logInfo(String.format("- Processing UNIT test results: %s", reportFile));
+                        results.add(executor.submit(new Callable<TestResult>() {
+
+                            @Override
+                            public TestResult call() throws IOException {
+                                final TestResult testResult = new TestResult(false);
+                                testResult.parse(reportFile, null);
+                                return testResult;
+                            }
+                        }));
+                    }
+                }
+
+                final TestResult testResult = new TestResult(false);
+                for (final Future<TestResult> result : results) {
+                    testResult.merge(result.get());
+                }
+                return testResult;
+            } catch (final ExecutionException e) {
+                throw new IOException(e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
         }
     }
 }
@@ -55,6 +55,7 @@ import de.tracetronic.jenkins.plugins.ecutest.env.ToolEnvInvisibleAction;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.report.AbstractReportDescriptor;
 import de.tracetronic.jenkins.plugins.ecutest.report.AbstractReportPublisher;
+import de.tracetronic.jenkins.plugins.ecutest.report.DirectoryInfo;
 import de.tracetronic.jenkins.plugins.ecutest.report.log.ETLogAnnotation.Severity;
 
 /**
@@ -173,7 +174,7 @@ public class ETLogPublisher extends AbstractReportPublisher {
                     if (reportDir.exists()) {
                         try {
                             logger.logInfo(String.format("- Archiving log files: %s", reportDir));
-                            final int copiedFiles = reportDir.copyRecursiveTo(
+                            final int copiedFiles = getReportSourceDir(run, reportDir).copyRecursiveTo(
                                     String.format("**/%s,**/%s", ERROR_LOG_NAME, INFO_LOG_NAME), archiveTargetDir);
                             if (copiedFiles == 0) {
                                 continue;
@@ -270,26 +271,6 @@ public class ETLogPublisher extends AbstractReportPublisher {
         return logReport;
     }
 
-    /**
-     * Gets the total size of given directory recursively.
-     *
-     * @param directory
-     *            the directory
-     * @return the file size
-     * @throws IOException
-     *             signals that an I/O exception has occurred
-     * @throws InterruptedException
-     *             the interrupted exception
-     */
-    private long getFileSize(final FilePath directory) throws IOException, InterruptedException {
-        long size = 0;
-        final FilePath[] files = directory.list("**");
-        for (final FilePath file : files) {
-            size += file.length();
-        }
-        return size;
-    }
-
     /**
      * Creates the main report and adds the sub-reports by traversing them recursively.
      *
@@ -308,7 +289,7 @@ public class ETLogPublisher extends AbstractReportPublisher {
     private int traverseReports(final List<ETLogReport> logReports, final FilePath archiveTargetDir, int id)
             throws IOException, InterruptedException {
         final ETLogReport logReport = new ETLogReport(String.format("%d", ++id),
-                archiveTargetDir.getName(), archiveTargetDir.getName(), getFileSize(archiveTargetDir),
+                archiveTargetDir.getName(), archiveTargetDir.getName(), DirectoryInfo.of(archiveTargetDir).getSize(),
                 Collections.<ETLogAnnotation> emptyList(), 0, 0);
         logReports.add(logReport);
 
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.pipeline;
+
+import hudson.FilePath;
+import hudson.model.Run;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+
+import de.tracetronic.jenkins.plugins.ecutest.report.log.ETLogPublisher;
+import de.tracetronic.jenkins.plugins.ecutest.report.trf.TRFPublisher;
+
+/**
+ * Pipeline staging the report files of finished tests in the background while the next test is executed.
+ * <p>
+ * Each report directory handed over by a test builder is copied from the executing node to a staging directory
+ * inside the build directory, including the TRF files and the test-specific ECU-TEST logs. The report publishers
+ * then archive and parse the local staged copies instead of transferring the report files after all tests finished.
+ * The staging directory is removed by the {@link ReportPipelineListener} when the build is completed.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ReportPipeline {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportPipeline.class.getName());
+
+    /**
+     * Defines the name of the staging directory inside the build directory.
+     */
+    public static final String STAGING_DIR_NAME = "ecutest-report-staging";
+
+    /**
+     * Ant-style include pattern for all staged report files.
+     */
+    public static final String STAGE_INCLUDES = String.format("%s,**/%s,**/%s", TRFPublisher.TRF_INCLUDES,
+            ETLogPublisher.ERROR_LOG_NAME, ETLogPublisher.INFO_LOG_NAME);
+
+    /**
+     * Defines the default time in milliseconds to wait for a single report directory to be staged.
+     */
+    private static final long DEFAULT_STAGE_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+
+    private static final Map<String, ReportPipeline> PIPELINES = new HashMap<String, ReportPipeline>();
+
+    private final File stagingDir;
+    private final ExecutorService executor;
+    private final long stageTimeout;
+    private final Map<String, Future<FilePath>> stages = new LinkedHashMap<String, Future<FilePath>>();
+
+    /**
+     * Instantiates a new {@link ReportPipeline}.
+     *
+     * @param stagingDir
+     *            the staging directory
+     */
+    ReportPipeline(final File stagingDir) {
+        this(stagingDir, Executors.newSingleThreadExecutor(new NamingThreadFactory(new DaemonThreadFactory(),
+                "ECU-TEST report pipeline")), Long.getLong(ReportPipeline.class.getSimpleName() + ".stageTimeout",
+                DEFAULT_STAGE_TIMEOUT));
+    }
+
+    /**
+     * Instantiates a new {@link ReportPipeline}.
+     *
+     * @param stagingDir
+     *            the staging directory
+     * @param executor
+     *            the executor staging the report directories
+     * @param stageTimeout
+     *            the time in milliseconds to wait for a single report directory to be staged
+     */
+    ReportPipeline(final File stagingDir, final ExecutorService executor, final long stageTimeout) {
+        this.stagingDir = stagingDir;
+        this.executor = executor;
+        this.stageTimeout = stageTimeout;
+    }
+
+    /**
+     * Gets the report pipeline of the given build, creating it if not existing yet.
+     *
+     * @param run
+     *            the build
+     * @return the report pipeline
+     */
+    public static ReportPipeline forRun(final Run<?, ?> run) {
+        synchronized (PIPELINES) {
+            ReportPipeline pipeline = PIPELINES.get(run.getExternalizableId());
+            if (pipeline == null) {
+                pipeline = new ReportPipeline(new File(run.getRootDir(), STAGING_DIR_NAME));
+                PIPELINES.put(run.getExternalizableId(), pipeline);
+            }
+            return pipeline;
+        }
+    }
+
+    /**
+     * Gets the report pipeline of the given build.
+     *
+     * @param run
+     *            the build
+     * @return the report pipeline or {@code null} if no reports are staged for this build
+     */
+    @CheckForNull
+    public static ReportPipeline getPipeline(final Run<?, ?> run) {
+        synchronized (PIPELINES) {
+            return PIPELINES.get(run.getExternalizableId());
+        }
+    }
+
+    /**
+     * Closes the report pipeline of the given build by cancelling pending stages and removing the staged files.
+     *
+     * @param run
+     *            the build
+     */
+    public static void close(final Run<?, ?> run) {
+        final ReportPipeline pipeline;
+        synchronized (PIPELINES) {
+            pipeline = PIPELINES.remove(run.getExternalizableId());
+        }
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    /**
+     * Stages the given report directory in the background.
+     *
+     * @param reportDir
+     *            the report directory on the executing node
+     */
+    public synchronized void stage(final FilePath reportDir) {
+        final String key = reportDir.getRemote();
+        if (stages.containsKey(key) || executor.isShutdown()) {
+            return;
+        }
+        final FilePath targetDir = new FilePath(new File(stagingDir, String.valueOf(stages.size())));
+        stages.put(key, executor.submit(new StageCallable(reportDir, targetDir)));
+    }
+
+    /**
+     * Gets the staged copy of the given report directory, waiting for its staging to be completed. A staging that
+     * does not complete within the stage timeout is cancelled, so that the unstaged report directory is used.
+     *
+     * @param reportDir
+     *            the report directory on the executing node
+     * @return the staged report directory or {@code null} if the report directory is not staged successfully in time
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting for the staging
+     */
+    @CheckForNull
+    public FilePath getStagedReportDir(final FilePath reportDir) throws InterruptedException {
+        final Future<FilePath> stage;
+        synchronized (this) {
+            stage = stages.get(reportDir.getRemote());
+        }
+        if (stage == null) {
+            return null;
+        }
+        try {
+            return stage.get(stageTimeout, TimeUnit.MILLISECONDS);
+        } catch (final ExecutionException e) {
+            LOGGER.log(Level.WARNING, "Staging report directory failed: " + reportDir.getRemote(), e.getCause());
+            return null;
+        } catch (final TimeoutException e) {
+            LOGGER.log(Level.WARNING, "Staging report directory timed out: " + reportDir.getRemote());
+            stage.cancel(true);
+            return null;
+        } catch (final CancellationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of staged or pending report directories
+     */
+    public synchronized int size() {
+        return stages.size();
+    }
+
+    /**
+     * Cancels all pending stages and deletes the staging directory.
+     */
+    private void shutdown() {
+        synchronized (this) {
+            executor.shutdownNow();
+        }
+        try {
+            new FilePath(stagingDir).deleteRecursive();
+        } catch (final IOException | InterruptedException e) {
+            LOGGER.log(Level.WARNING, "Removing report staging directory failed: " + stagingDir, e);
+        }
+    }
+
+    /**
+     * {@link Callable} copying the report files of a single report directory to the staging directory.
+     */
+    private static final class StageCallable implements Callable<FilePath> {
+
+        private final FilePath reportDir;
+        private final FilePath targetDir;
+
+        /**
+         * Instantiates a new {@link StageCallable}.
+         *
+         * @param reportDir
+         *            the report directory on the executing node
+         * @param targetDir
+         *            the staging target directory
+         */
+        StageCallable(final FilePath reportDir, final FilePath targetDir) {
+            this.reportDir = reportDir;
+            this.targetDir = targetDir;
+        }
+
+        @Override
+        public FilePath call() throws IOException, InterruptedException {
+            targetDir.mkdirs();
+            reportDir.copyRecursiveTo(STAGE_INCLUDES, TRFPublisher.TRF_EXCLUDES, targetDir);
+            return targetDir;
+        }
+    }
+}
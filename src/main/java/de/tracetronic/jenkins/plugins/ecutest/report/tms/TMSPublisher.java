@@ -66,6 +66,7 @@ import de.tracetronic.jenkins.plugins.ecutest.ETPluginException;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.report.AbstractReportDescriptor;
 import de.tracetronic.jenkins.plugins.ecutest.report.AbstractReportPublisher;
+import de.tracetronic.jenkins.plugins.ecutest.report.ReportSession;
 import de.tracetronic.jenkins.plugins.ecutest.tool.StartETBuilder;
 import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.AbstractToolInstallation;
@@ -199,14 +200,11 @@ public class TMSPublisher extends AbstractReportPublisher {
             final String expandedToolName = run.getEnvironment(listener).expand(installation.getName());
             final ETClient etClient = new ETClient(expandedToolName, installPath, workspaceDir, settingsDir,
                     StartETBuilder.DEFAULT_TIMEOUT, false);
-            if (etClient.start(false, workspace, launcher, listener)) {
+            if (ReportSession.start(run, etClient, workspace, launcher, listener)) {
                 isPublished = publishReports(reportFiles, workspace, launcher, listener);
             } else {
                 logger.logError(String.format("Starting %s failed.", toolName));
             }
-            if (!etClient.stop(true, workspace, launcher, listener)) {
-                logger.logError(String.format("Stopping %s failed.", toolName));
-            }
         }
 
         if (isPublished) {
@@ -239,6 +237,11 @@ public class TMSPublisher extends AbstractReportPublisher {
         return new TMSReportUploader().upload(reportFiles, credentialsId, timeout, workspace, launcher, listener);
     }
 
+    @Override
+    protected boolean isReportSessionRequired() {
+        return true;
+    }
+
     @Override
     protected String getUrlName() {
         throw new NotImplementedException();
@@ -119,11 +119,12 @@ public class TRFPublisher extends AbstractReportPublisher {
             }
             for (final FilePath reportDir : reportDirs) {
                 final FilePath archiveTargetDir = archiveTarget.child(reportDir.getName());
-                final FilePath reportFile = getFirstReportFile(reportDir);
+                final FilePath sourceDir = getReportSourceDir(run, reportDir);
+                final FilePath reportFile = getFirstReportFile(sourceDir);
                 if (reportFile != null && reportFile.exists()) {
                     try {
                         logger.logInfo(String.format("- Archiving TRF report: %s", reportFile));
-                        final int copiedFiles = reportDir.copyRecursiveTo(TRF_INCLUDES, TRF_EXCLUDES,
+                        final int copiedFiles = sourceDir.copyRecursiveTo(TRF_INCLUDES, TRF_EXCLUDES,
                                 archiveTargetDir);
                         if (copiedFiles == 0) {
                             continue;
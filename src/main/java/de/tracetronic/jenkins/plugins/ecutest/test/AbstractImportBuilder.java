@@ -56,6 +56,7 @@ import org.kohsuke.stapler.DataBoundSetter;
 
 import de.tracetronic.jenkins.plugins.ecutest.ETPluginException;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.profile.ComProfileAction;
 import de.tracetronic.jenkins.plugins.ecutest.test.client.ImportPackageClient;
 import de.tracetronic.jenkins.plugins.ecutest.test.client.ImportProjectClient;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ImportAttributeConfig;
@@ -135,10 +136,11 @@ public class AbstractImportBuilder extends AbstractTestHelper implements SimpleB
     @Override
     public void perform(final Run<?, ?> run, final FilePath workspace, final Launcher launcher,
             final TaskListener listener) throws InterruptedException, IOException {
+        final Launcher scopedLauncher = ComProfileAction.scope(run, launcher);
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
         try {
-            ProcessUtil.checkOS(launcher);
-            final boolean performed = performImport(run, workspace, launcher, listener);
+            ProcessUtil.checkOS(scopedLauncher);
+            final boolean performed = performImport(run, workspace, scopedLauncher, listener);
             if (!performed) {
                 throw new AbortException("Importing to test management system failed!");
             }
@@ -148,6 +150,8 @@ public class AbstractImportBuilder extends AbstractTestHelper implements SimpleB
         } catch (final ETPluginException e) {
             logger.logError(e.getMessage());
             throw new AbortException(e.getMessage());
+        } finally {
+            ComProfileAction.collect(run, launcher);
         }
     }
 
@@ -52,6 +52,8 @@ import org.kohsuke.stapler.DataBoundSetter;
 import de.tracetronic.jenkins.plugins.ecutest.ETPluginException;
 import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.profile.ComProfileAction;
+import de.tracetronic.jenkins.plugins.ecutest.report.pipeline.ReportPipeline;
 import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.TestConfig;
@@ -71,6 +73,10 @@ public abstract class AbstractTestBuilder extends AbstractTestHelper implements
     private TestConfig testConfig = TestConfig.newInstance();
     @Nonnull
     private ExecutionConfig executionConfig = ExecutionConfig.newInstance();
+    /**
+     * @since 2.1
+     */
+    private boolean stageReports;
 
     /**
      * Instantiates a new {@link AbstractTestBuilder}.
@@ -107,6 +113,13 @@ public abstract class AbstractTestBuilder extends AbstractTestHelper implements
         return executionConfig;
     }
 
+    /**
+     * @return specifies whether to stage the test reports in the background while further tests are executed
+     */
+    public boolean isStageReports() {
+        return stageReports;
+    }
+
     /**
      * @param testConfig
      *            the test configuration
@@ -125,23 +138,33 @@ public abstract class AbstractTestBuilder extends AbstractTestHelper implements
         this.executionConfig = executionConfig == null ? ExecutionConfig.newInstance() : executionConfig;
     }
 
+    /**
+     * @param stageReports
+     *            specifies whether to stage the test reports in the background while further tests are executed
+     */
+    @DataBoundSetter
+    public void setStageReports(final boolean stageReports) {
+        this.stageReports = stageReports;
+    }
+
     @Override
     public void perform(final Run<?, ?> run, final FilePath workspace, final Launcher launcher,
             final TaskListener listener) throws InterruptedException, IOException {
 
+        final Launcher scopedLauncher = ComProfileAction.scope(run, launcher);
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
         try {
-            ProcessUtil.checkOS(launcher);
-            final boolean performed = performTest(run, workspace, launcher, listener);
+            ProcessUtil.checkOS(scopedLauncher);
+            final boolean performed = performTest(run, workspace, scopedLauncher, listener);
             if (!performed) {
                 if (getExecutionConfig().isStopOnError()) {
                     logger.logInfo("- Closing running ECU-TEST and Tool-Server instances...");
-                    if (closeETInstance(launcher, listener)) {
+                    if (closeETInstance(scopedLauncher, listener)) {
                         logger.logInfo("-> ECU-TEST closed successfully.");
                     } else {
                         logger.logInfo("-> No running ECU-TEST instance found.");
                     }
-                    if (checkTSInstance(launcher, true)) {
+                    if (checkTSInstance(scopedLauncher, true)) {
                         logger.logInfo("-> Tool-Server closed successfully.");
                     } else {
                         logger.logInfo("-> No running Tool-Server instance found.");
@@ -155,6 +178,8 @@ public abstract class AbstractTestBuilder extends AbstractTestHelper implements
         } catch (final ETPluginException e) {
             logger.logError(e.getMessage());
             throw new AbortException(e.getMessage());
+        } finally {
+            ComProfileAction.collect(run, launcher);
         }
     }
 
@@ -175,15 +200,71 @@ public abstract class AbstractTestBuilder extends AbstractTestHelper implements
      * @throws InterruptedException
      *             if the build gets interrupted
      */
-    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
     private boolean performTest(final Run<?, ?> run, final FilePath workspace, final Launcher launcher,
             final TaskListener listener) throws IOException, InterruptedException {
+        final ExpandedTest test = expandTest(run, workspace, launcher, listener);
+        if (test == null) {
+            return false;
+        }
+
+        // Run tests
+        return runTest(test.testFile, test.testConfig, test.executionConfig, run, workspace, launcher, listener);
+    }
+
+    /**
+     * Prepares the test client for an asynchronous test execution by expanding the test file and configurations.
+     *
+     * @param run
+     *            the build
+     * @param workspace
+     *            the workspace
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return the test client or {@code null} if preparing the test failed
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    @CheckForNull
+    AbstractTestClient prepareTestClient(final Run<?, ?> run, final FilePath workspace, final Launcher launcher,
+            final TaskListener listener) throws IOException, InterruptedException {
+        final ExpandedTest test = expandTest(run, workspace, launcher, listener);
+        if (test == null) {
+            return null;
+        }
+        return createTestClient(test.testFile, test.testConfig, test.executionConfig, run, listener);
+    }
+
+    /**
+     * Checks for a running ECU-TEST instance and expands the test file and configurations.
+     *
+     * @param run
+     *            the build
+     * @param workspace
+     *            the workspace
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return the expanded test or {@code null} if the test file or configurations could not be resolved
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    @CheckForNull
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    private ExpandedTest expandTest(final Run<?, ?> run, final FilePath workspace, final Launcher launcher,
+            final TaskListener listener) throws IOException, InterruptedException {
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
 
         // Check for running ECU-TEST instance
         if (!checkETInstance(launcher, false)) {
             logger.logError("No running ECU-TEST instance found, please configure one at first!");
-            return false;
+            return null;
         }
 
         // Expand build parameters
@@ -209,7 +290,7 @@ public abstract class AbstractTestBuilder extends AbstractTestHelper implements
 
         // Check test file existence
         if (expTestFilePath == null) {
-            return false;
+            return null;
         }
 
         // Configurations not relevant if previous ones used
@@ -241,30 +322,42 @@ public abstract class AbstractTestBuilder extends AbstractTestHelper implements
 
             // Check configuration file existence
             if (expTbcFilePath == null || expTcfFilePath == null) {
-                return false;
+                return null;
             }
         }
 
         // Set expanded test configuration
         expTestConfig = new TestConfig(expTbcFilePath, expTcfFilePath, expTestConfig.isForceReload(),
-                expTestConfig.isLoadOnly(), expTestConfig.isKeepConfig(), expTestConfig.getConstants());
+                expTestConfig.isLoadOnly(), expTestConfig.isKeepConfig(), expTestConfig.isSkipUnchanged(),
+                expTestConfig.getConstants());
 
-        // Run tests
-        return runTest(expTestFilePath, expTestConfig, expExecConfig, run, workspace, launcher, listener);
+        return new ExpandedTest(expTestFilePath, expTestConfig, expExecConfig);
     }
 
     /**
      * Adds the build action holding test information by injecting environment variables.
+     * The test id is allocated atomically per build, so that concurrently running test builders,
+     * e.g. sharded test folders in parallel branches, never share the same id. The ids remain consecutive
+     * in order of completion, so the ids of concurrently running tests may differ from build to build.
+     * If enabled, the test report is handed over to the {@link ReportPipeline} of the build.
      *
      * @param run
      *            the run
+     * @param launcher
+     *            the launcher
      * @param testClient
      *            the test client
      */
-    protected void addBuildAction(final Run<?, ?> run, final AbstractTestClient testClient) {
-        final int builderId = getTestId(run);
-        final TestEnvInvisibleAction envAction = new TestEnvInvisibleAction(builderId, testClient);
-        run.addAction(envAction);
+    protected void addBuildAction(final Run<?, ?> run, final Launcher launcher, final AbstractTestClient testClient) {
+        synchronized (run) {
+            final int builderId = getTestId(run);
+            final TestEnvInvisibleAction envAction = new TestEnvInvisibleAction(builderId, testClient);
+            run.addAction(envAction);
+        }
+        final String reportDir = testClient.getTestReportDir();
+        if (isStageReports() && StringUtils.isNotEmpty(reportDir)) {
+            ReportPipeline.forRun(run).stage(new FilePath(launcher.getChannel(), reportDir));
+        }
     }
 
     /**
@@ -294,6 +387,33 @@ public abstract class AbstractTestBuilder extends AbstractTestHelper implements
             Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener)
                     throws IOException, InterruptedException;
 
+    /**
+     * Creates the test client for the given expanded test file and configurations.
+     * Builders supporting asynchronous test executions override this method.
+     *
+     * @param testFile
+     *            the full test file path
+     * @param testConfig
+     *            the expanded test configuration
+     * @param executionConfig
+     *            the expanded execution configuration
+     * @param run
+     *            the build
+     * @param listener
+     *            the listener
+     * @return the test client or {@code null} if not supported
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    @CheckForNull
+    protected AbstractTestClient createTestClient(final String testFile, final TestConfig testConfig,
+            final ExecutionConfig executionConfig, final Run<?, ?> run, final TaskListener listener)
+                    throws IOException, InterruptedException {
+        return null;
+    }
+
     @Override
     public BuildStepMonitor getRequiredMonitorService() {
         return BuildStepMonitor.NONE;
@@ -303,4 +423,30 @@ public abstract class AbstractTestBuilder extends AbstractTestHelper implements
     public AbstractTestDescriptor getDescriptor() {
         return (AbstractTestDescriptor) super.getDescriptor();
     }
+
+    /**
+     * Holds the expanded test file and configurations.
+     */
+    private static final class ExpandedTest {
+
+        private final String testFile;
+        private final TestConfig testConfig;
+        private final ExecutionConfig executionConfig;
+
+        /**
+         * Instantiates a new {@link ExpandedTest}.
+         *
+         * @param testFile
+         *            the full test file path
+         * @param testConfig
+         *            the expanded test configuration
+         * @param executionConfig
+         *            the expanded execution configuration
+         */
+        ExpandedTest(final String testFile, final TestConfig testConfig, final ExecutionConfig executionConfig) {
+            this.testFile = testFile;
+            this.testConfig = testConfig;
+            this.executionConfig = executionConfig;
+        }
+    }
 }
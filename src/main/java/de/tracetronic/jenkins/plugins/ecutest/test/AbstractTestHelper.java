@@ -45,6 +45,7 @@ import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
 import de.tracetronic.jenkins.plugins.ecutest.tool.client.TSClient;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComCache;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComProperty;
@@ -290,7 +291,11 @@ public abstract class AbstractTestHelper extends Builder {
 
         @Override
         public String call() throws IOException {
-            String settingValue;
+            final ETComCache cache = ETComCache.getInstance();
+            String settingValue = cache.getSetting(settingName);
+            if (settingValue != null) {
+                return settingValue;
+            }
             final String progId = ETComProperty.getInstance().getProgId();
             try (ETComClient comClient = new ETComClient(progId)) {
                 settingValue = comClient.getSetting(settingName);
@@ -300,6 +305,7 @@ public abstract class AbstractTestHelper extends Builder {
             } catch (final ETComException e) {
                 throw new IOException(e.getMessage(), e);
             }
+            cache.putSetting(settingName, settingValue);
             return settingValue;
         }
     }
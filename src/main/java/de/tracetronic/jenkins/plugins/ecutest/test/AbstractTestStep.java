@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test;
+
+import hudson.AbortException;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.remoting.ChannelClosedException;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import jenkins.util.Timer;
+
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import com.google.common.collect.ImmutableSet;
+
+import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.profile.ComProfileAction;
+import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient;
+import de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig;
+import de.tracetronic.jenkins.plugins.ecutest.test.config.TestConfig;
+import de.tracetronic.jenkins.plugins.ecutest.util.ProcessUtil;
+
+/**
+ * Common base class for Pipeline steps executing tests asynchronously.
+ * <p>
+ * In contrast to the test builders no executor thread is blocked by a remote call for the whole test duration.
+ * The test is started in the background of the agent and its state is polled by short remote calls, so that the
+ * step survives a restart of the controller and re-attaches to the running test execution.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public abstract class AbstractTestStep extends Step implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = Logger.getLogger(AbstractTestStep.class.getName());
+
+    /**
+     * Defines the interval in milliseconds polling the state of the test execution.
+     */
+    private static final long POLLING_INTERVAL = 5000L;
+
+    @Nonnull
+    private final String testFile;
+    @Nonnull
+    private TestConfig testConfig = TestConfig.newInstance();
+    @Nonnull
+    private ExecutionConfig executionConfig = ExecutionConfig.newInstance();
+    private boolean stageReports;
+
+    /**
+     * Instantiates a new {@link AbstractTestStep}.
+     *
+     * @param testFile
+     *            the test file
+     */
+    public AbstractTestStep(final String testFile) {
+        super();
+        this.testFile = StringUtils.trimToEmpty(testFile);
+    }
+
+    /**
+     * @return the test file path
+     */
+    @Nonnull
+    public String getTestFile() {
+        return testFile;
+    }
+
+    /**
+     * @return the test configuration
+     */
+    @Nonnull
+    public TestConfig getTestConfig() {
+        return testConfig;
+    }
+
+    /**
+     * @return the execution configuration
+     */
+    @Nonnull
+    public ExecutionConfig getExecutionConfig() {
+        return executionConfig;
+    }
+
+    /**
+     * @return specifies whether to stage the test reports in the background while further tests are executed
+     */
+    public boolean isStageReports() {
+        return stageReports;
+    }
+
+    /**
+     * @param testConfig
+     *            the test configuration
+     */
+    @DataBoundSetter
+    public void setTestConfig(@CheckForNull final TestConfig testConfig) {
+        this.testConfig = testConfig == null ? TestConfig.newInstance() : testConfig;
+    }
+
+    /**
+     * @param executionConfig
+     *            the execution configuration
+     */
+    @DataBoundSetter
+    public void setExecutionConfig(@CheckForNull final ExecutionConfig executionConfig) {
+        this.executionConfig = executionConfig == null ? ExecutionConfig.newInstance() : executionConfig;
+    }
+
+    /**
+     * @param stageReports
+     *            specifies whether to stage the test reports in the background while further tests are executed
+     */
+    @DataBoundSetter
+    public void setStageReports(final boolean stageReports) {
+        this.stageReports = stageReports;
+    }
+
+    /**
+     * Creates the test builder sharing the configuration of this step, which is used to prepare the test and to
+     * create the test client.
+     *
+     * @return the test builder
+     */
+    protected abstract AbstractTestBuilder createBuilder();
+
+    @Override
+    public StepExecution start(final StepContext context) throws Exception {
+        return new Execution(this, context);
+    }
+
+    /**
+     * Common base class for the descriptors of the asynchronous test steps.
+     */
+    public abstract static class AbstractTestStepDescriptor extends StepDescriptor {
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return ImmutableSet.of(Run.class, FilePath.class, Launcher.class, TaskListener.class);
+        }
+    }
+
+    /**
+     * {@link StepExecution} starting the test on the agent and polling its state until the test is finished.
+     * Only serializable state is kept, so that polling is continued after a restart of the controller.
+     */
+    private static final class Execution extends StepExecution {
+
+        private static final long serialVersionUID = 1L;
+
+        private final AbstractTestStep step;
+        private String executionId;
+        private String testFile;
+        private TestConfig testConfig;
+        private ExecutionConfig executionConfig;
+        private long startMillis;
+        private long agentStartMillis;
+        private transient volatile Future<?> task;
+
+        /**
+         * Instantiates a new {@link Execution}.
+         *
+         * @param step
+         *            the step
+         * @param context
+         *            the step context
+         */
+        Execution(final AbstractTestStep step, final StepContext context) {
+            super(context);
+            this.step = step;
+        }
+
+        @Override
+        public boolean start() throws Exception {
+            executionId = UUID.randomUUID().toString();
+            task = Timer.get().submit(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        startTest();
+                    } catch (final Exception e) {
+                        fail(e);
+                    }
+                }
+            });
+            return false;
+        }
+
+        @Override
+        public void stop(@Nonnull final Throwable cause) throws Exception {
+            final Future<?> currentTask = task;
+            if (currentTask != null) {
+                currentTask.cancel(false);
+            }
+            try {
+                final Launcher launcher = getContext().get(Launcher.class);
+                if (launcher != null && launcher.getChannel() != null) {
+                    // Abort by id, so that an execution currently being started is aborted or refused as well
+                    final TaskListener listener = getContext().get(TaskListener.class);
+                    new TTConsoleLogger(listener).logWarn("-> Step stopped! Aborting test execution...");
+                    AbstractTestClient.abortTestCase(executionId, ComProfileAction.scope(getContext().get(Run.class),
+                            launcher), listener);
+                }
+            } finally {
+                fail(cause);
+            }
+        }
+
+        @Override
+        public void onResume() {
+            if (testFile == null) {
+                getContext().onFailure(new AbortException("Resuming test execution failed, test was not started!"));
+            } else {
+                schedulePolling();
+            }
+        }
+
+        /**
+         * Prepares and starts the test on the agent.
+         *
+         * @throws Exception
+         *             in case starting the test failed
+         */
+        private void startTest() throws Exception {
+            final Run<?, ?> run = getContext().get(Run.class);
+            final FilePath workspace = getContext().get(FilePath.class);
+            final Launcher launcher = ComProfileAction.scope(run, getContext().get(Launcher.class));
+            final TaskListener listener = getContext().get(TaskListener.class);
+
+            ProcessUtil.checkOS(launcher);
+            final AbstractTestClient testClient = step.createBuilder().prepareTestClient(run, workspace, launcher,
+                    listener);
+            if (testClient == null) {
+                throw new AbortException("Test executions aborted!");
+            }
+            final TTConsoleLogger logger = new TTConsoleLogger(listener);
+            logger.logInfo(String.format("Executing test %s asynchronously...", testClient.getTestFile()));
+            startMillis = System.currentTimeMillis();
+            final Long agentStartMillis = testClient.startTestCase(executionId, workspace, launcher, listener);
+            if (agentStartMillis == null) {
+                logger.logError("Starting test execution failed!");
+                throw new AbortException("Test executions aborted!");
+            }
+            this.agentStartMillis = agentStartMillis;
+            testConfig = testClient.getTestConfig();
+            executionConfig = testClient.getExecutionConfig();
+            testFile = testClient.getTestFile();
+            schedulePolling();
+        }
+
+        /**
+         * Schedules the next poll of the test execution state.
+         */
+        private void schedulePolling() {
+            task = Timer.get().schedule(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        pollTest();
+                    } catch (final Exception e) {
+                        fail(e);
+                    }
+                }
+            }, POLLING_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Polls the state of the test execution and completes the step if the test is finished.
+         *
+         * @throws Exception
+         *             in case polling the test failed
+         */
+        private void pollTest() throws Exception {
+            final Run<?, ?> run = getContext().get(Run.class);
+            final TaskListener listener = getContext().get(TaskListener.class);
+            Launcher launcher = getContext().get(Launcher.class);
+            if (launcher == null || launcher.getChannel() == null) {
+                // Agent is not yet reconnected, e.g. after a restart of the controller
+                schedulePolling();
+                return;
+            }
+            launcher = ComProfileAction.scope(run, launcher);
+
+            final AbstractTestClient testClient = createTestClient();
+            final Boolean succeeded;
+            try {
+                succeeded = testClient.pollTestCase(executionId, agentStartMillis, launcher, listener);
+            } catch (final ChannelClosedException e) {
+                // Agent disconnected while polling, retry after reconnect
+                schedulePolling();
+                return;
+            }
+            if (succeeded == null) {
+                schedulePolling();
+                return;
+            }
+            testClient.setTestDuration(System.currentTimeMillis() - startMillis);
+
+            final TTConsoleLogger logger = new TTConsoleLogger(listener);
+            if (!succeeded) {
+                logger.logError("Executing test failed!");
+                fail(new AbortException("Test executions aborted!"));
+                return;
+            }
+            step.createBuilder().addBuildAction(run, launcher, testClient);
+            if (testClient.isAborted()) {
+                logger.logWarn("Test execution aborted!");
+                fail(new AbortException("Test executions aborted!"));
+            } else {
+                logger.logInfo("Test executed successfully.");
+                ComProfileAction.collect(run, launcher);
+                getContext().onSuccess(null);
+            }
+        }
+
+        /**
+         * Collects the COM profile of the test execution and completes the step with the given failure.
+         *
+         * @param cause
+         *            the failure cause
+         */
+        private void fail(final Throwable cause) {
+            try {
+                ComProfileAction.collect(getContext().get(Run.class), getContext().get(Launcher.class));
+            } catch (final IOException e) {
+                LOGGER.log(Level.FINE, "Could not collect COM profile: " + e.getMessage(), e);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            getContext().onFailure(cause);
+        }
+
+        /**
+         * Re-creates the test client for the expanded test file and configurations.
+         *
+         * @return the test client
+         * @throws IOException
+         *             signals that an I/O exception has occurred
+         * @throws InterruptedException
+         *             if the build gets interrupted
+         */
+        private AbstractTestClient createTestClient() throws IOException, InterruptedException {
+            final AbstractTestClient testClient = step.createBuilder().createTestClient(testFile, testConfig,
+                    executionConfig, getContext().get(Run.class), getContext().get(TaskListener.class));
+            if (testClient == null) {
+                throw new AbortException("Asynchronous test execution is not supported!");
+            }
+            return testClient;
+        }
+    }
+}
@@ -35,17 +35,26 @@ import hudson.FilePath;
 import hudson.Launcher;
 import hudson.model.TaskListener;
 import hudson.model.Run;
+import hudson.remoting.Callable;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 
+import jenkins.security.MasterToSlaveCallable;
+
+import org.apache.commons.io.FilenameUtils;
 import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
@@ -55,11 +64,21 @@ import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.test.client.PackageClient;
 import de.tracetronic.jenkins.plugins.ecutest.test.client.ProjectClient;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig;
+import de.tracetronic.jenkins.plugins.ecutest.test.config.GlobalConstant;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.PackageConfig;
+import de.tracetronic.jenkins.plugins.ecutest.test.config.PackageParameter;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ProjectConfig;
+import de.tracetronic.jenkins.plugins.ecutest.test.config.ShardConfig;
+import de.tracetronic.jenkins.plugins.ecutest.test.config.ShardConfig.ShardMode;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.TestConfig;
-import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestPackageScanner;
-import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestProjectScanner;
+import de.tracetronic.jenkins.plugins.ecutest.test.history.TestContentHash;
+import de.tracetronic.jenkins.plugins.ecutest.test.history.TestHistory;
+import de.tracetronic.jenkins.plugins.ecutest.test.history.TestHistoryEntry;
+import de.tracetronic.jenkins.plugins.ecutest.test.history.TestOrderPolicy;
+import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestFolderScanner;
+import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestFolderScanner.ScanResult;
+import de.tracetronic.jenkins.plugins.ecutest.test.shard.ShardDurationsAction;
+import de.tracetronic.jenkins.plugins.ecutest.test.shard.TestShardPartitioner;
 
 /**
  * Builder providing the execution of ECU-TEST packages and projects inside of a test folder.
@@ -97,12 +116,30 @@ public class TestFolderBuilder extends AbstractTestBuilder {
     @Nonnull
     private ScanMode scanMode = DEFAULT_SCANMODE;
     private boolean recursiveScan;
+    /**
+     * @since 2.1
+     */
+    private boolean cachedScan;
 
     // Test settings
     @Nonnull
     private PackageConfig packageConfig = PackageConfig.newInstance();
     @Nonnull
     private ProjectConfig projectConfig = ProjectConfig.newInstance();
+    /**
+     * @since 2.1
+     */
+    @CheckForNull
+    private ShardConfig shardConfig;
+    /**
+     * @since 2.1
+     */
+    @CheckForNull
+    private TestOrderPolicy testOrder;
+    /**
+     * @since 2.1
+     */
+    private boolean skipUnchanged;
 
     /**
      * Instantiates a new {@link TestFolderBuilder}.
@@ -130,6 +167,13 @@ public class TestFolderBuilder extends AbstractTestBuilder {
         return recursiveScan;
     }
 
+    /**
+     * @return specifies whether to cache the folder listings on the executing node
+     */
+    public boolean isCachedScan() {
+        return cachedScan;
+    }
+
     /**
      * @return the package configuration
      */
@@ -146,6 +190,29 @@ public class TestFolderBuilder extends AbstractTestBuilder {
         return projectConfig;
     }
 
+    /**
+     * @return the shard configuration or {@code null} if all tests are executed
+     */
+    @CheckForNull
+    public ShardConfig getShardConfig() {
+        return shardConfig;
+    }
+
+    /**
+     * @return the test order policy
+     */
+    @Nonnull
+    public TestOrderPolicy getTestOrder() {
+        return testOrder == null ? TestOrderPolicy.SCAN_ORDER : testOrder;
+    }
+
+    /**
+     * @return specifies whether to skip packages passed before with unchanged content
+     */
+    public boolean isSkipUnchanged() {
+        return skipUnchanged;
+    }
+
     /**
      * @param scanMode
      *            the scan mode
@@ -164,6 +231,15 @@ public class TestFolderBuilder extends AbstractTestBuilder {
         this.recursiveScan = recursiveScan;
     }
 
+    /**
+     * @param cachedScan
+     *            specifies whether to cache the folder listings on the executing node
+     */
+    @DataBoundSetter
+    public void setCachedScan(final boolean cachedScan) {
+        this.cachedScan = cachedScan;
+    }
+
     /**
      * @param packageConfig
      *            the package configuration
@@ -182,6 +258,33 @@ public class TestFolderBuilder extends AbstractTestBuilder {
         this.projectConfig = projectConfig == null ? ProjectConfig.newInstance() : projectConfig;
     }
 
+    /**
+     * @param shardConfig
+     *            the shard configuration
+     */
+    @DataBoundSetter
+    public void setShardConfig(@CheckForNull final ShardConfig shardConfig) {
+        this.shardConfig = shardConfig;
+    }
+
+    /**
+     * @param testOrder
+     *            the test order policy
+     */
+    @DataBoundSetter
+    public void setTestOrder(@CheckForNull final TestOrderPolicy testOrder) {
+        this.testOrder = testOrder;
+    }
+
+    /**
+     * @param skipUnchanged
+     *            specifies whether to skip packages passed before with unchanged content
+     */
+    @DataBoundSetter
+    public void setSkipUnchanged(final boolean skipUnchanged) {
+        this.skipUnchanged = skipUnchanged;
+    }
+
     @Override
     protected String getTestFilePath(final String testFile, final String pkgDir, final Launcher launcher,
             final TaskListener listener) throws IOException, InterruptedException {
@@ -209,19 +312,73 @@ public class TestFolderBuilder extends AbstractTestBuilder {
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
         logger.logInfo("Executing test folder...");
         logger.logInfo(String.format("- Scanning test folder: %s", testFolder));
-        final List<String> pkgFiles = scanPackages(testFolder, launcher, listener);
-        final List<String> prjFiles = scanProjects(testFolder, launcher, listener);
+        final ScanResult scanResult = scanTests(testFolder, launcher, listener);
+        final List<String> pkgFiles = new ArrayList<String>(scanResult.getPackageFiles());
+        final List<String> prjFiles = new ArrayList<String>(scanResult.getProjectFiles());
+        final EnvVars buildEnv = run.getEnvironment(listener);
+        final TestHistory history = TestHistory.load(run.getParent());
+
+        // Select tests of the configured shard
+        if (shardConfig != null) {
+            final ShardConfig expShardConfig = shardConfig.expand(buildEnv);
+            if (!expShardConfig.isValid()) {
+                logger.logError(String.format("Invalid shard index %s for shard count %s!",
+                        expShardConfig.getShardIndex(), expShardConfig.getShardCount()));
+                return false;
+            }
+            final List<String> shardFiles = getShardFiles(testFolder, pkgFiles, prjFiles, expShardConfig,
+                    run, history);
+            pkgFiles.retainAll(shardFiles);
+            prjFiles.retainAll(shardFiles);
+            logger.logInfo(String.format("-> Selected shard index %d of %d shards with %d package(s) "
+                    + "and %d project(s).", expShardConfig.getParsedShardIndex(),
+                    expShardConfig.getParsedShardCount(), pkgFiles.size(), prjFiles.size()));
+        }
+
+        // Order tests by history
+        final TestOrderPolicy order = getTestOrder();
+        if (order != TestOrderPolicy.SCAN_ORDER) {
+            logger.logInfo(String.format("-> Ordering tests by policy %s using history of %d test(s).", order,
+                    history.size()));
+            final List<String> sortedPkgFiles = order.sort(testFolder, pkgFiles, history);
+            pkgFiles.clear();
+            pkgFiles.addAll(sortedPkgFiles);
+            final List<String> sortedPrjFiles = order.sort(testFolder, prjFiles, history);
+            prjFiles.clear();
+            prjFiles.addAll(sortedPrjFiles);
+        }
 
         // Expand package configuration
-        final EnvVars buildEnv = run.getEnvironment(listener);
         final PackageConfig packageConfig = getPackageConfig().expand(buildEnv);
 
+        // Hash package contents to detect unchanged packages
+        PackageHashes pkgHashes = null;
+        if (isSkipUnchanged() && !pkgFiles.isEmpty()) {
+            pkgHashes = hashPackages(testFolder, pkgFiles, testConfig, packageConfig, history, launcher);
+        }
+
         // Run packages
         for (final String pkgFile : pkgFiles) {
             final PackageClient testClient = new PackageClient(pkgFile, testConfig, packageConfig, executionConfig);
+            testClient.setTestFolder(testFolder);
+            if (pkgHashes != null) {
+                final String pkgHash = pkgHashes.getHash(pkgFile);
+                testClient.setTestHash(pkgHash);
+                final TestHistoryEntry entry = history.getEntry(testFolder, pkgFile);
+                if (isUnchanged(entry, pkgHash, pkgHashes)) {
+                    logger.logInfo(String.format("Skipping unchanged package %s, "
+                            + "reusing report of build #%d.", pkgFile, entry.getLastBuild()));
+                    testClient.setTestName(FilenameUtils.getBaseName(new File(pkgFile).getName()));
+                    testClient.setTestDescription("");
+                    testClient.setTestResult("SUCCESS");
+                    testClient.setTestReportDir(entry.getPassedReportDir());
+                    addBuildAction(run, launcher, testClient);
+                    continue;
+                }
+            }
             logger.logInfo(String.format("Executing package %s...", pkgFile));
             if (testClient.runTestCase(workspace, launcher, listener)) {
-                addBuildAction(run, testClient);
+                addBuildAction(run, launcher, testClient);
                 if (testClient.isAborted()) {
                     logger.logWarn("Package execution aborted!");
                     return false;
@@ -240,9 +397,10 @@ public class TestFolderBuilder extends AbstractTestBuilder {
         // Run projects
         for (final String prjFile : prjFiles) {
             final ProjectClient testClient = new ProjectClient(prjFile, testConfig, projectConfig, executionConfig);
+            testClient.setTestFolder(testFolder);
             logger.logInfo(String.format("Executing project %s...", prjFile));
             if (testClient.runTestCase(workspace, launcher, listener)) {
-                addBuildAction(run, testClient);
+                addBuildAction(run, launcher, testClient);
                 if (testClient.isAborted()) {
                     logger.logWarn("Project execution aborted!");
                     return false;
@@ -259,38 +417,117 @@ public class TestFolderBuilder extends AbstractTestBuilder {
     }
 
     /**
-     * Scans for ECU-TEST packages.
+     * Gets the test files of the configured shard.
+     * Packages and projects are partitioned together to spread both evenly across all shards.
      *
      * @param testFolder
-     *            the test folder
+     *            the scanned test folder
+     * @param pkgFiles
+     *            the found packages
+     * @param prjFiles
+     *            the found projects
+     * @param shardConfig
+     *            the expanded shard configuration
+     * @param run
+     *            the run sharing the duration snapshot across all its shards
+     * @param history
+     *            the test history of this job
+     * @return the test files to execute by this shard
+     */
+    private List<String> getShardFiles(final String testFolder, final List<String> pkgFiles,
+            final List<String> prjFiles, final ShardConfig shardConfig, final Run<?, ?> run,
+            final TestHistory history) {
+        final List<String> testFiles = new ArrayList<String>(pkgFiles);
+        testFiles.addAll(prjFiles);
+        final int shardCount = shardConfig.getParsedShardCount();
+        final int shardIndex = shardConfig.getParsedShardIndex();
+        if (shardConfig.getShardMode() == ShardMode.DURATION) {
+            return TestShardPartitioner.partitionByDuration(testFolder, testFiles,
+                    ShardDurationsAction.getDurations(run, history), shardCount, shardIndex);
+        }
+        return TestShardPartitioner.partitionRoundRobin(testFolder, testFiles, shardCount, shardIndex);
+    }
+
+    /**
+     * Checks whether a package is unchanged since its last passed execution and its report is still available.
+     *
+     * @param entry
+     *            the history entry of the package, may be {@code null}
+     * @param pkgHash
+     *            the current content hash of the package
+     * @param pkgHashes
+     *            the package hashes
+     * @return {@code true} if the package can be skipped, {@code false} otherwise
+     */
+    private static boolean isUnchanged(@CheckForNull final TestHistoryEntry entry, final String pkgHash,
+            final PackageHashes pkgHashes) {
+        return entry != null && pkgHash != null && pkgHash.equals(entry.getPassedHash())
+                && pkgHashes.isReportAvailable(entry.getPassedReportDir());
+    }
+
+    /**
+     * Computes the content hashes of all packages on the executing node within a single remote call.
+     *
+     * @param testFolder
+     *            the scanned test folder
+     * @param pkgFiles
+     *            the packages to hash
+     * @param testConfig
+     *            the expanded test configuration
+     * @param packageConfig
+     *            the expanded package configuration
+     * @param history
+     *            the test history providing the report directories of the last passed executions
      * @param launcher
      *            the launcher
-     * @param listener
-     *            the listener
-     * @return the list of found packages
+     * @return the package hashes
      * @throws IOException
      *             signals that an I/O exception has occurred
      * @throws InterruptedException
      *             if the build gets interrupted
      */
-    private List<String> scanPackages(final String testFolder, final Launcher launcher, final TaskListener listener)
-            throws IOException, InterruptedException {
-        List<String> pkgFiles = new ArrayList<String>();
-        final TTConsoleLogger logger = new TTConsoleLogger(listener);
-        if (scanMode.equals(ScanMode.PACKAGES_ONLY) || scanMode.equals(ScanMode.PACKAGES_AND_PROJECTS)) {
-            final TestPackageScanner scanner = new TestPackageScanner(testFolder, isRecursiveScan(), launcher);
-            pkgFiles = scanner.scanTestFiles();
-            if (pkgFiles.isEmpty()) {
-                logger.logInfo("-> No packages found!");
-            } else {
-                logger.logInfo(String.format("-> Found %d package(s).", pkgFiles.size()));
+    private PackageHashes hashPackages(final String testFolder, final List<String> pkgFiles,
+            final TestConfig testConfig, final PackageConfig packageConfig, final TestHistory history,
+            final Launcher launcher) throws IOException, InterruptedException {
+        final List<String> reportDirs = new ArrayList<String>();
+        for (final String pkgFile : pkgFiles) {
+            final TestHistoryEntry entry = history.getEntry(testFolder, pkgFile);
+            if (entry != null && entry.getPassedReportDir() != null) {
+                reportDirs.add(entry.getPassedReportDir());
             }
         }
-        return pkgFiles;
+        final List<String> configFiles = new ArrayList<String>();
+        configFiles.add(testConfig.getTbcFile());
+        configFiles.add(testConfig.getTcfFile());
+        return launcher.getChannel().call(new HashPackagesCallable(pkgFiles, configFiles,
+                getSettings(testConfig, packageConfig), reportDirs));
     }
 
     /**
-     * Scan for ECU-TEST projects.
+     * Gets the textual representation of all settings affecting the package execution besides file contents.
+     *
+     * @param testConfig
+     *            the expanded test configuration
+     * @param packageConfig
+     *            the expanded package configuration
+     * @return the settings
+     */
+    private static String getSettings(final TestConfig testConfig, final PackageConfig packageConfig) {
+        final StringBuilder settings = new StringBuilder();
+        settings.append("runTest=").append(packageConfig.isRunTest()).append('\n');
+        settings.append("runTraceAnalysis=").append(packageConfig.isRunTraceAnalysis()).append('\n');
+        for (final PackageParameter param : packageConfig.getParameters()) {
+            settings.append("param:").append(param.getName()).append('=').append(param.getValue()).append('\n');
+        }
+        for (final GlobalConstant constant : testConfig.getConstants()) {
+            settings.append("constant:").append(constant.getName()).append('=').append(constant.getValue())
+                    .append('\n');
+        }
+        return settings.toString();
+    }
+
+    /**
+     * Scans for ECU-TEST packages and projects within a single traversal of the test folder.
      *
      * @param testFolder
      *            the test folder
@@ -298,26 +535,124 @@ public class TestFolderBuilder extends AbstractTestBuilder {
      *            the launcher
      * @param listener
      *            the listener
-     * @return the list of found projects
+     * @return the scan result containing the found packages and projects according to the scan mode
      * @throws IOException
      *             signals that an I/O exception has occurred
      * @throws InterruptedException
      *             if the build gets interrupted
      */
-    private List<String> scanProjects(final String testFolder, final Launcher launcher, final TaskListener listener)
+    private ScanResult scanTests(final String testFolder, final Launcher launcher, final TaskListener listener)
             throws IOException, InterruptedException {
-        List<String> prjFiles = new ArrayList<String>();
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
+        final TestFolderScanner scanner = new TestFolderScanner(testFolder, isRecursiveScan(), isCachedScan(),
+                launcher);
+        final ScanResult scanResult = scanner.scanTestFiles();
+        List<String> pkgFiles = new ArrayList<String>();
+        if (scanMode.equals(ScanMode.PACKAGES_ONLY) || scanMode.equals(ScanMode.PACKAGES_AND_PROJECTS)) {
+            pkgFiles = scanResult.getPackageFiles();
+            if (pkgFiles.isEmpty()) {
+                logger.logInfo("-> No packages found!");
+            } else {
+                logger.logInfo(String.format("-> Found %d package(s).", pkgFiles.size()));
+            }
+        }
+        List<String> prjFiles = new ArrayList<String>();
         if (scanMode.equals(ScanMode.PROJECTS_ONLY) || scanMode.equals(ScanMode.PACKAGES_AND_PROJECTS)) {
-            final TestProjectScanner prjScanner = new TestProjectScanner(testFolder, isRecursiveScan(), launcher);
-            prjFiles = prjScanner.scanTestFiles();
+            prjFiles = scanResult.getProjectFiles();
             if (prjFiles.isEmpty()) {
                 logger.logInfo("-> No projects found!");
             } else {
                 logger.logInfo(String.format("-> Found %d project(s).", prjFiles.size()));
             }
         }
-        return prjFiles;
+        return new ScanResult(pkgFiles, prjFiles);
+    }
+
+    /**
+     * Holds the content hashes of packages and the available report directories of their last passed executions.
+     */
+    private static final class PackageHashes implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, String> hashes = new HashMap<String, String>();
+        private final Set<String> reportDirs = new HashSet<String>();
+
+        /**
+         * Gets the content hash of a package.
+         *
+         * @param pkgFile
+         *            the package file
+         * @return the content hash or {@code null} if not computed
+         */
+        String getHash(final String pkgFile) {
+            return hashes.get(pkgFile);
+        }
+
+        /**
+         * Checks whether a report directory is still available.
+         *
+         * @param reportDir
+         *            the report directory
+         * @return {@code true} if the report directory exists, {@code false} otherwise
+         */
+        boolean isReportAvailable(final String reportDir) {
+            return reportDir != null && reportDirs.contains(reportDir);
+        }
+    }
+
+    /**
+     * {@link Callable} providing remote access to compute the content hashes of packages and to check the
+     * availability of previous report directories.
+     */
+    private static final class HashPackagesCallable extends MasterToSlaveCallable<PackageHashes, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> pkgFiles;
+        private final List<String> configFiles;
+        private final String settings;
+        private final List<String> reportDirs;
+
+        /**
+         * Instantiates a new {@link HashPackagesCallable}.
+         *
+         * @param pkgFiles
+         *            the packages to hash
+         * @param configFiles
+         *            the configuration files to include into each hash
+         * @param settings
+         *            the textual representation of the package settings
+         * @param reportDirs
+         *            the report directories to check
+         */
+        HashPackagesCallable(final List<String> pkgFiles, final List<String> configFiles, final String settings,
+                final List<String> reportDirs) {
+            this.pkgFiles = pkgFiles;
+            this.configFiles = configFiles;
+            this.settings = settings;
+            this.reportDirs = reportDirs;
+        }
+
+        @Override
+        public PackageHashes call() throws IOException {
+            final PackageHashes pkgHashes = new PackageHashes();
+            final List<File> files = new ArrayList<File>();
+            files.add(null);
+            for (final String configFile : configFiles) {
+                files.add(configFile == null || configFile.isEmpty() ? null : new File(configFile));
+            }
+            for (final String pkgFile : pkgFiles) {
+                files.set(0, new File(pkgFile));
+                pkgHashes.hashes.put(pkgFile, TestContentHash.compute(files, settings));
+            }
+            for (final String reportDir : reportDirs) {
+                if (new File(reportDir).isDirectory()) {
+                    pkgHashes.reportDirs.add(reportDir);
+                }
+            }
+            return pkgHashes;
+        }
     }
 
     /**
@@ -342,6 +677,28 @@ public class TestFolderBuilder extends AbstractTestBuilder {
             return ScanMode.PACKAGES_AND_PROJECTS;
         }
 
+        /**
+         * @return the default test order policy
+         */
+        public TestOrderPolicy getDefaultTestOrder() {
+            return TestOrderPolicy.SCAN_ORDER;
+        }
+
+        /**
+         * Fills the test order drop-down menu.
+         *
+         * @return the test order items
+         */
+        public ListBoxModel doFillTestOrderItems() {
+            final ListBoxModel items = new ListBoxModel();
+            items.add(Messages.TestFolderBuilder_TestOrder_Scan(), TestOrderPolicy.SCAN_ORDER.toString());
+            items.add(Messages.TestFolderBuilder_TestOrder_FailedFirst(), TestOrderPolicy.FAILED_FIRST.toString());
+            items.add(Messages.TestFolderBuilder_TestOrder_ShortestFirst(),
+                    TestOrderPolicy.SHORTEST_FIRST.toString());
+            items.add(Messages.TestFolderBuilder_TestOrder_LongestFirst(), TestOrderPolicy.LONGEST_FIRST.toString());
+            return items;
+        }
+
         /**
          * Fills the scan mode drop-down menu.
          *
@@ -95,17 +95,12 @@ public class TestPackageBuilder extends AbstractTestBuilder {
     protected boolean runTest(final String testFile, final TestConfig testConfig,
             final ExecutionConfig executionConfig, final Run<?, ?> run, final FilePath workspace,
             final Launcher launcher, final TaskListener listener) throws IOException, InterruptedException {
-        // Expand package configuration
-        final EnvVars buildEnv = run.getEnvironment(listener);
-        final PackageConfig packageConfig = getPackageConfig().expand(buildEnv);
-
         // Run test case with package client
-        final PackageClient testClient = new PackageClient(testFile, testConfig, packageConfig,
-                executionConfig);
+        final PackageClient testClient = createTestClient(testFile, testConfig, executionConfig, run, listener);
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
         logger.logInfo(String.format("Executing package %s...", testFile));
         if (testClient.runTestCase(workspace, launcher, listener)) {
-            addBuildAction(run, testClient);
+            addBuildAction(run, launcher, testClient);
             if (testClient.isAborted()) {
                 logger.logWarn("Package execution aborted!");
                 return false;
@@ -119,6 +114,16 @@ public class TestPackageBuilder extends AbstractTestBuilder {
         return true;
     }
 
+    @Override
+    protected PackageClient createTestClient(final String testFile, final TestConfig testConfig,
+            final ExecutionConfig executionConfig, final Run<?, ?> run, final TaskListener listener)
+                    throws IOException, InterruptedException {
+        // Expand package configuration
+        final EnvVars buildEnv = run.getEnvironment(listener);
+        final PackageConfig packageConfig = getPackageConfig().expand(buildEnv);
+        return new PackageClient(testFile, testConfig, packageConfig, executionConfig);
+    }
+
     /**
      * DescriptorImpl for {@link TestPackageBuilder}.
      */
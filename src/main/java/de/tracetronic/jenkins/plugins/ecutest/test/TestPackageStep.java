@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test;
+
+import hudson.Extension;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import de.tracetronic.jenkins.plugins.ecutest.test.config.PackageConfig;
+
+/**
+ * Pipeline step providing the asynchronous execution of an ECU-TEST package.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class TestPackageStep extends AbstractTestStep {
+
+    private static final long serialVersionUID = 1L;
+
+    @Nonnull
+    private PackageConfig packageConfig = PackageConfig.newInstance();
+
+    /**
+     * Instantiates a new {@link TestPackageStep}.
+     *
+     * @param testFile
+     *            the package file
+     */
+    @DataBoundConstructor
+    public TestPackageStep(@Nonnull final String testFile) {
+        super(testFile);
+    }
+
+    /**
+     * @return the package configuration
+     */
+    @Nonnull
+    public PackageConfig getPackageConfig() {
+        return packageConfig;
+    }
+
+    /**
+     * @param packageConfig
+     *            the package configuration
+     */
+    @DataBoundSetter
+    public void setPackageConfig(@CheckForNull final PackageConfig packageConfig) {
+        this.packageConfig = packageConfig == null ? PackageConfig.newInstance() : packageConfig;
+    }
+
+    @Override
+    protected TestPackageBuilder createBuilder() {
+        final TestPackageBuilder builder = new TestPackageBuilder(getTestFile());
+        builder.setTestConfig(getTestConfig());
+        builder.setExecutionConfig(getExecutionConfig());
+        builder.setPackageConfig(getPackageConfig());
+        builder.setStageReports(isStageReports());
+        return builder;
+    }
+
+    /**
+     * DescriptorImpl for {@link TestPackageStep}.
+     */
+    @Extension(optional = true)
+    public static final class DescriptorImpl extends AbstractTestStepDescriptor {
+
+        @Override
+        public String getFunctionName() {
+            return "testPackageAsync";
+        }
+
+        @Override
+        public String getDisplayName() {
+            return Messages.TestPackageStep_DisplayName();
+        }
+    }
+}
@@ -95,17 +95,12 @@ public class TestProjectBuilder extends AbstractTestBuilder {
     protected boolean runTest(final String testFile, final TestConfig testConfig,
             final ExecutionConfig executionConfig, final Run<?, ?> run, final FilePath workspace,
             final Launcher launcher, final TaskListener listener) throws IOException, InterruptedException {
-        // Expand project configuration
-        final EnvVars buildEnv = run.getEnvironment(listener);
-        final ProjectConfig projectConfig = getProjectConfig().expand(buildEnv);
-
         // Run test case with project client
-        final ProjectClient testClient = new ProjectClient(testFile, testConfig, projectConfig,
-                executionConfig);
+        final ProjectClient testClient = createTestClient(testFile, testConfig, executionConfig, run, listener);
         final TTConsoleLogger logger = new TTConsoleLogger(listener);
         logger.logInfo(String.format("Executing project %s...", testFile));
         if (testClient.runTestCase(workspace, launcher, listener)) {
-            addBuildAction(run, testClient);
+            addBuildAction(run, launcher, testClient);
             if (testClient.isAborted()) {
                 logger.logWarn("Project execution aborted!");
                 return false;
@@ -120,6 +115,16 @@ public class TestProjectBuilder extends AbstractTestBuilder {
         return true;
     }
 
+    @Override
+    protected ProjectClient createTestClient(final String testFile, final TestConfig testConfig,
+            final ExecutionConfig executionConfig, final Run<?, ?> run, final TaskListener listener)
+                    throws IOException, InterruptedException {
+        // Expand project configuration
+        final EnvVars buildEnv = run.getEnvironment(listener);
+        final ProjectConfig projectConfig = getProjectConfig().expand(buildEnv);
+        return new ProjectClient(testFile, testConfig, projectConfig, executionConfig);
+    }
+
     /**
      * DescriptorImpl for {@link TestProjectBuilder}.
      */
@@ -29,29 +29,38 @@
  */
 package de.tracetronic.jenkins.plugins.ecutest.test.client;
 
+import hudson.FilePath;
+import hudson.Launcher;
 import hudson.model.TaskListener;
-import hudson.remoting.Callable;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import javax.annotation.CheckForNull;
+
 import jenkins.security.MasterToSlaveCallable;
 
 import org.apache.commons.lang.StringUtils;
 
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient.CheckInfoHolder.Seriousness;
+import de.tracetronic.jenkins.plugins.ecutest.test.client.ConfigStateTracker.ConfigState;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.GlobalConstant;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.TestConfig;
+import de.tracetronic.jenkins.plugins.ecutest.util.DllUtil;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComCache;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
-import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComProperty;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestBenchConfiguration;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestConfiguration;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestExecutionInfo;
 
 /**
  * Common base class for {@link PackageClient} and {@link ProjectClient}.
@@ -60,6 +69,11 @@ import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestConfiguration;
  */
 public abstract class AbstractTestClient implements TestClient {
 
+    /**
+     * Defines the interval in milliseconds logging a tick while the test is running.
+     */
+    protected static final long TICK_INTERVAL = 60000L;
+
     private final String testFile;
     private final TestConfig testConfig;
     private final ExecutionConfig executionConfig;
@@ -68,6 +82,9 @@ public abstract class AbstractTestClient implements TestClient {
     private String testReportDir;
     private String testResult;
     private boolean isAborted;
+    private long testDuration;
+    private String testHash;
+    private String testFolder;
 
     /**
      * Instantiates a new {@link AbstractTestClient}.
@@ -188,129 +205,477 @@ public abstract class AbstractTestClient implements TestClient {
     }
 
     /**
-     * {@link Callable} providing remote access to load configurations via COM.
+     * @return the duration in milliseconds executing the test including loading configurations
+     */
+    public long getTestDuration() {
+        return testDuration;
+    }
+
+    /**
+     * @param testDuration
+     *            the test duration in milliseconds to set
+     */
+    public void setTestDuration(final long testDuration) {
+        this.testDuration = testDuration;
+    }
+
+    /**
+     * @return the content hash of the test or {@code null} if not computed
+     */
+    public String getTestHash() {
+        return testHash;
+    }
+
+    /**
+     * @param testHash
+     *            the content hash of the test to set
+     */
+    public void setTestHash(final String testHash) {
+        this.testHash = testHash;
+    }
+
+    /**
+     * @return the test folder the test file has been scanned from or {@code null} if executed directly
+     */
+    public String getTestFolder() {
+        return testFolder;
+    }
+
+    /**
+     * @param testFolder
+     *            the test folder the test file has been scanned from
+     */
+    public void setTestFolder(final String testFolder) {
+        this.testFolder = testFolder;
+    }
+
+    /**
+     * Applies the information of a test execution performed on the agent to this client.
+     *
+     * @param execInfo
+     *            the execution information
+     * @return {@code true} if the test execution succeeded, {@code false} otherwise
+     */
+    protected boolean setExecutionInfo(final ExecutionInfoHolder execInfo) {
+        if (execInfo.getTestName() != null) {
+            setTestName(execInfo.getTestName());
+            setTestDescription(execInfo.getTestDescription());
+        }
+        final TestInfoHolder testInfo = execInfo.getTestInfo();
+        if (testInfo != null) {
+            setTestResult(testInfo.getTestResult());
+            setTestReportDir(testInfo.getTestReportDir());
+            setAborted(testInfo.isAborted());
+        }
+        return execInfo.isSucceeded();
+    }
+
+    /**
+     * Creates the callable loading the configurations, opening, checking, running and closing the test file
+     * within a single COM session on the agent.
+     *
+     * @param listener
+     *            the listener
+     * @return the callable executing the test
+     */
+    protected abstract MasterToSlaveCallable<ExecutionInfoHolder, IOException> createExecuteCallable(
+            TaskListener listener);
+
+    /**
+     * Starts the test case asynchronously on the agent and returns immediately.
+     * The state of the execution is then queried by {@link #pollTestCase}.
+     *
+     * @param executionId
+     *            the id identifying the execution
+     * @param workspace
+     *            the workspace
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return the start time of the execution on the agent in milliseconds or {@code null} if the execution could
+     *         not be started
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    @CheckForNull
+    public Long startTestCase(final String executionId, final FilePath workspace, final Launcher launcher,
+            final TaskListener listener) throws IOException, InterruptedException {
+        final TTConsoleLogger logger = new TTConsoleLogger(listener);
+
+        // Load JACOB library
+        if (!DllUtil.loadLibrary(workspace.toComputer())) {
+            logger.logError("Could not load JACOB library!");
+            return null;
+        }
+        return launcher.getChannel().call(
+                new AsyncTestRunner.StartCallable(executionId, createExecuteCallable(listener)));
+    }
+
+    /**
+     * Polls the state of an asynchronously started test case. Re-attaches to the current test execution of
+     * ECU-TEST if the agent lost track of the execution, e.g. after a restart.
+     *
+     * @param executionId
+     *            the id identifying the execution
+     * @param startMillis
+     *            the start time of the execution on the agent as returned by {@link #startTestCase}
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return {@code null} while the test is running, otherwise {@code true} if the test execution succeeded
+     *         and {@code false} if it failed
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    @CheckForNull
+    public Boolean pollTestCase(final String executionId, final long startMillis, final Launcher launcher,
+            final TaskListener listener) throws IOException, InterruptedException {
+        final ExecutionInfoHolder execInfo = launcher.getChannel().call(
+                new AsyncTestRunner.PollCallable(executionId, startMillis, getTestFile(), listener));
+        if (execInfo == null) {
+            return null;
+        }
+        return setExecutionInfo(execInfo);
+    }
+
+    /**
+     * Aborts an asynchronously started test case. If the execution has not been started yet, a later start of
+     * the execution is refused.
+     *
+     * @param executionId
+     *            the id identifying the execution
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return {@code true} if the execution is aborted, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted
+     */
+    public static boolean abortTestCase(final String executionId, final Launcher launcher,
+            final TaskListener listener) throws IOException, InterruptedException {
+        return launcher.getChannel().call(new AsyncTestRunner.AbortCallable(executionId, listener));
+    }
+
+    /**
+     * Loads the test configurations via COM.
+     * If enabled, loading is skipped if the same unchanged configurations with the same global constants are
+     * already loaded into the running ECU-TEST instance. The configurations are then started again unless they
+     * are only loaded, so that a configuration stopped in the meantime is available for the test.
+     *
+     * @param comClient
+     *            the COM client
+     * @param testConfig
+     *            the test configuration
+     * @param logger
+     *            the logger
+     * @return {@code true} if the configurations are loaded successfully, {@code false} otherwise
+     * @throws ETComException
+     *             in case of a COM exception
      */
-    protected static final class LoadConfigCallable extends MasterToSlaveCallable<Boolean, IOException> {
+    protected static boolean loadConfiguration(final ETComClient comClient, final TestConfig testConfig,
+            final TTConsoleLogger logger) throws ETComException {
+        final String tbcFile = testConfig.getTbcFile();
+        final String tcfFile = testConfig.getTcfFile();
+        final List<GlobalConstant> constants = testConfig.getConstants();
+        boolean isLoaded = false;
+
+        final String tbcName = getConfigName(tbcFile);
+        final String tcfName = getConfigName(tcfFile);
+        final Map<String, String> constantMap = tcfFile != null ? getGlobalConstantMap(constants)
+                : Collections.<String, String> emptyMap();
+        final ConfigState configState = createConfigState(tbcFile, tcfFile, constantMap, !testConfig.isLoadOnly());
+        final ConfigStateTracker tracker = ConfigStateTracker.getInstance();
+        logger.logInfo(String.format("- Loading configurations: TBC=%s TCF=%s", tbcName, tcfName));
+        if (testConfig.isForceReload()) {
+            logger.logInfo("-> Forcing reload configurations...");
+            comClient.stop();
+        } else if (testConfig.isSkipUnchanged() && configState != null
+                && tracker.isLoaded(configState, ETComCache.getInstance().getSession())
+                && isCurrentConfiguration(comClient, configState)) {
+            logger.logInfo("-> Configurations already loaded and unchanged, skipping reload.");
+            if (!testConfig.isLoadOnly()) {
+                comClient.start();
+            }
+            return true;
+        }
+        tracker.invalidate();
+        ETComCache.getInstance().invalidateConfigurations();
+        if (comClient.openTestConfiguration(StringUtils.defaultIfBlank(tcfFile, null))) {
+            if (!constantMap.isEmpty()) {
+                logger.logInfo("-> With global constants: " + constantMap.toString());
+                setGlobalConstants(comClient, constantMap);
+            }
+            logger.logInfo("-> Test configuration loaded successfully.");
+        } else {
+            logger.logError(String.format("-> Loading TCF=%s failed!", tcfName));
+        }
+        if (comClient.openTestbenchConfiguration(StringUtils.defaultIfBlank(tbcFile, null))) {
+            logger.logInfo("-> Test bench configuration loaded successfully.");
+            isLoaded = true;
+        } else {
+            logger.logError(String.format("-> Loading TBC=%s failed!", tbcName));
+        }
+        if (isLoaded) {
+            if (testConfig.isLoadOnly()) {
+                logger.logInfo("-> Starting configurations will be skipped.");
+            } else {
+                logger.logInfo("- Starting configurations...");
+                comClient.start();
+                logger.logInfo("-> Configurations started successfully.");
+            }
+            if (configState != null) {
+                tracker.update(configState, ETComCache.getInstance().getSession());
+            }
+        }
+        return isLoaded;
+    }
+
+    /**
+     * Creates the state of the configurations to load.
+     *
+     * @param tbcFile
+     *            the test bench configuration file
+     * @param tcfFile
+     *            the test configuration file
+     * @param constantMap
+     *            the global constants to apply
+     * @param started
+     *            specifies whether the configurations will be started
+     * @return the configuration state or {@code null} if the configuration files could not be hashed
+     */
+    private static ConfigState createConfigState(final String tbcFile, final String tcfFile,
+            final Map<String, String> constantMap, final boolean started) {
+        try {
+            return ConfigState.create(tbcFile, tcfFile, constantMap, started);
+        } catch (final IOException e) {
+            // Always reload configurations that cannot be tracked
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the configurations currently loaded in ECU-TEST match the given state.
+     * This detects configurations changed manually or by other tools in the meantime.
+     *
+     * @param comClient
+     *            the COM client
+     * @param configState
+     *            the expected configuration state
+     * @return {@code true} if the loaded configurations match, {@code false} otherwise
+     */
+    private static boolean isCurrentConfiguration(final ETComClient comClient, final ConfigState configState) {
+        try {
+            final TestBenchConfiguration tbc = (TestBenchConfiguration) comClient.getCurrentTestBenchConfiguration();
+            final TestConfiguration tcf = (TestConfiguration) comClient.getCurrentTestConfiguration();
+            return getConfigName(tbc.getFileName()).equalsIgnoreCase(getConfigName(configState.getTbcFile()))
+                    && getConfigName(tcf.getFileName()).equalsIgnoreCase(getConfigName(configState.getTcfFile()));
+        } catch (final ETComException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the name of the given configuration file.
+     *
+     * @param configFile
+     *            the configuration file
+     * @return the configuration name
+     */
+    private static String getConfigName(final String configFile) {
+        String configName;
+        if (StringUtils.isBlank(configFile)) {
+            configName = "None";
+        } else {
+            configName = new File(configFile).getName();
+        }
+        return configName;
+    }
+
+    /**
+     * Sets the new global constants for the currently loaded test configuration.
+     * This requires to start the configuration, add the constants and reload the configuration.
+     *
+     * @param comClient
+     *            the COM client
+     * @param constantMap
+     *            the constants to set
+     * @throws ETComException
+     *             in case of a COM exception
+     */
+    private static void setGlobalConstants(final ETComClient comClient, final Map<String, String> constantMap)
+            throws ETComException {
+        comClient.start();
+        final TestConfiguration testConfig = (TestConfiguration) comClient.getCurrentTestConfiguration();
+        for (final Entry<String, String> newConstant : constantMap.entrySet()) {
+            testConfig.setGlobalConstant(newConstant.getKey(), newConstant.getValue());
+        }
+        comClient.stop();
+    }
+
+    /**
+     * Converts the global constant list to a map.
+     *
+     * @param constants
+     *            the global constants
+     * @return the global constant map
+     */
+    private static Map<String, String> getGlobalConstantMap(final List<GlobalConstant> constants) {
+        final Map<String, String> constantMap = new LinkedHashMap<String, String>();
+        for (final GlobalConstant constant : constants) {
+            constantMap.put(constant.getName(), constant.getValue());
+        }
+        return constantMap;
+    }
+
+    /**
+     * Logs the results of checking a package or project.
+     *
+     * @param checks
+     *            the check results
+     * @param logger
+     *            the logger
+     * @return {@code true} if no check reported an error, {@code false} otherwise
+     */
+    protected static boolean logChecks(final List<CheckInfoHolder> checks, final TTConsoleLogger logger) {
+        boolean isValid = true;
+        for (final CheckInfoHolder check : checks) {
+            final String logMessage = String.format("%s (line %s): %s", check.getFilePath(),
+                    check.getLineNumber(), check.getErrorMessage());
+            final Seriousness seriousness = check.getSeriousness();
+            switch (seriousness) {
+                case NOTE:
+                    logger.logInfo(logMessage);
+                    break;
+                case WARNING:
+                    logger.logWarn(logMessage);
+                    break;
+                case ERROR:
+                    logger.logError(logMessage);
+                    isValid = false;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return isValid;
+    }
+
+    /**
+     * Timeout handling for post execution.
+     *
+     * @param timeout
+     *            the timeout
+     * @param comClient
+     *            the COM client
+     * @param logger
+     *            the logger
+     * @throws ETComException
+     *             in case of a COM exception
+     */
+    protected static void postExecution(final int timeout, final ETComClient comClient,
+            final TTConsoleLogger logger) throws ETComException {
+        if (!comClient.waitForIdle(timeout)) {
+            logger.logWarn(String.format("-> Post-execution timeout of %d seconds reached!", timeout));
+        }
+    }
+
+    /**
+     * Checks whether the test execution is still running and records the request duration.
+     *
+     * @param execInfo
+     *            the test execution info
+     * @param poller
+     *            the execution state poller
+     * @return {@code true} if the test execution is running, {@code false} otherwise
+     * @throws ETComException
+     *             in case of a COM exception
+     */
+    protected static boolean isRunning(final TestExecutionInfo execInfo, final ExecutionStatePoller poller)
+            throws ETComException {
+        final long startNanos = System.nanoTime();
+        try {
+            return "RUNNING".equals(execInfo.getState());
+        } finally {
+            poller.recordRequest(startNanos);
+        }
+    }
+
+    /**
+     * Helper class storing the information collected while executing a test on the agent.
+     */
+    protected static final class ExecutionInfoHolder implements Serializable {
 
         private static final long serialVersionUID = 1L;
 
-        private final TestConfig testConfig;
-        private final TaskListener listener;
+        private String testName;
+        private String testDescription;
+        private TestInfoHolder testInfo;
+        private boolean isSucceeded;
 
         /**
-         * Instantiates a new {@link LoadConfigCallable}.
-         *
-         * @param testConfig
-         *            the test configuration
-         * @param listener
-         *            the listener
+         * @return the test name or {@code null} if the test is not opened
          */
-        public LoadConfigCallable(final TestConfig testConfig, final TaskListener listener) {
-            this.testConfig = testConfig;
-            this.listener = listener;
-        }
-
-        @Override
-        public Boolean call() throws IOException {
-            final String tbcFile = testConfig.getTbcFile();
-            final String tcfFile = testConfig.getTcfFile();
-            final List<GlobalConstant> constants = testConfig.getConstants();
-            final TTConsoleLogger logger = new TTConsoleLogger(listener);
-            boolean isLoaded = false;
-
-            final String progId = ETComProperty.getInstance().getProgId();
-            try (ETComClient comClient = new ETComClient(progId)) {
-                final String tbcName = getConfigName(tbcFile);
-                final String tcfName = getConfigName(tcfFile);
-                logger.logInfo(String.format("- Loading configurations: TBC=%s TCF=%s", tbcName, tcfName));
-                if (testConfig.isForceReload()) {
-                    logger.logInfo("-> Forcing reload configurations...");
-                    comClient.stop();
-                }
-                if (comClient.openTestConfiguration(StringUtils.defaultIfBlank(tcfFile, null))) {
-                    if (tcfFile != null && !constants.isEmpty()) {
-                        final Map<String, String> constantMap = getGlobalConstantMap();
-                        logger.logInfo("-> With global constants: " + constantMap.toString());
-                        setGlobalConstants(comClient, constantMap);
-                    }
-                    logger.logInfo("-> Test configuration loaded successfully.");
-                } else {
-                    logger.logError(String.format("-> Loading TCF=%s failed!", tcfName));
-                }
-                if (comClient.openTestbenchConfiguration(StringUtils.defaultIfBlank(tbcFile, null))) {
-                    logger.logInfo("-> Test bench configuration loaded successfully.");
-                    isLoaded = true;
-                } else {
-                    logger.logError(String.format("-> Loading TBC=%s failed!", tbcName));
-                }
-                if (isLoaded) {
-                    if (testConfig.isLoadOnly()) {
-                        logger.logInfo("-> Starting configurations will be skipped.");
-                    } else {
-                        logger.logInfo("- Starting configurations...");
-                        comClient.start();
-                        logger.logInfo("-> Configurations started successfully.");
-                    }
-                }
-            } catch (final ETComException e) {
-                logger.logComException(e.getMessage());
-                isLoaded = false;
-            }
-            return isLoaded;
+        public String getTestName() {
+            return testName;
         }
 
         /**
-         * Gets the name of the given configuration file.
-         *
-         * @param configFile
-         *            the configuration file
-         * @return the configuration name
+         * @return the test description
          */
-        private String getConfigName(final String configFile) {
-            String configName;
-            if (StringUtils.isBlank(configFile)) {
-                configName = "None";
-            } else {
-                configName = new File(configFile).getName();
-            }
-            return configName;
+        public String getTestDescription() {
+            return testDescription;
         }
 
         /**
-         * Sets the new global constants for the currently loaded test configuration.
-         * This requires to start the configuration, add the constants and reload the configuration.
+         * Sets the test information after the test has been opened.
          *
-         * @param comClient
-         *            the COM client
-         * @param constantMap
-         *            the constants to set
-         * @param logger
-         * @throws ETComException
-         *             in case of a COM exception
+         * @param testName
+         *            the test name
+         * @param testDescription
+         *            the test description
          */
-        private void setGlobalConstants(final ETComClient comClient, final Map<String, String> constantMap)
-                throws ETComException {
-            comClient.start();
-            final TestConfiguration testConfig = (TestConfiguration) comClient.getCurrentTestConfiguration();
-            for (final Entry<String, String> newConstant : constantMap.entrySet()) {
-                testConfig.setGlobalConstant(newConstant.getKey(), newConstant.getValue());
-            }
-            comClient.stop();
+        public void setTest(final String testName, final String testDescription) {
+            this.testName = testName;
+            this.testDescription = testDescription;
         }
 
         /**
-         * Converts the global constant list to a map.
-         *
-         * @return the global constant map
-         * @throws ETComException
-         *             in case of a COM exception
+         * @return the test result information or {@code null} if the test is not executed
          */
-        private Map<String, String> getGlobalConstantMap() throws ETComException {
-            final Map<String, String> constantMap = new LinkedHashMap<String, String>();
-            for (final GlobalConstant constant : testConfig.getConstants()) {
-                constantMap.put(constant.getName(), constant.getValue());
-            }
-            return constantMap;
+        public TestInfoHolder getTestInfo() {
+            return testInfo;
+        }
+
+        /**
+         * @param testInfo
+         *            the test result information to set
+         */
+        public void setTestInfo(final TestInfoHolder testInfo) {
+            this.testInfo = testInfo;
+        }
+
+        /**
+         * @return {@code true} if all execution steps succeeded, {@code false} otherwise
+         */
+        public boolean isSucceeded() {
+            return isSucceeded;
+        }
+
+        /**
+         * @param isSucceeded
+         *            specifies whether all execution steps succeeded
+         */
+        public void setSucceeded(final boolean isSucceeded) {
+            this.isSucceeded = isSucceeded;
         }
     }
 
@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.client;
+
+import hudson.model.TaskListener;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.CheckForNull;
+
+import jenkins.security.MasterToSlaveCallable;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang.StringUtils;
+
+import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient.ExecutionInfoHolder;
+import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient.TestInfoHolder;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComMetrics;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComProperty;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestEnvironment;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.TestExecutionInfo;
+
+/**
+ * Agent-side runner executing tests asynchronously in the background of the agent JVM.
+ * <p>
+ * The controller starts a test execution with a single short remote call and then polls its state, so that no
+ * controller thread is blocked by a remote call for the whole test duration. If the agent JVM lost track of an
+ * execution, e.g. after it has been restarted, polling and aborting re-attach to the current ECU-TEST execution via
+ * {@link TestEnvironment#getTestExecutionInfo()}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+final class AsyncTestRunner {
+
+    /**
+     * Defines the time in milliseconds a finished execution is kept for polling before it is discarded.
+     */
+    private static final long RETENTION = TimeUnit.DAYS.toMillis(1);
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new NamingThreadFactory(
+            new DaemonThreadFactory(), "ECU-TEST async test execution"));
+
+    private static final Map<String, BackgroundExecution> EXECUTIONS = new HashMap<String, BackgroundExecution>();
+
+    /**
+     * Instantiates a new {@link AsyncTestRunner}.
+     */
+    private AsyncTestRunner() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Discards all executions that have been finished longer than {@link #RETENTION} ago without being polled.
+     * Must be called while holding the lock of {@link #EXECUTIONS}.
+     */
+    private static void purgeExecutions() {
+        final long now = System.currentTimeMillis();
+        final Iterator<BackgroundExecution> it = EXECUTIONS.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().isExpired(now)) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * {@link hudson.remoting.Callable} providing remote access to start a test execution in the background.
+     * Returns the start time of the execution on the agent or {@code null} if the execution has already been
+     * started or aborted.
+     */
+    static final class StartCallable extends MasterToSlaveCallable<Long, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String executionId;
+        private final MasterToSlaveCallable<ExecutionInfoHolder, IOException> execution;
+
+        /**
+         * Instantiates a new {@link StartCallable}.
+         *
+         * @param executionId
+         *            the id identifying the execution
+         * @param execution
+         *            the callable executing the test
+         */
+        StartCallable(final String executionId,
+                final MasterToSlaveCallable<ExecutionInfoHolder, IOException> execution) {
+            this.executionId = executionId;
+            this.execution = execution;
+        }
+
+        @CheckForNull
+        @Override
+        public Long call() throws IOException {
+            synchronized (EXECUTIONS) {
+                purgeExecutions();
+                if (EXECUTIONS.containsKey(executionId)) {
+                    return null;
+                }
+                final BackgroundExecution backgroundExecution = new BackgroundExecution(execution);
+                backgroundExecution.future = EXECUTOR.submit(ETComMetrics.scoped(backgroundExecution));
+                EXECUTIONS.put(executionId, backgroundExecution);
+                return backgroundExecution.startMillis;
+            }
+        }
+    }
+
+    /**
+     * {@link hudson.remoting.Callable} providing remote access to poll the state of a test execution.
+     * Returns {@code null} while the test is running, otherwise the collected execution information.
+     */
+    static final class PollCallable extends MasterToSlaveCallable<ExecutionInfoHolder, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String executionId;
+        private final long startMillis;
+        private final String testFile;
+        private final TaskListener listener;
+
+        /**
+         * Instantiates a new {@link PollCallable}.
+         *
+         * @param executionId
+         *            the id identifying the execution
+         * @param startMillis
+         *            the start time of the execution on the agent used to re-attach to the execution
+         * @param testFile
+         *            the test file used to re-attach to the execution
+         * @param listener
+         *            the listener
+         */
+        PollCallable(final String executionId, final long startMillis, final String testFile,
+                final TaskListener listener) {
+            this.executionId = executionId;
+            this.startMillis = startMillis;
+            this.testFile = testFile;
+            this.listener = listener;
+        }
+
+        @CheckForNull
+        @Override
+        public ExecutionInfoHolder call() throws IOException {
+            final BackgroundExecution backgroundExecution;
+            synchronized (EXECUTIONS) {
+                purgeExecutions();
+                backgroundExecution = EXECUTIONS.get(executionId);
+            }
+            if (backgroundExecution == null) {
+                return reattach(testFile, startMillis, listener);
+            }
+            final Future<ExecutionInfoHolder> future = backgroundExecution.future;
+            if (!future.isDone()) {
+                return null;
+            }
+            try {
+                final ExecutionInfoHolder execInfo = future.get();
+                synchronized (EXECUTIONS) {
+                    EXECUTIONS.remove(executionId);
+                }
+                return execInfo;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } catch (final CancellationException e) {
+                return getFailedInfo("-> Test execution has been aborted!", listener);
+            } catch (final ExecutionException e) {
+                // Keep the failed result, so that repeated polls never re-attach to another execution
+                return getFailedInfo(String.format("-> Test execution failed: %s", e.getCause()), listener);
+            }
+        }
+    }
+
+    /**
+     * {@link hudson.remoting.Callable} providing remote access to abort a test execution.
+     */
+    static final class AbortCallable extends MasterToSlaveCallable<Boolean, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String executionId;
+        private final TaskListener listener;
+
+        /**
+         * Instantiates a new {@link AbortCallable}.
+         *
+         * @param executionId
+         *            the id identifying the execution
+         * @param listener
+         *            the listener
+         */
+        AbortCallable(final String executionId, final TaskListener listener) {
+            this.executionId = executionId;
+            this.listener = listener;
+        }
+
+        @Override
+        public Boolean call() throws IOException {
+            final BackgroundExecution backgroundExecution;
+            synchronized (EXECUTIONS) {
+                purgeExecutions();
+                backgroundExecution = EXECUTIONS.get(executionId);
+                if (backgroundExecution == null) {
+                    // Reserve the id, so that a concurrently requested start of this execution is refused
+                    EXECUTIONS.put(executionId, BackgroundExecution.aborted());
+                }
+            }
+            if (backgroundExecution != null) {
+                // Interrupting the execution thread aborts the running test via COM
+                return backgroundExecution.future.cancel(true);
+            }
+            final TTConsoleLogger logger = new TTConsoleLogger(listener);
+            final String progId = ETComProperty.getInstance().getProgId();
+            try (ETComClient comClient = new ETComClient(progId);
+                    TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
+                    TestExecutionInfo execInfo = (TestExecutionInfo) testEnv.getTestExecutionInfo()) {
+                return execInfo.abort();
+            } catch (final ETComException e) {
+                logger.logComException(e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Test execution running in the background of the agent JVM.
+     */
+    private static final class BackgroundExecution implements Callable<ExecutionInfoHolder> {
+
+        @CheckForNull
+        private final MasterToSlaveCallable<ExecutionInfoHolder, IOException> execution;
+        private final long startMillis = System.currentTimeMillis();
+        private volatile long finishedMillis;
+        private Future<ExecutionInfoHolder> future;
+
+        /**
+         * Instantiates a new {@link BackgroundExecution}.
+         *
+         * @param execution
+         *            the callable executing the test
+         */
+        BackgroundExecution(@CheckForNull final MasterToSlaveCallable<ExecutionInfoHolder, IOException> execution) {
+            this.execution = execution;
+        }
+
+        /**
+         * Creates a placeholder for an execution that has been aborted before it has been started.
+         *
+         * @return the aborted execution
+         */
+        static BackgroundExecution aborted() {
+            final BackgroundExecution backgroundExecution = new BackgroundExecution(null);
+            final FutureTask<ExecutionInfoHolder> task = new FutureTask<ExecutionInfoHolder>(backgroundExecution);
+            task.cancel(false);
+            backgroundExecution.future = task;
+            backgroundExecution.finishedMillis = backgroundExecution.startMillis;
+            return backgroundExecution;
+        }
+
+        @Override
+        public ExecutionInfoHolder call() throws IOException {
+            try {
+                return execution.call();
+            } finally {
+                finishedMillis = System.currentTimeMillis();
+            }
+        }
+
+        /**
+         * Checks whether this execution has been finished longer than {@link #RETENTION} ago.
+         *
+         * @param now
+         *            the current time in milliseconds
+         * @return {@code true} if the execution can be discarded, {@code false} otherwise
+         */
+        boolean isExpired(final long now) {
+            if (finishedMillis == 0L) {
+                // Cancelled before running, e.g. aborted while queued
+                if (future == null || !future.isDone()) {
+                    return false;
+                }
+                finishedMillis = now;
+            }
+            return now - finishedMillis > RETENTION;
+        }
+    }
+
+    /**
+     * Creates the execution information of a failed execution.
+     *
+     * @param message
+     *            the error message to log
+     * @param listener
+     *            the listener
+     * @return the failed execution information
+     */
+    private static ExecutionInfoHolder getFailedInfo(final String message, final TaskListener listener) {
+        new TTConsoleLogger(listener).logError(message);
+        final ExecutionInfoHolder execInfo = new ExecutionInfoHolder();
+        execInfo.setSucceeded(false);
+        return execInfo;
+    }
+
+    /**
+     * Re-attaches to the current test execution of ECU-TEST after the agent lost track of it.
+     * The current execution is only adopted if its report database belongs to the executed test file and has not
+     * been created before the execution has been started, otherwise the execution is treated as failed.
+     *
+     * @param testFile
+     *            the executed test file
+     * @param startMillis
+     *            the start time of the execution on the agent
+     * @param listener
+     *            the listener
+     * @return the execution information or {@code null} if the test is still running
+     */
+    @CheckForNull
+    private static ExecutionInfoHolder reattach(final String testFile, final long startMillis,
+            final TaskListener listener) {
+        final ExecutionInfoHolder execInfo = new ExecutionInfoHolder();
+        final TTConsoleLogger logger = new TTConsoleLogger(listener);
+        final String progId = ETComProperty.getInstance().getProgId();
+        try (ETComClient comClient = new ETComClient(progId);
+                TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
+                TestExecutionInfo testExecInfo = (TestExecutionInfo) testEnv.getTestExecutionInfo()) {
+            final boolean isRunning = "RUNNING".equals(testExecInfo.getState());
+            final String reportDb = testExecInfo.getReportDb();
+            if (isRunning && StringUtils.isEmpty(reportDb)) {
+                return null;
+            }
+            if (!isReportOf(reportDb, testFile) || !isReportSince(reportDb, startMillis)) {
+                logger.logError(String.format("-> Re-attaching failed, current test execution %s does not belong "
+                        + "to test %s!", reportDb, testFile));
+                execInfo.setSucceeded(false);
+                return execInfo;
+            }
+            if (isRunning) {
+                return null;
+            }
+            final String testResult = testExecInfo.getResult();
+            logger.logInfo(String.format("-> Re-attached test execution completed with result: %s", testResult));
+            final String testReportDir = new File(reportDb).getParentFile().getAbsolutePath();
+            execInfo.setTest(FilenameUtils.getBaseName(testFile), "");
+            execInfo.setTestInfo(new TestInfoHolder(testResult, testReportDir, false));
+            execInfo.setSucceeded(true);
+        } catch (final ETComException e) {
+            logger.logError("-> Re-attaching to test execution failed!");
+            logger.logComException(e.getMessage());
+            execInfo.setSucceeded(false);
+        }
+        return execInfo;
+    }
+
+    /**
+     * Checks whether the report database has been created by executing the given test file. ECU-TEST names the
+     * report database after the executed package or project.
+     *
+     * @param reportDb
+     *            the report database of the current execution
+     * @param testFile
+     *            the executed test file
+     * @return {@code true} if the report belongs to the test file, {@code false} otherwise
+     */
+    static boolean isReportOf(@CheckForNull final String reportDb, final String testFile) {
+        return StringUtils.isNotEmpty(reportDb)
+                && FilenameUtils.getBaseName(reportDb).equalsIgnoreCase(FilenameUtils.getBaseName(testFile));
+    }
+
+    /**
+     * Checks whether the report database has been written since the given start time. Report databases of
+     * previous executions of the same test file are thereby rejected.
+     *
+     * @param reportDb
+     *            the report database of the current execution
+     * @param startMillis
+     *            the start time of the execution
+     * @return {@code true} if the report database is not older than the start time, {@code false} otherwise
+     */
+    static boolean isReportSince(final String reportDb, final long startMillis) {
+        final File reportFile = new File(reportDb);
+        return reportFile.exists() && reportFile.lastModified() >= startMillis;
+    }
+}
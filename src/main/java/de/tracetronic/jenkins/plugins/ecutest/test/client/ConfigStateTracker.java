@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.client;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+
+import de.tracetronic.jenkins.plugins.ecutest.test.history.TestContentHash;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComCache.SessionKey;
+
+/**
+ * Singleton class tracking the test configurations loaded by this plugin into the running ECU-TEST instance.
+ * <p>
+ * The tracked {@link ConfigState} is bound to the {@link SessionKey} of the ECU-TEST process, so restarting or
+ * killing ECU-TEST implicitly discards the state. Changes of the configuration files are detected by their content
+ * hashes.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+final class ConfigStateTracker {
+
+    private SessionKey session;
+    private ConfigState state;
+
+    /**
+     * Private constructor.
+     */
+    private ConfigStateTracker() {
+    }
+
+    /**
+     * Checks whether the given configuration state is already loaded in the given ECU-TEST session.
+     *
+     * @param newState
+     *            the configuration state to load
+     * @param currentSession
+     *            the current ECU-TEST session or {@code null} if unknown
+     * @return {@code true} if the state is already loaded, {@code false} otherwise
+     */
+    synchronized boolean isLoaded(final ConfigState newState, @CheckForNull final SessionKey currentSession) {
+        return currentSession != null && currentSession.equals(session) && newState.equals(state);
+    }
+
+    /**
+     * Records the loaded configuration state for the given ECU-TEST session.
+     *
+     * @param newState
+     *            the loaded configuration state
+     * @param currentSession
+     *            the current ECU-TEST session or {@code null} if unknown
+     */
+    synchronized void update(final ConfigState newState, @CheckForNull final SessionKey currentSession) {
+        if (currentSession == null) {
+            invalidate();
+        } else {
+            session = currentSession;
+            state = newState;
+        }
+    }
+
+    /**
+     * Invalidates the tracked configuration state.
+     */
+    synchronized void invalidate() {
+        session = null;
+        state = null;
+    }
+
+    /**
+     * Immutable state of the loaded test configurations.
+     */
+    static final class ConfigState {
+
+        private final String tbcFile;
+        private final String tcfFile;
+        private final String tbcHash;
+        private final String tcfHash;
+        private final Map<String, String> constants;
+        private final boolean started;
+
+        /**
+         * Instantiates a new {@link ConfigState}.
+         *
+         * @param tbcFile
+         *            the test bench configuration file
+         * @param tcfFile
+         *            the test configuration file
+         * @param tbcHash
+         *            the content hash of the test bench configuration file
+         * @param tcfHash
+         *            the content hash of the test configuration file
+         * @param constants
+         *            the applied global constants
+         * @param started
+         *            specifies whether the configurations are started
+         */
+        ConfigState(final String tbcFile, final String tcfFile, final String tbcHash, final String tcfHash,
+                final Map<String, String> constants, final boolean started) {
+            this.tbcFile = StringUtils.defaultString(tbcFile);
+            this.tcfFile = StringUtils.defaultString(tcfFile);
+            this.tbcHash = tbcHash;
+            this.tcfHash = tcfHash;
+            this.constants = Collections.unmodifiableMap(new LinkedHashMap<String, String>(constants));
+            this.started = started;
+        }
+
+        /**
+         * Creates the configuration state by hashing the given configuration files.
+         *
+         * @param tbcFile
+         *            the test bench configuration file
+         * @param tcfFile
+         *            the test configuration file
+         * @param constants
+         *            the global constants to apply
+         * @param started
+         *            specifies whether the configurations are started
+         * @return the configuration state
+         * @throws IOException
+         *             signals that an I/O exception has occurred
+         */
+        static ConfigState create(final String tbcFile, final String tcfFile, final Map<String, String> constants,
+                final boolean started) throws IOException {
+            return new ConfigState(tbcFile, tcfFile, hash(tbcFile), hash(tcfFile), constants, started);
+        }
+
+        /**
+         * Computes the content hash of a configuration file.
+         *
+         * @param configFile
+         *            the configuration file, may be blank if no configuration is loaded
+         * @return the content hash
+         * @throws IOException
+         *             signals that an I/O exception has occurred
+         */
+        private static String hash(final String configFile) throws IOException {
+            final File file = StringUtils.isBlank(configFile) ? null : new File(configFile);
+            return TestContentHash.compute(Collections.singletonList(file), "");
+        }
+
+        /**
+         * @return the test bench configuration file
+         */
+        String getTbcFile() {
+            return tbcFile;
+        }
+
+        /**
+         * @return the test configuration file
+         */
+        String getTcfFile() {
+            return tcfFile;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ConfigState)) {
+                return false;
+            }
+            final ConfigState that = (ConfigState) other;
+            return tbcFile.equals(that.tbcFile) && tcfFile.equals(that.tcfFile) && tbcHash.equals(that.tbcHash)
+                    && tcfHash.equals(that.tcfHash) && constants.equals(that.constants) && started == that.started;
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(17, 31).append(tbcFile).append(tcfFile).append(tbcHash).append(tcfHash)
+                    .append(constants).append(started).toHashCode();
+        }
+    }
+
+    /**
+     * Initializes and holds the singleton for this class.
+     */
+    private static final class SingletonHolder {
+
+        private static final ConfigStateTracker INSTANCE = new ConfigStateTracker();
+
+        /**
+         * Private constructor.
+         */
+        private SingletonHolder() {
+            throw new UnsupportedOperationException("Singleton class");
+        }
+    }
+
+    /**
+     * Returns the current instance of {@link ConfigStateTracker}.
+     *
+     * @return the singleton instance
+     */
+    static ConfigStateTracker getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive poller for the test execution state.
+ * <p>
+ * Starts polling with a short initial interval to detect the end of short-running tests quickly and doubles the
+ * interval on each poll until reaching the maximum interval, which keeps the number of COM requests low for
+ * long-running tests. Besides that the poller measures the time spent on requesting the execution state.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ExecutionStatePoller {
+
+    private final long maxInterval;
+    private long interval;
+    private long lastInterval;
+    private int pollCount;
+    private long requestNanos;
+    private long sleepMillis;
+
+    /**
+     * Instantiates a new {@link ExecutionStatePoller}.
+     *
+     * @param initialInterval
+     *            the initial polling interval in milliseconds
+     * @param maxInterval
+     *            the maximum polling interval in milliseconds
+     */
+    public ExecutionStatePoller(final long initialInterval, final long maxInterval) {
+        this.maxInterval = Math.max(1L, maxInterval);
+        interval = Math.max(1L, Math.min(initialInterval, this.maxInterval));
+    }
+
+    /**
+     * Records the duration of a single execution state request.
+     *
+     * @param startNanos
+     *            the start time of the request in nanoseconds as returned by {@link System#nanoTime()}
+     */
+    public void recordRequest(final long startNanos) {
+        pollCount++;
+        requestNanos += System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Sleeps for the current polling interval and increases the interval for the next poll.
+     *
+     * @throws InterruptedException
+     *             if the current thread is interrupted while sleeping
+     */
+    public void sleep() throws InterruptedException {
+        final long currentInterval = nextInterval();
+        Thread.sleep(currentInterval);
+        sleepMillis += currentInterval;
+    }
+
+    /**
+     * Gets the current polling interval and increases the interval for the next poll.
+     *
+     * @return the current polling interval in milliseconds
+     */
+    long nextInterval() {
+        lastInterval = interval;
+        interval = Math.min(interval * 2, maxInterval);
+        return lastInterval;
+    }
+
+    /**
+     * @return the number of execution state requests
+     */
+    public int getPollCount() {
+        return pollCount;
+    }
+
+    /**
+     * @return the total time spent on execution state requests in milliseconds
+     */
+    public long getRequestMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(requestNanos);
+    }
+
+    /**
+     * @return the total time spent on sleeping between the polls in milliseconds
+     */
+    public long getSleepMillis() {
+        return sleepMillis;
+    }
+
+    /**
+     * Gets the maximum latency detecting the end of the test execution which is bounded by the last interval slept.
+     *
+     * @return the maximum detection latency in milliseconds
+     */
+    public long getMaxDetectionLatency() {
+        return lastInterval;
+    }
+
+    /**
+     * Gets a summary of the polling overhead suitable for console output.
+     *
+     * @return the polling summary
+     */
+    public String getSummary() {
+        final double avgMillis = pollCount > 0 ? (double) requestNanos / pollCount / 1000000d : 0d;
+        return String.format("-> Polled execution state %d times: %d ms spent on requests (avg. %.2f ms), "
+                + "max. detection latency %d ms", pollCount, getRequestMillis(), avgMillis,
+                getMaxDetectionLatency());
+    }
+}
@@ -36,14 +36,12 @@ import hudson.remoting.Callable;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import jenkins.security.MasterToSlaveCallable;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
-import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient.CheckInfoHolder.Seriousness;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.PackageConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.PackageParameter;
@@ -101,109 +99,110 @@ public class PackageClient extends AbstractTestClient {
             return false;
         }
 
-        // Load test configuration
-        if (!getTestConfig().isKeepConfig() && !launcher.getChannel().call(
-                new LoadConfigCallable(getTestConfig(), listener))) {
-            return false;
-        }
-
-        // Open package
-        final PackageInfoHolder pkgInfo = launcher.getChannel().call(
-                new OpenPackageCallable(getTestFile(), getExecutionConfig().isCheckTestFile(), listener));
-
-        // Set package information
-        if (pkgInfo != null) {
-            setTestName(pkgInfo.getTestName());
-            setTestDescription(pkgInfo.getTestDescription());
-        } else {
-            return false;
-        }
-
+        final long startMillis = System.currentTimeMillis();
         try {
-            // Run package
-            final TestInfoHolder testInfo = launcher.getChannel().call(
-                    new RunPackageCallable(getTestFile(), getPackageConfig(), getExecutionConfig(), listener));
-
-            // Set test result information
-            if (testInfo != null) {
-                setTestResult(testInfo.getTestResult());
-                setTestReportDir(testInfo.getTestReportDir());
-                setAborted(testInfo.isAborted());
-            } else {
-                return false;
-            }
+            // Load configurations, open, check, run and close package within a single COM session
+            final ExecutionInfoHolder execInfo = launcher.getChannel().call(createExecuteCallable(listener));
+            setTestDuration(System.currentTimeMillis() - startMillis);
+            return setExecutionInfo(execInfo);
         } catch (final InterruptedException e) {
             logger.logError("Test execution has been interrupted!");
             return false;
         }
+    }
 
-        // Close package
-        if (!launcher.getChannel().call(new ClosePackageCallable(getTestFile(), listener))) {
-            return false;
-        }
-
-        return true;
+    @Override
+    protected MasterToSlaveCallable<ExecutionInfoHolder, IOException> createExecuteCallable(
+            final TaskListener listener) {
+        return new ExecutePackageCallable(getTestFile(), getTestConfig(), getPackageConfig(),
+                getExecutionConfig(), listener);
     }
 
     /**
-     * {@link Callable} providing remote access to open a package via COM.
+     * {@link Callable} providing remote access to load the configurations, open, check, run and close a package
+     * within a single COM session.
      */
-    private static final class OpenPackageCallable extends MasterToSlaveCallable<PackageInfoHolder, IOException> {
+    private static final class ExecutePackageCallable extends MasterToSlaveCallable<ExecutionInfoHolder, IOException> {
 
         private static final long serialVersionUID = 1L;
 
         private final String packageFile;
-        private final boolean checkTestFile;
+        private final TestConfig testConfig;
+        private final PackageConfig packageConfig;
+        private final ExecutionConfig executionConfig;
         private final TaskListener listener;
 
         /**
-         * Instantiates a new {@link OpenPackageCallable}.
+         * Instantiates a new {@link ExecutePackageCallable}.
          *
          * @param packageFile
          *            the package file
-         * @param checkTestFile
-         *            specifies whether to check the package file
+         * @param testConfig
+         *            the test configuration
+         * @param packageConfig
+         *            the package configuration
+         * @param executionConfig
+         *            the execution configuration
          * @param listener
          *            the listener
          */
-        OpenPackageCallable(final String packageFile, final boolean checkTestFile, final TaskListener listener) {
+        ExecutePackageCallable(final String packageFile, final TestConfig testConfig,
+                final PackageConfig packageConfig, final ExecutionConfig executionConfig,
+                final TaskListener listener) {
             this.packageFile = packageFile;
-            this.checkTestFile = checkTestFile;
+            this.testConfig = testConfig;
+            this.packageConfig = packageConfig;
+            this.executionConfig = executionConfig;
             this.listener = listener;
         }
 
         @Override
-        public PackageInfoHolder call() throws IOException {
-            PackageInfoHolder pkgInfo = null;
+        public ExecutionInfoHolder call() throws IOException {
+            final ExecutionInfoHolder execInfo = new ExecutionInfoHolder();
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
-            logger.logInfo("- Opening package...");
             final String progId = ETComProperty.getInstance().getProgId();
-            try (ETComClient comClient = new ETComClient(progId);
-                    Package pkg = (Package) comClient.openPackage(packageFile)) {
+            try (ETComClient comClient = new ETComClient(progId)) {
+                if (!testConfig.isKeepConfig() && !loadConfiguration(comClient, testConfig, logger)) {
+                    return execInfo;
+                }
+                if (!openPackage(comClient, execInfo, logger)) {
+                    return execInfo;
+                }
+                final TestInfoHolder testInfo = runPackage(comClient, logger);
+                if (testInfo == null) {
+                    return execInfo;
+                }
+                execInfo.setTestInfo(testInfo);
+                execInfo.setSucceeded(closePackage(comClient, logger));
+            } catch (final ETComException e) {
+                logger.logComException(e.getMessage());
+            }
+            return execInfo;
+        }
+
+        /**
+         * Opens and optionally checks the package.
+         *
+         * @param comClient
+         *            the COM client
+         * @param execInfo
+         *            the execution information to set the package information
+         * @param logger
+         *            the logger
+         * @return {@code true} if the package is opened and valid, {@code false} otherwise
+         */
+        private boolean openPackage(final ETComClient comClient, final ExecutionInfoHolder execInfo,
+                final TTConsoleLogger logger) {
+            boolean isOpened = false;
+            logger.logInfo("- Opening package...");
+            try (Package pkg = (Package) comClient.openPackage(packageFile)) {
                 logger.logInfo("-> Package opened successfully.");
-                pkgInfo = new PackageInfoHolder(pkg.getName(), pkg.getDescription());
-                if (checkTestFile) {
+                execInfo.setTest(pkg.getName(), pkg.getDescription());
+                isOpened = true;
+                if (executionConfig.isCheckTestFile()) {
                     logger.logInfo("- Checking package...");
                     final List<CheckInfoHolder> checks = pkg.check();
-                    for (final CheckInfoHolder check : checks) {
-                        final String logMessage = String.format("%s (line %s): %s", check.getFilePath(),
-                                check.getLineNumber(), check.getErrorMessage());
-                        final Seriousness seriousness = check.getSeriousness();
-                        switch (seriousness) {
-                            case NOTE:
-                                logger.logInfo(logMessage);
-                                break;
-                            case WARNING:
-                                logger.logWarn(logMessage);
-                                break;
-                            case ERROR:
-                                logger.logError(logMessage);
-                                pkgInfo = null;
-                                break;
-                            default:
-                                break;
-                        }
-                    }
+                    isOpened = logChecks(checks, logger);
                     if (checks.isEmpty()) {
                         logger.logInfo("-> Package validated successfully.");
                     }
@@ -212,87 +211,94 @@ public class PackageClient extends AbstractTestClient {
                 logger.logError("-> Opening package failed!");
                 logger.logError("Caught ComException: " + e.getMessage());
             }
-            return pkgInfo;
+            return isOpened;
         }
-    }
-
-    /**
-     * {@link Callable} providing remote access to run a package via COM.
-     */
-    private static final class RunPackageCallable extends MasterToSlaveCallable<TestInfoHolder, InterruptedException> {
-
-        private static final long serialVersionUID = 1L;
-
-        private final String packageFile;
-        private final PackageConfig packageConfig;
-        private final ExecutionConfig executionConfig;
-        private final TaskListener listener;
 
         /**
-         * Instantiates a new {@link RunPackageCallable}.
+         * Runs the package and polls the execution state until the package is finished.
+         * Aborts the execution if the build gets interrupted.
          *
-         * @param packageFile
-         *            the package file
-         * @param packageConfig
-         *            the package configuration
-         * @param executionConfig
-         *            the execution configuration
-         * @param listener
-         *            the listener
+         * @param comClient
+         *            the COM client
+         * @param logger
+         *            the logger
+         * @return the test information or {@code null} if the execution failed
          */
-        RunPackageCallable(final String packageFile, final PackageConfig packageConfig,
-                final ExecutionConfig executionConfig, final TaskListener listener) {
-            this.packageFile = packageFile;
-            this.packageConfig = packageConfig;
-            this.executionConfig = executionConfig;
-            this.listener = listener;
-        }
-
-        @Override
-        public TestInfoHolder call() throws InterruptedException {
+        private TestInfoHolder runPackage(final ETComClient comClient, final TTConsoleLogger logger) {
             final boolean runTest = packageConfig.isRunTest();
             final boolean runTraceAnalysis = packageConfig.isRunTraceAnalysis();
             final int timeout = executionConfig.getParsedTimeout();
             TestInfoHolder testInfo = null;
 
-            final TTConsoleLogger logger = new TTConsoleLogger(listener);
             logger.logInfo("- Running package...");
             final Map<String, String> paramMap = getParameterMap();
             if (!paramMap.isEmpty()) {
                 logger.logInfo("-> With parameters: " + paramMap.toString());
             }
-            final String progId = ETComProperty.getInstance().getProgId();
-            try (ETComClient comClient = new ETComClient(progId);
-                    TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
+            try (TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
                     TestExecutionInfo execInfo = (TestExecutionInfo) testEnv.executePackage(packageFile,
                             runTraceAnalysis, runTest, paramMap)) {
                 boolean isAborted = false;
-                int tickCounter = 0;
-                final long endTimeMillis = System.currentTimeMillis() + Long.valueOf(timeout) * 1000L;
-                while ("RUNNING".equals(execInfo.getState())) {
-                    if (tickCounter % 60 == 0) {
-                        logger.logInfo("-- tick...");
-                    }
-                    if (timeout > 0 && System.currentTimeMillis() > endTimeMillis) {
-                        logger.logWarn(String.format("-> Test execution timeout of %d seconds reached! "
-                                + "Aborting package now...", timeout));
-                        isAborted = true;
-                        execInfo.abort();
-                        break;
+                final long startTimeMillis = System.currentTimeMillis();
+                final long endTimeMillis = startTimeMillis + Long.valueOf(timeout) * 1000L;
+                long nextTickMillis = startTimeMillis;
+                final ExecutionStatePoller poller = new ExecutionStatePoller(
+                        executionConfig.getParsedPollingInterval(), ExecutionConfig.getMaxPollingInterval());
+                try {
+                    while (isRunning(execInfo, poller)) {
+                        final long currentTimeMillis = System.currentTimeMillis();
+                        if (currentTimeMillis >= nextTickMillis) {
+                            logger.logInfo("-- tick...");
+                            nextTickMillis += TICK_INTERVAL;
+                        }
+                        if (timeout > 0 && currentTimeMillis > endTimeMillis) {
+                            logger.logWarn(String.format("-> Test execution timeout of %d seconds reached! "
+                                    + "Aborting package now...", timeout));
+                            isAborted = true;
+                            execInfo.abort();
+                            break;
+                        }
+                        poller.sleep();
                     }
-                    Thread.sleep(1000L);
-                    tickCounter++;
+                } catch (final InterruptedException e) {
+                    logger.logWarn("-> Build interrupted! Aborting test exection...");
+                    isAborted = true;
+                    execInfo.abort();
                 }
+                logger.logInfo(poller.getSummary());
                 testInfo = getTestInfo(execInfo, isAborted, logger);
                 postExecution(timeout, comClient, logger);
             } catch (final ETComException e) {
                 logger.logError("Caught ComException: " + e.getMessage());
-            } catch (final InterruptedException e) {
-                testInfo = abortTestExecution(timeout, progId, logger);
             }
             return testInfo;
         }
 
+        /**
+         * Closes the package.
+         *
+         * @param comClient
+         *            the COM client
+         * @param logger
+         *            the logger
+         * @return {@code true} if the package is closed successfully, {@code false} otherwise
+         */
+        private boolean closePackage(final ETComClient comClient, final TTConsoleLogger logger) {
+            boolean isClosed = false;
+            logger.logInfo("- Closing package...");
+            try {
+                if (comClient.closePackage(packageFile)) {
+                    isClosed = true;
+                    logger.logInfo("-> Package closed successfully.");
+                } else {
+                    logger.logError("-> Closing package failed!");
+                }
+            } catch (final ETComException e) {
+                logger.logError("Caught ComException: " + e.getMessage());
+            }
+            return isClosed;
+        }
+
         /**
          * Converts the parameter list to a parameter map.
          *
@@ -327,132 +333,5 @@ public class PackageClient extends AbstractTestClient {
             logger.logInfo(String.format("-> Test report directory: %s", testReportDir));
             return new TestInfoHolder(testResult, testReportDir, isAborted);
         }
-
-        /**
-         * Aborts the test execution.
-         *
-         * @param timeout
-         *            the timeout
-         * @param progId
-         *            the programmatic id
-         * @param logger
-         *            the logger
-         * @return the test information
-         */
-        private TestInfoHolder abortTestExecution(final int timeout, final String progId,
-                final TTConsoleLogger logger) {
-            TestInfoHolder testInfo = null;
-            try (ETComClient comClient = new ETComClient(progId);
-                    TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
-                    TestExecutionInfo execInfo = (TestExecutionInfo) testEnv.getTestExecutionInfo()) {
-                logger.logWarn(String.format("-> Build interrupted! Aborting test exection..."));
-                execInfo.abort();
-                testInfo = getTestInfo(execInfo, true, logger);
-                postExecution(timeout, comClient, logger);
-            } catch (final ETComException exc) {
-                logger.logError("Caught ComException: " + exc.getMessage());
-            }
-            return testInfo;
-        }
-
-        /**
-         * Timeout handling for post execution.
-         *
-         * @param timeout
-         *            the timeout
-         * @param comClient
-         *            the COM client
-         * @param logger
-         *            the logger
-         * @throws ETComException
-         *             in case of a COM exception
-         */
-        private void postExecution(final int timeout, final ETComClient comClient, final TTConsoleLogger logger)
-                throws ETComException {
-            if (!comClient.waitForIdle(timeout)) {
-                logger.logWarn(String.format("-> Post-execution timeout of %d seconds reached!", timeout));
-            }
-        }
-    }
-
-    /**
-     * {@link Callable} providing remote access to close a package via COM.
-     */
-    private static final class ClosePackageCallable extends MasterToSlaveCallable<Boolean, IOException> {
-
-        private static final long serialVersionUID = 1L;
-
-        private final String packageFile;
-        private final TaskListener listener;
-
-        /**
-         * Instantiates a new {@link ClosePackageCallable}.
-         *
-         * @param packageFile
-         *            the package file
-         * @param listener
-         *            the listener
-         */
-        ClosePackageCallable(final String packageFile, final TaskListener listener) {
-            this.packageFile = packageFile;
-            this.listener = listener;
-        }
-
-        @Override
-        public Boolean call() throws IOException {
-            boolean isClosed = false;
-            final TTConsoleLogger logger = new TTConsoleLogger(listener);
-            logger.logInfo("- Closing package...");
-            final String progId = ETComProperty.getInstance().getProgId();
-            try (ETComClient comClient = new ETComClient(progId)) {
-                if (comClient.closePackage(packageFile)) {
-                    isClosed = true;
-                    logger.logInfo("-> Package closed successfully.");
-                } else {
-                    logger.logError("-> Closing package failed!");
-                }
-            } catch (final ETComException e) {
-                logger.logError("Caught ComException: " + e.getMessage());
-            }
-            return isClosed;
-        }
-    }
-
-    /**
-     * Helper class storing information about a package.
-     */
-    private static final class PackageInfoHolder implements Serializable {
-
-        private static final long serialVersionUID = 1L;
-
-        private final String testName;
-        private final String testDescription;
-
-        /**
-         * Instantiates a new {@link PackageInfoHolder}.
-         *
-         * @param testName
-         *            the test name
-         * @param testDescription
-         *            the test description
-         */
-        PackageInfoHolder(final String testName, final String testDescription) {
-            this.testName = testName;
-            this.testDescription = testDescription;
-        }
-
-        /**
-         * @return the test name
-         */
-        public String getTestName() {
-            return testName;
-        }
-
-        /**
-         * @return the test description
-         */
-        public String getTestDescription() {
-            return testDescription;
-        }
     }
 }
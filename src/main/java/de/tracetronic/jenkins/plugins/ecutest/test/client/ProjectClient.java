@@ -43,7 +43,6 @@ import jenkins.security.MasterToSlaveCallable;
 import org.apache.commons.io.FilenameUtils;
 
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
-import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient.CheckInfoHolder.Seriousness;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.ProjectConfig;
 import de.tracetronic.jenkins.plugins.ecutest.test.config.TestConfig;
@@ -100,115 +99,109 @@ public class ProjectClient extends AbstractTestClient {
             return false;
         }
 
-        // Load test configuration
-        if (!getTestConfig().isKeepConfig() && !launcher.getChannel().call(
-                new LoadConfigCallable(getTestConfig(), listener))) {
-            return false;
-        }
-
-        // Open and check project
-        if (!launcher.getChannel().call(
-                new OpenProjectCallable(getTestFile(), getProjectConfig(), getExecutionConfig().isCheckTestFile(),
-                        listener))) {
-            return false;
-        }
-
-        // Set default project information
-        setTestDescription("");
-        setTestName(FilenameUtils.getBaseName(new File(getTestFile()).getName()));
-
+        final long startMillis = System.currentTimeMillis();
         try {
-            // Run project
-            final TestInfoHolder testInfo = launcher.getChannel().call(
-                    new RunProjectCallable(getTestFile(), getProjectConfig(), getExecutionConfig(), listener));
-
-            // Set project information
-            if (testInfo != null) {
-                setTestResult(testInfo.getTestResult());
-                setTestReportDir(testInfo.getTestReportDir());
-                setAborted(testInfo.isAborted());
-            } else {
-                return false;
-            }
+            // Load configurations, open, check, run and close project within a single COM session
+            final ExecutionInfoHolder execInfo = launcher.getChannel().call(createExecuteCallable(listener));
+            setTestDuration(System.currentTimeMillis() - startMillis);
+            return setExecutionInfo(execInfo);
         } catch (final InterruptedException e) {
             logger.logError("Test execution has been interrupted!");
             return false;
         }
+    }
 
-        // Close project
-        if (!launcher.getChannel().call(new CloseProjectCallable(getTestFile(), listener))) {
-            return false;
-        }
-
-        return true;
+    @Override
+    protected MasterToSlaveCallable<ExecutionInfoHolder, IOException> createExecuteCallable(
+            final TaskListener listener) {
+        return new ExecuteProjectCallable(getTestFile(), getTestConfig(), getProjectConfig(),
+                getExecutionConfig(), listener);
     }
 
     /**
-     * {@link Callable} providing remote access to open a project via COM.
+     * {@link Callable} providing remote access to load the configurations, open, check, run and close a project
+     * within a single COM session.
      */
-    private static final class OpenProjectCallable extends MasterToSlaveCallable<Boolean, IOException> {
+    private static final class ExecuteProjectCallable extends MasterToSlaveCallable<ExecutionInfoHolder, IOException> {
 
         private static final long serialVersionUID = 1L;
 
         private final String projectFile;
+        private final TestConfig testConfig;
         private final ProjectConfig projectConfig;
-        private final boolean checkTestFile;
+        private final ExecutionConfig executionConfig;
         private final TaskListener listener;
 
         /**
-         * Instantiates a new {@link OpenProjectCallable}.
+         * Instantiates a new {@link ExecuteProjectCallable}.
          *
          * @param projectFile
          *            the project file
+         * @param testConfig
+         *            the test configuration
          * @param projectConfig
          *            the project configuration
-         * @param checkTestFile
-         *            specifies whether to check the project file
+         * @param executionConfig
+         *            the execution configuration
          * @param listener
          *            the listener
          */
-        OpenProjectCallable(final String projectFile, final ProjectConfig projectConfig,
-                final boolean checkTestFile, final TaskListener listener) {
+        ExecuteProjectCallable(final String projectFile, final TestConfig testConfig,
+                final ProjectConfig projectConfig, final ExecutionConfig executionConfig,
+                final TaskListener listener) {
             this.projectFile = projectFile;
+            this.testConfig = testConfig;
             this.projectConfig = projectConfig;
-            this.checkTestFile = checkTestFile;
+            this.executionConfig = executionConfig;
             this.listener = listener;
         }
 
         @Override
-        public Boolean call() throws IOException {
+        public ExecutionInfoHolder call() throws IOException {
+            final ExecutionInfoHolder execInfo = new ExecutionInfoHolder();
+            final TTConsoleLogger logger = new TTConsoleLogger(listener);
+            final String progId = ETComProperty.getInstance().getProgId();
+            try (ETComClient comClient = new ETComClient(progId)) {
+                if (!testConfig.isKeepConfig() && !loadConfiguration(comClient, testConfig, logger)) {
+                    return execInfo;
+                }
+                if (!openProject(comClient, logger)) {
+                    return execInfo;
+                }
+                execInfo.setTest(FilenameUtils.getBaseName(new File(projectFile).getName()), "");
+                final TestInfoHolder testInfo = runProject(comClient, logger);
+                if (testInfo == null) {
+                    return execInfo;
+                }
+                execInfo.setTestInfo(testInfo);
+                execInfo.setSucceeded(closeProject(comClient, logger));
+            } catch (final ETComException e) {
+                logger.logComException(e.getMessage());
+            }
+            return execInfo;
+        }
+
+        /**
+         * Opens and optionally checks the project.
+         *
+         * @param comClient
+         *            the COM client
+         * @param logger
+         *            the logger
+         * @return {@code true} if the project is opened and valid, {@code false} otherwise
+         */
+        private boolean openProject(final ETComClient comClient, final TTConsoleLogger logger) {
             final boolean execInCurrentPkgDir = projectConfig.isExecInCurrentPkgDir();
             final String filterExpression = projectConfig.getFilterExpression();
             boolean isOpened = true;
-            final TTConsoleLogger logger = new TTConsoleLogger(listener);
             logger.logInfo("- Opening project...");
-            final String progId = ETComProperty.getInstance().getProgId();
-            try (ETComClient comClient = new ETComClient(progId);
-                    Project project = (Project) comClient.openProject(projectFile, execInCurrentPkgDir,
-                            filterExpression)) {
+            try (Project project = (Project) comClient.openProject(projectFile, execInCurrentPkgDir,
+                    filterExpression)) {
                 logger.logInfo("-> Project opened successfully.");
-                if (checkTestFile) {
+                if (executionConfig.isCheckTestFile()) {
                     logger.logInfo("- Checking project...");
                     final List<CheckInfoHolder> checks = project.check();
-                    for (final CheckInfoHolder check : checks) {
-                        final String logMessage = String.format("%s (line %s): %s", check.getFilePath(),
-                                check.getLineNumber(), check.getErrorMessage());
-                        final Seriousness seriousness = check.getSeriousness();
-                        switch (seriousness) {
-                            case NOTE:
-                                logger.logInfo(logMessage);
-                                break;
-                            case WARNING:
-                                logger.logWarn(logMessage);
-                                break;
-                            case ERROR:
-                                logger.logError(logMessage);
-                                isOpened = false;
-                                break;
-                            default:
-                                break;
-                        }
-                    }
+                    isOpened = logChecks(checks, logger);
                     if (checks.isEmpty()) {
                         logger.logInfo("-> Project validated successfully!");
                     }
@@ -220,104 +213,84 @@ public class ProjectClient extends AbstractTestClient {
             }
             return isOpened;
         }
-    }
-
-    /**
-     * {@link Callable} providing remote access to run a project via COM.
-     */
-    private static final class RunProjectCallable extends MasterToSlaveCallable<TestInfoHolder, InterruptedException> {
-
-        private static final long serialVersionUID = 1L;
-
-        private final String projectFile;
-        private final ProjectConfig projectConfig;
-        private final ExecutionConfig executionConfig;
-        private final TaskListener listener;
 
         /**
-         * Instantiates a new {@link RunProjectCallable}.
+         * Runs the project and polls the execution state until the project is finished.
+         * Aborts the execution if the build gets interrupted.
          *
-         * @param projectFile
-         *            the project file
-         * @param projectConfig
-         *            the project configuration
-         * @param executionConfig
-         *            the execution configuration
-         * @param listener
-         *            the listener
+         * @param comClient
+         *            the COM client
+         * @param logger
+         *            the logger
+         * @return the test information or {@code null} if the execution failed
          */
-        RunProjectCallable(final String projectFile, final ProjectConfig projectConfig,
-                final ExecutionConfig executionConfig, final TaskListener listener) {
-            this.projectFile = projectFile;
-            this.projectConfig = projectConfig;
-            this.executionConfig = executionConfig;
-            this.listener = listener;
-        }
-
-        @Override
-        public TestInfoHolder call() throws InterruptedException {
+        private TestInfoHolder runProject(final ETComClient comClient, final TTConsoleLogger logger) {
             final int jobExecutionMode = projectConfig.getJobExecMode().getValue();
             final int timeout = executionConfig.getParsedTimeout();
             TestInfoHolder testInfo = null;
-            final TTConsoleLogger logger = new TTConsoleLogger(listener);
             logger.logInfo("- Running project...");
-            final String progId = ETComProperty.getInstance().getProgId();
-            try (ETComClient comClient = new ETComClient(progId);
-                    TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
+            try (TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
                     TestExecutionInfo execInfo = (TestExecutionInfo) testEnv.executeProject(projectFile, true,
                             jobExecutionMode)) {
                 boolean isAborted = false;
-                int tickCounter = 0;
-                final long endTimeMillis = System.currentTimeMillis() + Long.valueOf(timeout) * 1000L;
-                while ("RUNNING".equals(execInfo.getState())) {
-                    if (tickCounter % 60 == 0) {
-                        logger.logInfo("-- tick...");
-                    }
-                    if (timeout > 0 && System.currentTimeMillis() > endTimeMillis) {
-                        logger.logWarn(String.format("-> Test execution timeout of %d seconds reached! "
-                                + "Aborting project now...", timeout));
-                        isAborted = true;
-                        execInfo.abort();
-                        break;
+                final long startTimeMillis = System.currentTimeMillis();
+                final long endTimeMillis = startTimeMillis + Long.valueOf(timeout) * 1000L;
+                long nextTickMillis = startTimeMillis;
+                final ExecutionStatePoller poller = new ExecutionStatePoller(
+                        executionConfig.getParsedPollingInterval(), ExecutionConfig.getMaxPollingInterval());
+                try {
+                    while (isRunning(execInfo, poller)) {
+                        final long currentTimeMillis = System.currentTimeMillis();
+                        if (currentTimeMillis >= nextTickMillis) {
+                            logger.logInfo("-- tick...");
+                            nextTickMillis += TICK_INTERVAL;
+                        }
+                        if (timeout > 0 && currentTimeMillis > endTimeMillis) {
+                            logger.logWarn(String.format("-> Test execution timeout of %d seconds reached! "
+                                    + "Aborting project now...", timeout));
+                            isAborted = true;
+                            execInfo.abort();
+                            break;
+                        }
+                        poller.sleep();
                     }
-                    Thread.sleep(1000L);
-                    tickCounter++;
+                } catch (final InterruptedException e) {
+                    logger.logWarn("-> Build interrupted! Aborting test exection...");
+                    isAborted = true;
+                    execInfo.abort();
                 }
+                logger.logInfo(poller.getSummary());
                 testInfo = getTestInfo(execInfo, isAborted, logger);
                 postExecution(timeout, comClient, logger);
             } catch (final ETComException e) {
                 logger.logComException(e.getMessage());
-            } catch (final InterruptedException e) {
-                testInfo = abortTestExecution(timeout, progId, logger);
             }
             return testInfo;
         }
 
         /**
-         * Aborts the test execution.
+         * Closes the project.
          *
-         * @param timeout
-         *            the timeout
-         * @param progId
-         *            the programmatic id
+         * @param comClient
+         *            the COM client
          * @param logger
          *            the logger
-         * @return the test information
+         * @return {@code true} if the project is closed successfully, {@code false} otherwise
          */
-        private TestInfoHolder abortTestExecution(final int timeout, final String progId,
-                final TTConsoleLogger logger) {
-            TestInfoHolder testInfo = null;
-            try (ETComClient comClient = new ETComClient(progId);
-                    TestEnvironment testEnv = (TestEnvironment) comClient.getTestEnvironment();
-                    TestExecutionInfo execInfo = (TestExecutionInfo) testEnv.getTestExecutionInfo()) {
-                logger.logWarn(String.format("-> Build interrupted! Aborting test exection..."));
-                execInfo.abort();
-                testInfo = getTestInfo(execInfo, true, logger);
-                postExecution(timeout, comClient, logger);
-            } catch (final ETComException exc) {
-                logger.logError("Caught ComException: " + exc.getMessage());
+        private boolean closeProject(final ETComClient comClient, final TTConsoleLogger logger) {
+            boolean isClosed = false;
+            logger.logInfo("- Closing project...");
+            try {
+                if (comClient.closeProject(projectFile)) {
+                    isClosed = true;
+                    logger.logInfo("-> Project closed successfully.");
+                } else {
+                    logger.logError("-> Closing project failed!");
+                }
+            } catch (final ETComException e) {
+                logger.logComException(e.getMessage());
             }
-            return testInfo;
+            return isClosed;
         }
 
         /**
@@ -341,67 +314,5 @@ public class ProjectClient extends AbstractTestClient {
             logger.logInfo(String.format("-> Test report directory: %s", testReportDir));
             return new TestInfoHolder(testResult, testReportDir, isAborted);
         }
-
-        /**
-         * Timeout handling for post execution.
-         *
-         * @param timeout
-         *            the timeout
-         * @param comClient
-         *            the COM client
-         * @param logger
-         *            the logger
-         * @throws ETComException
-         *             in case of a COM exception
-         */
-        private void postExecution(final int timeout, final ETComClient comClient, final TTConsoleLogger logger)
-                throws ETComException {
-            if (!comClient.waitForIdle(timeout)) {
-                logger.logWarn(String.format("-> Post-execution timeout of %d seconds reached!", timeout));
-            }
-        }
-    }
-
-    /**
-     * {@link Callable} providing remote access to close a project via COM.
-     */
-    private static final class CloseProjectCallable extends MasterToSlaveCallable<Boolean, IOException> {
-
-        private static final long serialVersionUID = 1L;
-
-        private final String projectFile;
-        private final TaskListener listener;
-
-        /**
-         * Instantiates a new {@link CloseProjectCallable}.
-         *
-         * @param projectFile
-         *            the project file
-         * @param listener
-         *            the listener
-         */
-        CloseProjectCallable(final String projectFile, final TaskListener listener) {
-            this.projectFile = projectFile;
-            this.listener = listener;
-        }
-
-        @Override
-        public Boolean call() throws IOException {
-            boolean isClosed = false;
-            final TTConsoleLogger logger = new TTConsoleLogger(listener);
-            logger.logInfo("- Closing project...");
-            final String progId = ETComProperty.getInstance().getProgId();
-            try (ETComClient comClient = new ETComClient(progId)) {
-                if (comClient.closeProject(projectFile)) {
-                    isClosed = true;
-                    logger.logInfo("-> Project closed successfully.");
-                } else {
-                    logger.logError("-> Closing project failed!");
-                }
-            } catch (final ETComException e) {
-                logger.logComException(e.getMessage());
-            }
-            return isClosed;
-        }
     }
 }
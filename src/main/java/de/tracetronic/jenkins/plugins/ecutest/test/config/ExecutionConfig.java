@@ -60,12 +60,26 @@ public class ExecutionConfig extends AbstractDescribableImpl<ExecutionConfig>
      */
     protected static final int DEFAULT_TIMEOUT = 3600;
 
+    /**
+     * Defines the default initial interval in milliseconds polling the test execution state.
+     */
+    protected static final int DEFAULT_POLLING_INTERVAL = 50;
+
+    /**
+     * Defines the maximum interval in milliseconds polling the test execution state.
+     */
+    protected static final int MAX_POLLING_INTERVAL = 1000;
+
     private final String timeout;
     private final boolean stopOnError;
     /**
      * @since 1.4
      */
     private final boolean checkTestFile;
+    /**
+     * @since 2.1
+     */
+    private final String pollingInterval;
 
     /**
      * Instantiates a new {@link ExecutionConfig}.
@@ -77,13 +91,32 @@ public class ExecutionConfig extends AbstractDescribableImpl<ExecutionConfig>
      *            Tool-Server instances if an error occurred
      * @param checkTestFile
      *            specifies whether to check the test file
+     * @param pollingInterval
+     *            the initial interval in milliseconds polling the test execution state
      */
     @DataBoundConstructor
-    public ExecutionConfig(final String timeout, final boolean stopOnError, final boolean checkTestFile) {
+    public ExecutionConfig(final String timeout, final boolean stopOnError, final boolean checkTestFile,
+            final String pollingInterval) {
         super();
         this.timeout = StringUtils.defaultIfBlank(timeout, String.valueOf(DEFAULT_TIMEOUT));
         this.stopOnError = stopOnError;
         this.checkTestFile = checkTestFile;
+        this.pollingInterval = StringUtils.defaultIfBlank(pollingInterval, String.valueOf(DEFAULT_POLLING_INTERVAL));
+    }
+
+    /**
+     * Instantiates a new {@link ExecutionConfig} with default polling interval.
+     *
+     * @param timeout
+     *            the timeout to run the test
+     * @param stopOnError
+     *            specifies whether to stop ECU-TEST and
+     *            Tool-Server instances if an error occurred
+     * @param checkTestFile
+     *            specifies whether to check the test file
+     */
+    public ExecutionConfig(final String timeout, final boolean stopOnError, final boolean checkTestFile) {
+        this(timeout, stopOnError, checkTestFile, null);
     }
 
     /**
@@ -117,6 +150,35 @@ public class ExecutionConfig extends AbstractDescribableImpl<ExecutionConfig>
         }
     }
 
+    /**
+     * @return the polling interval as string
+     */
+    public String getPollingInterval() {
+        return pollingInterval;
+    }
+
+    /**
+     * Gets the initial polling interval limited to the range of 1 to {@link #MAX_POLLING_INTERVAL} milliseconds.
+     *
+     * @return the polling interval as integer, defaults to {@link #DEFAULT_POLLING_INTERVAL} if invalid value
+     */
+    public int getParsedPollingInterval() {
+        int interval;
+        try {
+            interval = Integer.parseInt(getPollingInterval());
+        } catch (final NumberFormatException e) {
+            interval = DEFAULT_POLLING_INTERVAL;
+        }
+        return Math.max(1, Math.min(interval, MAX_POLLING_INTERVAL));
+    }
+
+    /**
+     * @return the maximum polling interval
+     */
+    public static int getMaxPollingInterval() {
+        return MAX_POLLING_INTERVAL;
+    }
+
     /**
      * @return the timeout as integer
      */
@@ -157,7 +219,9 @@ public class ExecutionConfig extends AbstractDescribableImpl<ExecutionConfig>
     public ExecutionConfig expand(final EnvVars envVars) {
         final String expTimeout = EnvUtil.expandEnvVar(getTimeout(), envVars,
                 String.valueOf(DEFAULT_TIMEOUT));
-        return new ExecutionConfig(expTimeout, isStopOnError(), isCheckTestFile());
+        final String expPollingInterval = EnvUtil.expandEnvVar(getPollingInterval(), envVars,
+                String.valueOf(DEFAULT_POLLING_INTERVAL));
+        return new ExecutionConfig(expTimeout, isStopOnError(), isCheckTestFile(), expPollingInterval);
     }
 
     @Override
@@ -166,7 +230,9 @@ public class ExecutionConfig extends AbstractDescribableImpl<ExecutionConfig>
         if (other instanceof ExecutionConfig) {
             final ExecutionConfig that = (ExecutionConfig) other;
             result = (timeout == null ? that.timeout == null : timeout.equals(that.timeout))
-                    && stopOnError == that.stopOnError && checkTestFile == that.checkTestFile;
+                    && stopOnError == that.stopOnError && checkTestFile == that.checkTestFile
+                    && (pollingInterval == null ? that.pollingInterval == null
+                            : pollingInterval.equals(that.pollingInterval));
         }
         return result;
     }
@@ -174,14 +240,14 @@ public class ExecutionConfig extends AbstractDescribableImpl<ExecutionConfig>
     @Override
     public final int hashCode() {
         return new HashCodeBuilder(17, 31).append(timeout).append(stopOnError).append(checkTestFile)
-                .toHashCode();
+                .append(pollingInterval).toHashCode();
     }
 
     /**
      * @return the instance of a {@link ExecutionConfig}.
      */
     public static ExecutionConfig newInstance() {
-        return new ExecutionConfig(null, true, true);
+        return new ExecutionConfig(null, true, true, null);
     }
 
     /**
@@ -214,5 +280,23 @@ public class ExecutionConfig extends AbstractDescribableImpl<ExecutionConfig>
         public FormValidation doCheckTimeout(@QueryParameter final String value) {
             return testValidator.validateTimeout(value, getDefaultTimeout());
         }
+
+        /**
+         * @return the default polling interval
+         */
+        public static int getDefaultPollingInterval() {
+            return DEFAULT_POLLING_INTERVAL;
+        }
+
+        /**
+         * Validates the polling interval.
+         *
+         * @param value
+         *            the polling interval
+         * @return the form validation
+         */
+        public FormValidation doCheckPollingInterval(@QueryParameter final String value) {
+            return testValidator.validatePollingInterval(value, getDefaultPollingInterval(), MAX_POLLING_INTERVAL);
+        }
     }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.config;
+
+import hudson.EnvVars;
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import de.tracetronic.jenkins.plugins.ecutest.test.Messages;
+import de.tracetronic.jenkins.plugins.ecutest.util.EnvUtil;
+import de.tracetronic.jenkins.plugins.ecutest.util.validation.TestValidator;
+
+/**
+ * Class holding the settings to execute only a shard of the tests found in a test folder.
+ * <p>
+ * Running the same test folder with the same shard count but different shard indices, e.g. in parallel branches on
+ * multiple agents, distributes all tests across these agents.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ShardConfig extends AbstractDescribableImpl<ShardConfig> implements Serializable, ExpandableConfig {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Defines the modes to partition the tests into shards.
+     */
+    public enum ShardMode {
+        /**
+         * Distributes the tests in round-robin order.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * Balances the tests by their durations recorded in the test history of the job.
+         */
+        DURATION
+    }
+
+    private final String shardCount;
+    private final String shardIndex;
+    private final ShardMode shardMode;
+
+    /**
+     * Instantiates a new {@link ShardConfig}.
+     *
+     * @param shardCount
+     *            the total number of shards
+     * @param shardIndex
+     *            the zero-based index of the shard to execute
+     * @param shardMode
+     *            the mode to partition the tests
+     */
+    @DataBoundConstructor
+    public ShardConfig(final String shardCount, final String shardIndex, final ShardMode shardMode) {
+        super();
+        this.shardCount = StringUtils.defaultIfBlank(shardCount, "1");
+        this.shardIndex = StringUtils.defaultIfBlank(shardIndex, "0");
+        this.shardMode = shardMode == null ? ShardMode.ROUND_ROBIN : shardMode;
+    }
+
+    /**
+     * @return the shard count
+     */
+    public String getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @return the shard index
+     */
+    public String getShardIndex() {
+        return shardIndex;
+    }
+
+    /**
+     * @return the shard mode
+     */
+    public ShardMode getShardMode() {
+        return shardMode;
+    }
+
+    /**
+     * @return the shard count as integer, defaults to 1 if invalid value
+     */
+    public int getParsedShardCount() {
+        try {
+            return Math.max(1, Integer.parseInt(getShardCount()));
+        } catch (final NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * @return the shard index as integer, defaults to -1 if invalid value
+     */
+    public int getParsedShardIndex() {
+        try {
+            return Integer.parseInt(getShardIndex());
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return {@code true} if the shard index is within the range of the shard count, {@code false} otherwise
+     */
+    public boolean isValid() {
+        final int index = getParsedShardIndex();
+        return index >= 0 && index < getParsedShardCount();
+    }
+
+    @Override
+    public ShardConfig expand(final EnvVars envVars) {
+        final String expShardCount = EnvUtil.expandEnvVar(getShardCount(), envVars, "1");
+        final String expShardIndex = EnvUtil.expandEnvVar(getShardIndex(), envVars, "0");
+        return new ShardConfig(expShardCount, expShardIndex, getShardMode());
+    }
+
+    @Override
+    public final boolean equals(final Object other) {
+        boolean result = false;
+        if (other instanceof ShardConfig) {
+            final ShardConfig that = (ShardConfig) other;
+            result = (shardCount == null ? that.shardCount == null : shardCount.equals(that.shardCount))
+                    && (shardIndex == null ? that.shardIndex == null : shardIndex.equals(that.shardIndex))
+                    && shardMode == that.shardMode;
+        }
+        return result;
+    }
+
+    @Override
+    public final int hashCode() {
+        return new HashCodeBuilder(17, 31).append(shardCount).append(shardIndex).append(shardMode).toHashCode();
+    }
+
+    /**
+     * DescriptorImpl for {@link ShardConfig}.
+     */
+    @Extension
+    public static class DescriptorImpl extends Descriptor<ShardConfig> {
+
+        private final TestValidator testValidator = new TestValidator();
+
+        @Override
+        public String getDisplayName() {
+            return "Shard Configuration";
+        }
+
+        /**
+         * @return the default shard mode
+         */
+        public ShardMode getDefaultShardMode() {
+            return ShardMode.ROUND_ROBIN;
+        }
+
+        /**
+         * Fills the shard mode drop-down menu.
+         *
+         * @return the shard mode items
+         */
+        public ListBoxModel doFillShardModeItems() {
+            final ListBoxModel items = new ListBoxModel();
+            items.add(Messages.ShardConfig_ShardMode_RoundRobin(), ShardMode.ROUND_ROBIN.toString());
+            items.add(Messages.ShardConfig_ShardMode_Duration(), ShardMode.DURATION.toString());
+            return items;
+        }
+
+        /**
+         * Validates the shard count.
+         *
+         * @param value
+         *            the shard count
+         * @return the form validation
+         */
+        public FormValidation doCheckShardCount(@QueryParameter final String value) {
+            return testValidator.validateShardCount(value);
+        }
+
+        /**
+         * Validates the shard index.
+         *
+         * @param value
+         *            the shard index
+         * @param shardCount
+         *            the shard count
+         * @return the form validation
+         */
+        public FormValidation doCheckShardIndex(@QueryParameter final String value,
+                @QueryParameter final String shardCount) {
+            return testValidator.validateShardIndex(value, shardCount);
+        }
+    }
+}
@@ -69,6 +69,10 @@ public class TestConfig extends AbstractDescribableImpl<TestConfig> implements S
      * @since 1.17
      */
     private final boolean keepConfig;
+    /**
+     * @since 2.1
+     */
+    private final boolean skipUnchanged;
     private final List<GlobalConstant> constants;
 
     /**
@@ -84,21 +88,45 @@ public class TestConfig extends AbstractDescribableImpl<TestConfig> implements S
      *            specifies whether to load the configuration only
      * @param keepConfig
      *            specifies whether to keep the previously loaded configuration
+     * @param skipUnchanged
+     *            specifies whether to skip reloading unchanged configurations
      * @param constants
      *            the list of global constants
      */
     @DataBoundConstructor
     public TestConfig(final String tbcFile, final String tcfFile, final boolean forceReload, final boolean loadOnly,
-            final boolean keepConfig, final List<GlobalConstant> constants) {
+            final boolean keepConfig, final boolean skipUnchanged, final List<GlobalConstant> constants) {
         super();
         this.tbcFile = StringUtils.trimToEmpty(tbcFile);
         this.tcfFile = StringUtils.trimToEmpty(tcfFile);
         this.forceReload = forceReload;
         this.loadOnly = loadOnly;
         this.keepConfig = keepConfig;
+        this.skipUnchanged = skipUnchanged;
         this.constants = constants == null ? new ArrayList<GlobalConstant>() : removeEmptyConstants(constants);
     }
 
+    /**
+     * Instantiates a new {@link TestConfig} reloading unchanged configurations.
+     *
+     * @param tbcFile
+     *            the test bench configuration file
+     * @param tcfFile
+     *            the test configuration file
+     * @param forceReload
+     *            specifies whether to reload the configuration
+     * @param loadOnly
+     *            specifies whether to load the configuration only
+     * @param keepConfig
+     *            specifies whether to keep the previously loaded configuration
+     * @param constants
+     *            the list of global constants
+     */
+    public TestConfig(final String tbcFile, final String tcfFile, final boolean forceReload, final boolean loadOnly,
+            final boolean keepConfig, final List<GlobalConstant> constants) {
+        this(tbcFile, tcfFile, forceReload, loadOnly, keepConfig, false, constants);
+    }
+
     /**
      * Instantiates a new {@link TestConfig} with empty global constants.
      *
@@ -169,6 +197,17 @@ public class TestConfig extends AbstractDescribableImpl<TestConfig> implements S
         return constants;
     }
 
+    /**
+     * Only the configuration files themselves are compared, so files referenced by them (e.g. ELF, A2L or bus
+     * databases) must not change while reloading is skipped.
+     *
+     * @return specifies whether to skip reloading configurations that are already loaded and unchanged
+     */
+    public boolean isSkipUnchanged() {
+        return skipUnchanged;
+    }
+
+
     /**
      * Removes empty global constants.
      *
@@ -194,7 +233,8 @@ public class TestConfig extends AbstractDescribableImpl<TestConfig> implements S
         for (final GlobalConstant constant : getConstants()) {
             constants.add(constant.expand(envVars));
         }
-        return new TestConfig(expTbcFile, expTcfFile, isForceReload(), isLoadOnly(), isKeepConfig(), constants);
+        return new TestConfig(expTbcFile, expTcfFile, isForceReload(), isLoadOnly(), isKeepConfig(),
+                isSkipUnchanged(), constants);
     }
 
     @Override
@@ -205,7 +245,8 @@ public class TestConfig extends AbstractDescribableImpl<TestConfig> implements S
             result = (tbcFile == null ? that.tbcFile == null : tbcFile.equals(that.tbcFile))
                     && (tcfFile == null ? that.tcfFile == null : tcfFile.equals(that.tcfFile))
                     && (constants == null ? that.constants == null : constants.equals(that.constants))
-                    && forceReload == that.forceReload && loadOnly == that.loadOnly && keepConfig == that.keepConfig;
+                    && forceReload == that.forceReload && loadOnly == that.loadOnly && keepConfig == that.keepConfig
+                    && skipUnchanged == that.skipUnchanged;
         }
         return result;
     }
@@ -213,7 +254,7 @@ public class TestConfig extends AbstractDescribableImpl<TestConfig> implements S
     @Override
     public final int hashCode() {
         return new HashCodeBuilder(17, 31).append(tbcFile).append(tcfFile).append(forceReload).append(loadOnly)
-                .append(keepConfig).append(constants).toHashCode();
+                .append(keepConfig).append(constants).append(skipUnchanged).toHashCode();
     }
 
     /**
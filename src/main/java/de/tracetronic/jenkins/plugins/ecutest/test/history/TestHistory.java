@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.history;
+
+import hudson.XmlFile;
+import hudson.model.Job;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import de.tracetronic.jenkins.plugins.ecutest.env.TestEnvInvisibleAction;
+import de.tracetronic.jenkins.plugins.ecutest.util.PathUtil;
+
+/**
+ * Compact per-job store of the recent durations and verdicts of all executed test files.
+ * <p>
+ * The history is persisted in the root directory of the job and updated by {@link TestHistoryListener} after each
+ * completed build. Entries of test files not executed within the last {@link #MAX_AGE} builds are pruned.
+ * Test files scanned from a test folder are stored by their path relative to that folder, so the history remains
+ * valid across different workspace locations and nodes.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class TestHistory {
+
+    private static final Logger LOGGER = Logger.getLogger(TestHistory.class.getName());
+
+    /**
+     * Defines the file name of the history store.
+     */
+    private static final String FILE_NAME = "ecutest-test-history.xml";
+
+    /**
+     * Defines the maximum number of builds to keep an entry without execution.
+     */
+    private static final int MAX_AGE = 50;
+
+    private final Map<String, TestHistoryEntry> entries = new TreeMap<String, TestHistoryEntry>();
+
+    /**
+     * Gets the test history entry of the given test file.
+     *
+     * @param testFile
+     *            the test file
+     * @return the history entry or {@code null} if the test file has not been executed yet
+     */
+    public synchronized TestHistoryEntry getEntry(final String testFile) {
+        return entries.get(testFile);
+    }
+
+    /**
+     * Gets the test history entry of the given test file scanned from a test folder.
+     *
+     * @param testFolder
+     *            the test folder the test file has been scanned from, may be {@code null}
+     * @param testFile
+     *            the test file
+     * @return the history entry or {@code null} if the test file has not been executed yet
+     */
+    public TestHistoryEntry getEntry(final String testFolder, final String testFile) {
+        return getEntry(getKey(testFolder, testFile));
+    }
+
+    /**
+     * @return the number of history entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the known test durations in milliseconds mapped by history key
+     */
+    public synchronized Map<String, Long> getDurations() {
+        final Map<String, Long> durations = new HashMap<String, Long>();
+        for (final Entry<String, TestHistoryEntry> entry : entries.entrySet()) {
+            if (entry.getValue().getDuration() > 0L) {
+                durations.put(entry.getKey(), entry.getValue().getDuration());
+            }
+        }
+        return durations;
+    }
+
+    /**
+     * Updates the history by a single test execution.
+     *
+     * @param buildNumber
+     *            the build number
+     * @param testFile
+     *            the test file
+     * @param duration
+     *            the test duration in milliseconds
+     * @param result
+     *            the test result
+     * @param hash
+     *            the content hash of the test, may be {@code null}
+     * @param reportDir
+     *            the test report directory
+     */
+    public synchronized void update(final int buildNumber, final String testFile, final long duration,
+            final String result, final String hash, final String reportDir) {
+        final TestHistoryEntry entry = entries.get(testFile);
+        if (entry == null) {
+            entries.put(testFile, new TestHistoryEntry(0L, null, buildNumber, 0, null, null)
+                    .update(buildNumber, duration, result, hash, reportDir));
+        } else {
+            entries.put(testFile, entry.update(buildNumber, duration, result, hash, reportDir));
+        }
+    }
+
+    /**
+     * Removes all entries of test files not executed within the last {@link #MAX_AGE} builds.
+     *
+     * @param buildNumber
+     *            the current build number
+     */
+    public synchronized void prune(final int buildNumber) {
+        final Iterator<TestHistoryEntry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (buildNumber - iterator.next().getLastBuild() > MAX_AGE) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Loads the test history of the given job.
+     *
+     * @param job
+     *            the job
+     * @return the test history, empty if not yet stored or not readable
+     */
+    public static TestHistory load(final Job<?, ?> job) {
+        final TestHistory history = new TestHistory();
+        final XmlFile file = getFile(job);
+        if (file.exists()) {
+            try {
+                file.unmarshal(history);
+            } catch (final IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to load test history of " + job.getFullName(), e);
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Records all tests executed by a build in the test history of its job.
+     *
+     * @param job
+     *            the job
+     * @param buildNumber
+     *            the build number
+     * @param actions
+     *            the test actions of the build
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    public static void record(final Job<?, ?> job, final int buildNumber,
+            final List<TestEnvInvisibleAction> actions) throws IOException {
+        synchronized (TestHistory.class) {
+            final TestHistory history = load(job);
+            for (final TestEnvInvisibleAction action : actions) {
+                history.update(buildNumber, getKey(action.getTestFolder(), action.getTestFile()),
+                        action.getTestDuration(),
+                        action.getTestResult(), action.getTestHash(), action.getTestReportDir());
+            }
+            history.prune(buildNumber);
+            getFile(job).write(history);
+        }
+    }
+
+    /**
+     * Gets the history key of a test file, which is its path relative to the test folder it has been scanned from.
+     *
+     * @param testFolder
+     *            the test folder, may be {@code null}
+     * @param testFile
+     *            the test file
+     * @return the history key
+     */
+    public static String getKey(final String testFolder, final String testFile) {
+        return testFolder == null ? testFile : PathUtil.getRelativePath(testFile, testFolder);
+    }
+
+    /**
+     * Gets the history store file of the given job.
+     *
+     * @param job
+     *            the job
+     * @return the history file
+     */
+    private static XmlFile getFile(final Job<?, ?> job) {
+        return new XmlFile(new File(job.getRootDir(), FILE_NAME));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.history;
+
+import java.io.Serializable;
+
+/**
+ * Immutable entry of the {@link TestHistory} holding the recent duration and verdict of a single test file.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class TestHistoryEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long duration;
+    private final String result;
+    private final int lastBuild;
+    private final int lastFailedBuild;
+    private final String passedHash;
+    private final String passedReportDir;
+
+    /**
+     * Instantiates a new {@link TestHistoryEntry}.
+     *
+     * @param duration
+     *            the last test duration in milliseconds
+     * @param result
+     *            the last test result
+     * @param lastBuild
+     *            the number of the last build executing the test
+     * @param lastFailedBuild
+     *            the number of the last build the test failed in, {@code 0} if never failed
+     * @param passedHash
+     *            the content hash of the last passed execution, {@code null} if unknown or failed since
+     * @param passedReportDir
+     *            the report directory of the last passed execution
+     */
+    public TestHistoryEntry(final long duration, final String result, final int lastBuild,
+            final int lastFailedBuild, final String passedHash, final String passedReportDir) {
+        this.duration = duration;
+        this.result = result;
+        this.lastBuild = lastBuild;
+        this.lastFailedBuild = lastFailedBuild;
+        this.passedHash = passedHash;
+        this.passedReportDir = passedReportDir;
+    }
+
+    /**
+     * @return the last test duration in milliseconds, {@code 0} if unknown
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return the last test result
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * @return the number of the last build executing the test
+     */
+    public int getLastBuild() {
+        return lastBuild;
+    }
+
+    /**
+     * @return the number of the last build the test failed in, {@code 0} if never failed
+     */
+    public int getLastFailedBuild() {
+        return lastFailedBuild;
+    }
+
+    /**
+     * @return the content hash of the last passed execution, {@code null} if unknown or failed since
+     */
+    public String getPassedHash() {
+        return passedHash;
+    }
+
+    /**
+     * @return the report directory of the last passed execution
+     */
+    public String getPassedReportDir() {
+        return passedReportDir;
+    }
+
+    /**
+     * @return {@code true} if the last test result is failed or erroneous, {@code false} otherwise
+     */
+    public boolean isFailed() {
+        return isFailed(result);
+    }
+
+    /**
+     * Creates the successor of this entry by a new test execution.
+     *
+     * @param buildNumber
+     *            the build number
+     * @param newDuration
+     *            the new test duration in milliseconds
+     * @param newResult
+     *            the new test result
+     * @param newHash
+     *            the content hash of the new test execution, may be {@code null}
+     * @param newReportDir
+     *            the report directory of the new test execution
+     * @return the updated entry
+     */
+    public TestHistoryEntry update(final int buildNumber, final long newDuration, final String newResult,
+            final String newHash, final String newReportDir) {
+        final boolean isPassed = isPassed(newResult) && newHash != null;
+        return new TestHistoryEntry(newDuration > 0L ? newDuration : duration, newResult, buildNumber,
+                isFailed(newResult) ? buildNumber : lastFailedBuild, isPassed ? newHash : null,
+                isPassed ? newReportDir : null);
+    }
+
+    /**
+     * Checks whether the given ECU-TEST result is failed or erroneous.
+     *
+     * @param result
+     *            the test result
+     * @return {@code true} if the result is failed or erroneous, {@code false} otherwise
+     */
+    public static boolean isFailed(final String result) {
+        return "FAILED".equals(result) || "ERROR".equals(result);
+    }
+
+    /**
+     * Checks whether the given ECU-TEST result is passed.
+     *
+     * @param result
+     *            the test result
+     * @return {@code true} if the result is passed, {@code false} otherwise
+     */
+    public static boolean isPassed(final String result) {
+        return "SUCCESS".equals(result);
+    }
+}
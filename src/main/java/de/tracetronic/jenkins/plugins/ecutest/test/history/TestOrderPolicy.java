@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.history;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Defines the policies to order the test files of a test folder by their {@link TestHistory}.
+ * <p>
+ * All policies are stable, i.e. test files with equal priority keep their scan order.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public enum TestOrderPolicy {
+
+    /**
+     * Keeps the order of the test folder scan.
+     */
+    SCAN_ORDER,
+
+    /**
+     * Executes recently failed tests first, followed by new tests and finally all other tests.
+     */
+    FAILED_FIRST,
+
+    /**
+     * Executes the tests with the shortest duration first.
+     */
+    SHORTEST_FIRST,
+
+    /**
+     * Executes the tests with the longest duration first, which balances parallel executions best.
+     */
+    LONGEST_FIRST;
+
+    /**
+     * Orders the given test files by this policy.
+     *
+     * @param testFiles
+     *            the test files in scan order
+     * @param history
+     *            the test history
+     * @return the ordered test files
+     */
+    public List<String> sort(final List<String> testFiles, final TestHistory history) {
+        return sort(null, testFiles, history);
+    }
+
+    /**
+     * Orders the given test files scanned from a test folder by this policy.
+     *
+     * @param testFolder
+     *            the test folder the test files have been scanned from, may be {@code null}
+     * @param testFiles
+     *            the test files in scan order
+     * @param history
+     *            the test history
+     * @return the ordered test files
+     */
+    public List<String> sort(final String testFolder, final List<String> testFiles, final TestHistory history) {
+        final List<String> sortedFiles = new ArrayList<String>(testFiles);
+        if (this == SCAN_ORDER || history.size() == 0) {
+            return sortedFiles;
+        }
+        final long defaultDuration = getAverageDuration(testFolder, testFiles, history);
+        // Collections.sort is stable, so ties retain the scan order
+        Collections.sort(sortedFiles, new Comparator<String>() {
+
+            @Override
+            public int compare(final String first, final String second) {
+                final TestHistoryEntry firstEntry = history.getEntry(testFolder, first);
+                final TestHistoryEntry secondEntry = history.getEntry(testFolder, second);
+                switch (TestOrderPolicy.this) {
+                    case FAILED_FIRST:
+                        return Integer.compare(getFailurePriority(secondEntry), getFailurePriority(firstEntry));
+                    case SHORTEST_FIRST:
+                        return Long.compare(getDuration(firstEntry, defaultDuration),
+                                getDuration(secondEntry, defaultDuration));
+                    case LONGEST_FIRST:
+                        return Long.compare(getDuration(secondEntry, defaultDuration),
+                                getDuration(firstEntry, defaultDuration));
+                    default:
+                        return 0;
+                }
+            }
+        });
+        return sortedFiles;
+    }
+
+    /**
+     * Gets the failure priority of a test, the higher the earlier it is executed.
+     * Recently failed tests are prioritized by the build number of their last failure,
+     * new tests are ranked before tests that have never failed.
+     *
+     * @param entry
+     *            the history entry, may be {@code null} for new tests
+     * @return the failure priority
+     */
+    private static int getFailurePriority(final TestHistoryEntry entry) {
+        if (entry == null) {
+            return 0;
+        }
+        if (entry.isFailed()) {
+            return entry.getLastFailedBuild();
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the duration of a test.
+     *
+     * @param entry
+     *            the history entry, may be {@code null} for new tests
+     * @param defaultDuration
+     *            the duration of tests without history
+     * @return the test duration in milliseconds
+     */
+    private static long getDuration(final TestHistoryEntry entry, final long defaultDuration) {
+        return entry != null && entry.getDuration() > 0L ? entry.getDuration() : defaultDuration;
+    }
+
+    /**
+     * Gets the average duration of all given test files with known duration.
+     *
+     * @param testFolder
+     *            the test folder, may be {@code null}
+     * @param testFiles
+     *            the test files
+     * @param history
+     *            the test history
+     * @return the average duration in milliseconds, {@code 0} if no duration is known
+     */
+    private static long getAverageDuration(final String testFolder, final List<String> testFiles,
+            final TestHistory history) {
+        long total = 0L;
+        int count = 0;
+        for (final String testFile : testFiles) {
+            final TestHistoryEntry entry = history.getEntry(testFolder, testFile);
+            if (entry != null && entry.getDuration() > 0L) {
+                total += entry.getDuration();
+                count++;
+            }
+        }
+        return count > 0 ? total / count : 0L;
+    }
+}
@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.scan;
+
+import hudson.Launcher;
+import hudson.remoting.Callable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.CheckForNull;
+
+import jenkins.security.MasterToSlaveCallable;
+
+import org.apache.tools.ant.DirectoryScanner;
+import org.apache.tools.ant.types.selectors.SelectorUtils;
+
+import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestListingCache.Listing;
+
+/**
+ * Directory scanner searching for both ECU-TEST packages and projects within a single directory traversal.
+ * Like Ant's {@link DirectoryScanner} the file extensions are matched case-sensitively and the default excludes,
+ * e.g. version control directories, are skipped.
+ * <p>
+ * Optionally the directory listings are cached on the executing node and reused as long as the modification time of
+ * the respective directory is unchanged, which avoids listing large unchanged test folders again on each build.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class TestFolderScanner {
+
+    /**
+     * Defines the package file extension.
+     */
+    private static final String PACKAGE_EXTENSION = ".pkg";
+
+    /**
+     * Defines the project file extension.
+     */
+    private static final String PROJECT_EXTENSION = ".prj";
+
+    private final String inputDir;
+    private final boolean recursive;
+    private final boolean cached;
+    private final transient Launcher launcher;
+
+    /**
+     * Instantiates a new {@link TestFolderScanner}.
+     *
+     * @param inputDir
+     *            the input directory
+     * @param recursive
+     *            specifies whether to scan recursively
+     * @param cached
+     *            specifies whether to cache the directory listings on the executing node
+     * @param launcher
+     *            the launcher
+     */
+    public TestFolderScanner(final String inputDir, final boolean recursive, final boolean cached,
+            final Launcher launcher) {
+        this.inputDir = inputDir;
+        this.recursive = recursive;
+        this.cached = cached;
+        this.launcher = launcher;
+    }
+
+    /**
+     * @return the input directory to scan
+     */
+    public String getInputDir() {
+        return inputDir;
+    }
+
+    /**
+     * @return {@code true} if recursive scan is enabled, {@code false} otherwise.
+     */
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    /**
+     * @return {@code true} if directory listings are cached, {@code false} otherwise.
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    /**
+     * Scans the packages and projects.
+     *
+     * @return the scan result containing the sorted packages and projects
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting for the completion
+     */
+    public ScanResult scanTestFiles() throws IOException, InterruptedException {
+        return launcher.getChannel().call(new ScanTestFolderCallable(inputDir, recursive, cached));
+    }
+
+    /**
+     * Scans the packages and projects on the local file system.
+     *
+     * @param inputDir
+     *            the input directory
+     * @param recursive
+     *            specifies whether to scan recursively
+     * @param cache
+     *            the listing cache or {@code null} if listings should not be cached
+     * @return the scan result containing the sorted packages and projects
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    static ScanResult scan(final String inputDir, final boolean recursive, @CheckForNull final TestListingCache cache)
+            throws IOException {
+        final Path root = Paths.get(inputDir).toAbsolutePath();
+        final TestFileVisitor visitor = new TestFileVisitor(root, recursive, cache);
+        Files.walkFileTree(root, visitor.getOptions(), visitor.getMaxDepth(), visitor);
+        return visitor.getResult();
+    }
+
+    /**
+     * Result of a test folder scan holding the sorted absolute paths of the found packages and projects.
+     */
+    public static final class ScanResult implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> pkgFiles;
+        private final List<String> prjFiles;
+
+        /**
+         * Instantiates a new {@link ScanResult}.
+         *
+         * @param pkgFiles
+         *            the found packages
+         * @param prjFiles
+         *            the found projects
+         */
+        public ScanResult(final List<String> pkgFiles, final List<String> prjFiles) {
+            this.pkgFiles = pkgFiles;
+            this.prjFiles = prjFiles;
+        }
+
+        /**
+         * @return the sorted absolute paths of the found packages
+         */
+        public List<String> getPackageFiles() {
+            return pkgFiles;
+        }
+
+        /**
+         * @return the sorted absolute paths of the found projects
+         */
+        public List<String> getProjectFiles() {
+            return prjFiles;
+        }
+    }
+
+    /**
+     * File visitor classifying packages and projects while traversing the directory tree.
+     * Directories with a cached listing are not listed again, only their sub-directories are visited.
+     */
+    private static final class TestFileVisitor extends SimpleFileVisitor<Path> {
+
+        private final Path root;
+        private final String[] excludes;
+        private final boolean recursive;
+        private final TestListingCache cache;
+        private final long scanTime = System.currentTimeMillis();
+        private final Deque<ListingBuilder> listings = new ArrayDeque<ListingBuilder>();
+        private final List<String> pkgFiles = new ArrayList<String>();
+        private final List<String> prjFiles = new ArrayList<String>();
+
+        /**
+         * Instantiates a new {@link TestFileVisitor}.
+         *
+         * @param root
+         *            the absolute input path
+         * @param recursive
+         *            specifies whether to scan recursively
+         * @param cache
+         *            the listing cache or {@code null} if listings should not be cached
+         */
+        TestFileVisitor(final Path root, final boolean recursive, @CheckForNull final TestListingCache cache) {
+            this.root = root;
+            excludes = DirectoryScanner.getDefaultExcludes();
+            for (int i = 0; i < excludes.length; i++) {
+                excludes[i] = excludes[i].replace('/', File.separatorChar).replace('\\', File.separatorChar);
+            }
+            this.recursive = recursive;
+            this.cache = cache;
+        }
+
+        /**
+         * @return the options to traverse the directory tree, following symbolic links
+         */
+        Set<FileVisitOption> getOptions() {
+            return EnumSet.of(FileVisitOption.FOLLOW_LINKS);
+        }
+
+        /**
+         * @return the maximum number of directory levels to visit
+         */
+        int getMaxDepth() {
+            return recursive ? Integer.MAX_VALUE : 1;
+        }
+
+        /**
+         * @return the scan result containing the sorted packages and projects
+         */
+        ScanResult getResult() {
+            Collections.sort(pkgFiles);
+            Collections.sort(prjFiles);
+            return new ScanResult(pkgFiles, prjFiles);
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
+                throws IOException {
+            if (isExcluded(dir)) {
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+            final ListingBuilder parent = listings.peek();
+            if (parent != null) {
+                parent.subDirs.add(dir.toString());
+            }
+            final long modTime = attrs.lastModifiedTime().toMillis();
+            final Listing listing = cache == null ? null : cache.get(dir.toString(), modTime);
+            if (listing == null) {
+                listings.push(new ListingBuilder(modTime));
+                return FileVisitResult.CONTINUE;
+            }
+            for (final String testFile : listing.getTestFiles()) {
+                addTestFile(testFile);
+            }
+            if (recursive) {
+                // Visit sub-directories with a detached listing, they are already part of the cached one
+                listings.push(new ListingBuilder(modTime));
+                for (final String subDir : listing.getSubDirs()) {
+                    Files.walkFileTree(Paths.get(subDir), getOptions(), getMaxDepth(), this);
+                }
+                listings.pop();
+            }
+            return FileVisitResult.SKIP_SUBTREE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+            final ListingBuilder listing = listings.peek();
+            final String filePath = file.toString();
+            if (listing == null) {
+                // Input is a single file
+                addTestFile(filePath);
+            } else if (isExcluded(file)) {
+                return FileVisitResult.CONTINUE;
+            } else if (attrs.isDirectory()) {
+                // Directories beyond the maximum depth are visited as files
+                listing.subDirs.add(filePath);
+            } else if (attrs.isRegularFile() && addTestFile(filePath)) {
+                listing.testFiles.add(filePath);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(final Path file, final IOException exc) throws IOException {
+            final ListingBuilder listing = listings.peek();
+            if (listing == null && !(exc instanceof FileSystemLoopException)) {
+                throw exc;
+            }
+            if (listing != null) {
+                listing.complete = false;
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) {
+            final ListingBuilder listing = listings.pop();
+            if (cache != null && exc == null && listing.complete) {
+                cache.put(dir.toString(), listing.build(), scanTime);
+            }
+            if (exc != null && !listings.isEmpty()) {
+                listings.peek().complete = false;
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        /**
+         * Checks whether a file or directory below the input path matches one of the default excludes.
+         *
+         * @param path
+         *            the absolute path
+         * @return {@code true} if the path is excluded, {@code false} otherwise
+         */
+        private boolean isExcluded(final Path path) {
+            final String relativePath = root.relativize(path).toString();
+            if (relativePath.isEmpty()) {
+                return false;
+            }
+            for (final String exclude : excludes) {
+                if (SelectorUtils.matchPath(exclude, relativePath, true)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Adds a test file to the result if it is a package or project.
+         *
+         * @param filePath
+         *            the absolute file path
+         * @return {@code true} if the file is a package or project, {@code false} otherwise
+         */
+        private boolean addTestFile(final String filePath) {
+            if (filePath.endsWith(PACKAGE_EXTENSION)) {
+                pkgFiles.add(filePath);
+                return true;
+            } else if (filePath.endsWith(PROJECT_EXTENSION)) {
+                prjFiles.add(filePath);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Mutable listing of a directory while it is visited.
+     */
+    private static final class ListingBuilder {
+
+        private final long modTime;
+        private final List<String> testFiles = new ArrayList<String>();
+        private final List<String> subDirs = new ArrayList<String>();
+        private boolean complete = true;
+
+        /**
+         * Instantiates a new {@link ListingBuilder}.
+         *
+         * @param modTime
+         *            the modification time of the directory
+         */
+        ListingBuilder(final long modTime) {
+            this.modTime = modTime;
+        }
+
+        /**
+         * @return the immutable listing
+         */
+        Listing build() {
+            return new Listing(modTime, testFiles, subDirs);
+        }
+    }
+
+    /**
+     * {@link Callable} providing remote access to scan a directory for packages and projects.
+     */
+    private static final class ScanTestFolderCallable extends MasterToSlaveCallable<ScanResult, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String inputDir;
+        private final boolean recursive;
+        private final boolean cached;
+
+        /**
+         * Instantiates a new {@link ScanTestFolderCallable}.
+         *
+         * @param inputDir
+         *            the input directory
+         * @param recursive
+         *            specifies whether to scan recursively
+         * @param cached
+         *            specifies whether to cache the directory listings
+         */
+        ScanTestFolderCallable(final String inputDir, final boolean recursive, final boolean cached) {
+            this.inputDir = inputDir;
+            this.recursive = recursive;
+            this.cached = cached;
+        }
+
+        @Override
+        public ScanResult call() throws IOException {
+            return scan(inputDir, recursive, cached ? TestListingCache.getInstance() : null);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.scan;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Singleton class caching directory listings on the executing node, keyed by the directory modification time.
+ * <p>
+ * Adding, removing or renaming an entry updates the modification time of the containing directory, so a cached
+ * listing stays valid as long as the modification time is unchanged. Listings of directories modified within
+ * {@link #RACY_INTERVAL} before the scan are not cached, because further changes might not be reflected by the
+ * timestamp resolution of the file system.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+final class TestListingCache {
+
+    /**
+     * Defines the maximum number of cached directory listings.
+     */
+    static final int MAX_ENTRIES = 10000;
+
+    /**
+     * Defines the interval in milliseconds a directory must be unmodified before its listing is cached.
+     */
+    static final long RACY_INTERVAL = 2000L;
+
+    private final Map<String, Listing> listings = new LinkedHashMap<String, Listing>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Entry<String, Listing> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Private constructor.
+     */
+    private TestListingCache() {
+    }
+
+    /**
+     * Gets the cached listing of a directory.
+     *
+     * @param dir
+     *            the absolute directory path
+     * @param modTime
+     *            the current modification time of the directory
+     * @return the cached listing or {@code null} if not cached or outdated
+     */
+    @CheckForNull
+    synchronized Listing get(final String dir, final long modTime) {
+        final Listing listing = listings.get(dir);
+        if (listing == null) {
+            return null;
+        }
+        if (listing.getModTime() != modTime) {
+            listings.remove(dir);
+            return null;
+        }
+        return listing;
+    }
+
+    /**
+     * Caches the listing of a directory unless it has been modified too recently.
+     *
+     * @param dir
+     *            the absolute directory path
+     * @param listing
+     *            the listing
+     * @param scanTime
+     *            the time in milliseconds the scan has been started
+     */
+    synchronized void put(final String dir, final Listing listing, final long scanTime) {
+        if (scanTime - listing.getModTime() > RACY_INTERVAL) {
+            listings.put(dir, listing);
+        } else {
+            listings.remove(dir);
+        }
+    }
+
+    /**
+     * @return the number of cached listings
+     */
+    synchronized int size() {
+        return listings.size();
+    }
+
+    /**
+     * Clears all cached listings.
+     */
+    synchronized void clear() {
+        listings.clear();
+    }
+
+    /**
+     * Immutable listing of the test files and sub-directories of a single directory.
+     */
+    static final class Listing {
+
+        private final long modTime;
+        private final List<String> testFiles;
+        private final List<String> subDirs;
+
+        /**
+         * Instantiates a new {@link Listing}.
+         *
+         * @param modTime
+         *            the modification time of the directory
+         * @param testFiles
+         *            the absolute paths of the contained test files
+         * @param subDirs
+         *            the absolute paths of the contained sub-directories
+         */
+        Listing(final long modTime, final List<String> testFiles, final List<String> subDirs) {
+            this.modTime = modTime;
+            this.testFiles = Collections.unmodifiableList(testFiles);
+            this.subDirs = Collections.unmodifiableList(subDirs);
+        }
+
+        /**
+         * @return the modification time of the directory
+         */
+        long getModTime() {
+            return modTime;
+        }
+
+        /**
+         * @return the absolute paths of the contained test files
+         */
+        List<String> getTestFiles() {
+            return testFiles;
+        }
+
+        /**
+         * @return the absolute paths of the contained sub-directories
+         */
+        List<String> getSubDirs() {
+            return subDirs;
+        }
+    }
+
+    /**
+     * Initializes and holds the singleton for this class.
+     */
+    private static final class SingletonHolder {
+
+        private static final TestListingCache INSTANCE = new TestListingCache();
+
+        /**
+         * Private constructor.
+         */
+        private SingletonHolder() {
+            throw new UnsupportedOperationException("Singleton class");
+        }
+    }
+
+    /**
+     * Returns the current instance of {@link TestListingCache}.
+     *
+     * @return the singleton instance
+     */
+    static TestListingCache getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.shard;
+
+import hudson.model.InvisibleAction;
+import hudson.model.Run;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import de.tracetronic.jenkins.plugins.ecutest.test.history.TestHistory;
+
+/**
+ * Invisible action holding the snapshot of the test durations used to partition the tests of a build into shards.
+ * <p>
+ * The snapshot is taken by the first shard of a build and shared by all further shards, e.g. running in parallel
+ * branches, so that all of them compute the same partition even if the test history of the job changes meanwhile.
+ * Shards running in different builds partition the tests by the test history available to each build.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ShardDurationsAction extends InvisibleAction {
+
+    private final Map<String, Long> durations;
+
+    /**
+     * Instantiates a new {@link ShardDurationsAction}.
+     *
+     * @param durations
+     *            the test durations in milliseconds mapped by history key
+     */
+    public ShardDurationsAction(final Map<String, Long> durations) {
+        super();
+        this.durations = new TreeMap<String, Long>(durations);
+    }
+
+    /**
+     * @return the test durations in milliseconds mapped by history key
+     */
+    public Map<String, Long> getDurations() {
+        return Collections.unmodifiableMap(durations);
+    }
+
+    /**
+     * Gets the test durations of the given build, taking the snapshot from the test history if not yet done.
+     *
+     * @param run
+     *            the run
+     * @param history
+     *            the test history of the job
+     * @return the test durations in milliseconds mapped by history key
+     */
+    public static Map<String, Long> getDurations(final Run<?, ?> run, final TestHistory history) {
+        synchronized (run) {
+            ShardDurationsAction action = run.getAction(ShardDurationsAction.class);
+            if (action == null) {
+                action = new ShardDurationsAction(history.getDurations());
+                run.addAction(action);
+            }
+            return action.getDurations();
+        }
+    }
+}
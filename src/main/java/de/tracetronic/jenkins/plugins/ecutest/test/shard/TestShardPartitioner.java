@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.shard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import de.tracetronic.jenkins.plugins.ecutest.util.PathUtil;
+
+/**
+ * Partitions a list of test files into a number of shards.
+ * <p>
+ * The partitioning is deterministic for the same input, so every shard computes the same distribution independently
+ * and each test file is executed by exactly one shard. Test files scanned from a test folder are partitioned by their
+ * sorted paths relative to that folder, which makes the distribution independent of the workspace location and the
+ * scan order on each node.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class TestShardPartitioner {
+
+    /**
+     * Instantiates a new {@link TestShardPartitioner}.
+     */
+    private TestShardPartitioner() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Gets the test files of a test folder shard by distributing the sorted relative test files in round-robin order.
+     *
+     * @param testFolder
+     *            the test folder the test files have been scanned from
+     * @param testFiles
+     *            the test files to partition
+     * @param shardCount
+     *            the number of shards
+     * @param shardIndex
+     *            the zero-based index of the requested shard
+     * @return the test files of the requested shard sorted by relative path
+     */
+    public static List<String> partitionRoundRobin(final String testFolder, final List<String> testFiles,
+            final int shardCount, final int shardIndex) {
+        final Map<String, String> relativeFiles = getRelativeFiles(testFolder, testFiles);
+        final List<String> shardFiles = partitionRoundRobin(new ArrayList<String>(relativeFiles.keySet()),
+                shardCount, shardIndex);
+        return getFiles(shardFiles, relativeFiles);
+    }
+
+    /**
+     * Gets the test files of a test folder shard by balancing the historical test durations across all shards.
+     *
+     * @param testFolder
+     *            the test folder the test files have been scanned from
+     * @param testFiles
+     *            the test files to partition
+     * @param durations
+     *            the historical durations in milliseconds mapped by test file relative to the test folder
+     * @param shardCount
+     *            the number of shards
+     * @param shardIndex
+     *            the zero-based index of the requested shard
+     * @return the test files of the requested shard sorted by relative path
+     * @see #partitionByDuration(List, Map, int, int)
+     */
+    public static List<String> partitionByDuration(final String testFolder, final List<String> testFiles,
+            final Map<String, Long> durations, final int shardCount, final int shardIndex) {
+        final Map<String, String> relativeFiles = getRelativeFiles(testFolder, testFiles);
+        final List<String> shardFiles = partitionByDuration(new ArrayList<String>(relativeFiles.keySet()),
+                durations, shardCount, shardIndex);
+        return getFiles(shardFiles, relativeFiles);
+    }
+
+    /**
+     * Gets the test files of a shard by distributing the test files in round-robin order.
+     *
+     * @param testFiles
+     *            the test files to partition
+     * @param shardCount
+     *            the number of shards
+     * @param shardIndex
+     *            the zero-based index of the requested shard
+     * @return the test files of the requested shard in original order
+     */
+    public static List<String> partitionRoundRobin(final List<String> testFiles, final int shardCount,
+            final int shardIndex) {
+        checkShard(shardCount, shardIndex);
+        final List<String> shardFiles = new ArrayList<String>();
+        for (int i = shardIndex; i < testFiles.size(); i += shardCount) {
+            shardFiles.add(testFiles.get(i));
+        }
+        return shardFiles;
+    }
+
+    /**
+     * Gets the test files of a shard by balancing the historical test durations across all shards.
+     * <p>
+     * Uses the longest processing time first heuristic: the test files are sorted by descending duration and each is
+     * assigned to the shard with the lowest total duration so far. Test files without known duration are weighted by
+     * the average of all known durations. Falls back to round-robin if no duration is known at all.
+     *
+     * @param testFiles
+     *            the test files to partition
+     * @param durations
+     *            the historical durations in milliseconds mapped by test file
+     * @param shardCount
+     *            the number of shards
+     * @param shardIndex
+     *            the zero-based index of the requested shard
+     * @return the test files of the requested shard in original order
+     */
+    public static List<String> partitionByDuration(final List<String> testFiles, final Map<String, Long> durations,
+            final int shardCount, final int shardIndex) {
+        checkShard(shardCount, shardIndex);
+        final long defaultDuration = getAverageDuration(testFiles, durations);
+        if (defaultDuration == 0L) {
+            return partitionRoundRobin(testFiles, shardCount, shardIndex);
+        }
+
+        final List<Integer> order = new ArrayList<Integer>();
+        final long[] weights = new long[testFiles.size()];
+        for (int i = 0; i < testFiles.size(); i++) {
+            final Long duration = durations.get(testFiles.get(i));
+            weights[i] = duration != null && duration > 0L ? duration : defaultDuration;
+            order.add(i);
+        }
+        Collections.sort(order, new Comparator<Integer>() {
+
+            @Override
+            public int compare(final Integer first, final Integer second) {
+                final int result = Long.compare(weights[second], weights[first]);
+                return result != 0 ? result : Integer.compare(first, second);
+            }
+        });
+
+        final long[] loads = new long[shardCount];
+        final boolean[] selected = new boolean[testFiles.size()];
+        for (final int index : order) {
+            int minShard = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (loads[shard] < loads[minShard]) {
+                    minShard = shard;
+                }
+            }
+            loads[minShard] += weights[index];
+            selected[index] = minShard == shardIndex;
+        }
+
+        final List<String> shardFiles = new ArrayList<String>();
+        for (int i = 0; i < testFiles.size(); i++) {
+            if (selected[i]) {
+                shardFiles.add(testFiles.get(i));
+            }
+        }
+        return shardFiles;
+    }
+
+    /**
+     * Maps the test files by their paths relative to the test folder in sorted order.
+     *
+     * @param testFolder
+     *            the test folder
+     * @param testFiles
+     *            the test files
+     * @return the test files mapped by relative path
+     */
+    private static Map<String, String> getRelativeFiles(final String testFolder, final List<String> testFiles) {
+        final Map<String, String> relativeFiles = new TreeMap<String, String>();
+        for (final String testFile : testFiles) {
+            relativeFiles.put(PathUtil.getRelativePath(testFile, testFolder), testFile);
+        }
+        return relativeFiles;
+    }
+
+    /**
+     * Maps the relative test files back to the original test files.
+     *
+     * @param shardFiles
+     *            the relative test files of the shard
+     * @param relativeFiles
+     *            the original test files mapped by relative path
+     * @return the original test files
+     */
+    private static List<String> getFiles(final List<String> shardFiles, final Map<String, String> relativeFiles) {
+        final List<String> files = new ArrayList<String>();
+        for (final String shardFile : shardFiles) {
+            files.add(relativeFiles.get(shardFile));
+        }
+        return files;
+    }
+
+    /**
+     * Gets the average of all known durations of the given test files.
+     *
+     * @param testFiles
+     *            the test files
+     * @param durations
+     *            the durations mapped by test file
+     * @return the average duration or {@code 0} if no duration is known
+     */
+    private static long getAverageDuration(final List<String> testFiles, final Map<String, Long> durations) {
+        long total = 0L;
+        int count = 0;
+        for (final String testFile : testFiles) {
+            final Long duration = durations.get(testFile);
+            if (duration != null && duration > 0L) {
+                total += duration;
+                count++;
+            }
+        }
+        return count > 0 ? total / count : 0L;
+    }
+
+    /**
+     * Checks the shard settings.
+     *
+     * @param shardCount
+     *            the number of shards
+     * @param shardIndex
+     *            the zero-based index of the requested shard
+     */
+    private static void checkShard(final int shardCount, final int shardIndex) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException(String.format("Invalid shard %d of %d!", shardIndex, shardCount));
+        }
+    }
+}
@@ -55,6 +55,7 @@ import org.kohsuke.stapler.DataBoundSetter;
 import de.tracetronic.jenkins.plugins.ecutest.ETPluginException;
 import de.tracetronic.jenkins.plugins.ecutest.env.ToolEnvInvisibleAction;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.profile.ComProfileAction;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
 import de.tracetronic.jenkins.plugins.ecutest.util.ProcessUtil;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComProperty;
@@ -118,9 +119,10 @@ public abstract class AbstractToolBuilder extends Builder implements SimpleBuild
     public void perform(final Run<?, ?> run, final FilePath workspace, final Launcher launcher,
             final TaskListener listener) throws InterruptedException, IOException {
 
+        final Launcher scopedLauncher = ComProfileAction.scope(run, launcher);
         try {
-            ProcessUtil.checkOS(launcher);
-            performTool(run, workspace, launcher, listener);
+            ProcessUtil.checkOS(scopedLauncher);
+            performTool(run, workspace, scopedLauncher, listener);
         } catch (final IOException e) {
             Util.displayIOException(e, listener);
             throw e;
@@ -128,6 +130,8 @@ public abstract class AbstractToolBuilder extends Builder implements SimpleBuild
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             logger.logError(e.getMessage());
             throw new AbortException(e.getMessage());
+        } finally {
+            ComProfileAction.collect(run, launcher);
         }
     }
 
@@ -57,6 +57,7 @@ import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.report.log.ETLogPublisher;
 import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
+import de.tracetronic.jenkins.plugins.ecutest.tool.pool.ETInstancePool;
 import de.tracetronic.jenkins.plugins.ecutest.util.EnvUtil;
 import de.tracetronic.jenkins.plugins.ecutest.util.PathUtil;
 
@@ -72,6 +73,11 @@ public class StartETBuilder extends AbstractToolBuilder {
      */
     public static final int DEFAULT_TIMEOUT = 120;
 
+    /**
+     * Defines the default number of builds served by a warm ECU-TEST instance before recycling it.
+     */
+    public static final int DEFAULT_MAX_BUILDS = 20;
+
     @CheckForNull
     private String workspaceDir;
     /**
@@ -84,6 +90,15 @@ public class StartETBuilder extends AbstractToolBuilder {
      * @since 1.18
      */
     private boolean keepInstance;
+    /**
+     * @since 2.1
+     */
+    private boolean warmInstance;
+    /**
+     * @since 2.1
+     */
+    @CheckForNull
+    private String maxBuilds;
 
     /**
      * Instantiates a new {@link StartETBuilder}.
@@ -134,6 +149,21 @@ public class StartETBuilder extends AbstractToolBuilder {
         return keepInstance;
     }
 
+    /**
+     * @return specifies whether to lease the warm instance of the executing node
+     */
+    public boolean isWarmInstance() {
+        return warmInstance;
+    }
+
+    /**
+     * @return the maximum number of builds served by a warm instance before recycling it
+     */
+    @Nonnull
+    public String getMaxBuilds() {
+        return StringUtils.defaultIfBlank(maxBuilds, String.valueOf(DEFAULT_MAX_BUILDS));
+    }
+
     /**
      * @param workspaceDir
      *            the workspace directory
@@ -170,11 +200,29 @@ public class StartETBuilder extends AbstractToolBuilder {
         this.keepInstance = keepInstance;
     }
 
+    /**
+     * @param warmInstance
+     *            specifies whether to lease the warm instance of the executing node
+     */
+    @DataBoundSetter
+    public void setWarmInstance(final boolean warmInstance) {
+        this.warmInstance = warmInstance;
+    }
+
+    /**
+     * @param maxBuilds
+     *            the maximum number of builds served by a warm instance before recycling it
+     */
+    @DataBoundSetter
+    public void setMaxBuilds(@CheckForNull final String maxBuilds) {
+        this.maxBuilds = StringUtils.defaultIfBlank(maxBuilds, String.valueOf(DEFAULT_MAX_BUILDS));
+    }
+
     @Override
     public void performTool(final Run<?, ?> run, final FilePath workspace, final Launcher launcher,
             final TaskListener listener) throws InterruptedException, IOException, ETPluginException {
         final List<String> foundProcesses = ETClient.checkProcesses(launcher, false);
-        if (isKeepInstance() && !foundProcesses.isEmpty()) {
+        if (isKeepInstance() && !isWarmInstance() && !foundProcesses.isEmpty()) {
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             logger.logInfo("Re-using already running ECU-TEST instance...");
         } else {
@@ -208,9 +256,17 @@ public class StartETBuilder extends AbstractToolBuilder {
             // Start selected ECU-TEST
             final String toolName = run.getEnvironment(listener).expand(installation.getName());
             final String installPath = installation.getExecutable(launcher);
-            final ETClient etClient = new ETClient(toolName, installPath, expWorkspaceDir, expSettingsDir,
+            ETClient etClient = new ETClient(toolName, installPath, expWorkspaceDir, expSettingsDir,
                     expTimeout, isDebugMode());
-            if (!etClient.start(true, workspace, launcher, listener)) {
+            if (isWarmInstance()) {
+                final int expMaxBuilds = Integer.parseInt(EnvUtil.expandEnvVar(getMaxBuilds(), buildEnvVars,
+                        String.valueOf(DEFAULT_MAX_BUILDS)));
+                etClient = ETInstancePool.getInstance().lease(run, etClient, expMaxBuilds, workspace, launcher,
+                        listener);
+                if (etClient == null) {
+                    throw new ETPluginException(String.format("Leasing warm %s instance failed!", toolName));
+                }
+            } else if (!etClient.start(true, workspace, launcher, listener)) {
                 throw new ETPluginException(String.format("Starting %s failed!", toolName));
             }
 
@@ -287,5 +343,23 @@ public class StartETBuilder extends AbstractToolBuilder {
         public FormValidation doCheckSettingsDir(@QueryParameter final String value) {
             return toolValidator.validateSettingsDir(value);
         }
+
+        /**
+         * @return the default maximum number of builds served by a warm instance
+         */
+        public int getDefaultMaxBuilds() {
+            return DEFAULT_MAX_BUILDS;
+        }
+
+        /**
+         * Validates the maximum number of builds served by a warm instance.
+         *
+         * @param value
+         *            the maximum number of builds
+         * @return the form validation
+         */
+        public FormValidation doCheckMaxBuilds(@QueryParameter final String value) {
+            return toolValidator.validateMaxBuilds(value);
+        }
     }
 }
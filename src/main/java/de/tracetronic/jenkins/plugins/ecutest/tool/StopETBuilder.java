@@ -44,8 +44,10 @@ import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.DataBoundConstructor;
 
 import de.tracetronic.jenkins.plugins.ecutest.ETPluginException;
+import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
+import de.tracetronic.jenkins.plugins.ecutest.tool.pool.ETInstancePool;
 import de.tracetronic.jenkins.plugins.ecutest.util.EnvUtil;
 
 /**
@@ -82,6 +84,13 @@ public class StopETBuilder extends AbstractToolBuilder {
     @Override
     public void performTool(final Run<?, ?> run, final FilePath workspace, final Launcher launcher,
             final TaskListener listener) throws InterruptedException, IOException, ETPluginException {
+        // Return leased warm instance to the pool instead of stopping it
+        if (ETInstancePool.getInstance().release(run)) {
+            final TTConsoleLogger logger = new TTConsoleLogger(listener);
+            logger.logInfo("Released warm ECU-TEST instance, keeping it running for further builds.");
+            return;
+        }
+
         // Get selected ECU-TEST installation
         final ETInstallation installation = configureToolInstallation(workspace.toComputer(), listener,
                 run.getEnvironment(listener));
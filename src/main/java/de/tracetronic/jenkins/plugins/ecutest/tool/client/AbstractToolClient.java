@@ -36,10 +36,13 @@ import hudson.util.ArgumentListBuilder;
 
 import java.io.IOException;
 
+import javax.annotation.CheckForNull;
+
 import org.apache.commons.lang.StringUtils;
 
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
+import de.tracetronic.jenkins.plugins.ecutest.util.process.TrackedProcess;
 
 /**
  * Common base class for {@link ETClient} and {@link TSClient}.
@@ -51,6 +54,7 @@ public abstract class AbstractToolClient implements ToolClient {
     private final String toolName;
     private final String installPath;
     private final int timeout;
+    private TrackedProcess process;
 
     /**
      * Instantiates a new {@link AbstractToolClient}.
@@ -103,6 +107,14 @@ public abstract class AbstractToolClient implements ToolClient {
         return timeout;
     }
 
+    /**
+     * @return the process launched by this client or {@code null} if not launched or not tracked
+     */
+    @CheckForNull
+    public TrackedProcess getProcess() {
+        return process;
+    }
+
     /**
      * Creates the command line string for a process invocation.
      *
@@ -110,6 +122,21 @@ public abstract class AbstractToolClient implements ToolClient {
      */
     protected abstract ArgumentListBuilder createCmdLine();
 
+    /**
+     * Tracks the launched tool process on the executing node, so that further process checks directly query its
+     * process id instead of scanning the whole process table.
+     *
+     * @param launcher
+     *            the launcher
+     * @return the tracked process or {@code null} if no matching process is running
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting for the completion
+     */
+    @CheckForNull
+    protected abstract TrackedProcess trackProcess(Launcher launcher) throws IOException, InterruptedException;
+
     /**
      * Launches a process by using {@link ArgumentListBuilder} and waits for start up within a given timeout.
      *
@@ -143,7 +170,12 @@ public abstract class AbstractToolClient implements ToolClient {
                     Thread.sleep(1000L);
                 }
             }
-            if (!isStarted) {
+            if (isStarted) {
+                this.process = trackProcess(launcher);
+                if (this.process != null) {
+                    logger.logDebug(String.format("-> Tracking process id %d", this.process.getPid()));
+                }
+            } else {
                 logger.logError(String.format("-> Timeout of %d seconds reached!", getTimeout()));
             }
         } catch (final IOException e) {
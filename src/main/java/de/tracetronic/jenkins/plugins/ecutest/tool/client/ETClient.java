@@ -49,6 +49,8 @@ import de.tracetronic.jenkins.plugins.ecutest.tool.StartETBuilder;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
 import de.tracetronic.jenkins.plugins.ecutest.util.DllUtil;
 import de.tracetronic.jenkins.plugins.ecutest.util.ProcessUtil;
+import de.tracetronic.jenkins.plugins.ecutest.util.process.TrackedProcess;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComCache;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComProperty;
@@ -284,6 +286,11 @@ public class ETClient extends AbstractToolClient {
         return args;
     }
 
+    @Override
+    protected TrackedProcess trackProcess(final Launcher launcher) throws IOException, InterruptedException {
+        return launcher.getChannel().call(new TrackProcessCallable());
+    }
+
     /**
      * Checks already opened ECU-TEST instances.
      *
@@ -389,9 +396,11 @@ public class ETClient extends AbstractToolClient {
             String version = "";
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             final String progId = ETComProperty.getInstance().getProgId();
+            final ETComCache cache = ETComCache.getInstance();
             try (ETComClient comClient = new ETComClient(progId, timeout)) {
                 if (comClient.isApplicationRunning()) {
                     version = comClient.getVersion();
+                    cache.putVersion(version);
                 }
             } catch (final ETComException e) {
                 logger.logComException(e.getMessage());
@@ -441,6 +450,7 @@ public class ETClient extends AbstractToolClient {
             } catch (final ETComException e) {
                 logger.logComException(e.getMessage());
             } finally {
+                ETComCache.getInstance().invalidate();
                 if (checkProcesses) {
                     final List<String> foundProcesses = ProcessUtil.checkETProcesses(true);
                     if (!foundProcesses.isEmpty()) {
@@ -452,6 +462,19 @@ public class ETClient extends AbstractToolClient {
         }
     }
 
+    /**
+     * {@link Callable} providing remote access to track the launched ECU-TEST process.
+     */
+    private static final class TrackProcessCallable extends MasterToSlaveCallable<TrackedProcess, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public TrackedProcess call() throws IOException {
+            return ProcessUtil.trackETProcess();
+        }
+    }
+
     /**
      * {@link Callable} providing remote access to check open ECU-TEST processes.
      */
@@ -473,6 +496,9 @@ public class ETClient extends AbstractToolClient {
 
         @Override
         public List<String> call() throws IOException {
+            if (kill) {
+                ETComCache.getInstance().invalidate();
+            }
             return ProcessUtil.checkETProcesses(kill);
         }
     }
@@ -498,11 +524,17 @@ public class ETClient extends AbstractToolClient {
 
         @Override
         public String call() throws IOException {
-            String comVersion = "";
+            final ETComCache cache = ETComCache.getInstance();
+            String comVersion = cache.getVersion();
+            if (comVersion != null) {
+                return comVersion;
+            }
+            comVersion = "";
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             final String progId = ETComProperty.getInstance().getProgId();
             try (ETComClient comClient = new ETComClient(progId)) {
                 comVersion = comClient.getVersion();
+                cache.putVersion(comVersion);
             } catch (final ETComException e) {
                 logger.logError("-> Caught COM exception: " + e.getMessage());
             }
@@ -531,13 +563,19 @@ public class ETClient extends AbstractToolClient {
 
         @Override
         public String call() throws IOException {
-            String tbcFilePath = "";
+            final ETComCache cache = ETComCache.getInstance();
+            String tbcFilePath = cache.getLastTbc();
+            if (tbcFilePath != null) {
+                return tbcFilePath;
+            }
+            tbcFilePath = "";
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             final String progId = ETComProperty.getInstance().getProgId();
             try (ETComClient comClient = new ETComClient(progId);
                     TestBenchConfiguration tbc = (TestBenchConfiguration)
                             comClient.getCurrentTestBenchConfiguration()) {
                 tbcFilePath = StringUtils.trimToEmpty(tbc.getFileName());
+                cache.putLastTbc(tbcFilePath);
             } catch (final ETComException e) {
                 logger.logError("-> Caught COM exception: " + e.getMessage());
             }
@@ -566,12 +604,18 @@ public class ETClient extends AbstractToolClient {
 
         @Override
         public String call() throws IOException {
-            String tcfFilePath = "";
+            final ETComCache cache = ETComCache.getInstance();
+            String tcfFilePath = cache.getLastTcf();
+            if (tcfFilePath != null) {
+                return tcfFilePath;
+            }
+            tcfFilePath = "";
             final TTConsoleLogger logger = new TTConsoleLogger(listener);
             final String progId = ETComProperty.getInstance().getProgId();
             try (ETComClient comClient = new ETComClient(progId);
                     TestConfiguration tcf = (TestConfiguration) comClient.getCurrentTestConfiguration()) {
                 tcfFilePath = StringUtils.trimToEmpty(tcf.getFileName());
+                cache.putLastTcf(tcfFilePath);
             } catch (final ETComException e) {
                 logger.logError("-> Caught COM exception: " + e.getMessage());
             }
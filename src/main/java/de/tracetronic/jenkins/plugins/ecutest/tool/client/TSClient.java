@@ -45,6 +45,7 @@ import org.apache.commons.lang.StringUtils;
 import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
 import de.tracetronic.jenkins.plugins.ecutest.tool.installation.ETInstallation;
 import de.tracetronic.jenkins.plugins.ecutest.util.ProcessUtil;
+import de.tracetronic.jenkins.plugins.ecutest.util.process.TrackedProcess;
 
 /**
  * Client to start and stop the Tool-Server via command line execution.
@@ -169,6 +170,11 @@ public class TSClient extends AbstractToolClient {
         return args;
     }
 
+    @Override
+    protected TrackedProcess trackProcess(final Launcher launcher) throws IOException, InterruptedException {
+        return launcher.getChannel().call(new TrackProcessCallable());
+    }
+
     /**
      * Checks already opened Tool-Server instances.
      *
@@ -242,6 +248,19 @@ public class TSClient extends AbstractToolClient {
         }
     }
 
+    /**
+     * {@link Callable} providing remote access to track the launched Tool-Server process.
+     */
+    private static final class TrackProcessCallable extends MasterToSlaveCallable<TrackedProcess, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public TrackedProcess call() throws IOException {
+            return ProcessUtil.trackTSProcess();
+        }
+    }
+
     /**
      * {@link Callable} providing remote access to check open Tool-Server processes.
      */
@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.tool.pool;
+
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.Computer;
+import hudson.model.Result;
+import hudson.model.TaskListener;
+import hudson.model.Run;
+import hudson.remoting.Callable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import javax.annotation.CheckForNull;
+
+import jenkins.security.MasterToSlaveCallable;
+
+import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
+import de.tracetronic.jenkins.plugins.ecutest.util.DllUtil;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComCache;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComClient;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComException;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComProperty;
+
+/**
+ * Singleton class managing one warm ECU-TEST instance per node, which is kept running between builds.
+ * <p>
+ * Builds lease the instance of the executing node exclusively, waiting until a concurrent lease is released. Before
+ * each lease the instance is checked for health via COM and reset by unloading the configurations of the previous
+ * build. The instance is recycled, i.e. stopped and started again, if its configuration differs from the requested
+ * one, if it served the maximum number of builds, if the health check or reset fails or if the previous build
+ * holding the lease failed.
+ * <p>
+ * The lease is released by {@link de.tracetronic.jenkins.plugins.ecutest.tool.StopETBuilder}, when the Pipeline node
+ * block holding the lease is left or, at the latest, when the build is completed.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ETInstancePool {
+
+    private final Map<String, NodeSlot> slots = new HashMap<String, NodeSlot>();
+
+    /**
+     * Private constructor.
+     */
+    private ETInstancePool() {
+    }
+
+    /**
+     * Leases the warm ECU-TEST instance of the executing node for the given build. Starts a new instance with the
+     * given client if no reusable instance is available.
+     *
+     * @param run
+     *            the build leasing the instance
+     * @param etClient
+     *            the ECU-TEST client holding the requested configuration
+     * @param maxBuilds
+     *            the maximum number of builds served by an instance before recycling it, 0 to disable recycling
+     * @param workspace
+     *            the workspace
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return the client of the leased instance or {@code null} if starting ECU-TEST failed
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the build gets interrupted while waiting for the lease
+     */
+    @CheckForNull
+    public ETClient lease(final Run<?, ?> run, final ETClient etClient, final int maxBuilds,
+            final FilePath workspace, final Launcher launcher, final TaskListener listener)
+            throws IOException, InterruptedException {
+        final TTConsoleLogger logger = new TTConsoleLogger(listener);
+        final String nodeName = getNodeName(workspace);
+        final NodeSlot slot = getSlot(nodeName);
+        final WarmInstance leasedInstance = slot.getInstance();
+        if (leasedInstance != null && run.getExternalizableId().equals(slot.getHolder())) {
+            logger.logInfo("Re-using warm ECU-TEST instance already leased by this build...");
+            return leasedInstance.getClient();
+        }
+
+        logger.logInfo("Leasing warm ECU-TEST instance...");
+        final long waitStartMillis = System.currentTimeMillis();
+        slot.acquire();
+        final long waitMillis = System.currentTimeMillis() - waitStartMillis;
+
+        boolean isLeased = false;
+        try {
+            WarmInstance instance = slot.getInstance();
+            if (instance != null) {
+                String reason = instance.getRecycleReason(createKey(etClient), maxBuilds);
+                if (reason == null && !reset(workspace, launcher, listener)) {
+                    reason = "health check or reset failed";
+                }
+                if (reason != null) {
+                    logger.logInfo(String.format("Recycling warm %s instance: %s.",
+                            instance.getClient().getToolName(), reason));
+                    instance.getClient().stop(true, workspace, launcher, listener);
+                    slot.setInstance(null);
+                    instance = null;
+                }
+            }
+            if (instance == null) {
+                if (!etClient.start(true, workspace, launcher, listener)) {
+                    return null;
+                }
+                instance = new WarmInstance(etClient, createKey(etClient));
+                slot.setInstance(instance);
+            }
+            final int builds = instance.lease();
+            final long ageMillis = instance.getAgeMillis();
+            logger.logInfo(String.format("Leased warm %s instance after %d ms (age: %d s, build %d).",
+                    instance.getClient().getToolName(), waitMillis, ageMillis / 1000L, builds));
+            slot.setHolder(run.getExternalizableId());
+            run.addAction(new WarmInstanceAction(nodeName, waitMillis, ageMillis, builds));
+            isLeased = true;
+            return instance.getClient();
+        } finally {
+            if (!isLeased) {
+                slot.release();
+            }
+        }
+    }
+
+    /**
+     * Releases the instance leased by the given build. The instance is recycled on its next lease if the build
+     * has failed or has been aborted so far. Does nothing if the build holds no lease.
+     *
+     * @param run
+     *            the build holding the lease
+     * @return {@code true} if a lease has been released, {@code false} otherwise
+     */
+    public boolean release(final Run<?, ?> run) {
+        return release(run, null, isRecycleRequired(run));
+    }
+
+    /**
+     * Releases the instance of the given node leased by the given build, e.g. when a Pipeline node block is left.
+     * The instance is recycled on its next lease if the build has failed or has been aborted so far. Does nothing
+     * if the build holds no lease on this node.
+     *
+     * @param run
+     *            the build holding the lease
+     * @param nodeName
+     *            the node name, empty for the master
+     * @return {@code true} if a lease has been released, {@code false} otherwise
+     */
+    public boolean release(final Run<?, ?> run, final String nodeName) {
+        return release(run, nodeName, isRecycleRequired(run));
+    }
+
+    /**
+     * Releases the instance leased by the given build on the given or any node.
+     *
+     * @param run
+     *            the build holding the lease
+     * @param nodeName
+     *            the node name or {@code null} to release the lease on any node
+     * @param recycle
+     *            specifies whether to recycle the instance on its next lease
+     * @return {@code true} if a lease has been released, {@code false} otherwise
+     */
+    private boolean release(final Run<?, ?> run, @CheckForNull final String nodeName, final boolean recycle) {
+        final String runId = run.getExternalizableId();
+        synchronized (slots) {
+            for (final Map.Entry<String, NodeSlot> entry : slots.entrySet()) {
+                final NodeSlot slot = entry.getValue();
+                if ((nodeName == null || nodeName.equals(entry.getKey())) && runId.equals(slot.getHolder())) {
+                    final WarmInstance instance = slot.getInstance();
+                    if (recycle && instance != null) {
+                        instance.markBroken();
+                    }
+                    slot.setHolder(null);
+                    slot.release();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the given build currently holds a lease.
+     *
+     * @param run
+     *            the build
+     * @return {@code true} if the build holds a lease, {@code false} otherwise
+     */
+    public boolean isLeased(final Run<?, ?> run) {
+        final String runId = run.getExternalizableId();
+        synchronized (slots) {
+            for (final NodeSlot slot : slots.values()) {
+                if (runId.equals(slot.getHolder())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the slot of the given node, creating it if not existing yet.
+     *
+     * @param nodeName
+     *            the node name
+     * @return the node slot
+     */
+    private NodeSlot getSlot(final String nodeName) {
+        synchronized (slots) {
+            NodeSlot slot = slots.get(nodeName);
+            if (slot == null) {
+                slot = new NodeSlot();
+                slots.put(nodeName, slot);
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Checks the health of the running ECU-TEST instance and resets it for the next build.
+     *
+     * @param workspace
+     *            the workspace
+     * @param launcher
+     *            the launcher
+     * @param listener
+     *            the listener
+     * @return {@code true} if the instance is healthy and has been reset, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting for the completion
+     */
+    private static boolean reset(final FilePath workspace, final Launcher launcher, final TaskListener listener)
+            throws IOException, InterruptedException {
+        if (ETClient.checkProcesses(launcher, false).isEmpty() || !DllUtil.loadLibrary(workspace.toComputer())) {
+            return false;
+        }
+        return launcher.getChannel().call(new ResetCallable(listener));
+    }
+
+    /**
+     * Checks whether the instance leased by the given build has to be recycled, i.e. the build has failed or has
+     * been aborted so far.
+     *
+     * @param run
+     *            the build
+     * @return {@code true} if the instance has to be recycled, {@code false} otherwise
+     */
+    private static boolean isRecycleRequired(final Run<?, ?> run) {
+        final Result result = run.getResult();
+        return result != null && result.isWorseThan(Result.UNSTABLE);
+    }
+
+    /**
+     * Gets the name of the node the given workspace belongs to.
+     *
+     * @param workspace
+     *            the workspace
+     * @return the node name, empty for the master
+     */
+    private static String getNodeName(final FilePath workspace) {
+        final Computer computer = workspace.toComputer();
+        return computer == null ? "" : computer.getName();
+    }
+
+    /**
+     * Creates the key identifying the configuration of an ECU-TEST instance.
+     *
+     * @param etClient
+     *            the ECU-TEST client
+     * @return the instance key
+     */
+    static String createKey(final ETClient etClient) {
+        return String.format("%s|%s|%s|%s|%b", etClient.getToolName(), etClient.getInstallPath(),
+                etClient.getWorkspaceDir(), etClient.getSettingsDir(), etClient.isDebug());
+    }
+
+    /**
+     * Exclusively leasable slot holding the warm instance of a single node.
+     */
+    private static final class NodeSlot {
+
+        private final Semaphore semaphore = new Semaphore(1, true);
+        private WarmInstance instance;
+        private String holder;
+
+        /**
+         * Acquires the slot, waiting until the current lease is released.
+         *
+         * @throws InterruptedException
+         *             if the current thread is interrupted while waiting
+         */
+        void acquire() throws InterruptedException {
+            semaphore.acquire();
+        }
+
+        /**
+         * Releases the slot.
+         */
+        void release() {
+            semaphore.release();
+        }
+
+        /**
+         * @return the warm instance or {@code null} if not started yet
+         */
+        @CheckForNull
+        synchronized WarmInstance getInstance() {
+            return instance;
+        }
+
+        /**
+         * @param instance
+         *            the warm instance
+         */
+        synchronized void setInstance(@CheckForNull final WarmInstance instance) {
+            this.instance = instance;
+        }
+
+        /**
+         * @return the id of the build holding the lease or {@code null} if not leased
+         */
+        @CheckForNull
+        synchronized String getHolder() {
+            return holder;
+        }
+
+        /**
+         * @param holder
+         *            the id of the build holding the lease
+         */
+        synchronized void setHolder(@CheckForNull final String holder) {
+            this.holder = holder;
+        }
+    }
+
+    /**
+     * {@link Callable} providing remote access to check the health of ECU-TEST via COM and to unload the
+     * configurations of the previous build.
+     */
+    private static final class ResetCallable extends MasterToSlaveCallable<Boolean, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final TaskListener listener;
+
+        /**
+         * Instantiates a new {@link ResetCallable}.
+         *
+         * @param listener
+         *            the listener
+         */
+        ResetCallable(final TaskListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public Boolean call() throws IOException {
+            boolean isReset = false;
+            final TTConsoleLogger logger = new TTConsoleLogger(listener);
+            final String progId = ETComProperty.getInstance().getProgId();
+            try (ETComClient comClient = new ETComClient(progId)) {
+                if (comClient.isApplicationRunning()) {
+                    comClient.stop();
+                    isReset = comClient.openTestConfiguration(null) && comClient.openTestbenchConfiguration(null);
+                } else {
+                    logger.logError("ECU-TEST COM instance is not ready to use!");
+                }
+            } catch (final ETComException e) {
+                ETComCache.getInstance().invalidate();
+                logger.logComException(e.getMessage());
+            }
+            return isReset;
+        }
+    }
+
+    /**
+     * Initializes and holds the singleton for this class.
+     */
+    private static final class SingletonHolder {
+
+        private static final ETInstancePool INSTANCE = new ETInstancePool();
+
+        /**
+         * Private constructor.
+         */
+        private SingletonHolder() {
+            throw new UnsupportedOperationException("Singleton class");
+        }
+    }
+
+    /**
+     * Returns the current instance of {@link ETInstancePool}.
+     *
+     * @return the singleton instance
+     */
+    public static ETInstancePool getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+}
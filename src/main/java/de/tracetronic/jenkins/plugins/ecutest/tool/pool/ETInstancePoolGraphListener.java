@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.tool.pool;
+
+import hudson.Extension;
+import hudson.model.Queue;
+import hudson.model.Run;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jenkinsci.plugins.workflow.actions.WorkspaceAction;
+import org.jenkinsci.plugins.workflow.flow.GraphListener;
+import org.jenkinsci.plugins.workflow.graph.BlockEndNode;
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+
+/**
+ * Listener releasing the warm ECU-TEST instance leased by a Pipeline build as soon as the node block holding the
+ * lease is left, so that further builds waiting for the instance of this node do not have to wait for the whole
+ * Pipeline to complete.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+@Extension(optional = true)
+public class ETInstancePoolGraphListener implements GraphListener {
+
+    private static final Logger LOGGER = Logger.getLogger(ETInstancePoolGraphListener.class.getName());
+
+    @Override
+    public void onNewHead(final FlowNode node) {
+        if (!(node instanceof BlockEndNode)) {
+            return;
+        }
+        final WorkspaceAction workspaceAction = ((BlockEndNode<?>) node).getStartNode()
+                .getAction(WorkspaceAction.class);
+        if (workspaceAction == null) {
+            return;
+        }
+        try {
+            final Queue.Executable executable = node.getExecution().getOwner().getExecutable();
+            if (executable instanceof Run) {
+                ETInstancePool.getInstance().release((Run<?, ?>) executable, workspaceAction.getNode());
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to release warm ECU-TEST instance of node block", e);
+        }
+    }
+}
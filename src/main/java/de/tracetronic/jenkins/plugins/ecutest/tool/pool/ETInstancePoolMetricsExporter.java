@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.tool.pool;
+
+import hudson.Extension;
+import hudson.model.TaskListener;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+import jenkins.metrics.api.Metrics;
+
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * Listener exporting the warm instance lease of each completed build to the Jenkins Metrics plugin.
+ * <p>
+ * Histograms are named {@code ecutest.pool.<leaseWait|instanceAge|instanceBuilds>}, the former two in milliseconds.
+ * This extension is only loaded if the Metrics plugin is installed.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+@Extension(optional = true)
+public class ETInstancePoolMetricsExporter extends RunListener<Run<?, ?>> {
+
+    /**
+     * Defines the common prefix of all exported metrics.
+     */
+    private static final String METRIC_PREFIX = "ecutest.pool";
+
+    @Override
+    public void onCompleted(final Run<?, ?> run, final TaskListener listener) {
+        final WarmInstanceAction action = run.getAction(WarmInstanceAction.class);
+        if (action == null) {
+            return;
+        }
+        final MetricRegistry registry = Metrics.metricRegistry();
+        registry.histogram(MetricRegistry.name(METRIC_PREFIX, "leaseWait")).update(action.getWaitMillis());
+        registry.histogram(MetricRegistry.name(METRIC_PREFIX, "instanceAge")).update(action.getInstanceAgeMillis());
+        registry.histogram(MetricRegistry.name(METRIC_PREFIX, "instanceBuilds")).update(action.getInstanceBuilds());
+    }
+}
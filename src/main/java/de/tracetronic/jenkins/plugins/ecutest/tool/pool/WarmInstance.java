@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.tool.pool;
+
+import javax.annotation.CheckForNull;
+
+import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
+
+/**
+ * Warm ECU-TEST instance managed by the {@link ETInstancePool}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+final class WarmInstance {
+
+    private final ETClient client;
+    private final String key;
+    private final long startMillis;
+    private int builds;
+    private boolean broken;
+
+    /**
+     * Instantiates a new {@link WarmInstance}.
+     *
+     * @param client
+     *            the client which started the instance
+     * @param key
+     *            the key identifying the instance configuration
+     */
+    WarmInstance(final ETClient client, final String key) {
+        this.client = client;
+        this.key = key;
+        startMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * @return the client which started the instance
+     */
+    ETClient getClient() {
+        return client;
+    }
+
+    /**
+     * @return the number of builds served by this instance
+     */
+    synchronized int getBuilds() {
+        return builds;
+    }
+
+    /**
+     * @return the age of this instance in milliseconds
+     */
+    long getAgeMillis() {
+        return System.currentTimeMillis() - startMillis;
+    }
+
+    /**
+     * Records a new lease of this instance.
+     *
+     * @return the number of builds served by this instance including the new lease
+     */
+    synchronized int lease() {
+        return ++builds;
+    }
+
+    /**
+     * Marks this instance to be recycled on its next lease.
+     */
+    synchronized void markBroken() {
+        broken = true;
+    }
+
+    /**
+     * Gets the reason why this instance must be recycled before being leased again.
+     *
+     * @param requestedKey
+     *            the key identifying the requested instance configuration
+     * @param maxBuilds
+     *            the maximum number of builds served by an instance, 0 to disable recycling
+     * @return the recycle reason or {@code null} if the instance can be reused
+     */
+    @CheckForNull
+    synchronized String getRecycleReason(final String requestedKey, final int maxBuilds) {
+        if (broken) {
+            return "previous build failed";
+        } else if (!key.equals(requestedKey)) {
+            return "configuration changed";
+        } else if (maxBuilds > 0 && builds >= maxBuilds) {
+            return String.format("served %d builds", builds);
+        }
+        return null;
+    }
+}
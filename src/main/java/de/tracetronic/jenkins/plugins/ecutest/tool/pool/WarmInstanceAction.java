@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.tool.pool;
+
+import hudson.model.InvisibleAction;
+
+/**
+ * Invisible action recording the lease of a warm ECU-TEST instance by a build.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class WarmInstanceAction extends InvisibleAction {
+
+    private final String nodeName;
+    private final long waitMillis;
+    private final long instanceAgeMillis;
+    private final int instanceBuilds;
+
+    /**
+     * Instantiates a new {@link WarmInstanceAction}.
+     *
+     * @param nodeName
+     *            the name of the node running the instance
+     * @param waitMillis
+     *            the time waited for the lease in milliseconds
+     * @param instanceAgeMillis
+     *            the age of the leased instance in milliseconds
+     * @param instanceBuilds
+     *            the number of builds served by the instance including this build
+     */
+    public WarmInstanceAction(final String nodeName, final long waitMillis, final long instanceAgeMillis,
+            final int instanceBuilds) {
+        super();
+        this.nodeName = nodeName;
+        this.waitMillis = waitMillis;
+        this.instanceAgeMillis = instanceAgeMillis;
+        this.instanceBuilds = instanceBuilds;
+    }
+
+    /**
+     * @return the name of the node running the instance
+     */
+    public String getNodeName() {
+        return nodeName;
+    }
+
+    /**
+     * @return the time waited for the lease in milliseconds
+     */
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    /**
+     * @return the age of the leased instance in milliseconds
+     */
+    public long getInstanceAgeMillis() {
+        return instanceAgeMillis;
+    }
+
+    /**
+     * @return the number of builds served by the instance including this build
+     */
+    public int getInstanceBuilds() {
+        return instanceBuilds;
+    }
+}
@@ -29,19 +29,27 @@
  */
 package de.tracetronic.jenkins.plugins.ecutest.util;
 
+import hudson.Extension;
 import hudson.FilePath;
 import hudson.FilePath.FileCallable;
 import hudson.PluginWrapper;
+import hudson.Util;
 import hudson.model.Computer;
 import hudson.model.Node;
 import hudson.remoting.VirtualChannel;
+import hudson.slaves.ComputerListener;
+import hudson.slaves.OfflineCause;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
 
 import jenkins.MasterToSlaveFileCallable;
 import jenkins.model.Jenkins;
@@ -70,6 +78,27 @@ public final class DllUtil {
      */
     private static final String JACOB_DLL_X64 = "jacob-1.18-x64.dll";
 
+    /**
+     * Holds the channels of the computers the JACOB library has been loaded on.
+     */
+    private static final Map<Computer, VirtualChannel> LOADED_LIBRARIES = new WeakHashMap<Computer, VirtualChannel>();
+
+    /**
+     * Holds the checksums of the local library files.
+     */
+    private static final Map<String, String> CHECKSUMS = new HashMap<String, String>();
+
+    /**
+     * Loads the provided JACOB library on a computer.
+     */
+    private static final Loader JACOB_LOADER = new Loader() {
+
+        @Override
+        public boolean load(final Computer computer) throws IOException, InterruptedException {
+            return getJacobLibrary(computer).act(new LoadLibraryCallable());
+        }
+    };
+
     /**
      * Instantiates a {@link DllUtil}.
      */
@@ -79,6 +108,9 @@ public final class DllUtil {
 
     /**
      * Loads the JACOB library.
+     * <p>
+     * The loaded state is cached per computer and channel, so that further calls on the same connection do not
+     * require any remote operation. The cache is invalidated when the computer goes offline.
      *
      * @param computer
      *            the computer
@@ -89,11 +121,55 @@ public final class DllUtil {
      *             if the current thread is interrupted while waiting for the completion
      */
     public static boolean loadLibrary(@CheckForNull final Computer computer) throws IOException, InterruptedException {
+        return loadLibrary(computer, JACOB_LOADER);
+    }
+
+    /**
+     * Loads a library with the given loader, caching the loaded state per computer and channel.
+     *
+     * @param computer
+     *            the computer
+     * @param loader
+     *            the library loader
+     * @return {@code true} if successful, {@code false} otherwise
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     * @throws InterruptedException
+     *             if the current thread is interrupted while waiting for the completion
+     */
+    static boolean loadLibrary(@CheckForNull final Computer computer, final Loader loader) throws IOException,
+            InterruptedException {
         if (computer == null) {
             return false;
         }
-        final FilePath libPath = getJacobLibrary(computer);
-        return libPath.act(new LoadLibraryCallable());
+        final VirtualChannel channel = computer.getChannel();
+        if (channel == null) {
+            return false;
+        }
+        synchronized (LOADED_LIBRARIES) {
+            if (LOADED_LIBRARIES.get(computer) == channel) {
+                return true;
+            }
+        }
+        final boolean isLoaded = loader.load(computer);
+        if (isLoaded) {
+            synchronized (LOADED_LIBRARIES) {
+                LOADED_LIBRARIES.put(computer, channel);
+            }
+        }
+        return isLoaded;
+    }
+
+    /**
+     * Invalidates the cached loaded state of the JACOB library for the given computer.
+     *
+     * @param computer
+     *            the computer
+     */
+    public static void invalidate(final Computer computer) {
+        synchronized (LOADED_LIBRARIES) {
+            LOADED_LIBRARIES.remove(computer);
+        }
     }
 
     /**
@@ -114,7 +190,7 @@ public final class DllUtil {
         } else {
             jacobLib = getRemoteLibrary(computer);
             final FilePath localLib = getLocalLibrary(computer);
-            if (!copyLibrary(localLib, jacobLib)) {
+            if (!installLibrary(localLib, jacobLib)) {
                 throw new IOException("Could not copy JACOB library to slave node!");
             }
         }
@@ -189,7 +265,8 @@ public final class DllUtil {
     }
 
     /**
-     * Copies the library file from source to the destination which can be on remote.
+     * Installs the library file from source to the destination which can be on remote. The destination is only
+     * replaced if missing or if its checksum differs from the source.
      *
      * @param src
      *            the source file
@@ -201,9 +278,102 @@ public final class DllUtil {
      * @throws InterruptedException
      *             if the current thread is interrupted while waiting for the completion
      */
-    private static boolean copyLibrary(final FilePath src, final FilePath dest) throws IOException,
-            InterruptedException {
-        return PathUtil.copyRemoteFile(src, dest);
+    private static boolean installLibrary(@CheckForNull final FilePath src, @CheckForNull final FilePath dest)
+            throws IOException, InterruptedException {
+        if (src == null || dest == null) {
+            return false;
+        }
+        if (!src.exists()) {
+            LOGGER.log(Level.SEVERE, String.format("Source %s does not exist!", src.getRemote()));
+            return false;
+        }
+        final String checksum = getChecksum(src);
+        if (dest.act(new VerifyLibraryCallable(checksum))) {
+            return true;
+        }
+        try {
+            LOGGER.log(Level.INFO, String.format("Copy %s to %s", src.getRemote(), dest.getRemote()));
+            src.copyTo(dest);
+        } catch (final IOException e) {
+            LOGGER.log(Level.SEVERE, e.getMessage());
+            return false;
+        }
+        if (!dest.act(new VerifyLibraryCallable(checksum))) {
+            LOGGER.log(Level.SEVERE, String.format("Checksum verification of %s failed!", dest.getRemote()));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the checksum of the local library file, which is only computed once per file.
+     *
+     * @param libPath
+     *            the local library file path
+     * @return the checksum
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private static String getChecksum(final FilePath libPath) throws IOException {
+        synchronized (CHECKSUMS) {
+            String checksum = CHECKSUMS.get(libPath.getRemote());
+            if (checksum == null) {
+                checksum = Util.getDigestOf(new File(libPath.getRemote()));
+                CHECKSUMS.put(libPath.getRemote(), checksum);
+            }
+            return checksum;
+        }
+    }
+
+    /**
+     * Loader of a library on a computer.
+     */
+    interface Loader {
+
+        /**
+         * Loads the library on the given computer.
+         *
+         * @param computer
+         *            the computer
+         * @return {@code true} if successful, {@code false} otherwise
+         * @throws IOException
+         *             signals that an I/O exception has occurred
+         * @throws InterruptedException
+         *             if the current thread is interrupted while waiting for the completion
+         */
+        boolean load(Computer computer) throws IOException, InterruptedException;
+    }
+
+    /**
+     * {@link FileCallable} providing remote file access to verify the checksum of an installed library.
+     */
+    static final class VerifyLibraryCallable extends MasterToSlaveFileCallable<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String checksum;
+
+        /**
+         * Instantiates a new {@link VerifyLibraryCallable}.
+         *
+         * @param checksum
+         *            the expected checksum
+         */
+        VerifyLibraryCallable(final String checksum) {
+            this.checksum = checksum;
+        }
+
+        @Override
+        public Boolean invoke(final File libFile, final VirtualChannel channel) throws IOException,
+        InterruptedException {
+            final String libProperty = System.getProperty(LibraryLoader.JACOB_DLL_PATH);
+            if (!StringUtils.isBlank(libProperty)
+                    && new File(libProperty).getAbsoluteFile().equals(libFile.getAbsoluteFile())) {
+                // Same library already loaded and locked by this JVM
+                return true;
+            }
+            return libFile.isFile() && checksum.equals(Util.getDigestOf(libFile));
+        }
     }
 
     /**
@@ -243,4 +413,16 @@ public final class DllUtil {
             return true;
         }
     }
+
+    /**
+     * Listener invalidating the cached loaded state of the JACOB library when a computer goes offline.
+     */
+    @Extension
+    public static final class ComputerListenerImpl extends ComputerListener {
+
+        @Override
+        public void onOffline(@Nonnull final Computer computer, @CheckForNull final OfflineCause cause) {
+            invalidate(computer);
+        }
+    }
 }
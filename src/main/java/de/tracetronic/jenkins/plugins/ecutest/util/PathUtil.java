@@ -36,6 +36,9 @@ import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang.StringUtils;
+
 /**
  * Utility class providing file path operations.
  *
@@ -69,6 +72,25 @@ public final class PathUtil {
         return path;
     }
 
+    /**
+     * Gets the path relative to the given base directory using forward slashes as separator. The result is
+     * independent of the location of the base directory, e.g. different workspaces on different nodes.
+     *
+     * @param path
+     *            the path
+     * @param baseDir
+     *            the base directory
+     * @return the relative path or the normalized path itself if not located within the base directory
+     */
+    public static String getRelativePath(final String path, final String baseDir) {
+        final String normPath = FilenameUtils.separatorsToUnix(path);
+        final String normBaseDir = StringUtils.removeEnd(FilenameUtils.separatorsToUnix(baseDir), "/") + "/";
+        if (normPath.startsWith(normBaseDir)) {
+            return normPath.substring(normBaseDir.length());
+        }
+        return normPath;
+    }
+
     /**
      * Copies a file from source to destination which can be on remote.
      *
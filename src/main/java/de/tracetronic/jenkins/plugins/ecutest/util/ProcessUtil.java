@@ -34,16 +34,15 @@ import hudson.model.Computer;
 
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 
-import org.apache.commons.lang.StringUtils;
-import org.jvnet.winp.WinProcess;
-import org.jvnet.winp.WinpException;
+import javax.annotation.CheckForNull;
 
 import de.tracetronic.jenkins.plugins.ecutest.ETPluginException;
+import de.tracetronic.jenkins.plugins.ecutest.util.process.ProcessTracker;
+import de.tracetronic.jenkins.plugins.ecutest.util.process.TrackedProcess;
+import de.tracetronic.jenkins.plugins.ecutest.util.process.WinProcessTable;
 
 /**
  * Utility class providing process and system operations.
@@ -62,6 +61,11 @@ public final class ProcessUtil {
      */
     private static final List<String> TS_PROCS = Arrays.asList("Tool-Server.exe");
 
+    /**
+     * Tracks the tool processes launched by this plugin.
+     */
+    private static final ProcessTracker TRACKER = new ProcessTracker(new WinProcessTable());
+
     /**
      * Instantiates a new {@link ProcessUtil}.
      */
@@ -77,7 +81,7 @@ public final class ProcessUtil {
      * @return the list of found or killed processes
      */
     public static List<String> checkETProcesses(final boolean kill) {
-        return checkProcesses(ET_PROCS, kill);
+        return TRACKER.check(ET_PROCS, kill);
     }
 
     /**
@@ -88,52 +92,41 @@ public final class ProcessUtil {
      * @return the list of found or killed processes
      */
     public static List<String> checkTSProcess(final boolean kill) {
-        return checkProcesses(TS_PROCS, kill);
+        return TRACKER.check(TS_PROCS, kill);
     }
 
     /**
-     * Checks a list of processes and kills them if appropriate.
+     * Tracks the launched ECU-TEST process, so that further checks directly query its process id.
      *
-     * @param processes
-     *            the list of processes to check
-     * @param kill
-     *            specifies whether to task-kill the running processes
-     * @return the list of found or killed processes
-     * @throws IOException
-     *             signals that an I/O exception has occurred
+     * @return the tracked process or {@code null} if no ECU-TEST process is running
      */
-    private static List<String> checkProcesses(final List<String> processes, final boolean kill) {
-        final List<String> found = new ArrayList<String>();
-        WinProcess.enableDebugPrivilege();
-        final Iterator<WinProcess> openProcesses = WinProcess.all().iterator();
-        while (openProcesses.hasNext()) {
-            try {
-                final WinProcess openProcess = openProcesses.next();
-                final String cmdLine = openProcess.getCommandLine();
-                for (final String process : processes) {
-                    if (StringUtils.containsIgnoreCase(cmdLine, process)) {
-                        found.add(process);
-                        if (kill) {
-                            killProcess(openProcess);
-                        }
-                    }
-                }
-            } catch (final WinpException e) {
-                // Skip system pseudo-processes with insufficient security privileges
-                continue;
-            }
-        }
-        return found;
+    @CheckForNull
+    public static TrackedProcess trackETProcess() {
+        return TRACKER.track(ET_PROCS);
     }
 
     /**
-     * Kills this process and all the descendant processes that this process launched.
+     * Tracks the launched Tool-Server process, so that further checks directly query its process id.
      *
-     * @param process
-     *            the process to kill
+     * @return the tracked process or {@code null} if no Tool-Server process is running
+     */
+    @CheckForNull
+    public static TrackedProcess trackTSProcess() {
+        return TRACKER.track(TS_PROCS);
+    }
+
+    /**
+     * @return the tracker of the tool processes launched by this plugin
+     */
+    public static ProcessTracker getTracker() {
+        return TRACKER;
+    }
+
+    /**
+     * @return the ECU-TEST related process names
      */
-    private static void killProcess(final WinProcess process) {
-        process.killRecursively();
+    public static List<String> getETProcessNames() {
+        return ET_PROCS;
     }
 
     /**
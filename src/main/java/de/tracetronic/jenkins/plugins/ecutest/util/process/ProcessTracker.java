@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.util.process;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Tracks the tool processes launched by this plugin to avoid scanning the whole {@link ProcessTable}.
+ * <p>
+ * Processes are identified by a list of process names matched against their command lines. Once a process is
+ * tracked, liveness checks directly query the tracked process id, which is validated against the process names and
+ * the process creation time to detect re-used process ids. The full process table is only scanned as fallback if no
+ * process is tracked or the tracked process is gone. Kills always scan the full process table to terminate all
+ * matching processes, including those not launched by this plugin.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ProcessTracker {
+
+    private final ProcessTable processTable;
+    private final Map<List<String>, TrackedProcess> trackedProcesses = new HashMap<List<String>, TrackedProcess>();
+
+    /**
+     * Instantiates a new {@link ProcessTracker}.
+     *
+     * @param processTable
+     *            the process table
+     */
+    public ProcessTracker(final ProcessTable processTable) {
+        this.processTable = processTable;
+    }
+
+    /**
+     * Scans the process table once for a process matching the given process names and tracks it.
+     *
+     * @param processNames
+     *            the process names
+     * @return the tracked process or {@code null} if no matching process is running
+     */
+    @CheckForNull
+    public synchronized TrackedProcess track(final List<String> processNames) {
+        final ProcessEntry process = scan(processNames);
+        if (process == null) {
+            trackedProcesses.remove(processNames);
+            return null;
+        }
+        final TrackedProcess trackedProcess = new TrackedProcess(process.getPid(), process.getStartTime());
+        trackedProcesses.put(processNames, trackedProcess);
+        return trackedProcess;
+    }
+
+    /**
+     * Gets the tracked process matching the given process names.
+     *
+     * @param processNames
+     *            the process names
+     * @return the tracked process or {@code null} if no process is tracked or the tracked process is gone
+     */
+    @CheckForNull
+    public synchronized TrackedProcess getTracked(final List<String> processNames) {
+        final TrackedProcess trackedProcess = trackedProcesses.get(processNames);
+        if (trackedProcess != null && getAlive(trackedProcess, processNames) == null) {
+            trackedProcesses.remove(processNames);
+            return null;
+        }
+        return trackedProcess;
+    }
+
+    /**
+     * Checks the processes matching the given process names and kills them if appropriate.
+     * Only the liveness check without killing is answered by the tracked process, killing always terminates all
+     * matching processes of the whole process table.
+     *
+     * @param processNames
+     *            the process names
+     * @param kill
+     *            specifies whether to task-kill the running processes
+     * @return the list of found or killed process names
+     */
+    public synchronized List<String> check(final List<String> processNames, final boolean kill) {
+        final TrackedProcess trackedProcess = trackedProcesses.get(processNames);
+        if (trackedProcess != null && !kill) {
+            final ProcessEntry process = getAlive(trackedProcess, processNames);
+            if (process != null) {
+                return Collections.singletonList(getProcessName(process.getCommandLine(), processNames));
+            }
+            trackedProcesses.remove(processNames);
+        }
+
+        // Fallback to full process table scan
+        final List<String> found = new ArrayList<String>();
+        for (final ProcessEntry process : processTable.all()) {
+            final String processName = getProcessName(process.getCommandLine(), processNames);
+            if (processName != null) {
+                found.add(processName);
+                if (kill) {
+                    process.killRecursively();
+                }
+            }
+        }
+        if (kill) {
+            trackedProcesses.remove(processNames);
+        }
+        return found;
+    }
+
+    /**
+     * Finds the process id of the tracked or, as fallback, the first running process matching the given process
+     * names.
+     *
+     * @param processNames
+     *            the process names
+     * @return the process id or {@code null} if no matching process is running
+     */
+    @CheckForNull
+    public synchronized Integer findProcessId(final List<String> processNames) {
+        final ProcessEntry process = findProcess(processNames);
+        return process == null ? null : process.getPid();
+    }
+
+    /**
+     * Finds the tracked or, as fallback, the first running process matching the given process names.
+     *
+     * @param processNames
+     *            the process names
+     * @return the process or {@code null} if no matching process is running
+     */
+    @CheckForNull
+    public synchronized ProcessEntry findProcess(final List<String> processNames) {
+        final TrackedProcess trackedProcess = trackedProcesses.get(processNames);
+        if (trackedProcess != null) {
+            final ProcessEntry process = getAlive(trackedProcess, processNames);
+            if (process != null) {
+                return process;
+            }
+            trackedProcesses.remove(processNames);
+        }
+        return scan(processNames);
+    }
+
+    /**
+     * Scans the whole process table for all processes matching the given process names.
+     *
+     * @param processNames
+     *            the process names
+     * @return the matching processes, empty if no matching process is running
+     */
+    public List<ProcessEntry> findAll(final List<String> processNames) {
+        final List<ProcessEntry> found = new ArrayList<ProcessEntry>();
+        for (final ProcessEntry process : processTable.all()) {
+            if (getProcessName(process.getCommandLine(), processNames) != null) {
+                found.add(process);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks whether the process with given id is still running and matches one of the given process names.
+     * In contrast to {@link #check(List, boolean)} only the single process is queried.
+     *
+     * @param pid
+     *            the process id
+     * @param processNames
+     *            the process names
+     * @return {@code true} if the process is running and matches, {@code false} otherwise
+     */
+    public boolean isAlive(final int pid, final List<String> processNames) {
+        return getAlive(pid, processNames) != null;
+    }
+
+    /**
+     * Gets the running process with given id if matching one of the given process names.
+     *
+     * @param pid
+     *            the process id
+     * @param processNames
+     *            the process names
+     * @return the process or {@code null} if not running or not matching
+     */
+    @CheckForNull
+    public ProcessEntry getAlive(final int pid, final List<String> processNames) {
+        return getAlive(pid, 0L, processNames);
+    }
+
+    /**
+     * Gets the running tracked process if still matching one of the given process names.
+     *
+     * @param trackedProcess
+     *            the tracked process
+     * @param processNames
+     *            the process names
+     * @return the process or {@code null} if not running, not matching or if the process id has been re-used
+     */
+    @CheckForNull
+    public ProcessEntry getAlive(final TrackedProcess trackedProcess, final List<String> processNames) {
+        return getAlive(trackedProcess.getPid(), trackedProcess.getStartTime(), processNames);
+    }
+
+    /**
+     * Gets the running process with given id if matching one of the given process names and the given creation time.
+     *
+     * @param pid
+     *            the process id
+     * @param startTime
+     *            the expected creation time of the process in milliseconds or {@code 0} if unknown
+     * @param processNames
+     *            the process names
+     * @return the process or {@code null} if not running, not matching or if the process id has been re-used
+     */
+    @CheckForNull
+    public ProcessEntry getAlive(final int pid, final long startTime, final List<String> processNames) {
+        final ProcessEntry process = processTable.get(pid);
+        if (process == null || getProcessName(process.getCommandLine(), processNames) == null) {
+            return null;
+        }
+        // Both creation times must be known to detect a re-used process id
+        final long processStartTime = process.getStartTime();
+        if (startTime != 0L && processStartTime != 0L && startTime != processStartTime) {
+            return null;
+        }
+        return process;
+    }
+
+    /**
+     * Scans the whole process table for the first process matching the given process names.
+     *
+     * @param processNames
+     *            the process names
+     * @return the first matching process or {@code null} if no matching process is running
+     */
+    @CheckForNull
+    private ProcessEntry scan(final List<String> processNames) {
+        for (final ProcessEntry process : processTable.all()) {
+            if (getProcessName(process.getCommandLine(), processNames) != null) {
+                return process;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the process name matching the given command line.
+     *
+     * @param cmdLine
+     *            the command line
+     * @param processNames
+     *            the process names
+     * @return the matching process name or {@code null} if not matching
+     */
+    @CheckForNull
+    private static String getProcessName(@CheckForNull final String cmdLine, final List<String> processNames) {
+        if (cmdLine != null) {
+            for (final String processName : processNames) {
+                if (StringUtils.containsIgnoreCase(cmdLine, processName)) {
+                    return processName;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.util.process;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+
+import org.jvnet.winp.WinProcess;
+import org.jvnet.winp.WinpException;
+
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import com.sun.jna.win32.StdCallLibrary;
+
+/**
+ * {@link ProcessTable} of Windows systems backed by the native WinP library.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class WinProcessTable implements ProcessTable {
+
+    @Override
+    public List<ProcessEntry> all() {
+        final List<ProcessEntry> processes = new ArrayList<ProcessEntry>();
+        WinProcess.enableDebugPrivilege();
+        for (final WinProcess process : WinProcess.all()) {
+            processes.add(new WinProcessEntry(process));
+        }
+        return processes;
+    }
+
+    @CheckForNull
+    @Override
+    public ProcessEntry get(final int pid) {
+        WinProcess.enableDebugPrivilege();
+        final WinProcessEntry process = new WinProcessEntry(new WinProcess(pid));
+        return process.getCommandLine() == null ? null : process;
+    }
+
+    /**
+     * {@link ProcessEntry} wrapping a {@link WinProcess}.
+     */
+    private static final class WinProcessEntry implements ProcessEntry {
+
+        private final WinProcess process;
+
+        /**
+         * Instantiates a new {@link WinProcessEntry}.
+         *
+         * @param process
+         *            the native process
+         */
+        WinProcessEntry(final WinProcess process) {
+            this.process = process;
+        }
+
+        @Override
+        public int getPid() {
+            return process.getPid();
+        }
+
+        @CheckForNull
+        @Override
+        public String getCommandLine() {
+            try {
+                return process.getCommandLine();
+            } catch (final WinpException e) {
+                // Terminated process or system pseudo-process with insufficient security privileges
+                return null;
+            }
+        }
+
+        @Override
+        public long getStartTime() {
+            try {
+                final Pointer handle = Kernel32.INSTANCE.OpenProcess(Kernel32.PROCESS_QUERY_LIMITED_INFORMATION,
+                        false, process.getPid());
+                if (handle == null) {
+                    return 0L;
+                }
+                try {
+                    final long[] creationTime = new long[1];
+                    if (!Kernel32.INSTANCE.GetProcessTimes(handle, creationTime, new long[1], new long[1],
+                            new long[1])) {
+                        return 0L;
+                    }
+                    // FILETIME counts 100-nanosecond intervals since January 1, 1601 (UTC)
+                    return creationTime[0] / 10000L - Kernel32.EPOCH_DIFF;
+                } finally {
+                    Kernel32.INSTANCE.CloseHandle(handle);
+                }
+            } catch (final UnsatisfiedLinkError e) {
+                return 0L;
+            }
+        }
+
+        @Override
+        public void killRecursively() {
+            process.killRecursively();
+        }
+    }
+
+    /**
+     * Native kernel functions to query the creation time of a process, which is not provided by WinP.
+     */
+    private interface Kernel32 extends StdCallLibrary {
+
+        /**
+         * The library instance.
+         */
+        Kernel32 INSTANCE = (Kernel32) Native.loadLibrary("kernel32", Kernel32.class);
+
+        /**
+         * Access right to query limited information of a process.
+         */
+        int PROCESS_QUERY_LIMITED_INFORMATION = 0x1000;
+
+        /**
+         * Difference in milliseconds between the FILETIME epoch and the Unix epoch.
+         */
+        long EPOCH_DIFF = 11644473600000L;
+
+        /**
+         * Opens an existing process.
+         *
+         * @param desiredAccess
+         *            the access rights
+         * @param inheritHandle
+         *            specifies whether child processes inherit the handle
+         * @param processId
+         *            the process id
+         * @return the process handle or {@code null} if failed
+         */
+        Pointer OpenProcess(int desiredAccess, boolean inheritHandle, int processId);
+
+        /**
+         * Retrieves the timing information of a process.
+         *
+         * @param process
+         *            the process handle
+         * @param creationTime
+         *            the creation time as FILETIME
+         * @param exitTime
+         *            the exit time as FILETIME
+         * @param kernelTime
+         *            the time executed in kernel mode
+         * @param userTime
+         *            the time executed in user mode
+         * @return {@code true} if succeeded, {@code false} otherwise
+         */
+        boolean GetProcessTimes(Pointer process, long[] creationTime, long[] exitTime, long[] kernelTime,
+                long[] userTime);
+
+        /**
+         * Closes an open handle.
+         *
+         * @param handle
+         *            the handle
+         * @return {@code true} if succeeded, {@code false} otherwise
+         */
+        boolean CloseHandle(Pointer handle);
+    }
+}
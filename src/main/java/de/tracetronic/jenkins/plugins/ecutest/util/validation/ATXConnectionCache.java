@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.util.validation;
+
+import hudson.util.FormValidation;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JVM-wide cache of TEST-GUIDE connection checks per base URL, shared by all builds running on the same node.
+ * <p>
+ * Successful checks are cached for {@link #TTL}, failed checks only for {@link #NEGATIVE_TTL} so that a
+ * recovering server is detected soon while an unreachable server does not delay every build by the full timeout.
+ * Concurrent checks of the same base URL are coalesced into a single request.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ATXConnectionCache {
+
+    /**
+     * Defines the time in milliseconds a successful connection check is cached.
+     */
+    static final long TTL = 60000L;
+
+    /**
+     * Defines the time in milliseconds a failed connection check is cached.
+     */
+    static final long NEGATIVE_TTL = 15000L;
+
+    private static final ConcurrentMap<String, CacheEntry> CACHE = new ConcurrentHashMap<String, CacheEntry>();
+
+    /**
+     * Instantiates a new {@link ATXConnectionCache}.
+     */
+    private ATXConnectionCache() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Tests the server connection by given base server URL, using a cached result if not expired.
+     *
+     * @param baseUrl
+     *            the base server URL
+     * @return the form validation
+     */
+    public static FormValidation testConnection(final String baseUrl) {
+        return testConnection(baseUrl, new ATXValidator());
+    }
+
+    /**
+     * Tests the server connection by given base server URL with the given validator, using a cached result if not
+     * expired.
+     *
+     * @param baseUrl
+     *            the base server URL
+     * @param validator
+     *            the validator performing the actual connection check
+     * @return the form validation
+     */
+    static FormValidation testConnection(final String baseUrl, final ATXValidator validator) {
+        final String key = String.valueOf(baseUrl);
+        CacheEntry entry = CACHE.get(key);
+        if (entry == null) {
+            final CacheEntry newEntry = new CacheEntry();
+            entry = CACHE.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        return entry.get(baseUrl, validator);
+    }
+
+    /**
+     * Invalidates all cached connection checks.
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    /**
+     * Cached connection check of a single base URL.
+     */
+    private static final class CacheEntry {
+
+        private FormValidation validation;
+        private long expires;
+
+        /**
+         * Gets the cached connection check or performs a new check if expired.
+         *
+         * @param baseUrl
+         *            the base server URL
+         * @param validator
+         *            the validator performing the actual connection check
+         * @return the form validation
+         */
+        synchronized FormValidation get(final String baseUrl, final ATXValidator validator) {
+            final long now = System.currentTimeMillis();
+            if (validation == null || now >= expires) {
+                validation = validator.testConnection(baseUrl);
+                final boolean isReachable = validation.kind.equals(FormValidation.Kind.OK);
+                expires = System.currentTimeMillis() + (isReachable ? TTL : NEGATIVE_TTL);
+            }
+            return validation;
+        }
+    }
+}
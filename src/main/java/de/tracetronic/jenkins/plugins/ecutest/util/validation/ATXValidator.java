@@ -52,6 +52,7 @@ import javax.net.ssl.SSLSession;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 
 import de.tracetronic.jenkins.plugins.ecutest.report.atx.Messages;
@@ -66,6 +67,11 @@ import de.tracetronic.jenkins.plugins.ecutest.util.ATXUtil;
  */
 public class ATXValidator extends AbstractValidator {
 
+    private static final int CONNECT_TIMEOUT = 10000;
+    private static final int READ_TIMEOUT = 30000;
+
+    private static boolean isSSLInitialized;
+
     /**
      * Instantiates a new {@link ATXValidator}.
      * ATX settings needs permission check.
@@ -333,9 +339,9 @@ public class ATXValidator extends AbstractValidator {
         if (appVersionUrl.contains(PARAMETER)) {
             returnValue = FormValidation.warning(Messages.ATXPublisher_NoValidatedConnection());
         } else {
-            HttpURLConnection connection = null;
             try {
                 final URL url = new URL(appVersionUrl);
+                final HttpURLConnection connection;
                 // Handle SSL connection
                 if (appVersionUrl.startsWith("https://")) {
                     initSSLConnection();
@@ -345,8 +351,8 @@ public class ATXValidator extends AbstractValidator {
                 }
 
                 // Check URL connection
-                connection.setConnectTimeout(30000);
-                connection.setReadTimeout(30000);
+                connection.setConnectTimeout(CONNECT_TIMEOUT);
+                connection.setReadTimeout(READ_TIMEOUT);
                 connection.setUseCaches(false);
                 connection.setRequestMethod("GET");
                 connection.connect();
@@ -354,6 +360,7 @@ public class ATXValidator extends AbstractValidator {
                 final int httpResponse = connection.getResponseCode();
                 if (httpResponse != HttpURLConnection.HTTP_OK) {
                     returnValue = FormValidation.warning(Messages.ATXPublisher_ServerNotReachable(baseUrl));
+                    IOUtils.closeQuietly(connection.getErrorStream());
                 } else {
                     try (BufferedReader in = new BufferedReader(new InputStreamReader(
                             connection.getInputStream(), Charset.forName("UTF-8")))) {
@@ -361,16 +368,16 @@ public class ATXValidator extends AbstractValidator {
                         if (inputLine == null || !inputLine.contains("TraceTronic")) {
                             returnValue = FormValidation.warning(Messages.ATXPublisher_InvalidServer(baseUrl));
                         }
+                        // Consume the response to keep the connection alive for reuse
+                        while (in.readLine() != null) {
+                            continue;
+                        }
                     }
                 }
             } catch (final MalformedURLException e) {
                 returnValue = FormValidation.error(Messages.ATXPublisher_InvalidServerUrl(baseUrl));
             } catch (final IOException | NoSuchAlgorithmException | KeyManagementException e) {
                 returnValue = FormValidation.warning(Messages.ATXPublisher_ServerNotReachable(baseUrl));
-            } finally {
-                if (connection != null) {
-                    connection.disconnect();
-                }
             }
         }
         return returnValue;
@@ -384,7 +391,12 @@ public class ATXValidator extends AbstractValidator {
      * @throws KeyManagementException
      *             the key management exception
      */
-    private static void initSSLConnection() throws NoSuchAlgorithmException, KeyManagementException {
+    private static synchronized void initSSLConnection() throws NoSuchAlgorithmException, KeyManagementException {
+        // Replacing the default socket factory would prevent reusing pooled keep-alive connections
+        if (isSSLInitialized) {
+            return;
+        }
+
         // Create a trust manager that does not validate certificate chains
         final TrustManager[] trustAllCerts = new TrustManager[] { new X509TrustManager() {
 
@@ -418,5 +430,6 @@ public class ATXValidator extends AbstractValidator {
 
         // Install the all-trusting host verifier
         HttpsURLConnection.setDefaultHostnameVerifier(allHostsValid);
+        isSSLInitialized = true;
     }
 }
@@ -111,6 +111,78 @@ public class TestValidator extends AbstractValidator {
         return returnValue;
     }
 
+    /**
+     * Validates the polling interval.
+     *
+     * @param pollingInterval
+     *            the polling interval in milliseconds
+     * @param defaultInterval
+     *            the default polling interval
+     * @param maxInterval
+     *            the maximum polling interval
+     * @return the form validation
+     */
+    public FormValidation validatePollingInterval(final String pollingInterval, final int defaultInterval,
+            final int maxInterval) {
+        FormValidation returnValue = FormValidation.ok();
+        if (StringUtils.isBlank(pollingInterval)) {
+            returnValue = FormValidation.warning(Messages.TestBuilder_NoPollingInterval(defaultInterval));
+        } else if (pollingInterval.contains(PARAMETER)) {
+            returnValue = FormValidation.warning(Messages.Builder_NoValidatedValue());
+        } else {
+            returnValue = FormValidation.validatePositiveInteger(pollingInterval);
+            if (returnValue.equals(FormValidation.ok()) && Integer.parseInt(pollingInterval) > maxInterval) {
+                returnValue = FormValidation.warning(Messages.TestBuilder_MaxPollingInterval(maxInterval));
+            }
+        }
+        return returnValue;
+    }
+
+    /**
+     * Validates the shard count.
+     *
+     * @param shardCount
+     *            the shard count
+     * @return the form validation
+     */
+    public FormValidation validateShardCount(final String shardCount) {
+        FormValidation returnValue = FormValidation.ok();
+        if (StringUtils.isBlank(shardCount)) {
+            returnValue = FormValidation.validateRequired(shardCount);
+        } else if (shardCount.contains(PARAMETER)) {
+            returnValue = FormValidation.warning(Messages.Builder_NoValidatedValue());
+        } else {
+            returnValue = FormValidation.validatePositiveInteger(shardCount);
+        }
+        return returnValue;
+    }
+
+    /**
+     * Validates the shard index.
+     *
+     * @param shardIndex
+     *            the zero-based shard index
+     * @param shardCount
+     *            the shard count
+     * @return the form validation
+     */
+    public FormValidation validateShardIndex(final String shardIndex, final String shardCount) {
+        FormValidation returnValue = FormValidation.ok();
+        if (StringUtils.isBlank(shardIndex)) {
+            returnValue = FormValidation.validateRequired(shardIndex);
+        } else if (shardIndex.contains(PARAMETER)) {
+            returnValue = FormValidation.warning(Messages.Builder_NoValidatedValue());
+        } else {
+            returnValue = FormValidation.validateNonNegativeInteger(shardIndex);
+            if (returnValue.equals(FormValidation.ok()) && StringUtils.isNumeric(shardCount)
+                    && StringUtils.isNotEmpty(shardCount)
+                    && Integer.parseInt(shardIndex) >= Integer.parseInt(shardCount)) {
+                returnValue = FormValidation.error(Messages.ShardConfig_InvalidShardIndex(shardCount));
+            }
+        }
+        return returnValue;
+    }
+
     /**
      * Validates the parameter name.
      *
@@ -36,6 +36,7 @@ import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang.StringUtils;
 
 import de.tracetronic.jenkins.plugins.ecutest.tool.Messages;
+import de.tracetronic.jenkins.plugins.ecutest.tool.StartETBuilder;
 import de.tracetronic.jenkins.plugins.ecutest.tool.StartTSBuilder;
 
 /**
@@ -115,4 +116,24 @@ public class ToolValidator extends AbstractValidator {
         }
         return returnValue;
     }
+
+    /**
+     * Validates the maximum number of builds served by a warm ECU-TEST instance.
+     *
+     * @param maxBuilds
+     *            the maximum number of builds
+     * @return the form validation
+     */
+    public FormValidation validateMaxBuilds(final String maxBuilds) {
+        FormValidation returnValue = FormValidation.ok();
+        if (StringUtils.isBlank(maxBuilds)) {
+            returnValue = FormValidation.warning(Messages
+                    .StartETBuilder_NoMaxBuilds(StartETBuilder.DEFAULT_MAX_BUILDS));
+        } else if (maxBuilds.contains(PARAMETER)) {
+            returnValue = FormValidation.warning(Messages.Builder_NoValidatedValue());
+        } else {
+            returnValue = FormValidation.validateNonNegativeInteger(maxBuilds);
+        }
+        return returnValue;
+    }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.wrapper.com;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable statistics of a single COM API method recorded by {@link ETComMetrics}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ComMethodStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String method;
+    private final long count;
+    private final long errors;
+    private final long timeouts;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] buckets;
+
+    /**
+     * Instantiates a new {@link ComMethodStats}.
+     *
+     * @param method
+     *            the COM API method name
+     * @param count
+     *            the number of requests
+     * @param errors
+     *            the number of failed requests
+     * @param timeouts
+     *            the number of timed out requests
+     * @param totalNanos
+     *            the accumulated request duration in nanoseconds
+     * @param maxNanos
+     *            the maximum request duration in nanoseconds
+     * @param buckets
+     *            the request counts per histogram bucket as defined by {@link ETComMetrics#BUCKET_BOUNDS}
+     */
+    public ComMethodStats(final String method, final long count, final long errors, final long timeouts,
+            final long totalNanos, final long maxNanos, final long[] buckets) {
+        this.method = method;
+        this.count = count;
+        this.errors = errors;
+        this.timeouts = timeouts;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.buckets = Arrays.copyOf(buckets, ETComMetrics.BUCKET_BOUNDS.length + 1);
+    }
+
+    /**
+     * @return the COM API method name
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the number of requests
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of failed requests
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return the number of timed out requests
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * @return the accumulated request duration in milliseconds
+     */
+    public long getTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+    }
+
+    /**
+     * @return the mean request duration in milliseconds
+     */
+    public long getMeanMillis() {
+        return count == 0 ? 0L : TimeUnit.NANOSECONDS.toMillis(totalNanos / count);
+    }
+
+    /**
+     * @return the maximum request duration in milliseconds
+     */
+    public long getMaxMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+    }
+
+    /**
+     * @return a copy of the request counts per histogram bucket
+     */
+    public long[] getBuckets() {
+        return Arrays.copyOf(buckets, buckets.length);
+    }
+
+    /**
+     * Estimates the given percentile of the request duration by the upper bound of the matching histogram bucket.
+     * Requests of the overflow bucket are estimated by the maximum request duration.
+     *
+     * @param percentile
+     *            the percentile between 0 and 100
+     * @return the estimated request duration in milliseconds
+     */
+    public long getPercentileMillis(final double percentile) {
+        if (count == 0) {
+            return 0L;
+        }
+        final long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0L;
+        for (int i = 0; i < ETComMetrics.BUCKET_BOUNDS.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(ETComMetrics.BUCKET_BOUNDS[i], getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Merges these statistics with other statistics of the same method.
+     *
+     * @param other
+     *            the other statistics
+     * @return the merged statistics
+     */
+    public ComMethodStats merge(final ComMethodStats other) {
+        final long[] mergedBuckets = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            mergedBuckets[i] = buckets[i] + other.buckets[i];
+        }
+        return new ComMethodStats(method, count + other.count, errors + other.errors, timeouts + other.timeouts,
+                totalNanos + other.totalNanos, Math.max(maxNanos, other.maxNanos), mergedBuckets);
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.wrapper.com;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+
+import de.tracetronic.jenkins.plugins.ecutest.util.ProcessUtil;
+import de.tracetronic.jenkins.plugins.ecutest.util.process.ProcessEntry;
+import de.tracetronic.jenkins.plugins.ecutest.util.process.ProcessTracker;
+import de.tracetronic.jenkins.plugins.ecutest.util.process.TrackedProcess;
+
+/**
+ * Singleton class caching immutable COM query results for the lifetime of a single ECU-TEST process instance.
+ * <p>
+ * Workspace settings and the version of ECU-TEST never change while the process is running, so requesting them via
+ * COM once per instance is sufficient. The last loaded configurations are cached as well until configurations are
+ * loaded again. The cache is bound to a {@link SessionKey} consisting of the process id and the process start time
+ * of the ECU-TEST process the COM client is attached to, which is the process tracked after launching ECU-TEST by
+ * this plugin. Without a tracked process the cache is only bound to the single running ECU-TEST process, while
+ * nothing is cached if several ECU-TEST processes are running, as the attached one cannot be determined.
+ * The session is validated against the process table on each access, so that a restarted instance re-using the
+ * process id is detected, and explicitly invalidated whenever ECU-TEST is stopped or killed by this plugin.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ETComCache {
+
+    private final ProcessTracker tracker;
+    private final List<String> processNames;
+    private SessionKey session;
+    private String version;
+    private String lastTbc;
+    private String lastTcf;
+    private final Map<String, String> settings = new HashMap<String, String>();
+
+    /**
+     * Instantiates a new {@link ETComCache}.
+     *
+     * @param tracker
+     *            the process tracker
+     * @param processNames
+     *            the ECU-TEST process names
+     */
+    ETComCache(final ProcessTracker tracker, final List<String> processNames) {
+        this.tracker = tracker;
+        this.processNames = processNames;
+    }
+
+    /**
+     * Gets the cached workspace setting of the current ECU-TEST instance.
+     *
+     * @param settingName
+     *            the setting name
+     * @return the cached setting value or {@code null} if not cached yet
+     */
+    @CheckForNull
+    public synchronized String getSetting(final String settingName) {
+        return isSessionValid() ? settings.get(settingName) : null;
+    }
+
+    /**
+     * Caches a workspace setting of the current ECU-TEST instance.
+     *
+     * @param settingName
+     *            the setting name
+     * @param settingValue
+     *            the setting value
+     */
+    public synchronized void putSetting(final String settingName, final String settingValue) {
+        if (ensureSession()) {
+            settings.put(settingName, settingValue);
+        }
+    }
+
+    /**
+     * Gets the cached version of the current ECU-TEST instance.
+     *
+     * @return the cached version or {@code null} if not cached yet
+     */
+    @CheckForNull
+    public synchronized String getVersion() {
+        return isSessionValid() ? version : null;
+    }
+
+    /**
+     * Caches the version of the current ECU-TEST instance.
+     *
+     * @param version
+     *            the version
+     */
+    public synchronized void putVersion(final String version) {
+        if (ensureSession()) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * Gets the cached last loaded test bench configuration of the current ECU-TEST instance.
+     *
+     * @return the cached test bench configuration file path or {@code null} if not cached yet
+     */
+    @CheckForNull
+    public synchronized String getLastTbc() {
+        return isSessionValid() ? lastTbc : null;
+    }
+
+    /**
+     * Caches the last loaded test bench configuration of the current ECU-TEST instance.
+     *
+     * @param lastTbc
+     *            the test bench configuration file path
+     */
+    public synchronized void putLastTbc(final String lastTbc) {
+        if (ensureSession()) {
+            this.lastTbc = lastTbc;
+        }
+    }
+
+    /**
+     * Gets the cached last loaded test configuration of the current ECU-TEST instance.
+     *
+     * @return the cached test configuration file path or {@code null} if not cached yet
+     */
+    @CheckForNull
+    public synchronized String getLastTcf() {
+        return isSessionValid() ? lastTcf : null;
+    }
+
+    /**
+     * Caches the last loaded test configuration of the current ECU-TEST instance.
+     *
+     * @param lastTcf
+     *            the test configuration file path
+     */
+    public synchronized void putLastTcf(final String lastTcf) {
+        if (ensureSession()) {
+            this.lastTcf = lastTcf;
+        }
+    }
+
+    /**
+     * Invalidates the cached last loaded configurations, e.g. before loading other configurations.
+     */
+    public synchronized void invalidateConfigurations() {
+        lastTbc = null;
+        lastTcf = null;
+    }
+
+    /**
+     * @return the current session key or {@code null} if no session is established
+     */
+    @CheckForNull
+    public synchronized SessionKey getSession() {
+        return isSessionValid() ? session : null;
+    }
+
+    /**
+     * Invalidates all cached values and the current session.
+     */
+    public synchronized void invalidate() {
+        session = null;
+        version = null;
+        settings.clear();
+        invalidateConfigurations();
+    }
+
+    /**
+     * Checks whether the current session is still bound to the same running ECU-TEST process.
+     * Invalidates the cache if the process is gone, the process id is re-used by a restarted instance or another
+     * ECU-TEST process has been tracked meanwhile.
+     *
+     * @return {@code true} if the session is valid, {@code false} otherwise
+     */
+    private boolean isSessionValid() {
+        if (session == null) {
+            return false;
+        }
+        final TrackedProcess trackedProcess = tracker.getTracked(processNames);
+        final ProcessEntry process = tracker.getAlive(session.getPid(), processNames);
+        if ((trackedProcess != null && trackedProcess.getPid() != session.getPid())
+                || process == null || process.getStartTime() != session.getStartTime()) {
+            invalidate();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ensures a valid session by looking up the running ECU-TEST process if required.
+     *
+     * @return {@code true} if a session is established, {@code false} if no ECU-TEST process is running
+     */
+    private boolean ensureSession() {
+        if (isSessionValid()) {
+            return true;
+        }
+        final ProcessEntry process = findAttachedProcess();
+        if (process == null) {
+            return false;
+        }
+        session = new SessionKey(process.getPid(), process.getStartTime());
+        return true;
+    }
+
+    /**
+     * Finds the ECU-TEST process the COM client is attached to, which is either the tracked process or, as fallback,
+     * the only running ECU-TEST process.
+     *
+     * @return the attached process or {@code null} if no or several untracked ECU-TEST processes are running
+     */
+    @CheckForNull
+    private ProcessEntry findAttachedProcess() {
+        final TrackedProcess trackedProcess = tracker.getTracked(processNames);
+        if (trackedProcess != null) {
+            return tracker.getAlive(trackedProcess, processNames);
+        }
+        final List<ProcessEntry> processes = tracker.findAll(processNames);
+        return processes.size() == 1 ? processes.get(0) : null;
+    }
+
+    /**
+     * Key identifying a single ECU-TEST process instance.
+     */
+    public static final class SessionKey {
+
+        private final int pid;
+        private final long startTime;
+
+        /**
+         * Instantiates a new {@link SessionKey}.
+         *
+         * @param pid
+         *            the process id
+         * @param startTime
+         *            the process start time in milliseconds
+         */
+        public SessionKey(final int pid, final long startTime) {
+            this.pid = pid;
+            this.startTime = startTime;
+        }
+
+        /**
+         * @return the process id
+         */
+        public int getPid() {
+            return pid;
+        }
+
+        /**
+         * @return the process start time in milliseconds
+         */
+        public long getStartTime() {
+            return startTime;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof SessionKey)) {
+                return false;
+            }
+            final SessionKey that = (SessionKey) other;
+            return pid == that.pid && startTime == that.startTime;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * pid + (int) (startTime ^ startTime >>> 32);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d@%d", pid, startTime);
+        }
+    }
+
+    /**
+     * Initializes and holds the singleton for this class.
+     */
+    private static final class SingletonHolder {
+
+        private static final ETComCache INSTANCE = new ETComCache(ProcessUtil.getTracker(),
+                ProcessUtil.getETProcessNames());
+
+        /**
+         * Private constructor.
+         */
+        private SingletonHolder() {
+            throw new UnsupportedOperationException("Singleton class");
+        }
+    }
+
+    /**
+     * Returns the current instance of {@link ETComCache}.
+     *
+     * @return the singleton instance
+     */
+    public static ETComCache getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+}
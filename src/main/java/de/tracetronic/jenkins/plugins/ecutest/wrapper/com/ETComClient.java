@@ -37,6 +37,7 @@ import com.jacob.activeX.ActiveXComponent;
 import com.jacob.com.ComThread;
 import com.jacob.com.Variant;
 
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComMetrics.Outcome;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComApplication;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComPackage;
 import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.api.ComProject;
@@ -74,8 +75,7 @@ public class ETComClient implements ComApplication, AutoCloseable {
      */
     public ETComClient() throws ETComException {
         final ETComProperty properties = ETComProperty.getInstance();
-        initDispatch(properties.getProgId());
-        waitForConnection(properties.getTimeout());
+        connect(properties.getProgId(), properties.getTimeout());
     }
 
     /**
@@ -88,8 +88,7 @@ public class ETComClient implements ComApplication, AutoCloseable {
      *             in case of a COM exception or if the timeout is reached
      */
     public ETComClient(final String progId) throws ETComException {
-        initDispatch(progId);
-        waitForConnection(ETComProperty.DEFAULT_TIMEOUT);
+        connect(progId, ETComProperty.DEFAULT_TIMEOUT);
     }
 
     /**
@@ -102,8 +101,7 @@ public class ETComClient implements ComApplication, AutoCloseable {
      *             in case of a COM exception or if the timeout is reached
      */
     public ETComClient(final int timeout) throws ETComException {
-        initDispatch(ETComProperty.DEFAULT_PROG_ID);
-        waitForConnection(timeout);
+        connect(ETComProperty.DEFAULT_PROG_ID, timeout);
     }
 
     /**
@@ -118,8 +116,33 @@ public class ETComClient implements ComApplication, AutoCloseable {
      *             in case of a COM exception or if the timeout is reached
      */
     public ETComClient(final String progId, final int timeout) throws ETComException {
-        initDispatch(progId);
-        waitForConnection(timeout);
+        connect(progId, timeout);
+    }
+
+    /**
+     * Initializes the {@link ETComDispatch} and waits for a valid COM connection within the given timeout.
+     * The duration of the connection setup is recorded by {@link ETComMetrics}.
+     *
+     * @param progId
+     *            the programmatic identifier
+     * @param timeout
+     *            the timeout waiting for a connection
+     * @throws ETComException
+     *             in case of a COM exception or if the timeout is reached
+     */
+    private void connect(final String progId, final int timeout) throws ETComException {
+        final long startTime = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            initDispatch(progId);
+            waitForConnection(timeout);
+            outcome = Outcome.SUCCESS;
+        } catch (final ETComTimeoutException e) {
+            outcome = Outcome.TIMEOUT;
+            throw e;
+        } finally {
+            ETComMetrics.getInstance().record(ETComMetrics.CONNECT_METHOD, System.nanoTime() - startTime, outcome);
+        }
     }
 
     /**
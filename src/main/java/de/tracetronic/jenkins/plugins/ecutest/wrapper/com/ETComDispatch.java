@@ -41,10 +41,13 @@ import com.jacob.com.Dispatch;
 import com.jacob.com.JacobException;
 import com.jacob.com.Variant;
 
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComMetrics.Outcome;
+
 /**
  * Custom dispatch to perform requests on application specific COM API.
  * <p>
  * All threads from COM will be automatically released after performing the requests.
+ * The duration and outcome of each request is recorded by {@link ETComMetrics}.
  *
  * @author Christian Pönisch <christian.poenisch@tracetronic.de>
  */
@@ -134,19 +137,26 @@ public class ETComDispatch extends Dispatch implements AutoCloseable {
             throws ETComException {
         final ExecutorService executor = Executors.newSingleThreadExecutor();
         final Future<Variant> future = executor.submit(new DispatchCallable(method, params));
+        final long startTime = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
         try {
+            final Variant result;
             if (timeout == 0) {
-                return future.get();
+                result = future.get();
             } else {
-                return future.get(Long.valueOf(timeout), TimeUnit.SECONDS);
+                result = future.get(Long.valueOf(timeout), TimeUnit.SECONDS);
             }
+            outcome = Outcome.SUCCESS;
+            return result;
         } catch (final TimeoutException e) {
+            outcome = Outcome.TIMEOUT;
             future.cancel(true);
             throw new ETComTimeoutException(String.format("Request timeout of %d seconds exceeded!", timeout), e);
         } catch (ExecutionException | InterruptedException e) {
             throw new ETComException(String.format("Error while performing request: %s", e.getMessage()), e);
         } finally {
             executor.shutdownNow();
+            ETComMetrics.getInstance().record(method, System.nanoTime() - startTime, outcome);
         }
     }
 
@@ -161,7 +171,7 @@ public class ETComDispatch extends Dispatch implements AutoCloseable {
      *             the underlying {@link JacobException}
      */
     protected Variant performDirectRequest(final String method) throws ETComException {
-        return callDispatch(method, NO_PARAMS);
+        return performDirectRequest(method, NO_PARAMS);
     }
 
     /**
@@ -177,7 +187,15 @@ public class ETComDispatch extends Dispatch implements AutoCloseable {
      *             the underlying {@link JacobException}
      */
     protected Variant performDirectRequest(final String method, final Object... params) throws ETComException {
-        return callDispatch(method, params);
+        final long startTime = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            final Variant result = callDispatch(method, params);
+            outcome = Outcome.SUCCESS;
+            return result;
+        } finally {
+            ETComMetrics.getInstance().record(method, System.nanoTime() - startTime, outcome);
+        }
     }
 
     /**
@@ -0,0 +1,437 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.wrapper.com;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Singleton class recording latencies, timeouts and errors of all COM requests per API method.
+ * <p>
+ * Recording is lock-free by using {@link LongAdder} based histogram buckets, so that concurrent requests never
+ * contend for a common monitor. The recorded statistics reside in the JVM performing the requests and are drained
+ * at the end of each build step.
+ * <p>
+ * Requests are recorded per scope, i.e. per build, which is bound to the requesting thread by
+ * {@link #setScope(String)} and handed over to worker threads by {@link #scoped(Callable)}. Requests without a bound
+ * scope are recorded in the default scope. Scopes without any request for {@link #SCOPE_RETENTION} milliseconds,
+ * e.g. of builds whose statistics could not be collected, are discarded.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public final class ETComMetrics {
+
+    /**
+     * Defines the upper bounds of the latency histogram buckets in milliseconds.
+     * An additional overflow bucket counts all requests exceeding the last bound.
+     */
+    public static final long[] BUCKET_BOUNDS = { 1L, 5L, 10L, 50L, 100L, 500L, 1000L, 5000L, 30000L, 120000L };
+
+    /**
+     * Defines the pseudo method name used for recording the COM connection setup.
+     */
+    public static final String CONNECT_METHOD = "Connect";
+
+    /**
+     * Defines the possible outcomes of a COM request.
+     */
+    public enum Outcome {
+        /**
+         * Request finished successfully.
+         */
+        SUCCESS,
+
+        /**
+         * Request has been aborted by timeout.
+         */
+        TIMEOUT,
+
+        /**
+         * Request failed with an error.
+         */
+        ERROR;
+    }
+
+    /**
+     * Defines the scope of all requests performed without a bound scope.
+     */
+    public static final String DEFAULT_SCOPE = "";
+
+    /**
+     * Defines the time in milliseconds after which a scope without any recorded request is discarded.
+     */
+    public static final long SCOPE_RETENTION = TimeUnit.DAYS.toMillis(1);
+
+    private static final ThreadLocal<String> SCOPE = new ThreadLocal<String>();
+
+    private final ConcurrentMap<String, ScopeRecorder> scopes = new ConcurrentHashMap<String, ScopeRecorder>();
+
+    /**
+     * Private constructor.
+     */
+    private ETComMetrics() {
+    }
+
+    /**
+     * Records a finished COM request.
+     *
+     * @param method
+     *            the COM API method name
+     * @param durationNanos
+     *            the request duration in nanoseconds
+     * @param outcome
+     *            the request outcome
+     */
+    public void record(final String method, final long durationNanos, final Outcome outcome) {
+        record(getScope(), method, durationNanos, outcome, System.currentTimeMillis());
+    }
+
+    /**
+     * Records a finished COM request in the given scope.
+     *
+     * @param scope
+     *            the scope
+     * @param method
+     *            the COM API method name
+     * @param durationNanos
+     *            the request duration in nanoseconds
+     * @param outcome
+     *            the request outcome
+     * @param nowMillis
+     *            the current time in milliseconds
+     */
+    void record(final String scope, final String method, final long durationNanos, final Outcome outcome,
+            final long nowMillis) {
+        ScopeRecorder scopeRecorder = scopes.get(scope);
+        if (scopeRecorder == null) {
+            // New scopes are rare, so purge the discarded ones only here
+            purge(nowMillis);
+            final ScopeRecorder newScopeRecorder = new ScopeRecorder();
+            scopeRecorder = scopes.putIfAbsent(scope, newScopeRecorder);
+            if (scopeRecorder == null) {
+                scopeRecorder = newScopeRecorder;
+            }
+        }
+        scopeRecorder.record(method, durationNanos, outcome, nowMillis);
+    }
+
+    /**
+     * Discards all scopes without any recorded request for {@link #SCOPE_RETENTION} milliseconds.
+     *
+     * @param nowMillis
+     *            the current time in milliseconds
+     */
+    private void purge(final long nowMillis) {
+        final Iterator<ScopeRecorder> it = scopes.values().iterator();
+        while (it.hasNext()) {
+            if (nowMillis - it.next().lastRecordMillis > SCOPE_RETENTION) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Binds the given scope to the current thread, all requests of this thread are recorded in this scope.
+     *
+     * @param scope
+     *            the scope, or {@code null} to record in the default scope
+     * @return the previously bound scope, may be {@code null}
+     */
+    @CheckForNull
+    public static String setScope(@CheckForNull final String scope) {
+        final String previous = SCOPE.get();
+        if (scope == null) {
+            SCOPE.remove();
+        } else {
+            SCOPE.set(scope);
+        }
+        return previous;
+    }
+
+    /**
+     * Wraps the given task, so that it records its requests in the scope bound to the current thread, even if it is
+     * performed by a worker thread.
+     *
+     * @param <V>
+     *            the result type
+     * @param task
+     *            the task to wrap
+     * @return the scoped task
+     */
+    public static <V> Callable<V> scoped(final Callable<V> task) {
+        final String scope = SCOPE.get();
+        return new Callable<V>() {
+
+            @Override
+            public V call() throws Exception {
+                final String previous = setScope(scope);
+                try {
+                    return task.call();
+                } finally {
+                    setScope(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Gets the scope bound to the current thread.
+     *
+     * @return the current scope or {@link #DEFAULT_SCOPE} if no scope is bound
+     */
+    public static String getScope() {
+        final String scope = SCOPE.get();
+        return scope == null ? DEFAULT_SCOPE : scope;
+    }
+
+    /**
+     * Takes a snapshot of the statistics recorded in the default scope without resetting them.
+     *
+     * @return the statistics by method name, sorted alphabetically
+     */
+    public Map<String, ComMethodStats> snapshot() {
+        return snapshot(DEFAULT_SCOPE);
+    }
+
+    /**
+     * Takes a snapshot of the statistics recorded in the given scope without resetting them.
+     *
+     * @param scope
+     *            the scope
+     * @return the statistics by method name, sorted alphabetically
+     */
+    public Map<String, ComMethodStats> snapshot(final String scope) {
+        return collect(scopes.get(scope), false);
+    }
+
+    /**
+     * Takes a snapshot of the statistics recorded in the default scope and resets the recorders afterwards.
+     * <p>
+     * Requests finishing while draining are either part of this or of the next snapshot, but are never lost.
+     *
+     * @return the statistics by method name, sorted alphabetically
+     */
+    public Map<String, ComMethodStats> drain() {
+        return collect(scopes.get(DEFAULT_SCOPE), true);
+    }
+
+    /**
+     * Takes a snapshot of the statistics recorded in the given scope and discards the scope afterwards.
+     * <p>
+     * A scope should only be drained after its requests have finished, otherwise concurrently finishing requests
+     * may not be part of the snapshot.
+     *
+     * @param scope
+     *            the scope
+     * @return the statistics by method name, sorted alphabetically
+     */
+    public Map<String, ComMethodStats> drain(final String scope) {
+        if (DEFAULT_SCOPE.equals(scope)) {
+            return drain();
+        }
+        return collect(scopes.remove(scope), true);
+    }
+
+    /**
+     * Collects the statistics of the given scope.
+     *
+     * @param scopeRecorder
+     *            the recorder of the scope, may be {@code null}
+     * @param reset
+     *            specifies whether to reset the recorders
+     * @return the statistics by method name
+     */
+    private static Map<String, ComMethodStats> collect(@CheckForNull final ScopeRecorder scopeRecorder,
+            final boolean reset) {
+        final Map<String, ComMethodStats> stats = new TreeMap<String, ComMethodStats>();
+        if (scopeRecorder == null) {
+            return stats;
+        }
+        for (final Map.Entry<String, MethodRecorder> entry : scopeRecorder.recorders.entrySet()) {
+            final ComMethodStats methodStats = entry.getValue().toStats(entry.getKey(), reset);
+            if (methodStats.getCount() > 0) {
+                stats.put(entry.getKey(), methodStats);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Gets the index of the histogram bucket for the given duration.
+     *
+     * @param durationNanos
+     *            the duration in nanoseconds
+     * @return the bucket index
+     */
+    static int getBucketIndex(final long durationNanos) {
+        final long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            if (durationMillis <= BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS.length;
+    }
+
+    /**
+     * Lock-free recorder holding the statistics of all COM API methods of a single scope.
+     */
+    private static final class ScopeRecorder {
+
+        private final ConcurrentMap<String, MethodRecorder> recorders =
+                new ConcurrentHashMap<String, MethodRecorder>();
+        private volatile long lastRecordMillis = System.currentTimeMillis();
+
+        /**
+         * Records a single request.
+         *
+         * @param method
+         *            the COM API method name
+         * @param durationNanos
+         *            the request duration in nanoseconds
+         * @param outcome
+         *            the request outcome
+         * @param nowMillis
+         *            the current time in milliseconds
+         */
+        void record(final String method, final long durationNanos, final Outcome outcome, final long nowMillis) {
+            lastRecordMillis = nowMillis;
+            MethodRecorder recorder = recorders.get(method);
+            if (recorder == null) {
+                final MethodRecorder newRecorder = new MethodRecorder();
+                recorder = recorders.putIfAbsent(method, newRecorder);
+                if (recorder == null) {
+                    recorder = newRecorder;
+                }
+            }
+            recorder.record(durationNanos, outcome);
+        }
+    }
+
+    /**
+     * Lock-free recorder holding the statistics of a single COM API method.
+     */
+    private static final class MethodRecorder {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length + 1];
+
+        /**
+         * Instantiates a new {@link MethodRecorder}.
+         */
+        MethodRecorder() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Records a single request.
+         *
+         * @param durationNanos
+         *            the request duration in nanoseconds
+         * @param outcome
+         *            the request outcome
+         */
+        void record(final long durationNanos, final Outcome outcome) {
+            count.increment();
+            totalNanos.add(durationNanos);
+            buckets[getBucketIndex(durationNanos)].increment();
+            if (outcome == Outcome.TIMEOUT) {
+                timeouts.increment();
+            } else if (outcome == Outcome.ERROR) {
+                errors.increment();
+            }
+            long currentMax = maxNanos.get();
+            while (durationNanos > currentMax && !maxNanos.compareAndSet(currentMax, durationNanos)) {
+                currentMax = maxNanos.get();
+            }
+        }
+
+        /**
+         * Converts the recorded values to serializable statistics.
+         *
+         * @param method
+         *            the method name
+         * @param reset
+         *            specifies whether to reset the recorded values
+         * @return the method statistics
+         */
+        ComMethodStats toStats(final String method, final boolean reset) {
+            final long[] bucketCounts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                bucketCounts[i] = reset ? buckets[i].sumThenReset() : buckets[i].sum();
+            }
+            if (reset) {
+                return new ComMethodStats(method, count.sumThenReset(), errors.sumThenReset(),
+                        timeouts.sumThenReset(), totalNanos.sumThenReset(), maxNanos.getAndSet(0L), bucketCounts);
+            }
+            return new ComMethodStats(method, count.sum(), errors.sum(), timeouts.sum(), totalNanos.sum(),
+                    maxNanos.get(), bucketCounts);
+        }
+    }
+
+    /**
+     * Initializes and holds the singleton for this class.
+     */
+    private static final class SingletonHolder {
+
+        private static final ETComMetrics INSTANCE = new ETComMetrics();
+
+        /**
+         * Private constructor.
+         */
+        private SingletonHolder() {
+            throw new UnsupportedOperationException("Singleton class");
+        }
+    }
+
+    /**
+     * Returns the current instance of {@link ETComMetrics}.
+     *
+     * @return the singleton instance
+     */
+    public static ETComMetrics getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+}
@@ -30,6 +30,7 @@
 package de.tracetronic.jenkins.plugins.ecutest.env;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import hudson.EnvVars;
 import hudson.model.FreeStyleBuild;
 
@@ -91,5 +92,7 @@ public class ToolEnvContributorIT extends IntegrationTestBase {
                 envVars.get(ToolEnvContributor.PREFIX + ToolEnvContributor.TOOL_LAST_TBC + toolId));
         assertEquals("TT_TOOL_LAST_TCF_0 should match env action", String.valueOf(toolEnvAction.getLastTcf()),
                 envVars.get(ToolEnvContributor.PREFIX + ToolEnvContributor.TOOL_LAST_TCF + toolId));
+        assertNull("TT_TOOL_PID_0 should not be set without tracked process",
+                envVars.get(ToolEnvContributor.PREFIX + ToolEnvContributor.TOOL_PID + toolId));
     }
 }
@@ -187,6 +187,7 @@ public class TestBuilderDslExtensionIT extends AbstractDslExtensionIT {
         assertTrue(config.isForceReload());
         assertTrue(config.isLoadOnly());
         assertTrue(config.isKeepConfig());
+        assertTrue(config.isSkipUnchanged());
         testGlobalConstantsWithDsl(config.getConstants());
     }
 
@@ -218,6 +219,7 @@ public class TestBuilderDslExtensionIT extends AbstractDslExtensionIT {
         assertThat(config.getParsedTimeout(), is(600));
         assertFalse(config.isStopOnError());
         assertFalse(config.isCheckTestFile());
+        assertThat(config.getParsedPollingInterval(), is(100));
     }
 
     private void testProjectConfigWithDsl(final ProjectConfig config) throws Exception {
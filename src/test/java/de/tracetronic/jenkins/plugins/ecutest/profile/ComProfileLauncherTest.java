@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import hudson.Launcher;
+import hudson.model.Run;
+import hudson.remoting.Callable;
+import hudson.remoting.VirtualChannel;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jenkins.security.MasterToSlaveCallable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ComMethodStats;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComMetrics;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComMetrics.Outcome;
+
+/**
+ * Unit tests for {@link ComProfileLauncher}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ComProfileLauncherTest {
+
+    private VirtualChannel channel;
+    private Launcher launcher;
+    private Run<?, ?> run;
+
+    @Before
+    public void setUp() {
+        channel = mock(VirtualChannel.class);
+        launcher = mock(Launcher.class);
+        when(launcher.getChannel()).thenReturn(channel);
+        run = mock(Run.class);
+        when(run.getExternalizableId()).thenReturn("test#" + System.nanoTime());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testScopedCall() throws Exception {
+        final Launcher scopedLauncher = ComProfileAction.scope(run, launcher);
+        scopedLauncher.getChannel().call(new RecordCallable());
+
+        final ArgumentCaptor<Callable<String, RuntimeException>> captor = ArgumentCaptor.forClass(Callable.class);
+        verify(channel).call(captor.capture());
+        final String scope = ComProfileAction.getScope(run);
+        assertEquals(scope, captor.getValue().call());
+        assertEquals(ETComMetrics.DEFAULT_SCOPE, ETComMetrics.getScope());
+
+        final Map<String, ComMethodStats> stats = ETComMetrics.getInstance().drain(scope);
+        assertEquals(1, stats.get("GetVersion").getCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testScopedAsyncCall() throws Exception {
+        final Launcher scopedLauncher = ComProfileAction.scope(run, launcher);
+        scopedLauncher.getChannel().callAsync(new RecordCallable());
+
+        final ArgumentCaptor<Callable<String, RuntimeException>> captor = ArgumentCaptor.forClass(Callable.class);
+        verify(channel).callAsync(captor.capture());
+        assertTrue(captor.getValue() instanceof ComProfileLauncher.ScopedCallable);
+        assertEquals(ComProfileAction.getScope(run), captor.getValue().call());
+    }
+
+    @Test
+    public void testMissingChannel() {
+        final Launcher offlineLauncher = mock(Launcher.class);
+        assertNull(ComProfileAction.scope(run, offlineLauncher).getChannel());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCollectDrainsBuildScope() throws Exception {
+        ComProfileAction.collect(run, launcher);
+
+        final ArgumentCaptor<Callable<Map<String, ComMethodStats>, IOException>> captor =
+                ArgumentCaptor.forClass(Callable.class);
+        verify(channel).call(captor.capture());
+
+        final String scope = ComProfileAction.getScope(run);
+        final String previous = ETComMetrics.setScope(scope);
+        try {
+            ETComMetrics.getInstance().record("Start", TimeUnit.MILLISECONDS.toNanos(5), Outcome.SUCCESS);
+        } finally {
+            ETComMetrics.setScope(previous);
+        }
+        ETComMetrics.getInstance().record("Stop", TimeUnit.MILLISECONDS.toNanos(5), Outcome.SUCCESS);
+
+        final Map<String, ComMethodStats> stats = captor.getValue().call();
+        assertEquals(1, stats.size());
+        assertEquals(1, stats.get("Start").getCount());
+        ETComMetrics.getInstance().drain();
+    }
+
+    /**
+     * Callable recording a COM request and returning the scope it has been performed in.
+     */
+    private static final class RecordCallable extends MasterToSlaveCallable<String, RuntimeException> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String call() {
+            ETComMetrics.getInstance().record("GetVersion", TimeUnit.MILLISECONDS.toNanos(5), Outcome.SUCCESS);
+            return ETComMetrics.getScope();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ReportCache}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ReportCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File dbFile;
+
+    @Before
+    public void setUp() throws Exception {
+        dbFile = folder.newFile("test.trf");
+        write(dbFile, "trf");
+    }
+
+    @Test
+    public void testKey() throws Exception {
+        final Map<String, String> settings = new LinkedHashMap<String, String>();
+        settings.put("b", "2");
+        settings.put("a", "1");
+        final Map<String, String> sortedSettings = new LinkedHashMap<String, String>();
+        sortedSettings.put("a", "1");
+        sortedSettings.put("b", "2");
+        final String key = ReportCache.getKey(dbFile, "HTML", settings, "7.0.0", "");
+        assertEquals("Setting order should not matter", key,
+                ReportCache.getKey(dbFile, "HTML", sortedSettings, "7.0.0", ""));
+        assertNotEquals("Version should be part of key", key,
+                ReportCache.getKey(dbFile, "HTML", settings, "7.1.0", ""));
+        assertNotEquals("Template should be part of key", key,
+                ReportCache.getKey(dbFile, "EXCEL", settings, "7.0.0", ""));
+        assertNotEquals("Template fingerprint should be part of key", key,
+                ReportCache.getKey(dbFile, "HTML", settings, "7.0.0", "fingerprint"));
+        write(dbFile, "changed");
+        assertNotEquals("TRF content should be part of key", key,
+                ReportCache.getKey(dbFile, "HTML", settings, "7.0.0", ""));
+    }
+
+    @Test
+    public void testFingerprint() throws Exception {
+        assertEquals("Missing template directory should have empty fingerprint", "",
+                ReportCache.getFingerprint(new File(folder.getRoot(), "missing")));
+        final File templateDir = folder.newFolder("Templates");
+        final File templateFile = new File(templateDir, "HTML/template.xml");
+        templateFile.getParentFile().mkdirs();
+        write(templateFile, "template");
+        final String fingerprint = ReportCache.getFingerprint(templateDir);
+        assertEquals("Unchanged templates should have same fingerprint", fingerprint,
+                ReportCache.getFingerprint(templateDir));
+
+        write(templateFile, "modified template");
+        assertNotEquals("Modified template should change fingerprint", fingerprint,
+                ReportCache.getFingerprint(templateDir));
+    }
+
+    @Test
+    public void testStoreAndRestore() throws Exception {
+        final ReportCache cache = new ReportCache(folder.newFolder("cache"), ReportCache.DEFAULT_MAX_SIZE);
+        final String key = ReportCache.getKey(dbFile, "HTML", Collections.<String, String> emptyMap(), "7.0.0", "");
+        final File outDir = folder.newFolder("HTML");
+        write(new File(outDir, "report.html"), "report");
+        assertFalse("Report should not be cached yet", cache.restore(key, outDir));
+
+        cache.store(key, outDir);
+        write(new File(outDir, "report.html"), "modified");
+        assertTrue("Report should be restored", cache.restore(key, outDir));
+        assertEquals("report", read(new File(outDir, "report.html")));
+    }
+
+    @Test
+    public void testDisabledCache() throws Exception {
+        final ReportCache cache = new ReportCache(folder.newFolder("cache"), 0);
+        final File outDir = folder.newFolder("HTML");
+        write(new File(outDir, "report.html"), "report");
+        cache.store("key", outDir);
+        assertFalse("Disabled cache should not restore", cache.restore("key", outDir));
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        final ReportCache cache = new ReportCache(folder.newFolder("cache"), 10);
+        final File outDir = folder.newFolder("HTML");
+        write(new File(outDir, "report.html"), "123456");
+        cache.store("first", outDir);
+        new File(cache.getCacheDir(), "first").setLastModified(System.currentTimeMillis() - 10000);
+        cache.store("second", outDir);
+        assertFalse("Least recently used entry should be evicted", cache.restore("first", outDir));
+        assertTrue("Recently used entry should be kept", cache.restore("second", outDir));
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(final File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.TaskListener;
+import hudson.model.Run;
+import hudson.remoting.Callable;
+import hudson.remoting.VirtualChannel;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
+
+/**
+ * Unit tests for the lifecycle of {@link ReportSession}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ReportSessionTest {
+
+    private final FilePath workspace = new FilePath(new File("."));
+    private final TaskListener listener = TaskListener.NULL;
+    private Run<?, ?> run;
+    private VirtualChannel channel;
+    private Launcher launcher;
+
+    @Before
+    public void setUp() {
+        run = mock(Run.class);
+        when(run.getExternalizableId()).thenReturn("test#" + System.nanoTime());
+        channel = mock(VirtualChannel.class);
+        launcher = mock(Launcher.class);
+        when(launcher.getChannel()).thenReturn(channel);
+    }
+
+    @Test
+    public void testStartAndClose() throws Exception {
+        final ETClient etClient = mockClient(true);
+        assertTrue(ReportSession.start(run, etClient, workspace, launcher, listener));
+        assertTrue(ReportSession.isActive(run));
+
+        ReportSession.close(run, listener);
+        assertFalse(ReportSession.isActive(run));
+        verify(etClient).stop(true, workspace, launcher, listener);
+    }
+
+    @Test
+    public void testReuseRunningSession() throws Exception {
+        final ETClient etClient = mockClient(true);
+        final ETClient nextClient = mockClient(true);
+        assertTrue(ReportSession.start(run, etClient, workspace, launcher, listener));
+        mockProcesses(Collections.singletonList("ECU-TEST.exe"));
+
+        assertTrue(ReportSession.start(run, nextClient, workspace, launcher, listener));
+        verify(nextClient, never()).start(anyBoolean(), any(FilePath.class), any(Launcher.class),
+                any(TaskListener.class));
+        verify(etClient, never()).stop(anyBoolean(), any(FilePath.class), any(Launcher.class),
+                any(TaskListener.class));
+
+        ReportSession.close(run, listener);
+        verify(etClient).stop(true, workspace, launcher, listener);
+        verify(nextClient, never()).stop(anyBoolean(), any(FilePath.class), any(Launcher.class),
+                any(TaskListener.class));
+    }
+
+    @Test
+    public void testRestartStopsPreviousSession() throws Exception {
+        final ETClient etClient = mockClient(true);
+        final ETClient nextClient = mockClient(true);
+        assertTrue(ReportSession.start(run, etClient, workspace, launcher, listener));
+        mockProcesses(Collections.<String> emptyList());
+
+        assertTrue(ReportSession.start(run, nextClient, workspace, launcher, listener));
+        verify(etClient).stop(true, workspace, launcher, listener);
+        verify(nextClient).start(false, workspace, launcher, listener);
+        assertTrue(ReportSession.isActive(run));
+
+        ReportSession.close(run, listener);
+        verify(nextClient).stop(true, workspace, launcher, listener);
+        assertFalse(ReportSession.isActive(run));
+    }
+
+    @Test
+    public void testFailedStart() throws Exception {
+        final ETClient etClient = mockClient(false);
+        assertFalse(ReportSession.start(run, etClient, workspace, launcher, listener));
+        assertFalse(ReportSession.isActive(run));
+        verify(etClient).stop(true, workspace, launcher, listener);
+    }
+
+    @Test
+    public void testCloseWithoutSession() throws Exception {
+        ReportSession.close(run, listener);
+        assertFalse(ReportSession.isActive(run));
+    }
+
+    @Test
+    public void testListenerClosesSession() throws Exception {
+        final ETClient etClient = mockClient(true);
+        assertTrue(ReportSession.start(run, etClient, workspace, launcher, listener));
+
+        new ReportSessionListener().onCompleted(run, listener);
+        verify(etClient).stop(true, workspace, launcher, listener);
+        assertFalse(ReportSession.isActive(run));
+    }
+
+    @Test
+    public void testStartDoesNotBlockOtherBuilds() throws Exception {
+        final Run<?, ?> otherRun = mock(Run.class);
+        when(otherRun.getExternalizableId()).thenReturn("other#" + System.nanoTime());
+        final CountDownLatch starting = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ETClient slowClient = mockClient(true);
+        when(slowClient.start(eq(false), any(FilePath.class), any(Launcher.class), any(TaskListener.class)))
+                .thenAnswer(new Answer<Boolean>() {
+
+                    @Override
+                    public Boolean answer(final InvocationOnMock invocation) throws InterruptedException {
+                        starting.countDown();
+                        release.await();
+                        return true;
+                    }
+                });
+        final Thread thread = new Thread() {
+
+            @Override
+            public void run() {
+                try {
+                    ReportSession.start(run, slowClient, workspace, launcher, listener);
+                } catch (final IOException | InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        thread.start();
+        try {
+            assertTrue(starting.await(10, TimeUnit.SECONDS));
+            final ETClient etClient = mockClient(true);
+            assertTrue(ReportSession.start(otherRun, etClient, workspace, launcher, listener));
+            assertTrue(ReportSession.isActive(otherRun));
+        } finally {
+            release.countDown();
+            thread.join();
+        }
+        ReportSession.close(run, listener);
+        ReportSession.close(otherRun, listener);
+    }
+
+    /**
+     * Mocks an ECU-TEST client.
+     *
+     * @param started
+     *            the result of starting ECU-TEST
+     * @return the mocked client
+     * @throws Exception
+     *             in case of mocking errors
+     */
+    private ETClient mockClient(final boolean started) throws Exception {
+        final ETClient etClient = mock(ETClient.class);
+        when(etClient.getToolName()).thenReturn("ECU-TEST");
+        when(etClient.start(eq(false), any(FilePath.class), any(Launcher.class), any(TaskListener.class)))
+                .thenReturn(started);
+        when(etClient.stop(eq(true), any(FilePath.class), any(Launcher.class), any(TaskListener.class)))
+                .thenReturn(true);
+        return etClient;
+    }
+
+    /**
+     * Mocks the running ECU-TEST processes found on the node.
+     *
+     * @param processes
+     *            the found process names
+     * @throws IOException
+     *             in case of mocking errors
+     * @throws InterruptedException
+     *             in case of mocking errors
+     */
+    private void mockProcesses(final List<String> processes) throws IOException, InterruptedException {
+        doReturn(processes).when(channel).call(ArgumentMatchers.<Callable<List<String>, IOException>> any());
+    }
+}
@@ -72,5 +72,8 @@ public class ATXPublisherTest {
         assertEquals(!isDefault, publisher.isRunOnFailed());
         assertEquals(isDefault, publisher.isArchiving());
         assertEquals(isDefault, publisher.isKeepAll());
+        assertEquals(ATXReportUploader.DEFAULT_UPLOAD_THREADS, publisher.getUploadThreads());
+        assertEquals(ATXReportUploader.DEFAULT_UPLOAD_QUEUE_SIZE, publisher.getUploadQueueSize());
+        assertEquals(ATXReportUploader.DEFAULT_UPLOAD_TRIES, publisher.getUploadTries());
     }
 }
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import hudson.model.Action;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+
+/**
+ * Unit tests for {@link ATXSpoolDrainWork}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXSpoolDrainWorkTest {
+
+    private static final String BASE_URL = "http://localhost:8085";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final TTConsoleLogger logger = new TTConsoleLogger(TaskListener.NULL);
+
+    @Test
+    public void testDrain() throws Exception {
+        final TestDrainWork work = new TestDrainWork();
+        final File entryDir = work.addEntry(createEntry(System.currentTimeMillis()), 2);
+        work.drain(Arrays.asList(entryDir), logger);
+        assertEquals("All archives should be uploaded", 2, work.uploads);
+        assertEquals("Links of all archives should be attached", 2, work.linkedFiles.size());
+        assertFalse("Uploaded entry should be removed", entryDir.exists());
+    }
+
+    @Test
+    public void testRateLimitSplitsLargeEntry() throws Exception {
+        final TestDrainWork work = new TestDrainWork();
+        final ATXSpoolEntry entry = createEntry(System.currentTimeMillis());
+        final File entryDir = work.addEntry(entry, ATXSpoolDrainWork.MAX_UPLOADS_PER_PERIOD + 5);
+
+        work.drain(Arrays.asList(entryDir), logger);
+        assertEquals("Uploads should be limited per period", ATXSpoolDrainWork.MAX_UPLOADS_PER_PERIOD, work.uploads);
+        assertEquals("Remaining archives should be kept", 5, ATXUploadSpool.getZipFiles(entryDir).size());
+        verify(entry, never()).scheduleRetry(anyLong());
+
+        work.drain(Arrays.asList(entryDir), logger);
+        assertEquals("Remaining archives should be uploaded in next period",
+                ATXSpoolDrainWork.MAX_UPLOADS_PER_PERIOD + 5, work.uploads);
+        assertFalse("Uploaded entry should be removed", entryDir.exists());
+    }
+
+    @Test
+    public void testRateLimitAcrossEntries() throws Exception {
+        final TestDrainWork work = new TestDrainWork();
+        final long now = System.currentTimeMillis();
+        final File firstDir = work.addEntry(createEntry(now), 6);
+        final File secondDir = work.addEntry(createEntry(now), 6);
+        final File thirdDir = work.addEntry(createEntry(now), 1);
+        work.drain(Arrays.asList(firstDir, secondDir, thirdDir), logger);
+        assertEquals("Uploads should be limited per period", ATXSpoolDrainWork.MAX_UPLOADS_PER_PERIOD, work.uploads);
+        assertFalse("First entry should be uploaded", firstDir.exists());
+        assertEquals("Second entry should be uploaded partially", 2, ATXUploadSpool.getZipFiles(secondDir).size());
+        assertEquals("Third entry should be kept", 1, ATXUploadSpool.getZipFiles(thirdDir).size());
+    }
+
+    @Test
+    public void testDiscardExpiredEntry() throws Exception {
+        final TestDrainWork work = new TestDrainWork();
+        final File entryDir = work.addEntry(
+                createEntry(System.currentTimeMillis() - ATXSpoolDrainWork.MAX_AGE - 1000L), 1);
+        work.drain(Arrays.asList(entryDir), logger);
+        assertEquals("Expired entry should not be uploaded", 0, work.uploads);
+        assertFalse("Expired entry should be discarded", entryDir.exists());
+    }
+
+    @Test
+    public void testFailedUploadSchedulesRetry() throws Exception {
+        final TestDrainWork work = new TestDrainWork();
+        work.isUploaded = false;
+        final ATXSpoolEntry entry = createEntry(System.currentTimeMillis());
+        final File entryDir = work.addEntry(entry, 2);
+        work.drain(Arrays.asList(entryDir), logger);
+        verify(entry).scheduleRetry(anyLong());
+        assertTrue("Retry should be saved", work.savedEntries.contains(entry));
+        assertEquals("Failed archives should be kept", 2, ATXUploadSpool.getZipFiles(entryDir).size());
+        assertTrue("No links should be attached", work.linkedFiles.isEmpty());
+    }
+
+    @Test
+    public void testSkipEntryNotDue() throws Exception {
+        final TestDrainWork work = new TestDrainWork();
+        final ATXSpoolEntry entry = createEntry(System.currentTimeMillis());
+        when(entry.isDue(anyLong())).thenReturn(false);
+        final File entryDir = work.addEntry(entry, 1);
+        work.drain(Arrays.asList(entryDir), logger);
+        assertEquals("Entry in backoff should not be uploaded", 0, work.uploads);
+        assertTrue("Entry in backoff should be kept", entryDir.exists());
+    }
+
+    @Test
+    public void testUnreachableServer() throws Exception {
+        final TestDrainWork work = new TestDrainWork();
+        work.isReachable = false;
+        final long now = System.currentTimeMillis();
+        final ATXSpoolEntry entry = createEntry(now);
+        final File firstDir = work.addEntry(entry, 1);
+        final File secondDir = work.addEntry(createEntry(now), 1);
+        work.drain(Arrays.asList(firstDir, secondDir), logger);
+        assertEquals("Server should be checked once per period", 1, work.connectionTests);
+        assertEquals("No archives should be uploaded", 0, work.uploads);
+        verify(entry, never()).scheduleRetry(anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAddReports() throws Exception {
+        final Run<?, ?> run = mock(Run.class);
+        final ATXSpoolEntry entry = createEntry(System.currentTimeMillis());
+        when(entry.getProjectId()).thenReturn("1");
+        ATXSpoolDrainWork.addReports(run, entry,
+                Arrays.asList(new File("000_report.zip"), new File("001_report.zip")));
+
+        final ArgumentCaptor<Action> captor = ArgumentCaptor.forClass(Action.class);
+        verify(run).addAction(captor.capture());
+        verify(run).save();
+        final List<ATXReport> reports = ((ATXBuildAction<ATXReport>) captor.getValue()).getATXReports();
+        assertEquals("Links of all archives should be attached", 2, reports.size());
+        assertEquals("spooled1", reports.get(0).getId());
+        assertEquals("report", reports.get(0).getTitle());
+        assertEquals("spooled2", reports.get(1).getId());
+        assertTrue("Link should filter by project", reports.get(0).getReportUrl().startsWith(BASE_URL + "/reports?")
+                && reports.get(0).getReportUrl().endsWith("&projectId=1"));
+    }
+
+    /**
+     * Creates a due spool entry.
+     *
+     * @param created
+     *            the creation time in milliseconds
+     * @return the spool entry
+     */
+    private static ATXSpoolEntry createEntry(final long created) {
+        final ATXSpoolEntry entry = mock(ATXSpoolEntry.class);
+        when(entry.getBuildId()).thenReturn("test#1");
+        when(entry.getBaseUrl()).thenReturn(BASE_URL);
+        when(entry.getCreated()).thenReturn(created);
+        when(entry.isDue(anyLong())).thenReturn(true);
+        return entry;
+    }
+
+    /**
+     * {@link ATXSpoolDrainWork} keeping the metadata in memory and simulating the uploads.
+     */
+    private class TestDrainWork extends ATXSpoolDrainWork {
+
+        private final Map<File, ATXSpoolEntry> entries = new HashMap<File, ATXSpoolEntry>();
+        private final List<ATXSpoolEntry> savedEntries = new ArrayList<ATXSpoolEntry>();
+        private final List<File> linkedFiles = new ArrayList<File>();
+        private boolean isReachable = true;
+        private boolean isUploaded = true;
+        private int connectionTests;
+        private int uploads;
+
+        File addEntry(final ATXSpoolEntry entry, final int zipCount) throws IOException {
+            final File entryDir = folder.newFolder();
+            for (int i = 0; i < zipCount; i++) {
+                assertTrue(new File(entryDir, String.format("%03d_report.zip", i)).createNewFile());
+            }
+            entries.put(entryDir, entry);
+            return entryDir;
+        }
+
+        @Override
+        ATXSpoolEntry load(final File entryDir) {
+            return entries.get(entryDir);
+        }
+
+        @Override
+        void save(final File entryDir, final ATXSpoolEntry entry) {
+            savedEntries.add(entry);
+        }
+
+        @Override
+        boolean isServerReachable(final String baseUrl) {
+            connectionTests++;
+            return isReachable;
+        }
+
+        @Override
+        boolean upload(final ATXSpoolEntry entry, final List<File> zipFiles, final TTConsoleLogger logger) {
+            for (final File zipFile : zipFiles) {
+                if (isUploaded) {
+                    assertTrue(zipFile.delete());
+                    uploads++;
+                }
+            }
+            return isUploaded;
+        }
+
+        @Override
+        void addReports(final ATXSpoolEntry entry, final List<File> zipFiles) {
+            linkedFiles.addAll(zipFiles);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ATXSpoolEntry}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXSpoolEntryTest {
+
+    @Test
+    public void testBackoff() {
+        // Mock to avoid encrypting the authentication key without a running Jenkins
+        final ATXSpoolEntry entry = mock(ATXSpoolEntry.class, CALLS_REAL_METHODS);
+        final long now = 1000L;
+        assertTrue("New entry should be due", entry.isDue(now));
+
+        entry.scheduleRetry(now);
+        assertEquals(1, entry.getTries());
+        assertFalse("Entry should not be due during backoff", entry.isDue(now + ATXSpoolEntry.RETRY_DELAY - 1));
+        assertTrue("Entry should be due after backoff", entry.isDue(now + ATXSpoolEntry.RETRY_DELAY));
+
+        entry.scheduleRetry(now);
+        assertEquals("Delay should double", now + 2 * ATXSpoolEntry.RETRY_DELAY, entry.getNextAttempt());
+
+        for (int i = 0; i < 20; i++) {
+            entry.scheduleRetry(now);
+        }
+        assertEquals("Delay should be capped", now + ATXSpoolEntry.MAX_RETRY_DELAY, entry.getNextAttempt());
+    }
+}
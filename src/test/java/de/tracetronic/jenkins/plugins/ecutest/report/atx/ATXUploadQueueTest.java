@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import hudson.model.TaskListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.tracetronic.jenkins.plugins.ecutest.log.TTConsoleLogger;
+
+/**
+ * Unit tests for {@link ATXUploadQueue}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXUploadQueueTest {
+
+    private final TTConsoleLogger logger = new TTConsoleLogger(TaskListener.NULL);
+
+    @Test
+    public void testUpload() throws Exception {
+        final CountingQueue queue = new CountingQueue(2, 2, 1, 0);
+        for (int i = 0; i < 10; i++) {
+            queue.submit(new File("report" + i + ".zip"));
+        }
+        assertTrue("All reports should be uploaded", queue.awaitCompletion());
+        assertEquals("Each report should be uploaded once", 10, queue.tries.get());
+        assertTrue("Parallel uploads should be bounded", queue.maxActive.get() <= 2);
+    }
+
+    @Test
+    public void testRetryUpload() throws Exception {
+        final CountingQueue queue = new CountingQueue(1, 1, 3, 2);
+        queue.submit(new File("report.zip"));
+        assertTrue("Report should be uploaded after retries", queue.awaitCompletion());
+        assertEquals("Report should be uploaded in three tries", 3, queue.tries.get());
+    }
+
+    @Test
+    public void testFailedUpload() throws Exception {
+        final CountingQueue queue = new CountingQueue(1, 1, 2, Integer.MAX_VALUE);
+        queue.submit(new File("report.zip"));
+        assertFalse("Report upload should fail", queue.awaitCompletion());
+        assertEquals("Report upload should be tried twice", 2, queue.tries.get());
+    }
+
+    @Test
+    public void testCleanAfterUpload() throws Exception {
+        final File uploadedFile = File.createTempFile("report", ".zip");
+        final File failedFile = File.createTempFile("report", ".zip");
+        try {
+            final CountingQueue queue = new CountingQueue(1, 1, 1, 0);
+            queue.submit(uploadedFile, true);
+            assertTrue("Report should be uploaded", queue.awaitCompletion());
+            assertFalse("Uploaded report should be deleted", uploadedFile.exists());
+
+            final CountingQueue failingQueue = new CountingQueue(1, 1, 1, Integer.MAX_VALUE);
+            failingQueue.submit(failedFile, true);
+            assertFalse("Report upload should fail", failingQueue.awaitCompletion());
+            assertTrue("Failed report should be kept", failedFile.exists());
+        } finally {
+            uploadedFile.delete();
+            failedFile.delete();
+        }
+    }
+
+    @Test
+    public void testBackPressure() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final ATXUploadQueue queue = new ATXUploadQueue("", 1, 1, 1, 0, logger) {
+
+            @Override
+            protected void upload(final File zipFile) throws IOException {
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+        queue.submit(new File("report1.zip"));
+        queue.submit(new File("report2.zip"));
+
+        final CountDownLatch submitted = new CountDownLatch(1);
+        final Thread producer = new Thread() {
+
+            @Override
+            public void run() {
+                try {
+                    queue.submit(new File("report3.zip"));
+                    submitted.countDown();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        producer.start();
+        assertFalse("Submit should block while queue is full", submitted.await(200, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue("Submit should continue after uploads finished", submitted.await(5, TimeUnit.SECONDS));
+        producer.join();
+        assertTrue("All reports should be uploaded", queue.awaitCompletion());
+    }
+
+    /**
+     * Upload queue counting the upload tries and failing the first given number of tries.
+     */
+    private final class CountingQueue extends ATXUploadQueue {
+
+        private final AtomicInteger tries = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxActive = new AtomicInteger();
+        private final int failures;
+
+        /**
+         * Instantiates a new {@link CountingQueue}.
+         *
+         * @param threads
+         *            the number of parallel uploads
+         * @param queueSize
+         *            the queue size
+         * @param maxTries
+         *            the maximum number of tries
+         * @param failures
+         *            the number of failing tries
+         */
+        CountingQueue(final int threads, final int queueSize, final int maxTries, final int failures) {
+            super("", threads, queueSize, maxTries, 0, logger);
+            this.failures = failures;
+        }
+
+        @Override
+        protected void upload(final File zipFile) throws IOException {
+            final int current = active.incrementAndGet();
+            try {
+                int max = maxActive.get();
+                while (current > max && !maxActive.compareAndSet(max, current)) {
+                    max = maxActive.get();
+                }
+                if (tries.incrementAndGet() <= failures) {
+                    throw new IOException("Connection refused");
+                }
+                Thread.sleep(10);
+            } catch (final InterruptedException e) {
+                throw new IOException(e);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+}
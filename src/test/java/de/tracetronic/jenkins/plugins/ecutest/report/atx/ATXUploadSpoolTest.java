@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import hudson.FilePath;
+import hudson.model.Run;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ATXUploadSpool}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXUploadSpoolTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRemovePartialEntry() throws Exception {
+        final File spoolDir = folder.newFolder("spool");
+        final FilePath zipFile = new FilePath(folder.newFile("report.zip"));
+        final FilePath missingFile = new FilePath(new File(folder.getRoot(), "missing.zip"));
+        try {
+            ATXUploadSpool.spool(spoolDir, mock(Run.class), "http://localhost:8085", "1", "key",
+                    Arrays.asList(zipFile, missingFile));
+            fail("Spooling a missing archive should fail");
+        } catch (final IOException e) {
+            assertEquals("Partial entry should be removed", 0, spoolDir.list().length);
+        }
+    }
+
+    @Test
+    public void testGetEntryDirs() throws Exception {
+        final File spoolDir = folder.newFolder("spool");
+        final File newerDir = createEntryDir(spoolDir, "2000-b");
+        final File olderDir = createEntryDir(spoolDir, "1000-a");
+        assertTrue(new File(spoolDir, "3000-c").mkdir());
+        assertEquals("Only entries with metadata should be listed oldest first", Arrays.asList(olderDir, newerDir),
+                ATXUploadSpool.getEntryDirs(spoolDir));
+    }
+
+    @Test
+    public void testGetZipFiles() throws Exception {
+        final File entryDir = createEntryDir(folder.getRoot(), "1000-a");
+        assertTrue(new File(entryDir, "001_report.zip").createNewFile());
+        assertTrue(new File(entryDir, "000_report.zip").createNewFile());
+        final List<File> zipFiles = ATXUploadSpool.getZipFiles(entryDir);
+        assertEquals("Only archives should be listed in spool order", Arrays.asList(
+                new File(entryDir, "000_report.zip"), new File(entryDir, "001_report.zip")), zipFiles);
+    }
+
+    /**
+     * Creates an entry directory with empty metadata.
+     *
+     * @param spoolDir
+     *            the spool directory
+     * @param name
+     *            the entry name
+     * @return the entry directory
+     * @throws IOException
+     *             signals that an I/O exception has occurred
+     */
+    private static File createEntryDir(final File spoolDir, final String name) throws IOException {
+        final File entryDir = new File(spoolDir, name);
+        assertTrue(entryDir.mkdir());
+        assertTrue(new File(entryDir, "entry.xml").createNewFile());
+        return entryDir;
+    }
+}
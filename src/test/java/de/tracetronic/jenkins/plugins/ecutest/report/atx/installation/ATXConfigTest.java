@@ -135,6 +135,25 @@ public class ATXConfigTest {
                 is("8085"));
     }
 
+    @Test
+    public void testGetSettingValueByNameFromForeignList() {
+        final ATXConfig config = new ATXConfig(null, null);
+        final ATXConfig defaultConfig = new ATXConfig();
+        assertThat((String) config.getSettingValueByName("serverPort",
+                defaultConfig.getConfigByName("uploadConfig")), is("8085"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testIndependentDefaultConfigs() {
+        final ATXConfig config = new ATXConfig();
+        config.getSettingByName("serverPort").setCurrentValue("1234");
+        final ATXConfig otherConfig = new ATXConfig();
+        assertThat(otherConfig.getSettingByName("serverPort"), is(not(sameInstance(config
+                .getSettingByName("serverPort")))));
+        assertThat((String) otherConfig.getSettingByName("serverPort").getCurrentValue(), is("8085"));
+    }
+
     @Test
     public void testGetInvalidSettingValueByName() {
         final ATXConfig config = new ATXConfig(null, null);
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.atx.installation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+/**
+ * Unit tests for {@link ATXSettingParser}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+@SuppressWarnings("rawtypes")
+public class ATXSettingParserTest {
+
+    private static final String PRECEDING_COMMENT = "//SETTINGS//*[preceding-sibling::comment()[1]";
+
+    private Document doc;
+
+    @Before
+    public void setUp() throws Exception {
+        try (InputStream configFile = ATXConfig.class.getResourceAsStream("config.xml")) {
+            doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(configFile);
+        }
+    }
+
+    @Test
+    public void testParseSettings() {
+        final Map<String, List<ATXSetting>> configMap = ATXSettingParser.parseSettings(doc);
+        assertEquals(5, configMap.size());
+        for (final List<ATXSetting> settings : configMap.values()) {
+            assertTrue("Each section should contain settings", !settings.isEmpty());
+        }
+    }
+
+    @Test
+    public void testParseSettingsMatchesXPath() {
+        final Map<String, List<ATXSetting>> configMap = ATXSettingParser.parseSettings(doc);
+        assertSameSettings(parseXPath(" Uploadeinstellungen "), configMap.get("uploadConfig"));
+        assertSameSettings(parseXPath(" Archiveinstellungen "), configMap.get("archiveConfig"));
+        assertSameSettings(parseXPath(" Attributeinstellungen "), configMap.get("attributeConfig"));
+        assertSameSettings(parseXPath(" TCF-Globale Konstanteneinstellungen "), configMap.get("tcfConstantConfig"));
+        assertSameSettings(parseXPath(" Spezielle Einstellungen "), configMap.get("specialConfig"));
+    }
+
+    @Test
+    public void testParseDescription() {
+        final Map<String, List<ATXSetting>> configMap = ATXSettingParser.parseSettings(doc);
+        final ATXSetting setting = configMap.get("uploadConfig").get(0);
+        assertEquals("uploadToServer", setting.getName());
+        assertEquals("Automatischen Upload zum Server aktivieren?", setting.getDescGerman());
+        assertEquals("Enable auto upload to the server?", setting.getDescEnglish());
+    }
+
+    private List<ATXSetting> parseXPath(final String sectionComment) {
+        return ATXSettingParser.parseSetting(doc, PRECEDING_COMMENT + "[.='" + sectionComment + "']]");
+    }
+
+    private static void assertSameSettings(final List<ATXSetting> expected, final List<ATXSetting> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getClass(), actual.get(i).getClass());
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getDefaultValue(), actual.get(i).getDefaultValue());
+            assertEquals(expected.get(i).getDescGerman(), actual.get(i).getDescGerman());
+            assertEquals(expected.get(i).getDescEnglish(), actual.get(i).getDescEnglish());
+        }
+    }
+}
@@ -36,10 +36,18 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
 
 import org.junit.Test;
 
@@ -52,6 +60,89 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
  */
 public class ReportGeneratorPublisherTest {
 
+    @Test
+    public void testAwaitGeneration() throws Exception {
+        final FutureTask<Boolean> generation = createGeneration();
+        generation.run();
+        final List<String> templates = new ArrayList<String>();
+        ReportGeneratorPublisher.awaitGeneration(generation,
+                new ByteArrayInputStream("HTML\nXML\n".getBytes(StandardCharsets.UTF_8)),
+                new ReportGeneratorPublisher.ProgressHandler() {
+
+                    @Override
+                    public void onGenerated(final String templateName) {
+                        templates.add(templateName);
+                    }
+                });
+        assertEquals(Arrays.asList("HTML", "XML"), templates);
+        assertFalse("Completed generation should not be cancelled", generation.isCancelled());
+    }
+
+    @Test
+    public void testCancelGenerationOnFailure() throws Exception {
+        final FutureTask<Boolean> generation = createGeneration();
+        try {
+            ReportGeneratorPublisher.awaitGeneration(generation,
+                    new ByteArrayInputStream("HTML\n".getBytes(StandardCharsets.UTF_8)),
+                    new ReportGeneratorPublisher.ProgressHandler() {
+
+                        @Override
+                        public void onGenerated(final String templateName) throws IOException {
+                            throw new IOException("Archiving failed");
+                        }
+                    });
+            fail("Archiving failure should be propagated");
+        } catch (final IOException e) {
+            assertTrue("Generation should be cancelled", generation.isCancelled());
+        }
+    }
+
+    @Test
+    public void testCancelGenerationOnInterrupt() throws Exception {
+        final FutureTask<Boolean> generation = createGeneration();
+        final PipedOutputStream progressOut = new PipedOutputStream();
+        final PipedInputStream progressIn = new PipedInputStream(progressOut);
+        final Thread reader = new Thread() {
+
+            @Override
+            public void run() {
+                try {
+                    ReportGeneratorPublisher.awaitGeneration(generation, progressIn,
+                            new ReportGeneratorPublisher.ProgressHandler() {
+
+                                @Override
+                                public void onGenerated(final String templateName) {
+                                }
+                            });
+                } catch (final IOException | InterruptedException e) {
+                    // expected
+                }
+            }
+        };
+        reader.start();
+        Thread.sleep(100);
+        reader.interrupt();
+        reader.join(5000);
+        assertFalse("Reading progress should be interrupted", reader.isAlive());
+        assertTrue("Generation should be cancelled", generation.isCancelled());
+        progressOut.close();
+    }
+
+    /**
+     * Creates a report generation completing successfully once run.
+     *
+     * @return the generation
+     */
+    private static FutureTask<Boolean> createGeneration() {
+        return new FutureTask<Boolean>(new Callable<Boolean>() {
+
+            @Override
+            public Boolean call() {
+                return true;
+            }
+        });
+    }
+
     @Test
     public void testDefaultStep() throws IOException {
         final ReportGeneratorPublisher publisher = new ReportGeneratorPublisher("");
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import hudson.FilePath;
+import hudson.model.TaskListener;
+import hudson.tasks.junit.TestResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link JUnitReportConverter}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class JUnitReportConverterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPackageReport() throws Exception {
+        final File dbFile = createReport("package", "$$$_PACKAGE_$$$", "TestCase001", "FAILED");
+        final TestResult testResult = convertAndParse(dbFile);
+
+        assertEquals("One test should be found", 1, testResult.getTotalCount());
+        assertEquals("One failed test should be found", 1, testResult.getFailCount());
+    }
+
+    @Test
+    public void testProjectReport() throws Exception {
+        final File dbFile = createReport("project", "TestProject", "TestCase001", "SUCCESS", "TestCase002",
+                "FAILED", "TestCase003", "NONE", "TestCase004", "ERROR");
+        final TestResult testResult = convertAndParse(dbFile);
+
+        assertEquals("Four tests should be found", 4, testResult.getTotalCount());
+        assertEquals("One passed test should be found", 1, testResult.getPassCount());
+        assertEquals("Two failed tests should be found", 2, testResult.getFailCount());
+        assertEquals("One skipped test should be found", 1, testResult.getSkipCount());
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidReport() throws Exception {
+        final File dbFile = new File(folder.newFolder("invalid"), "invalid.trf");
+        JUnitReportConverter.convertFile(dbFile, new File(dbFile.getParentFile(), JUnitPublisher.JUNIT_REPORT_FILE));
+    }
+
+    @Test
+    public void testMissingColumns() throws Exception {
+        assertMissingColumn("CREATE TABLE pkg (name TEXT, duration REAL)", "result");
+        assertMissingColumn("CREATE TABLE pkg (name TEXT, result TEXT)", "duration");
+    }
+
+    /**
+     * Asserts that converting a TRF database with the given package table fails due to the missing column.
+     *
+     * @param pkgTable
+     *            the statement creating the package table
+     * @param column
+     *            the missing column
+     * @throws Exception
+     *             in case creating the database failed
+     */
+    private void assertMissingColumn(final String pkgTable, final String column) throws Exception {
+        final File dbFile = new File(folder.newFolder("missing-" + column), "report.trf");
+        Class.forName("org.sqlite.JDBC");
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+                Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE prj (name TEXT)");
+            stmt.executeUpdate(pkgTable);
+            stmt.executeUpdate("INSERT INTO prj VALUES ('$$$_PACKAGE_$$$')");
+        }
+        final File xmlFile = new File(dbFile.getParentFile(), JUnitPublisher.JUNIT_REPORT_FILE);
+        try {
+            JUnitReportConverter.convertFile(dbFile, xmlFile);
+            fail("Conversion should fail without column " + column);
+        } catch (final IOException e) {
+            assertTrue("Missing column should be reported", e.getMessage().contains(column));
+        }
+        assertFalse("No report should be written", xmlFile.exists());
+    }
+
+    /**
+     * Creates a TRF database containing the given packages and their results.
+     *
+     * @param dirName
+     *            the report directory name
+     * @param prjName
+     *            the project name
+     * @param packages
+     *            the pairs of package name and result
+     * @return the TRF file
+     * @throws Exception
+     *             in case creating the database failed
+     */
+    private File createReport(final String dirName, final String prjName, final String... packages)
+            throws Exception {
+        final File dbFile = new File(folder.newFolder(dirName), "report.trf");
+        Class.forName("org.sqlite.JDBC");
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+                Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE prj (name TEXT)");
+            stmt.executeUpdate("CREATE TABLE pkg (name TEXT, result TEXT, duration REAL)");
+            try (PreparedStatement prj = conn.prepareStatement("INSERT INTO prj VALUES (?)")) {
+                prj.setString(1, prjName);
+                prj.executeUpdate();
+            }
+            try (PreparedStatement pkg = conn.prepareStatement("INSERT INTO pkg VALUES (?, ?, 0.5)")) {
+                for (int i = 0; i < packages.length; i += 2) {
+                    pkg.setString(1, packages[i]);
+                    pkg.setString(2, packages[i + 1]);
+                    pkg.executeUpdate();
+                }
+            }
+        }
+        return dbFile;
+    }
+
+    /**
+     * Converts the TRF file and parses the resulting UNIT report.
+     *
+     * @param dbFile
+     *            the TRF file
+     * @return the test result
+     * @throws Exception
+     *             in case converting or parsing failed
+     */
+    private TestResult convertAndParse(final File dbFile) throws Exception {
+        final File xmlFile = new File(new File(dbFile.getParentFile(), JUnitPublisher.UNIT_TEMPLATE_NAME),
+                JUnitPublisher.JUNIT_REPORT_FILE);
+        JUnitReportConverter.convertFile(dbFile, xmlFile);
+        return new JUnitTestResultParser().parseResult(Arrays.asList(new FilePath(xmlFile)), TaskListener.NULL);
+    }
+}
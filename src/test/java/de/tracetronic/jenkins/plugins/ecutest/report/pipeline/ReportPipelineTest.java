@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.report.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import hudson.FilePath;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link ReportPipeline}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ReportPipelineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testStageReportDir() throws Exception {
+        final File reportDir = folder.newFolder("Report");
+        new File(reportDir, "test.trf").createNewFile();
+        new File(reportDir, "ECU_TEST_OUT.log").createNewFile();
+        new File(reportDir, "ECU_TEST_ERR.log").createNewFile();
+        new File(reportDir, "test.html").createNewFile();
+        final File subReportDir = new File(reportDir, "Report sub");
+        subReportDir.mkdirs();
+        new File(subReportDir, "sub.trf").createNewFile();
+
+        final ReportPipeline pipeline = new ReportPipeline(folder.newFolder("staging"));
+        final FilePath reportPath = new FilePath(reportDir);
+        pipeline.stage(reportPath);
+        pipeline.stage(reportPath);
+        assertEquals("Report directory should be staged once", 1, pipeline.size());
+
+        final FilePath stagedDir = pipeline.getStagedReportDir(reportPath);
+        assertNotNull("Report directory should be staged", stagedDir);
+        assertTrue("TRF should be staged", stagedDir.child("test.trf").exists());
+        assertTrue("Sub-report TRF should be staged", stagedDir.child("Report sub/sub.trf").exists());
+        assertTrue("Info log should be staged", stagedDir.child("ECU_TEST_OUT.log").exists());
+        assertTrue("Error log should be staged", stagedDir.child("ECU_TEST_ERR.log").exists());
+        assertFalse("Other report files should not be staged", stagedDir.child("test.html").exists());
+    }
+
+    @Test
+    public void testStageTimeout() throws Exception {
+        final File reportDir = folder.newFolder("Report");
+        new File(reportDir, "test.trf").createNewFile();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch latch = new CountDownLatch(1);
+        try {
+            // Block the staging thread
+            executor.submit(new Callable<Boolean>() {
+
+                @Override
+                public Boolean call() throws InterruptedException {
+                    return latch.await(10, TimeUnit.SECONDS);
+                }
+            });
+            final ReportPipeline pipeline = new ReportPipeline(folder.newFolder("staging"), executor, 100L);
+            final FilePath reportPath = new FilePath(reportDir);
+            pipeline.stage(reportPath);
+            assertNull("Timed out staging should fall back to the report directory",
+                    pipeline.getStagedReportDir(reportPath));
+
+            latch.countDown();
+            assertNull("Timed out staging should be cancelled", pipeline.getStagedReportDir(reportPath));
+        } finally {
+            latch.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnstagedReportDir() throws Exception {
+        final ReportPipeline pipeline = new ReportPipeline(folder.newFolder("staging"));
+        assertNull("Unstaged report directory should not be available",
+                pipeline.getStagedReportDir(new FilePath(folder.newFolder("Report"))));
+    }
+}
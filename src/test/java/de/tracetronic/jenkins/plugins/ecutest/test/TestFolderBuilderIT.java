@@ -84,6 +84,7 @@ public class TestFolderBuilderIT extends IntegrationTestBase {
         final ExecutionConfig executionConfig = new ExecutionConfig(600, true, true);
         final TestFolderBuilder before = new TestFolderBuilder("tests");
         before.setRecursiveScan(true);
+        before.setCachedScan(true);
         before.setTestConfig(testConfig);
         before.setPackageConfig(packageConfig);
         before.setProjectConfig(projectConfig);
@@ -96,7 +97,7 @@ public class TestFolderBuilderIT extends IntegrationTestBase {
 
         final TestFolderBuilder after = (TestFolderBuilder) delegate;
         jenkins.assertEqualBeans(before, after,
-                "testFile,scanMode,recursiveScan,testConfig,packageConfig,projectConfig,executionConfig");
+                "testFile,scanMode,recursiveScan,cachedScan,testConfig,packageConfig,projectConfig,executionConfig");
     }
 
     @Test
@@ -108,6 +109,7 @@ public class TestFolderBuilderIT extends IntegrationTestBase {
         final ExecutionConfig executionConfig = new ExecutionConfig(600, true, true);
         final TestFolderBuilder builder = new TestFolderBuilder("tests");
         builder.setRecursiveScan(true);
+        builder.setCachedScan(true);
         builder.setTestConfig(testConfig);
         builder.setPackageConfig(packageConfig);
         builder.setProjectConfig(projectConfig);
@@ -119,6 +121,7 @@ public class TestFolderBuilderIT extends IntegrationTestBase {
         WebAssert.assertInputPresent(page, "_.testFile");
         WebAssert.assertInputContainsValue(page, "_.testFile", "tests");
         jenkins.assertXPath(page, "//input[@name='_.recursiveScan' and @checked='true']");
+        jenkins.assertXPath(page, "//input[@name='_.cachedScan' and @checked='true']");
         WebAssert.assertInputPresent(page, "_.tbcFile");
         WebAssert.assertInputContainsValue(page, "_.tbcFile", "test.tbc");
         WebAssert.assertInputPresent(page, "_.tcfFile");
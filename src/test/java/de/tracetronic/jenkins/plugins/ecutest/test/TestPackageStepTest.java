@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.tracetronic.jenkins.plugins.ecutest.test.config.ExecutionConfig;
+import de.tracetronic.jenkins.plugins.ecutest.test.config.PackageConfig;
+import de.tracetronic.jenkins.plugins.ecutest.test.config.TestConfig;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Unit tests for {@link TestPackageStep}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class TestPackageStepTest {
+
+    @SuppressFBWarnings("NP_NONNULL_PARAM_VIOLATION")
+    @Test
+    public void testNullStep() {
+        final TestPackageStep step = new TestPackageStep(null);
+        step.setTestConfig(null);
+        step.setPackageConfig(null);
+        step.setExecutionConfig(null);
+        assertNotNull(step.getTestFile());
+        assertTrue(step.getTestFile().isEmpty());
+        assertNotNull(step.getTestConfig());
+        assertNotNull(step.getPackageConfig());
+        assertEquals(ExecutionConfig.getDefaultTimeout(), step.getExecutionConfig().getParsedTimeout());
+        assertFalse(step.isStageReports());
+    }
+
+    @Test
+    public void testCreateBuilder() {
+        final TestConfig testConfig = new TestConfig("test.tbc", "test.tcf");
+        final PackageConfig packageConfig = new PackageConfig(true, false);
+        final ExecutionConfig executionConfig = new ExecutionConfig("600", false, false);
+        final TestPackageStep step = new TestPackageStep(" test.pkg ");
+        step.setTestConfig(testConfig);
+        step.setPackageConfig(packageConfig);
+        step.setExecutionConfig(executionConfig);
+        step.setStageReports(true);
+
+        final TestPackageBuilder builder = step.createBuilder();
+        assertEquals("test.pkg", builder.getTestFile());
+        assertSame(testConfig, builder.getTestConfig());
+        assertSame(packageConfig, builder.getPackageConfig());
+        assertSame(executionConfig, builder.getExecutionConfig());
+        assertTrue(builder.isStageReports());
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.client;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import hudson.model.TaskListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+
+import jenkins.security.MasterToSlaveCallable;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tracetronic.jenkins.plugins.ecutest.test.client.AbstractTestClient.ExecutionInfoHolder;
+
+/**
+ * Unit tests for {@link AsyncTestRunner}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class AsyncTestRunnerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReportOfTestFile() {
+        assertTrue(AsyncTestRunner.isReportOf("C:\\TestReports\\test_2017-01-01_120000\\test.trf",
+                "C:\\Packages\\test.pkg"));
+        assertTrue(AsyncTestRunner.isReportOf("C:\\TestReports\\Project_2017-01-01_120000\\project.trf",
+                "C:\\Projects\\Project.prj"));
+    }
+
+    @Test
+    public void testReportOfOtherTestFile() {
+        assertFalse(AsyncTestRunner.isReportOf("C:\\TestReports\\other_2017-01-01_120000\\other.trf",
+                "C:\\Packages\\test.pkg"));
+    }
+
+    @Test
+    public void testMissingReport() {
+        assertFalse(AsyncTestRunner.isReportOf(null, "C:\\Packages\\test.pkg"));
+        assertFalse(AsyncTestRunner.isReportOf("", "C:\\Packages\\test.pkg"));
+    }
+
+    @Test
+    public void testReportSinceStart() throws Exception {
+        final File reportDb = folder.newFile("test.trf");
+        assertTrue(reportDb.setLastModified(10000L));
+        assertTrue(AsyncTestRunner.isReportSince(reportDb.getPath(), 10000L));
+        assertFalse("Report of a previous execution should be rejected",
+                AsyncTestRunner.isReportSince(reportDb.getPath(), 20000L));
+        assertFalse(AsyncTestRunner.isReportSince(new File(folder.getRoot(), "missing.trf").getPath(), 0L));
+    }
+
+    @Test
+    public void testPollFinishedExecution() throws Exception {
+        final String executionId = UUID.randomUUID().toString();
+        final Long startMillis = new AsyncTestRunner.StartCallable(executionId, new TestExecution(true)).call();
+        assertNotNull(startMillis);
+        assertNull("Execution should be started only once",
+                new AsyncTestRunner.StartCallable(executionId, new TestExecution(true)).call());
+
+        final ExecutionInfoHolder execInfo = poll(executionId, startMillis);
+        assertTrue(execInfo.isSucceeded());
+    }
+
+    @Test
+    public void testPollFailedExecution() throws Exception {
+        final String executionId = UUID.randomUUID().toString();
+        final Long startMillis = new AsyncTestRunner.StartCallable(executionId, new TestExecution(false)).call();
+        assertNotNull(startMillis);
+
+        assertFalse(poll(executionId, startMillis).isSucceeded());
+        assertFalse("Failed result should be kept for repeated polls", poll(executionId, startMillis).isSucceeded());
+    }
+
+    private ExecutionInfoHolder poll(final String executionId, final long startMillis) throws Exception {
+        final AsyncTestRunner.PollCallable pollCallable = new AsyncTestRunner.PollCallable(executionId,
+                startMillis, "test.pkg", TaskListener.NULL);
+        for (int i = 0; i < 100; i++) {
+            final ExecutionInfoHolder execInfo = pollCallable.call();
+            if (execInfo != null) {
+                return execInfo;
+            }
+            Thread.sleep(50L);
+        }
+        throw new AssertionError("Execution did not finish");
+    }
+
+    /**
+     * Test execution either succeeding or failing with an exception.
+     */
+    private static final class TestExecution extends MasterToSlaveCallable<ExecutionInfoHolder, IOException> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean succeed;
+
+        TestExecution(final boolean succeed) {
+            this.succeed = succeed;
+        }
+
+        @Override
+        public ExecutionInfoHolder call() throws IOException {
+            if (!succeed) {
+                throw new IOException("Test execution failed");
+            }
+            final ExecutionInfoHolder execInfo = new ExecutionInfoHolder();
+            execInfo.setSucceeded(true);
+            return execInfo;
+        }
+    }
+}
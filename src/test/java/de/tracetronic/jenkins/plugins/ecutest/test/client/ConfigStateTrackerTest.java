@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.tracetronic.jenkins.plugins.ecutest.test.client.ConfigStateTracker.ConfigState;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComCache.SessionKey;
+
+/**
+ * Unit tests for {@link ConfigStateTracker}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ConfigStateTrackerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ConfigStateTracker tracker = ConfigStateTracker.getInstance();
+    private final SessionKey session = new SessionKey(1234, 1L);
+    private final Map<String, String> constants = Collections.singletonMap("name", "value");
+    private File tbcFile;
+    private File tcfFile;
+
+    @Before
+    public void setUp() throws IOException {
+        tracker.invalidate();
+        tbcFile = folder.newFile("test.tbc");
+        tcfFile = folder.newFile("test.tcf");
+        write(tbcFile, "tbc");
+        write(tcfFile, "tcf");
+    }
+
+    @Test
+    public void testUnchangedState() throws IOException {
+        tracker.update(createState(constants, true), session);
+        assertTrue("Unchanged state should be loaded", tracker.isLoaded(createState(constants, true), session));
+    }
+
+    @Test
+    public void testChangedContent() throws IOException {
+        tracker.update(createState(constants, true), session);
+        write(tcfFile, "changed");
+        assertFalse("Changed TCF content should require reload",
+                tracker.isLoaded(createState(constants, true), session));
+    }
+
+    @Test
+    public void testChangedConstants() throws IOException {
+        tracker.update(createState(constants, true), session);
+        final Map<String, String> newConstants = Collections.singletonMap("name", "other");
+        assertFalse("Changed constants should require reload",
+                tracker.isLoaded(createState(newConstants, true), session));
+    }
+
+    @Test
+    public void testNotStarted() throws IOException {
+        tracker.update(createState(constants, false), session);
+        assertFalse("Loaded only state should require start",
+                tracker.isLoaded(createState(constants, true), session));
+    }
+
+    @Test
+    public void testChangedSession() throws IOException {
+        tracker.update(createState(constants, true), session);
+        assertFalse("New ECU-TEST session should require reload",
+                tracker.isLoaded(createState(constants, true), new SessionKey(1234, 2L)));
+        assertFalse("Unknown ECU-TEST session should require reload",
+                tracker.isLoaded(createState(constants, true), null));
+    }
+
+    @Test
+    public void testUnknownSession() throws IOException {
+        tracker.update(createState(constants, true), null);
+        assertFalse("State without session should not be tracked",
+                tracker.isLoaded(createState(constants, true), session));
+    }
+
+    @Test
+    public void testInvalidate() throws IOException {
+        tracker.update(createState(constants, true), session);
+        tracker.invalidate();
+        assertFalse("Invalidated state should require reload",
+                tracker.isLoaded(createState(constants, true), session));
+    }
+
+    @Test
+    public void testNoConfiguration() throws IOException {
+        final ConfigState state = ConfigState.create("", null, Collections.<String, String> emptyMap(), true);
+        assertEquals("Empty configurations should be equal", state,
+                ConfigState.create(null, "", Collections.<String, String> emptyMap(), true));
+    }
+
+    private ConfigState createState(final Map<String, String> constantMap, final boolean started)
+            throws IOException {
+        return ConfigState.create(tbcFile.getAbsolutePath(), tcfFile.getAbsolutePath(), constantMap, started);
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ExecutionStatePoller}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ExecutionStatePollerTest {
+
+    @Test
+    public void testExponentialBackoff() {
+        final ExecutionStatePoller poller = new ExecutionStatePoller(50, 1000);
+        assertEquals(50L, poller.nextInterval());
+        assertEquals(100L, poller.nextInterval());
+        assertEquals(200L, poller.nextInterval());
+        assertEquals(400L, poller.nextInterval());
+        assertEquals(800L, poller.nextInterval());
+        assertEquals(1000L, poller.nextInterval());
+        assertEquals(1000L, poller.nextInterval());
+    }
+
+    @Test
+    public void testFixedInterval() {
+        final ExecutionStatePoller poller = new ExecutionStatePoller(1000, 1000);
+        assertEquals(1000L, poller.nextInterval());
+        assertEquals(1000L, poller.nextInterval());
+    }
+
+    @Test
+    public void testInvalidInterval() {
+        final ExecutionStatePoller poller = new ExecutionStatePoller(0, 1000);
+        assertEquals(1L, poller.nextInterval());
+        assertEquals(2L, poller.nextInterval());
+    }
+
+    @Test
+    public void testDetectionLatency() throws InterruptedException {
+        final ExecutionStatePoller poller = new ExecutionStatePoller(5, 1000);
+        assertEquals(0L, poller.getMaxDetectionLatency());
+        poller.sleep();
+        poller.sleep();
+        assertEquals(10L, poller.getMaxDetectionLatency());
+        assertEquals(15L, poller.getSleepMillis());
+    }
+
+    @Test
+    public void testRecordRequest() {
+        final ExecutionStatePoller poller = new ExecutionStatePoller(50, 1000);
+        poller.recordRequest(System.nanoTime());
+        poller.recordRequest(System.nanoTime());
+        assertEquals(2, poller.getPollCount());
+        assertTrue(poller.getSummary().contains("2 times"));
+    }
+}
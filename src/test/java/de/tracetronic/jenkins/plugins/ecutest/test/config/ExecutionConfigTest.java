@@ -72,6 +72,32 @@ public class ExecutionConfigTest {
         assertThat(config.expand(envVars).getParsedTimeout(), is(60));
     }
 
+    @Test
+    public void testDefaultPollingInterval() {
+        final ExecutionConfig config = new ExecutionConfig(60, true, true);
+        assertThat(config.getParsedPollingInterval(), is(ExecutionConfig.DescriptorImpl.getDefaultPollingInterval()));
+    }
+
+    @Test
+    public void testPollingInterval() {
+        final ExecutionConfig config = new ExecutionConfig("60", true, true, "200");
+        assertThat(config.getParsedPollingInterval(), is(200));
+    }
+
+    @Test
+    public void testLimitedPollingInterval() {
+        final ExecutionConfig config = new ExecutionConfig("60", true, true, "5000");
+        assertThat(config.getParsedPollingInterval(), is(ExecutionConfig.getMaxPollingInterval()));
+    }
+
+    @Test
+    public void testExpandPollingInterval() {
+        final ExecutionConfig config = new ExecutionConfig("60", true, true, "${INTERVAL}");
+        final EnvVars envVars = new EnvVars();
+        envVars.put("INTERVAL", "10");
+        assertThat(config.expand(envVars).getParsedPollingInterval(), is(10));
+    }
+
     @Test
     public void testHashCodeAndEquals() {
         EqualsVerifier.forClass(ExecutionConfig.class).verify();
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.config;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import hudson.EnvVars;
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+import org.junit.Test;
+
+import de.tracetronic.jenkins.plugins.ecutest.test.config.ShardConfig.ShardMode;
+
+/**
+ * Unit tests for {@link ShardConfig}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ShardConfigTest {
+
+    @Test
+    public void testConstructor() {
+        final ShardConfig config = new ShardConfig("4", "2", ShardMode.DURATION);
+        assertThat(config.getParsedShardCount(), is(4));
+        assertThat(config.getParsedShardIndex(), is(2));
+        assertThat(config.getShardMode(), is(ShardMode.DURATION));
+        assertTrue(config.isValid());
+    }
+
+    @Test
+    public void testBlankConstructor() {
+        final ShardConfig config = new ShardConfig("", "", null);
+        assertThat(config.getParsedShardCount(), is(1));
+        assertThat(config.getParsedShardIndex(), is(0));
+        assertThat(config.getShardMode(), is(ShardMode.ROUND_ROBIN));
+        assertTrue(config.isValid());
+    }
+
+    @Test
+    public void testInvalidIndex() {
+        final ShardConfig config = new ShardConfig("2", "2", ShardMode.ROUND_ROBIN);
+        assertFalse(config.isValid());
+    }
+
+    @Test
+    public void testExpand() {
+        final ShardConfig config = new ShardConfig("${COUNT}", "${INDEX}", ShardMode.ROUND_ROBIN);
+        final EnvVars envVars = new EnvVars();
+        envVars.put("COUNT", "3");
+        envVars.put("INDEX", "1");
+        final ShardConfig expConfig = config.expand(envVars);
+        assertThat(expConfig.getParsedShardCount(), is(3));
+        assertThat(expConfig.getParsedShardIndex(), is(1));
+    }
+
+    @Test
+    public void testHashCodeAndEquals() {
+        EqualsVerifier.forClass(ShardConfig.class).verify();
+    }
+}
@@ -58,6 +58,7 @@ public class TestConfigTest {
         assertFalse(config.isForceReload());
         assertFalse(config.isLoadOnly());
         assertFalse(config.isKeepConfig());
+        assertFalse(config.isSkipUnchanged());
         assertNotNull(config.getConstants());
     }
 
@@ -84,7 +85,7 @@ public class TestConfigTest {
     public void testExpand() {
         final List<GlobalConstant> constants = new ArrayList<GlobalConstant>();
         constants.add(new GlobalConstant("${NAME}", "${VALUE}"));
-        final TestConfig config = new TestConfig("${TBC}", "${TCF}", false, false, false, constants);
+        final TestConfig config = new TestConfig("${TBC}", "${TCF}", false, false, false, true, constants);
         final EnvVars envVars = new EnvVars();
         envVars.put("TBC", "test.tbc");
         envVars.put("TCF", "test.tcf");
@@ -96,6 +97,7 @@ public class TestConfigTest {
         assertFalse(config.isForceReload());
         assertFalse(config.isLoadOnly());
         assertFalse(config.isKeepConfig());
+        assertTrue(expConfig.isSkipUnchanged());
         assertThat(expConfig.getConstants().get(0).getName(), is("name"));
         assertThat(expConfig.getConstants().get(0).getValue(), is("value"));
     }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link TestContentHash}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class TestContentHashTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSameContent() throws IOException {
+        final File pkgFile = createFile("test.pkg", "content");
+        final String hash = TestContentHash.compute(Arrays.asList(pkgFile), "runTest=true");
+        assertEquals("SHA-256 hash should have 64 hex digits", 64, hash.length());
+        assertEquals("Hash should be reproducible", hash,
+                TestContentHash.compute(Arrays.asList(pkgFile), "runTest=true"));
+    }
+
+    @Test
+    public void testChangedContent() throws IOException {
+        final File pkgFile = createFile("test.pkg", "content");
+        final String hash = TestContentHash.compute(Arrays.asList(pkgFile), "runTest=true");
+        write(pkgFile, "changed");
+        assertFalse("Hash should change with file content",
+                hash.equals(TestContentHash.compute(Arrays.asList(pkgFile), "runTest=true")));
+    }
+
+    @Test
+    public void testChangedSettings() throws IOException {
+        final File pkgFile = createFile("test.pkg", "content");
+        final String hash = TestContentHash.compute(Arrays.asList(pkgFile), "runTest=true");
+        assertFalse("Hash should change with settings",
+                hash.equals(TestContentHash.compute(Arrays.asList(pkgFile), "runTest=false")));
+    }
+
+    @Test
+    public void testMissingFile() throws IOException {
+        final File pkgFile = createFile("test.pkg", "content");
+        final List<File> files = new ArrayList<File>();
+        files.add(pkgFile);
+        files.add(null);
+        final String hash = TestContentHash.compute(files, "");
+        files.set(1, createFile("test.tbc", ""));
+        assertFalse("Hash should distinguish missing from empty files",
+                hash.equals(TestContentHash.compute(files, "")));
+    }
+
+    @Test
+    public void testPassedHashRetention() {
+        final TestHistoryEntry entry = new TestHistoryEntry(0L, null, 1, 0, null, null)
+                .update(1, 100L, "SUCCESS", "abc", "report");
+        assertEquals("abc", entry.getPassedHash());
+        assertEquals("report", entry.getPassedReportDir());
+        final TestHistoryEntry failedEntry = entry.update(2, 100L, "FAILED", "abc", "report2");
+        assertNull("Failed execution should reset passed hash", failedEntry.getPassedHash());
+    }
+
+    private File createFile(final String name, final String content) throws IOException {
+        final File file = folder.newFile(name);
+        write(file, content);
+        return file;
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
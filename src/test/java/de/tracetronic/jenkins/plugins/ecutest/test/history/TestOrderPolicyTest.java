@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.history;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link TestOrderPolicy}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class TestOrderPolicyTest {
+
+    private final List<String> testFiles = Arrays.asList("a.pkg", "b.pkg", "c.pkg", "d.pkg");
+    private TestHistory history;
+
+    @Before
+    public void setUp() {
+        history = new TestHistory();
+        history.update(1, "a.pkg", 300L, "SUCCESS", null, null);
+        history.update(1, "b.pkg", 100L, "FAILED", null, null);
+        history.update(2, "b.pkg", 100L, "SUCCESS", null, null);
+        history.update(2, "c.pkg", 200L, "ERROR", null, null);
+    }
+
+    @Test
+    public void testScanOrder() {
+        assertEquals(testFiles, TestOrderPolicy.SCAN_ORDER.sort(testFiles, history));
+    }
+
+    @Test
+    public void testFailedFirst() {
+        assertEquals(Arrays.asList("c.pkg", "d.pkg", "a.pkg", "b.pkg"),
+                TestOrderPolicy.FAILED_FIRST.sort(testFiles, history));
+    }
+
+    @Test
+    public void testShortestFirst() {
+        assertEquals(Arrays.asList("b.pkg", "c.pkg", "d.pkg", "a.pkg"),
+                TestOrderPolicy.SHORTEST_FIRST.sort(testFiles, history));
+    }
+
+    @Test
+    public void testLongestFirst() {
+        assertEquals(Arrays.asList("a.pkg", "c.pkg", "d.pkg", "b.pkg"),
+                TestOrderPolicy.LONGEST_FIRST.sort(testFiles, history));
+    }
+
+    @Test
+    public void testEmptyHistory() {
+        assertEquals(testFiles, TestOrderPolicy.FAILED_FIRST.sort(testFiles, new TestHistory()));
+    }
+
+    @Test
+    public void testHistoryEntry() {
+        final TestHistoryEntry entry = history.getEntry("b.pkg");
+        assertEquals(2, entry.getLastBuild());
+        assertEquals(1, entry.getLastFailedBuild());
+        assertEquals(false, entry.isFailed());
+    }
+
+    @Test
+    public void testRelativeToTestFolder() {
+        final List<String> folderFiles = Arrays.asList("C:\\ws\\tests\\a.pkg", "C:\\ws\\tests\\b.pkg",
+                "C:\\ws\\tests\\c.pkg", "C:\\ws\\tests\\d.pkg");
+        assertEquals(Arrays.asList("C:\\ws\\tests\\a.pkg", "C:\\ws\\tests\\c.pkg", "C:\\ws\\tests\\d.pkg",
+                "C:\\ws\\tests\\b.pkg"), TestOrderPolicy.LONGEST_FIRST.sort("C:\\ws\\tests", folderFiles, history));
+        assertEquals("b.pkg", TestHistory.getKey("C:\\ws\\tests\\", "C:\\ws\\tests\\b.pkg"));
+        assertEquals(2, history.getEntry("D:\\other\\tests", "D:\\other\\tests\\b.pkg").getLastBuild());
+    }
+
+    @Test
+    public void testPrune() {
+        history.prune(52);
+        assertEquals(2, history.size());
+        history.prune(53);
+        assertEquals(0, history.size());
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.scan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import hudson.Launcher;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.jvnet.hudson.test.WithoutJenkins;
+
+import de.tracetronic.jenkins.plugins.ecutest.IntegrationTestBase;
+import de.tracetronic.jenkins.plugins.ecutest.test.scan.TestFolderScanner.ScanResult;
+
+/**
+ * Integration tests for {@link TestFolderScanner}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class TestFolderScannerIT extends IntegrationTestBase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final TestListingCache cache = TestListingCache.getInstance();
+
+    @Before
+    public void setUp() {
+        cache.clear();
+    }
+
+    @Test
+    @WithoutJenkins
+    public void testNoTests() throws Exception {
+        final ScanResult result = TestFolderScanner.scan(folder.newFolder().getAbsolutePath(), true, null);
+        assertTrue("No packages should be found", result.getPackageFiles().isEmpty());
+        assertTrue("No projects should be found", result.getProjectFiles().isEmpty());
+    }
+
+    @Test
+    @WithoutJenkins
+    public void testScanTests() throws Exception {
+        final File testFolder = folder.newFolder();
+        final File pkgFile = createFile(testFolder, "b.pkg");
+        final File pkgFile2 = createFile(testFolder, "a.pkg");
+        final File prjFile = createFile(testFolder, "test.prj");
+        createFile(testFolder, "test.trf");
+        createFile(new File(testFolder, "sub"), "sub.pkg");
+        final ScanResult result = TestFolderScanner.scan(testFolder.getAbsolutePath(), false, null);
+        assertEquals("Packages should be found sorted", Arrays.asList(pkgFile2.getAbsolutePath(),
+                pkgFile.getAbsolutePath()), result.getPackageFiles());
+        assertEquals("One project should be found", Arrays.asList(prjFile.getAbsolutePath()),
+                result.getProjectFiles());
+    }
+
+    @Test
+    @WithoutJenkins
+    public void testRecursiveScanTests() throws Exception {
+        final File testFolder = folder.newFolder();
+        createFile(testFolder, "test.pkg");
+        createFile(new File(testFolder, "tests"), "test.pkg");
+        createFile(new File(testFolder, "tests"), "test2.pkg");
+        createFile(new File(testFolder, "tests/nested"), "test.prj");
+        final ScanResult result = TestFolderScanner.scan(testFolder.getAbsolutePath(), true, null);
+        assertEquals("Three packages should be found recursively", 3, result.getPackageFiles().size());
+        assertEquals("One project should be found recursively", 1, result.getProjectFiles().size());
+    }
+
+    @Test
+    @WithoutJenkins
+    public void testDefaultExcludes() throws Exception {
+        final File testFolder = folder.newFolder();
+        final File pkgFile = createFile(testFolder, "test.pkg");
+        createFile(new File(testFolder, ".git"), "test.pkg");
+        createFile(new File(testFolder, "tests/.svn/nested"), "test.prj");
+        createFile(new File(testFolder, "tests/CVS"), "test.pkg");
+        final ScanResult result = TestFolderScanner.scan(testFolder.getAbsolutePath(), true, null);
+        assertEquals("Version control directories should be excluded", Arrays.asList(pkgFile.getAbsolutePath()),
+                result.getPackageFiles());
+        assertTrue("Version control directories should be excluded", result.getProjectFiles().isEmpty());
+    }
+
+    @Test
+    @WithoutJenkins
+    public void testCaseSensitiveExtensions() throws Exception {
+        final File testFolder = folder.newFolder();
+        final File pkgFile = createFile(testFolder, "test.pkg");
+        createFile(testFolder, "test2.PKG");
+        createFile(testFolder, "test.Prj");
+        final ScanResult result = TestFolderScanner.scan(testFolder.getAbsolutePath(), false, null);
+        assertEquals("Extensions should match case-sensitively", Arrays.asList(pkgFile.getAbsolutePath()),
+                result.getPackageFiles());
+        assertTrue("Extensions should match case-sensitively", result.getProjectFiles().isEmpty());
+    }
+
+    @Test
+    @WithoutJenkins
+    public void testCachedListings() throws Exception {
+        final File testFolder = folder.newFolder();
+        final File subFolder = new File(testFolder, "tests");
+        createFile(testFolder, "test.pkg");
+        createFile(subFolder, "test.pkg");
+        final long modTime = System.currentTimeMillis() - 10 * TestListingCache.RACY_INTERVAL;
+        setModTime(modTime, testFolder, subFolder);
+
+        final String inputDir = testFolder.getAbsolutePath();
+        assertEquals("Two packages should be found", 2, TestFolderScanner.scan(inputDir, true, cache)
+                .getPackageFiles().size());
+        assertEquals("Both listings should be cached", 2, cache.size());
+
+        // Unchanged modification time reuses the cached listing
+        createFile(subFolder, "test2.pkg");
+        setModTime(modTime, subFolder);
+        assertEquals("Cached listing should be reused", 2, TestFolderScanner.scan(inputDir, true, cache)
+                .getPackageFiles().size());
+
+        // Changed modification time invalidates the cached listing
+        setModTime(modTime + 1000L, subFolder);
+        assertEquals("Changed listing should be scanned again", 3, TestFolderScanner.scan(inputDir, true, cache)
+                .getPackageFiles().size());
+    }
+
+    @Test
+    @WithoutJenkins
+    public void testRecentlyModifiedListings() throws Exception {
+        final File testFolder = folder.newFolder();
+        createFile(testFolder, "test.pkg");
+        TestFolderScanner.scan(testFolder.getAbsolutePath(), true, cache);
+        assertEquals("Recently modified listings should not be cached", 0, cache.size());
+    }
+
+    @Test
+    public void testScanTestsOnSlave() throws Exception {
+        final File testFolder = folder.newFolder();
+        createFile(testFolder, "test.pkg");
+        createFile(testFolder, "test.prj");
+        final Launcher launcher = jenkins.createOnlineSlave().createLauncher(jenkins.createTaskListener());
+        final TestFolderScanner scanner = new TestFolderScanner(testFolder.getAbsolutePath(), false, true, launcher);
+        final ScanResult result = scanner.scanTestFiles();
+        assertEquals("One package should be found", 1, result.getPackageFiles().size());
+        assertEquals("One project should be found", 1, result.getProjectFiles().size());
+    }
+
+    private static File createFile(final File dir, final String name) throws Exception {
+        dir.mkdirs();
+        final File file = new File(dir, name);
+        file.createNewFile();
+        return file;
+    }
+
+    private static void setModTime(final long modTime, final File... dirs) {
+        for (final File dir : dirs) {
+            dir.setLastModified(modTime);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.test.shard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import de.tracetronic.jenkins.plugins.ecutest.util.PathUtil;
+
+/**
+ * Unit tests for {@link TestShardPartitioner}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class TestShardPartitionerTest {
+
+    private final List<String> testFiles = Arrays.asList("a.pkg", "b.pkg", "c.pkg", "d.pkg", "e.prj");
+
+    @Test
+    public void testRoundRobin() {
+        assertEquals(Arrays.asList("a.pkg", "c.pkg", "e.prj"),
+                TestShardPartitioner.partitionRoundRobin(testFiles, 2, 0));
+        assertEquals(Arrays.asList("b.pkg", "d.pkg"), TestShardPartitioner.partitionRoundRobin(testFiles, 2, 1));
+    }
+
+    @Test
+    public void testSingleShard() {
+        assertEquals(testFiles, TestShardPartitioner.partitionRoundRobin(testFiles, 1, 0));
+    }
+
+    @Test
+    public void testMoreShardsThanTests() {
+        assertTrue(TestShardPartitioner.partitionRoundRobin(testFiles, 10, 7).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidShardIndex() {
+        TestShardPartitioner.partitionRoundRobin(testFiles, 2, 2);
+    }
+
+    @Test
+    public void testDurationWithoutHistory() {
+        final Map<String, Long> durations = Collections.emptyMap();
+        assertEquals(TestShardPartitioner.partitionRoundRobin(testFiles, 2, 1),
+                TestShardPartitioner.partitionByDuration(testFiles, durations, 2, 1));
+    }
+
+    @Test
+    public void testDurationBalancing() {
+        final Map<String, Long> durations = new HashMap<String, Long>();
+        durations.put("a.pkg", 100L);
+        durations.put("b.pkg", 10L);
+        durations.put("c.pkg", 10L);
+        durations.put("d.pkg", 10L);
+        durations.put("e.prj", 60L);
+        assertEquals(Arrays.asList("a.pkg"), TestShardPartitioner.partitionByDuration(testFiles, durations, 2, 0));
+        assertEquals(Arrays.asList("b.pkg", "c.pkg", "d.pkg", "e.prj"),
+                TestShardPartitioner.partitionByDuration(testFiles, durations, 2, 1));
+    }
+
+    @Test
+    public void testDurationCoversAllTests() {
+        final Map<String, Long> durations = new HashMap<String, Long>();
+        durations.put("a.pkg", 30L);
+        durations.put("c.pkg", 20L);
+        final List<String> allFiles = new ArrayList<String>();
+        for (int shard = 0; shard < 3; shard++) {
+            allFiles.addAll(TestShardPartitioner.partitionByDuration(testFiles, durations, 3, shard));
+        }
+        Collections.sort(allFiles);
+        assertEquals(testFiles, allFiles);
+    }
+
+    @Test
+    public void testRelativeShardsOfDifferentRoots() {
+        final List<String> firstFiles = Arrays.asList("C:\\ws1\\tests\\sub\\c.pkg", "C:\\ws1\\tests\\a.pkg",
+                "C:\\ws1\\tests\\e.prj", "C:\\ws1\\tests\\b.pkg", "C:\\ws1\\tests\\d.pkg");
+        final List<String> secondFiles = Arrays.asList("D:\\node\\ws2\\tests\\a.pkg",
+                "D:\\node\\ws2\\tests\\b.pkg", "D:\\node\\ws2\\tests\\d.pkg",
+                "D:\\node\\ws2\\tests\\e.prj", "D:\\node\\ws2\\tests\\sub\\c.pkg");
+        final Map<String, Long> durations = new HashMap<String, Long>();
+        durations.put("a.pkg", 100L);
+        durations.put("sub/c.pkg", 40L);
+        durations.put("e.prj", 60L);
+
+        final List<String> roundRobinFiles = new ArrayList<String>();
+        roundRobinFiles.addAll(getRelativeFiles("C:\\ws1\\tests",
+                TestShardPartitioner.partitionRoundRobin("C:\\ws1\\tests", firstFiles, 2, 0)));
+        roundRobinFiles.addAll(getRelativeFiles("D:\\node\\ws2\\tests\\",
+                TestShardPartitioner.partitionRoundRobin("D:\\node\\ws2\\tests\\", secondFiles, 2, 1)));
+        assertDisjointAndComplete(roundRobinFiles);
+
+        final List<String> durationFiles = new ArrayList<String>();
+        durationFiles.addAll(getRelativeFiles("C:\\ws1\\tests",
+                TestShardPartitioner.partitionByDuration("C:\\ws1\\tests", firstFiles, durations, 2, 0)));
+        durationFiles.addAll(getRelativeFiles("D:\\node\\ws2\\tests\\",
+                TestShardPartitioner.partitionByDuration("D:\\node\\ws2\\tests\\", secondFiles, durations,
+                        2, 1)));
+        assertDisjointAndComplete(durationFiles);
+    }
+
+    private static List<String> getRelativeFiles(final String testFolder, final List<String> shardFiles) {
+        final List<String> relativeFiles = new ArrayList<String>();
+        for (final String shardFile : shardFiles) {
+            relativeFiles.add(PathUtil.getRelativePath(shardFile, testFolder));
+        }
+        return relativeFiles;
+    }
+
+    private static void assertDisjointAndComplete(final List<String> shardFiles) {
+        assertFalse(shardFiles.isEmpty());
+        Collections.sort(shardFiles);
+        assertEquals(Arrays.asList("a.pkg", "b.pkg", "d.pkg", "e.prj", "sub/c.pkg"), shardFiles);
+    }
+}
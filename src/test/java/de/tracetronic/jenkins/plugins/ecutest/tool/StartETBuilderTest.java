@@ -62,6 +62,8 @@ public class StartETBuilderTest {
         builder.setTimeout(null);
         builder.setDebugMode(false);
         builder.setKeepInstance(false);
+        builder.setWarmInstance(false);
+        builder.setMaxBuilds(null);
         assertBuilder(builder);
     }
 
@@ -83,5 +85,7 @@ public class StartETBuilderTest {
         assertEquals(String.valueOf(builder.getDefaultTimeout()), builder.getTimeout());
         assertFalse(builder.isDebugMode());
         assertFalse(builder.isKeepInstance());
+        assertFalse(builder.isWarmInstance());
+        assertEquals(String.valueOf(StartETBuilder.DEFAULT_MAX_BUILDS), builder.getMaxBuilds());
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.tool.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.tracetronic.jenkins.plugins.ecutest.tool.client.ETClient;
+
+/**
+ * Unit tests for {@link WarmInstance}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class WarmInstanceTest {
+
+    private ETClient etClient;
+    private WarmInstance instance;
+
+    @Before
+    public void setUp() {
+        etClient = new ETClient("ECU-TEST", "C:\\ECU-TEST\\ECU-TEST.exe", "workspace", "settings", 120, false);
+        instance = new WarmInstance(etClient, ETInstancePool.createKey(etClient));
+    }
+
+    @Test
+    public void testReusableInstance() {
+        instance.lease();
+        assertNull(instance.getRecycleReason(ETInstancePool.createKey(etClient), 2));
+    }
+
+    @Test
+    public void testChangedConfiguration() {
+        final ETClient otherClient = new ETClient("ECU-TEST", "C:\\ECU-TEST\\ECU-TEST.exe", "workspace2",
+                "settings", 120, false);
+        assertNotNull(instance.getRecycleReason(ETInstancePool.createKey(otherClient), 0));
+    }
+
+    @Test
+    public void testMaxBuilds() {
+        assertEquals(1, instance.lease());
+        assertEquals(2, instance.lease());
+        assertNotNull(instance.getRecycleReason(ETInstancePool.createKey(etClient), 2));
+        assertNull(instance.getRecycleReason(ETInstancePool.createKey(etClient), 3));
+    }
+
+    @Test
+    public void testUnlimitedBuilds() {
+        for (int i = 0; i < 100; i++) {
+            instance.lease();
+        }
+        assertNull(instance.getRecycleReason(ETInstancePool.createKey(etClient), 0));
+    }
+
+    @Test
+    public void testBrokenInstance() {
+        instance.markBroken();
+        assertNotNull(instance.getRecycleReason(ETInstancePool.createKey(etClient), 0));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import hudson.model.Computer;
+import hudson.remoting.VirtualChannel;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.jacob.com.LibraryLoader;
+
+import de.tracetronic.jenkins.plugins.ecutest.util.DllUtil.VerifyLibraryCallable;
+
+/**
+ * Unit tests for {@link DllUtil}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class DllUtilTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        System.clearProperty(LibraryLoader.JACOB_DLL_PATH);
+    }
+
+    @Test
+    public void testCachedLoadedState() throws Exception {
+        final Computer computer = createComputer();
+        final CountingLoader loader = new CountingLoader(true);
+        assertTrue(DllUtil.loadLibrary(computer, loader));
+        assertTrue(DllUtil.loadLibrary(computer, loader));
+        assertEquals("Library should be loaded once per computer", 1, loader.loads);
+
+        final Computer otherComputer = createComputer();
+        assertTrue(DllUtil.loadLibrary(otherComputer, loader));
+        assertEquals("Library should be loaded on each computer", 2, loader.loads);
+    }
+
+    @Test
+    public void testReconnectedComputer() throws Exception {
+        final Computer computer = createComputer();
+        final CountingLoader loader = new CountingLoader(true);
+        DllUtil.loadLibrary(computer, loader);
+        final VirtualChannel newChannel = mock(VirtualChannel.class);
+        when(computer.getChannel()).thenReturn(newChannel);
+        assertTrue(DllUtil.loadLibrary(computer, loader));
+        assertEquals("Library should be loaded again on new channel", 2, loader.loads);
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        final Computer computer = createComputer();
+        final CountingLoader loader = new CountingLoader(true);
+        DllUtil.loadLibrary(computer, loader);
+        new DllUtil.ComputerListenerImpl().onOffline(computer, null);
+        DllUtil.loadLibrary(computer, loader);
+        assertEquals("Library should be loaded again after going offline", 2, loader.loads);
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() throws Exception {
+        final Computer computer = createComputer();
+        final CountingLoader loader = new CountingLoader(false);
+        assertFalse(DllUtil.loadLibrary(computer, loader));
+        assertFalse(DllUtil.loadLibrary(computer, loader));
+        assertEquals("Failed load should be retried", 2, loader.loads);
+    }
+
+    @Test
+    public void testOfflineComputer() throws Exception {
+        final CountingLoader loader = new CountingLoader(true);
+        assertFalse(DllUtil.loadLibrary(null, loader));
+        assertFalse(DllUtil.loadLibrary(mock(Computer.class), loader));
+        assertEquals("Library should not be loaded without channel", 0, loader.loads);
+    }
+
+    @Test
+    public void testVerifyLoadedLibrary() throws Exception {
+        final File libFile = folder.newFile("jacob.dll");
+        System.setProperty(LibraryLoader.JACOB_DLL_PATH, libFile.getAbsolutePath());
+        assertTrue("Loaded library should be verified",
+                new VerifyLibraryCallable("checksum").invoke(libFile, null));
+    }
+
+    @Test
+    public void testVerifyOtherLoadedLibrary() throws Exception {
+        final File libFile = folder.newFile("jacob.dll");
+        System.setProperty(LibraryLoader.JACOB_DLL_PATH, folder.newFile("other.dll").getAbsolutePath());
+        assertFalse("Library with other checksum should not be verified",
+                new VerifyLibraryCallable("checksum").invoke(libFile, null));
+    }
+
+    private static Computer createComputer() {
+        final Computer computer = mock(Computer.class);
+        final VirtualChannel channel = mock(VirtualChannel.class);
+        when(computer.getChannel()).thenReturn(channel);
+        return computer;
+    }
+
+    /**
+     * {@link DllUtil.Loader} counting the loads.
+     */
+    private static final class CountingLoader implements DllUtil.Loader {
+
+        private final boolean isLoaded;
+        private int loads;
+
+        CountingLoader(final boolean isLoaded) {
+            this.isLoaded = isLoaded;
+        }
+
+        @Override
+        public boolean load(final Computer computer) {
+            loads++;
+            return isLoaded;
+        }
+    }
+}
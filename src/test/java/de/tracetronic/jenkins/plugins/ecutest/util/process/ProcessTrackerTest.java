@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.util.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ProcessTracker}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ProcessTrackerTest {
+
+    private static final List<String> ET_PROCS = Arrays.asList("ECU-TEST.exe", "ECU-TEST_COM.exe");
+
+    private FakeProcessTable processTable;
+    private ProcessTracker tracker;
+
+    @Before
+    public void setUp() {
+        processTable = new FakeProcessTable();
+        processTable.add(4, "System");
+        processTable.add(1234, "C:\\ECU-TEST\\ECU-TEST.exe --startupAutomated=CreateDirs", 1000L);
+        processTable.add(5678, "notepad.exe");
+        tracker = new ProcessTracker(processTable);
+    }
+
+    @Test
+    public void testUntrackedCheckScansProcessTable() {
+        final List<String> found = tracker.check(ET_PROCS, false);
+        assertEquals(Arrays.asList("ECU-TEST.exe"), found);
+        assertEquals(1, processTable.scans);
+    }
+
+    @Test
+    public void testTrackedCheckQueriesProcessId() {
+        final TrackedProcess process = tracker.track(ET_PROCS);
+        assertNotNull(process);
+        assertEquals(1234, process.getPid());
+        assertEquals(1000L, process.getStartTime());
+        processTable.scans = 0;
+
+        assertEquals(Arrays.asList("ECU-TEST.exe"), tracker.check(ET_PROCS, false));
+        assertEquals(Integer.valueOf(1234), tracker.findProcessId(ET_PROCS));
+        assertEquals(0, processTable.scans);
+    }
+
+    @Test
+    public void testTrackedKillScansProcessTable() {
+        tracker.track(ET_PROCS);
+        processTable.add(2345, "C:\\ECU-TEST\\ECU-TEST_COM.exe");
+        processTable.scans = 0;
+
+        assertEquals(Arrays.asList("ECU-TEST.exe", "ECU-TEST_COM.exe"), tracker.check(ET_PROCS, true));
+        assertEquals(1, processTable.scans);
+        assertFalse(tracker.isAlive(1234, ET_PROCS));
+        assertFalse(tracker.isAlive(2345, ET_PROCS));
+        assertNull(tracker.getTracked(ET_PROCS));
+    }
+
+    @Test
+    public void testFallbackIfTrackedProcessIsGone() {
+        tracker.track(ET_PROCS);
+        processTable.remove(1234);
+        processTable.add(4321, "C:\\ECU-TEST\\ECU-TEST.exe");
+        processTable.scans = 0;
+
+        assertEquals(Arrays.asList("ECU-TEST.exe"), tracker.check(ET_PROCS, false));
+        assertEquals(1, processTable.scans);
+        assertNull(tracker.getTracked(ET_PROCS));
+    }
+
+    @Test
+    public void testReusedProcessId() {
+        tracker.track(ET_PROCS);
+        processTable.remove(1234);
+        processTable.add(1234, "calc.exe");
+
+        assertFalse(tracker.isAlive(1234, ET_PROCS));
+        assertTrue(tracker.check(ET_PROCS, false).isEmpty());
+        assertNull(tracker.findProcessId(ET_PROCS));
+    }
+
+    @Test
+    public void testReusedProcessIdOfSameProcessName() {
+        final TrackedProcess process = tracker.track(ET_PROCS);
+        processTable.remove(1234);
+        processTable.add(1234, "C:\\ECU-TEST\\ECU-TEST.exe", 2000L);
+        processTable.scans = 0;
+
+        assertNull(tracker.getAlive(process, ET_PROCS));
+        assertNull(tracker.getTracked(ET_PROCS));
+        assertEquals(Arrays.asList("ECU-TEST.exe"), tracker.check(ET_PROCS, false));
+        assertEquals(1, processTable.scans);
+    }
+
+    @Test
+    public void testTrackWithoutRunningProcess() {
+        processTable.remove(1234);
+        assertNull(tracker.track(ET_PROCS));
+        assertTrue(tracker.check(ET_PROCS, false).isEmpty());
+    }
+
+    /**
+     * In-memory {@link ProcessTable} counting the full scans.
+     */
+    private static final class FakeProcessTable implements ProcessTable {
+
+        private final Map<Integer, FakeProcessEntry> processes = new LinkedHashMap<Integer, FakeProcessEntry>();
+        private int scans;
+
+        void add(final int pid, final String cmdLine) {
+            add(pid, cmdLine, 0L);
+        }
+
+        void add(final int pid, final String cmdLine, final long startTime) {
+            processes.put(pid, new FakeProcessEntry(pid, cmdLine, startTime));
+        }
+
+        void remove(final int pid) {
+            processes.remove(pid);
+        }
+
+        @Override
+        public List<ProcessEntry> all() {
+            scans++;
+            return new ArrayList<ProcessEntry>(processes.values());
+        }
+
+        @CheckForNull
+        @Override
+        public ProcessEntry get(final int pid) {
+            return processes.get(pid);
+        }
+
+        /**
+         * In-memory {@link ProcessEntry}.
+         */
+        private final class FakeProcessEntry implements ProcessEntry {
+
+            private final int pid;
+            private final String cmdLine;
+            private final long startTime;
+
+            FakeProcessEntry(final int pid, final String cmdLine, final long startTime) {
+                this.pid = pid;
+                this.cmdLine = cmdLine;
+                this.startTime = startTime;
+            }
+
+            @Override
+            public int getPid() {
+                return pid;
+            }
+
+            @Override
+            public String getCommandLine() {
+                return cmdLine;
+            }
+
+            @Override
+            public long getStartTime() {
+                return startTime;
+            }
+
+            @Override
+            public void killRecursively() {
+                remove(pid);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.util.validation;
+
+import static org.junit.Assert.assertEquals;
+import hudson.util.FormValidation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ATXConnectionCache}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ATXConnectionCacheTest {
+
+    @Before
+    public void setUp() throws Exception {
+        ATXConnectionCache.clear();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ATXConnectionCache.clear();
+    }
+
+    @Test
+    public void testCachedConnection() {
+        final CountingValidator validator = new CountingValidator(FormValidation.ok());
+        ATXConnectionCache.testConnection("http://localhost:8085", validator);
+        final FormValidation validation = ATXConnectionCache.testConnection("http://localhost:8085", validator);
+        assertEquals("Valid connection should be cached", FormValidation.Kind.OK, validation.kind);
+        assertEquals("Server should be checked only once", 1, validator.count);
+    }
+
+    @Test
+    public void testCachedFailedConnection() {
+        final CountingValidator validator = new CountingValidator(FormValidation.warning("not reachable"));
+        ATXConnectionCache.testConnection("http://localhost:0", validator);
+        final FormValidation validation = ATXConnectionCache.testConnection("http://localhost:0", validator);
+        assertEquals("Failed connection should be cached", FormValidation.Kind.WARNING, validation.kind);
+        assertEquals("Server should be checked only once", 1, validator.count);
+    }
+
+    @Test
+    public void testSeparateBaseUrls() {
+        final CountingValidator validator = new CountingValidator(FormValidation.ok());
+        ATXConnectionCache.testConnection("http://localhost:8085", validator);
+        ATXConnectionCache.testConnection("http://localhost:8086", validator);
+        assertEquals("Each server should be checked separately", 2, validator.count);
+    }
+
+    @Test
+    public void testClearedCache() {
+        final CountingValidator validator = new CountingValidator(FormValidation.ok());
+        ATXConnectionCache.testConnection("http://localhost:8085", validator);
+        ATXConnectionCache.clear();
+        ATXConnectionCache.testConnection("http://localhost:8085", validator);
+        assertEquals("Server should be checked again after clearing", 2, validator.count);
+    }
+
+    /**
+     * Validator counting the connection checks.
+     */
+    private static final class CountingValidator extends ATXValidator {
+
+        private final FormValidation validation;
+        private int count;
+
+        CountingValidator(final FormValidation validation) {
+            this.validation = validation;
+        }
+
+        @Override
+        public FormValidation testConnection(final String baseUrl) {
+            count++;
+            return validation;
+        }
+    }
+}
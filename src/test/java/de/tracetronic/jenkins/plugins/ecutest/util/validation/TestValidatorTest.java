@@ -477,4 +477,52 @@ public class TestValidatorTest {
         final FormValidation validation = testValidator.validateGlobalConstantValue("value");
         assertEquals("Valid global constant value starts with a letter char", FormValidation.Kind.OK, validation.kind);
     }
+
+    @Test
+    public void testEmptyPollingInterval() {
+        final FormValidation validation = testValidator.validatePollingInterval("", 50, 1000);
+        assertEquals("Warning if empty polling interval", FormValidation.Kind.WARNING, validation.kind);
+    }
+
+    @Test
+    public void testValidPollingInterval() {
+        final FormValidation validation = testValidator.validatePollingInterval("100", 50, 1000);
+        assertEquals("Valid polling interval", FormValidation.Kind.OK, validation.kind);
+    }
+
+    @Test
+    public void testInvalidPollingInterval() {
+        final FormValidation validation = testValidator.validatePollingInterval("-1", 50, 1000);
+        assertEquals("Error if invalid polling interval", FormValidation.Kind.ERROR, validation.kind);
+    }
+
+    @Test
+    public void testExceededPollingInterval() {
+        final FormValidation validation = testValidator.validatePollingInterval("5000", 50, 1000);
+        assertEquals("Warning if polling interval exceeds maximum", FormValidation.Kind.WARNING, validation.kind);
+    }
+
+    @Test
+    public void testValidShardCount() {
+        final FormValidation validation = testValidator.validateShardCount("4");
+        assertEquals("Valid shard count", FormValidation.Kind.OK, validation.kind);
+    }
+
+    @Test
+    public void testInvalidShardCount() {
+        final FormValidation validation = testValidator.validateShardCount("0");
+        assertEquals("Error if invalid shard count", FormValidation.Kind.ERROR, validation.kind);
+    }
+
+    @Test
+    public void testValidShardIndex() {
+        final FormValidation validation = testValidator.validateShardIndex("3", "4");
+        assertEquals("Valid shard index", FormValidation.Kind.OK, validation.kind);
+    }
+
+    @Test
+    public void testExceededShardIndex() {
+        final FormValidation validation = testValidator.validateShardIndex("4", "4");
+        assertEquals("Error if shard index exceeds shard count", FormValidation.Kind.ERROR, validation.kind);
+    }
 }
@@ -225,4 +225,35 @@ public class ToolValidatorTest {
         final FormValidation validation = toolValidator.validateTimeout("abc123", 120);
         assertEquals("Invalid timeout if alphanumeric", FormValidation.Kind.ERROR, validation.kind);
     }
+
+    // Validation of maximum builds per warm instance
+    @Test
+    public void testEmptyMaxBuilds() {
+        final FormValidation validation = toolValidator.validateMaxBuilds("");
+        assertEquals("Warning if empty maximum builds", FormValidation.Kind.WARNING, validation.kind);
+    }
+
+    @Test
+    public void testParameterizedMaxBuilds() {
+        final FormValidation validation = toolValidator.validateMaxBuilds("${MAX_BUILDS}");
+        assertEquals("Warning if parameterized maximum builds", FormValidation.Kind.WARNING, validation.kind);
+    }
+
+    @Test
+    public void testValidMaxBuilds() {
+        final FormValidation validation = toolValidator.validateMaxBuilds("20");
+        assertEquals("Valid maximum builds", FormValidation.Kind.OK, validation.kind);
+    }
+
+    @Test
+    public void testZeroMaxBuilds() {
+        final FormValidation validation = toolValidator.validateMaxBuilds("0");
+        assertEquals("Valid maximum builds if zero (i.e. disabled)", FormValidation.Kind.OK, validation.kind);
+    }
+
+    @Test
+    public void testNegativeMaxBuilds() {
+        final FormValidation validation = toolValidator.validateMaxBuilds("-1");
+        assertEquals("Invalid maximum builds if negative", FormValidation.Kind.ERROR, validation.kind);
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.wrapper.com;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+
+import org.junit.Test;
+
+import de.tracetronic.jenkins.plugins.ecutest.util.process.ProcessEntry;
+import de.tracetronic.jenkins.plugins.ecutest.util.process.ProcessTable;
+import de.tracetronic.jenkins.plugins.ecutest.util.process.ProcessTracker;
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComCache.SessionKey;
+
+/**
+ * Unit tests for {@link ETComCache}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ETComCacheTest {
+
+    private static final List<String> ET_PROCS = Arrays.asList("ECU-TEST.exe", "ECU-TEST_COM.exe");
+
+    private final FakeProcessTable processTable = new FakeProcessTable();
+    private final ProcessTracker tracker = new ProcessTracker(processTable);
+    private final ETComCache cache = new ETComCache(tracker, ET_PROCS);
+
+    @Test
+    public void testSessionKey() {
+        processTable.add(1234, "C:\\ECU-TEST\\ECU-TEST.exe", 1000L);
+        cache.putVersion("7.1.0");
+        assertEquals("Session should be keyed by process id and start time", new SessionKey(1234, 1000L),
+                cache.getSession());
+        assertEquals("7.1.0", cache.getVersion());
+    }
+
+    @Test
+    public void testCachedValues() {
+        processTable.add(1234, "C:\\ECU-TEST\\ECU-TEST.exe", 1000L);
+        cache.putVersion("7.1.0");
+        cache.putSetting("configPath", "C:\\Configurations");
+        cache.putLastTbc("C:\\Configurations\\test.tbc");
+        cache.putLastTcf("C:\\Configurations\\test.tcf");
+        assertEquals("7.1.0", cache.getVersion());
+        assertEquals("C:\\Configurations", cache.getSetting("configPath"));
+        assertEquals("C:\\Configurations\\test.tbc", cache.getLastTbc());
+        assertEquals("C:\\Configurations\\test.tcf", cache.getLastTcf());
+
+        cache.invalidateConfigurations();
+        assertNull("Loaded configurations should be invalidated", cache.getLastTbc());
+        assertNull("Loaded configurations should be invalidated", cache.getLastTcf());
+        assertEquals("Settings should be kept", "C:\\Configurations", cache.getSetting("configPath"));
+        assertEquals("Version should be kept", "7.1.0", cache.getVersion());
+    }
+
+    @Test
+    public void testNoRunningProcess() {
+        cache.putVersion("7.1.0");
+        assertNull("Values should not be cached without running process", cache.getVersion());
+        assertNull(cache.getSession());
+    }
+
+    @Test
+    public void testTerminatedProcess() {
+        processTable.add(1234, "C:\\ECU-TEST\\ECU-TEST.exe", 1000L);
+        cache.putVersion("7.1.0");
+        processTable.remove(1234);
+        assertNull("Values of terminated process should be invalidated", cache.getVersion());
+        assertNull(cache.getSession());
+    }
+
+    @Test
+    public void testRestartedProcessWithReusedId() {
+        processTable.add(1234, "C:\\ECU-TEST\\ECU-TEST.exe", 1000L);
+        cache.putVersion("7.1.0");
+        cache.putSetting("configPath", "C:\\Configurations");
+        processTable.add(1234, "C:\\ECU-TEST\\ECU-TEST.exe", 2000L);
+        assertNull("Values of restarted process should be invalidated", cache.getVersion());
+        assertNull("Values of restarted process should be invalidated", cache.getSetting("configPath"));
+
+        cache.putVersion("7.2.0");
+        assertEquals("New session should be established", new SessionKey(1234, 2000L), cache.getSession());
+        assertEquals("7.2.0", cache.getVersion());
+    }
+
+    @Test
+    public void testTrackedProcess() {
+        processTable.add(2345, "C:\\ECU-TEST\\ECU-TEST.exe", 2000L);
+        tracker.track(ET_PROCS);
+        processTable.add(1234, "C:\\Other\\ECU-TEST.exe", 1000L);
+        cache.putVersion("7.1.0");
+        assertEquals("Session should be bound to tracked process", new SessionKey(2345, 2000L),
+                cache.getSession());
+
+        processTable.remove(2345);
+        processTable.add(3456, "C:\\ECU-TEST\\ECU-TEST.exe", 3000L);
+        tracker.track(ET_PROCS);
+        assertNull("Values of previously tracked process should be invalidated", cache.getVersion());
+    }
+
+    @Test
+    public void testSeveralUntrackedProcesses() {
+        processTable.add(1234, "C:\\ECU-TEST\\ECU-TEST.exe", 1000L);
+        processTable.add(2345, "C:\\Other\\ECU-TEST.exe", 2000L);
+        cache.putVersion("7.1.0");
+        assertNull("Values should not be cached without unique process", cache.getVersion());
+        assertNull(cache.getSession());
+    }
+
+    @Test
+    public void testInvalidate() {
+        processTable.add(1234, "C:\\ECU-TEST\\ECU-TEST.exe", 1000L);
+        cache.putVersion("7.1.0");
+        cache.putLastTbc("C:\\Configurations\\test.tbc");
+        cache.invalidate();
+        assertNull(cache.getSession());
+        assertNull(cache.getVersion());
+        assertNull(cache.getLastTbc());
+    }
+
+    /**
+     * In-memory {@link ProcessTable}.
+     */
+    private static final class FakeProcessTable implements ProcessTable {
+
+        private final Map<Integer, ProcessEntry> processes = new LinkedHashMap<Integer, ProcessEntry>();
+
+        void add(final int pid, final String cmdLine, final long startTime) {
+            processes.put(pid, new ProcessEntry() {
+
+                @Override
+                public int getPid() {
+                    return pid;
+                }
+
+                @Override
+                public String getCommandLine() {
+                    return cmdLine;
+                }
+
+                @Override
+                public long getStartTime() {
+                    return startTime;
+                }
+
+                @Override
+                public void killRecursively() {
+                    remove(pid);
+                }
+            });
+        }
+
+        void remove(final int pid) {
+            processes.remove(pid);
+        }
+
+        @Override
+        public List<ProcessEntry> all() {
+            return new ArrayList<ProcessEntry>(processes.values());
+        }
+
+        @CheckForNull
+        @Override
+        public ProcessEntry get(final int pid) {
+            return processes.get(pid);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2015-2017 TraceTronic GmbH
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ *   1. Redistributions of source code must retain the above copyright notice, this
+ *      list of conditions and the following disclaimer.
+ *
+ *   2. Redistributions in binary form must reproduce the above copyright notice, this
+ *      list of conditions and the following disclaimer in the documentation and/or
+ *      other materials provided with the distribution.
+ *
+ *   3. Neither the name of TraceTronic GmbH nor the names of its
+ *      contributors may be used to endorse or promote products derived from
+ *      this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.tracetronic.jenkins.plugins.ecutest.wrapper.com;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.tracetronic.jenkins.plugins.ecutest.wrapper.com.ETComMetrics.Outcome;
+
+/**
+ * Unit tests for {@link ETComMetrics}.
+ *
+ * @author Christian Pönisch <christian.poenisch@tracetronic.de>
+ */
+public class ETComMetricsTest {
+
+    private final ETComMetrics metrics = ETComMetrics.getInstance();
+
+    @Before
+    public void setUp() {
+        metrics.drain();
+    }
+
+    @Test
+    public void testRecordOutcomes() {
+        metrics.record("OpenPackage", TimeUnit.MILLISECONDS.toNanos(20), Outcome.SUCCESS);
+        metrics.record("OpenPackage", TimeUnit.MILLISECONDS.toNanos(40), Outcome.ERROR);
+        metrics.record("OpenPackage", TimeUnit.SECONDS.toNanos(200), Outcome.TIMEOUT);
+
+        final ComMethodStats stats = metrics.snapshot().get("OpenPackage");
+        assertEquals(3, stats.getCount());
+        assertEquals(1, stats.getErrors());
+        assertEquals(1, stats.getTimeouts());
+        assertEquals(200060, stats.getTotalMillis());
+        assertEquals(200000, stats.getMaxMillis());
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        metrics.record("GetState", TimeUnit.MILLISECONDS.toNanos(1), Outcome.SUCCESS);
+        metrics.record("GetState", TimeUnit.MILLISECONDS.toNanos(3), Outcome.SUCCESS);
+        metrics.record("GetState", TimeUnit.SECONDS.toNanos(300), Outcome.SUCCESS);
+
+        final long[] buckets = metrics.snapshot().get("GetState").getBuckets();
+        assertEquals(ETComMetrics.BUCKET_BOUNDS.length + 1, buckets.length);
+        assertEquals(1, buckets[0]);
+        assertEquals(1, buckets[1]);
+        assertEquals(1, buckets[ETComMetrics.BUCKET_BOUNDS.length]);
+    }
+
+    @Test
+    public void testDrainResetsRecorders() {
+        metrics.record("WaitForIdle", TimeUnit.MILLISECONDS.toNanos(5), Outcome.SUCCESS);
+
+        final Map<String, ComMethodStats> drained = metrics.drain();
+        assertEquals(1, drained.get("WaitForIdle").getCount());
+        assertTrue("Statistics should be reset after draining", metrics.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testScopedRecording() {
+        metrics.record("GetState", TimeUnit.MILLISECONDS.toNanos(5), Outcome.SUCCESS);
+        final String previous = ETComMetrics.setScope("job#1");
+        try {
+            metrics.record("GetState", TimeUnit.MILLISECONDS.toNanos(5), Outcome.SUCCESS);
+            metrics.record("GetState", TimeUnit.MILLISECONDS.toNanos(5), Outcome.SUCCESS);
+            assertEquals("job#1", ETComMetrics.getScope());
+        } finally {
+            ETComMetrics.setScope(previous);
+        }
+
+        assertEquals(ETComMetrics.DEFAULT_SCOPE, ETComMetrics.getScope());
+        assertEquals(2, metrics.drain("job#1").get("GetState").getCount());
+        assertTrue("Scope should be discarded after draining", metrics.snapshot("job#1").isEmpty());
+        assertEquals(1, metrics.snapshot().get("GetState").getCount());
+    }
+
+    @Test
+    public void testScopedTask() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Callable<String> task = new Callable<String>() {
+
+                @Override
+                public String call() {
+                    metrics.record("GetState", TimeUnit.MILLISECONDS.toNanos(5), Outcome.SUCCESS);
+                    return ETComMetrics.getScope();
+                }
+            };
+            final Callable<String> scopedTask;
+            final String previous = ETComMetrics.setScope("job#1");
+            try {
+                scopedTask = ETComMetrics.scoped(task);
+            } finally {
+                ETComMetrics.setScope(previous);
+            }
+            assertEquals("job#1", executor.submit(scopedTask).get());
+            assertEquals(ETComMetrics.DEFAULT_SCOPE, executor.submit(task).get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, metrics.drain("job#1").get("GetState").getCount());
+        assertEquals(1, metrics.snapshot().get("GetState").getCount());
+    }
+
+    @Test
+    public void testPurgeIdleScopes() {
+        final long nowMillis = System.currentTimeMillis();
+        metrics.record(ETComMetrics.DEFAULT_SCOPE, "GetState", 0, Outcome.SUCCESS, nowMillis);
+        metrics.record("job#1", "GetState", 0, Outcome.SUCCESS, nowMillis);
+        metrics.record("job#2", "GetState", 0, Outcome.SUCCESS, nowMillis + ETComMetrics.SCOPE_RETENTION);
+        assertEquals(1, metrics.snapshot("job#1").get("GetState").getCount());
+
+        metrics.record("job#3", "GetState", 0, Outcome.SUCCESS, nowMillis + ETComMetrics.SCOPE_RETENTION + 1);
+        assertTrue("Idle scope should be discarded", metrics.snapshot("job#1").isEmpty());
+        assertTrue("Idle default scope should be discarded", metrics.snapshot().isEmpty());
+        assertEquals(1, metrics.drain("job#2").get("GetState").getCount());
+        assertEquals(1, metrics.drain("job#3").get("GetState").getCount());
+    }
+
+    @Test
+    public void testConcurrentScopes() throws InterruptedException {
+        final Thread thread = new Thread() {
+
+            @Override
+            public void run() {
+                ETComMetrics.setScope("job#2");
+                metrics.record("Start", TimeUnit.MILLISECONDS.toNanos(5), Outcome.SUCCESS);
+            }
+        };
+        ETComMetrics.setScope("job#1");
+        try {
+            thread.start();
+            metrics.record("Stop", TimeUnit.MILLISECONDS.toNanos(5), Outcome.SUCCESS);
+            thread.join();
+        } finally {
+            ETComMetrics.setScope(null);
+        }
+
+        final Map<String, ComMethodStats> stats1 = metrics.drain("job#1");
+        final Map<String, ComMethodStats> stats2 = metrics.drain("job#2");
+        assertEquals(1, stats1.size());
+        assertEquals(1, stats1.get("Stop").getCount());
+        assertEquals(1, stats2.size());
+        assertEquals(1, stats2.get("Start").getCount());
+    }
+
+    @Test
+    public void testPercentile() {
+        for (int i = 0; i < 99; i++) {
+            metrics.record("GetVersion", TimeUnit.MILLISECONDS.toNanos(2), Outcome.SUCCESS);
+        }
+        metrics.record("GetVersion", TimeUnit.MILLISECONDS.toNanos(700), Outcome.SUCCESS);
+
+        final ComMethodStats stats = metrics.snapshot().get("GetVersion");
+        assertEquals(5, stats.getPercentileMillis(50));
+        assertEquals(700, stats.getPercentileMillis(100));
+    }
+
+    @Test
+    public void testMerge() {
+        final ComMethodStats stats1 = new ComMethodStats("Start", 1, 1, 0, TimeUnit.MILLISECONDS.toNanos(10),
+                TimeUnit.MILLISECONDS.toNanos(10), new long[] { 0, 0, 1 });
+        final ComMethodStats stats2 = new ComMethodStats("Start", 2, 0, 1, TimeUnit.MILLISECONDS.toNanos(30),
+                TimeUnit.MILLISECONDS.toNanos(20), new long[] { 0, 0, 1, 1 });
+
+        final ComMethodStats merged = stats1.merge(stats2);
+        assertEquals(3, merged.getCount());
+        assertEquals(1, merged.getErrors());
+        assertEquals(1, merged.getTimeouts());
+        assertEquals(40, merged.getTotalMillis());
+        assertEquals(20, merged.getMaxMillis());
+        assertEquals(2, merged.getBuckets()[2]);
+    }
+}
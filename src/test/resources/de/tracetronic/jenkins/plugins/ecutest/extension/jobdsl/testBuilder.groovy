@@ -7,6 +7,7 @@ freeStyleJob("testBuilder") {
                 forceReload(true)
                 loadOnly(true)
                 keepConfig(true)
+                skipUnchanged(true)
                 constants {
                     constant("test", "123")
                     constant {
@@ -30,6 +31,7 @@ freeStyleJob("testBuilder") {
                 timeout("600")
                 stopOnError(false)
                 checkTestFile(false)
+                pollingInterval("100")
             }
         }
         testProject("test.prj") {
@@ -39,6 +41,7 @@ freeStyleJob("testBuilder") {
                 forceReload(true)
                 loadOnly(true)
                 keepConfig(true)
+                skipUnchanged(true)
                 constants {
                     constant("test", "123")
                     constant {
@@ -56,6 +59,7 @@ freeStyleJob("testBuilder") {
                 timeout(600)
                 stopOnError(false)
                 checkTestFile(false)
+                pollingInterval(100)
             }
         }
         testFolder("test") {
@@ -67,6 +71,7 @@ freeStyleJob("testBuilder") {
                 forceReload(true)
                 loadOnly(true)
                 keepConfig(true)
+                skipUnchanged(true)
                 constants {
                     constant {
                         name("test")
@@ -95,6 +100,7 @@ freeStyleJob("testBuilder") {
                 timeout("600")
                 stopOnError(false)
                 checkTestFile(false)
+                pollingInterval("100")
             }
         }
         importPackages {
@@ -7,6 +7,7 @@ def strTcfFile = 'test.tcf'
 def bForceReload = true
 def bLoadOnly = true
 def bkeepConfig = true
+def bSkipUnchanged = true
 def strConstantName = 'test'
 def strConstantValue = '123'
 def strConstantName2 = 'test2'
@@ -19,6 +20,8 @@ def strParamName2 = 'param2'
 def strParamValue2 = '456'
 def strTimeout = '600'
 def intTimeout = 600
+def strPollingInterval = '100'
+def intPollingInterval = 100
 def bStopOnError = false
 def bCheckTestFile = false
 def bExecInCurrentPkgDir = false
@@ -48,6 +51,7 @@ freeStyleJob("${strJobName}") {
                 forceReload(bForceReload)
                 loadOnly(bLoadOnly)
                 keepConfig(bkeepConfig)
+                skipUnchanged(bSkipUnchanged)
                 constants {
                     constant("${strConstantName}", "${strConstantValue}")
                     constant {
@@ -71,6 +75,7 @@ freeStyleJob("${strJobName}") {
                 timeout("${strTimeout}")
                 stopOnError(bStopOnError)
                 checkTestFile(bCheckTestFile)
+                pollingInterval("${strPollingInterval}")
             }
         }
         testProject("${strPrjFile}") {
@@ -80,6 +85,7 @@ freeStyleJob("${strJobName}") {
                 forceReload(bForceReload)
                 loadOnly(bLoadOnly)
                 keepConfig(bkeepConfig)
+                skipUnchanged(bSkipUnchanged)
                 constants {
                     constant("${strConstantName}", "${strConstantValue}")
                     constant {
@@ -97,6 +103,7 @@ freeStyleJob("${strJobName}") {
                 timeout(intTimeout)
                 stopOnError(bStopOnError)
                 checkTestFile(bCheckTestFile)
+                pollingInterval(intPollingInterval)
             }
         }
         testFolder("${strTestFolder}") {
@@ -108,6 +115,7 @@ freeStyleJob("${strJobName}") {
                 forceReload(bForceReload)
                 loadOnly(bLoadOnly)
                 keepConfig(bkeepConfig)
+                skipUnchanged(bSkipUnchanged)
                 constants {
                     constant("${strConstantName}", "${strParamValue}")
                     constant {
@@ -136,6 +144,7 @@ freeStyleJob("${strJobName}") {
                 timeout("${strTimeout}")
                 stopOnError(bStopOnError)
                 checkTestFile(bCheckTestFile)
+                pollingInterval("${strPollingInterval}")
             }
         }
         importPackages {